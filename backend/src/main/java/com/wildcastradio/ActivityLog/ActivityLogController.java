@@ -1,15 +1,28 @@
 package com.wildcastradio.ActivityLog;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wildcastradio.ActivityLog.DTO.ActivityLogDTO;
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserService;
@@ -21,16 +34,32 @@ public class ActivityLogController {
     @Autowired
     private ActivityLogService activityLogService;
     
+    @Autowired
+    private ActivityLogRetentionService activityLogRetentionService;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     int lol = 1;
 
     /**
-     * Get all system activity logs (requires ADMIN role for complete access)
+     * Get system activity logs, newest first (requires ADMIN role). Optional filters: one or more
+     * type values, userId, and an ISO from (inclusive) / to (exclusive) time range.
+     * Keyset paged: pass the timestamp and id of the last entry as before/beforeId for the next page.
      */
     @GetMapping
-    public ResponseEntity<List<ActivityLogDTO>> getAllActivityLogs(Authentication authentication) {
+    public ResponseEntity<List<ActivityLogDTO>> getAllActivityLogs(
+            @RequestParam(required = false) List<ActivityLogEntity.ActivityType> type,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
         if (authentication == null) {
             return ResponseEntity.status(401).build();
         }
@@ -43,17 +72,23 @@ public class ActivityLogController {
             return ResponseEntity.status(403).build();
         }
 
-        // Get all activity logs from all users for system analytics
-        List<ActivityLogDTO> allLogs = activityLogService.getAllActivityLogs();
-        return ResponseEntity.ok(allLogs);
+        int pageSize = Math.max(1, Math.min(limit, 200));
+        return ResponseEntity.ok(activityLogService.getActivityLogs(userId, type, from, to, before, beforeId, pageSize));
     }
 
     /**
-     * Get activity logs for a specific user (requires ADMIN role or own user)
+     * Get activity logs for a specific user, newest first (requires ADMIN role or own user).
+     * Same filters and keyset paging as the system log.
      */
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<ActivityLogDTO>> getActivityLogsForUser(
-            @PathVariable Long userId, 
+            @PathVariable Long userId,
+            @RequestParam(required = false) List<ActivityLogEntity.ActivityType> type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit,
             Authentication authentication) {
         
         if (authentication == null) {
@@ -68,11 +103,98 @@ public class ActivityLogController {
             return ResponseEntity.status(403).build();
         }
 
-        UserEntity targetUser = userService.getUserById(userId)
+        userService.getUserById(userId)
                 .orElseThrow(() -> new RuntimeException("Target user not found"));
 
-        List<ActivityLogDTO> userLogs = activityLogService.getActivityLogsForUser(targetUser);
-        return ResponseEntity.ok(userLogs);
+        int pageSize = Math.max(1, Math.min(limit, 200));
+        return ResponseEntity.ok(activityLogService.getActivityLogs(userId, type, from, to, before, beforeId, pageSize));
+    }
+
+    /**
+     * Export system activity logs as newline-delimited JSON, newest first (requires ADMIN role).
+     * Same filters as the system log; rows are streamed page by page.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportActivityLogs(
+            @RequestParam(required = false) List<ActivityLogEntity.ActivityType> type,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        UserEntity currentUser = userService.getUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (!"ADMIN".equals(currentUser.getRole().toString())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        headers.setContentDispositionFormData("attachment", "activity-logs.ndjson");
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            activityLogService.forEachActivityLog(userId, type, from, to, dto -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(dto));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    /**
+     * Daily counts of activity collapsed by retention, newest day first (requires ADMIN role)
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<ActivityLogSummaryEntity>> getActivitySummaries(
+            @RequestParam(defaultValue = "30") int days,
+            Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        UserEntity currentUser = userService.getUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (!"ADMIN".equals(currentUser.getRole().toString())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        int window = Math.max(1, Math.min(days, 366));
+        return ResponseEntity.ok(activityLogRetentionService.getSummaries(LocalDate.now().minusDays(window)));
+    }
+
+    /**
+     * Rows summarized and purged by the most recent retention run on this node (requires ADMIN role)
+     */
+    @GetMapping("/retention/last")
+    public ResponseEntity<Map<String, Object>> getLastRetentionReport(Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        UserEntity currentUser = userService.getUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (!"ADMIN".equals(currentUser.getRole().toString())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        Map<String, Object> report = activityLogRetentionService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
     }
 
     /**
@@ -90,4 +212,53 @@ public class ActivityLogController {
         List<ActivityLogDTO> recentLogs = activityLogService.getRecentActivityLogsForUser(currentUser);
         return ResponseEntity.ok(recentLogs);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Audit writer health: queue depth, dropped and failed entries, flush latency (requires ADMIN role)
+     */
+    @GetMapping("/writer-stats")
+    public ResponseEntity<Map<String, Object>> getWriterStats(Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        UserEntity currentUser = userService.getUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (!"ADMIN".equals(currentUser.getRole().toString())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        return ResponseEntity.ok(activityLogService.getWriterStats());
+    }
+
+    /**
+     * Get activity by a DJ or about broadcasts the DJ was active on, newest first (requires ADMIN/MODERATOR or own DJ id).
+     * Keyset paged: pass the timestamp and id of the last entry as before/beforeId for the next page.
+     */
+    @GetMapping("/dj/{djId}")
+    public ResponseEntity<List<ActivityLogDTO>> getDjActivityLogs(
+            @PathVariable Long djId,
+            @RequestParam(required = false) Long broadcastId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+
+        if (authentication == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        UserEntity currentUser = userService.getUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        String role = currentUser.getRole().toString();
+        boolean staff = "ADMIN".equals(role) || "MODERATOR".equals(role);
+        if (!staff && !currentUser.getId().equals(djId)) {
+            return ResponseEntity.status(403).build();
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, 200));
+        return ResponseEntity.ok(activityLogService.getDjActivities(djId, broadcastId, before, beforeId, pageSize));
+    }
+}
@@ -22,7 +22,9 @@ import jakarta.persistence.Table;
     @Index(name = "idx_activity_log_timestamp", columnList = "timestamp"),
     @Index(name = "idx_activity_log_activity_type", columnList = "activity_type"),
     @Index(name = "idx_activity_log_user_timestamp", columnList = "user_id, timestamp"),
-    @Index(name = "idx_activity_log_user_type", columnList = "user_id, activity_type")
+    @Index(name = "idx_activity_log_user_type", columnList = "user_id, activity_type"),
+    @Index(name = "idx_activity_log_broadcast_timestamp", columnList = "broadcast_id, timestamp"),
+    @Index(name = "idx_activity_log_type_timestamp", columnList = "activity_type, timestamp")
 })
 public class ActivityLogEntity {
 
@@ -87,6 +89,12 @@ public class ActivityLogEntity {
         this.isSystemEvent = true;
     }
 
+    // Constructor for user activity about a broadcast
+    public ActivityLogEntity(ActivityType activityType, String description, UserEntity user, Long broadcastId) {
+        this(activityType, description, user);
+        this.broadcastId = broadcastId;
+    }
+
     // Constructor with metadata
     public ActivityLogEntity(ActivityType activityType, String description, UserEntity user, Long broadcastId, String metadata) {
         this.activityType = activityType;
@@ -197,6 +205,24 @@ public class ActivityLogEntity {
         CIRCUIT_BREAKER_OPEN, CIRCUIT_BREAKER_CLOSED, CIRCUIT_BREAKER_HALF_OPEN,
         
         // Idempotency events (audit)
-        IDEMPOTENT_OPERATION_DETECTED // Duplicate operation prevented
+        IDEMPOTENT_OPERATION_DETECTED; // Duplicate operation prevented
+
+        /**
+         * Sign-in, registration and account or role changes: written synchronously and never
+         * summarized by retention
+         */
+        public boolean isSecurityEvent() {
+            switch (this) {
+                case LOGIN:
+                case LOGOUT:
+                case USER_REGISTER:
+                case USER_CREATE:
+                case USER_ROLE_CHANGE:
+                case EMAIL_VERIFY:
+                    return true;
+                default:
+                    return false;
+            }
+        }
     }
 } 
@@ -1,15 +1,42 @@
 package com.wildcastradio.ActivityLog;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.wildcastradio.User.UserEntity;
 
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLogEntity, Long> {
+
+    // Activity by the DJ, or by staff or the system about a broadcast the DJ was active on (creator,
+    // starter, current DJ or handover target); listener entries never count as the DJ's activity
+    String DJ_SCOPE =
+        "(u.id = :djId OR ((u IS NULL OR u.role <> com.wildcastradio.User.UserEntity.UserRole.LISTENER) " +
+        "AND a.broadcastId IN (SELECT b.id FROM BroadcastEntity b " +
+        "WHERE b.createdBy.id = :djId OR b.startedBy.id = :djId OR b.currentActiveDJ.id = :djId " +
+        "OR EXISTS (SELECT 1 FROM DJHandoverEntity h WHERE h.broadcast = b AND h.newDJ.id = :djId))))";
+
+    String DJ_SCOPE_SQL =
+        "(a.user_id = :djId OR ((a.user_id IS NULL OR EXISTS (SELECT 1 FROM users x WHERE x.id = a.user_id AND x.role <> 'LISTENER')) " +
+        "AND a.broadcast_id IN (SELECT b.id FROM broadcasts b " +
+        "WHERE b.created_by_id = :djId OR b.started_by_id = :djId OR b.current_active_dj_id = :djId " +
+        "OR EXISTS (SELECT 1 FROM dj_handovers h WHERE h.broadcast_id = b.id AND h.new_dj_id = :djId))))";
+
+    // Optional type and time range filters plus keyset cursor shared by the paged queries
+    String PAGE_FILTERS =
+        " AND (:allTypes = true OR a.activityType IN :types)" +
+        " AND (:fromTimestamp IS NULL OR a.timestamp >= :fromTimestamp)" +
+        " AND (:toTimestamp IS NULL OR a.timestamp < :toTimestamp)" +
+        " AND (:beforeTimestamp IS NULL OR a.timestamp < :beforeTimestamp" +
+        "      OR (a.timestamp = :beforeTimestamp AND a.id < :beforeId))";
+
     List<ActivityLogEntity> findByUser(UserEntity user);
     List<ActivityLogEntity> findByUserAndActivityType(UserEntity user, ActivityLogEntity.ActivityType activityType);
     List<ActivityLogEntity> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
@@ -18,4 +45,62 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLogEntity,
     
     // Analytics count methods
     long countByTimestampBetween(LocalDateTime start, LocalDateTime end);
+
+    // Newest first, for recent activity feeds
+    @Query("SELECT a FROM ActivityLogEntity a LEFT JOIN FETCH a.user ORDER BY a.timestamp DESC, a.id DESC")
+    List<ActivityLogEntity> findLatest(Pageable pageable);
+
+    /**
+     * Keyset page of a DJ's activity, newest first, optionally limited to one broadcast.
+     * Pass the timestamp and id of the last row seen to continue; nulls start from the newest.
+     */
+    @Query("SELECT a FROM ActivityLogEntity a LEFT JOIN FETCH a.user u WHERE " + DJ_SCOPE +
+           " AND (:broadcastId IS NULL OR a.broadcastId = :broadcastId)" +
+           " AND (:beforeTimestamp IS NULL OR a.timestamp < :beforeTimestamp" +
+           "      OR (a.timestamp = :beforeTimestamp AND a.id < :beforeId))" +
+           " ORDER BY a.timestamp DESC, a.id DESC")
+    List<ActivityLogEntity> findDjActivityPage(@Param("djId") Long djId,
+                                               @Param("broadcastId") Long broadcastId,
+                                               @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                               @Param("beforeId") Long beforeId,
+                                               Pageable pageable);
+
+    /**
+     * Keyset page of all activity, newest first. Pass allTypes=false to keep only the given types;
+     * from is inclusive and to exclusive. Pass the timestamp and id of the last row seen to continue.
+     */
+    @Query("SELECT a FROM ActivityLogEntity a LEFT JOIN FETCH a.user WHERE 1 = 1" + PAGE_FILTERS +
+           " ORDER BY a.timestamp DESC, a.id DESC")
+    List<ActivityLogEntity> findActivityPage(@Param("allTypes") boolean allTypes,
+                                             @Param("types") Collection<ActivityLogEntity.ActivityType> types,
+                                             @Param("fromTimestamp") LocalDateTime fromTimestamp,
+                                             @Param("toTimestamp") LocalDateTime toTimestamp,
+                                             @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                             @Param("beforeId") Long beforeId,
+                                             Pageable pageable);
+
+    /**
+     * Keyset page of one user's activity, newest first, read through the (user_id, timestamp) index.
+     * Filters and cursor as in {@link #findActivityPage}.
+     */
+    @Query("SELECT a FROM ActivityLogEntity a LEFT JOIN FETCH a.user WHERE a.user.id = :userId" + PAGE_FILTERS +
+           " ORDER BY a.timestamp DESC, a.id DESC")
+    List<ActivityLogEntity> findUserActivityPage(@Param("userId") Long userId,
+                                                 @Param("allTypes") boolean allTypes,
+                                                 @Param("types") Collection<ActivityLogEntity.ActivityType> types,
+                                                 @Param("fromTimestamp") LocalDateTime fromTimestamp,
+                                                 @Param("toTimestamp") LocalDateTime toTimestamp,
+                                                 @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Pageable pageable);
+
+    // One row: [today, week, month] counts of a DJ's activity
+    @Query(value = "SELECT COUNT(*) FILTER (WHERE a.timestamp >= :todayStart), " +
+                   "COUNT(*) FILTER (WHERE a.timestamp >= :weekStart), COUNT(*) " +
+                   "FROM activity_logs a WHERE " + DJ_SCOPE_SQL + " AND a.timestamp >= :monthStart",
+           nativeQuery = true)
+    List<Object[]> countDjActivity(@Param("djId") Long djId,
+                                   @Param("todayStart") LocalDateTime todayStart,
+                                   @Param("weekStart") LocalDateTime weekStart,
+                                   @Param("monthStart") LocalDateTime monthStart);
 } 
\ No newline at end of file
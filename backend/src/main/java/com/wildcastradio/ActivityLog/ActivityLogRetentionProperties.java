@@ -0,0 +1,35 @@
+package com.wildcastradio.ActivityLog;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "activity-log.retention")
+public class ActivityLogRetentionProperties {
+    private boolean enabled = true;
+    // Frequent, low-value types collapsed into daily summaries; security events are never summarized
+    private Set<ActivityLogEntity.ActivityType> summarizedTypes = EnumSet.of(
+            ActivityLogEntity.ActivityType.BROADCAST_CHECKPOINT,
+            ActivityLogEntity.ActivityType.BROADCAST_HEALTH_CHECK_FAILED,
+            ActivityLogEntity.ActivityType.BROADCAST_HEALTH_CHECK_RECOVERED,
+            ActivityLogEntity.ActivityType.IDEMPOTENT_OPERATION_DETECTED);
+    // Days summarized types stay as individual rows; 0 never summarizes
+    private int summarizeAfterDays = 30;
+    // Days summaries are kept before they are purged; 0 keeps them forever
+    private int summaryRetentionDays = 365;
+    private int chunkSize = 5000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Set<ActivityLogEntity.ActivityType> getSummarizedTypes() { return summarizedTypes; }
+    public void setSummarizedTypes(Set<ActivityLogEntity.ActivityType> summarizedTypes) { this.summarizedTypes = summarizedTypes; }
+    public int getSummarizeAfterDays() { return summarizeAfterDays; }
+    public void setSummarizeAfterDays(int summarizeAfterDays) { this.summarizeAfterDays = summarizeAfterDays; }
+    public int getSummaryRetentionDays() { return summaryRetentionDays; }
+    public void setSummaryRetentionDays(int summaryRetentionDays) { this.summaryRetentionDays = summaryRetentionDays; }
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+}
@@ -0,0 +1,146 @@
+package com.wildcastradio.ActivityLog;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Retention tiers for the activity log.
+ *
+ * Each run, in chunks of {@code activity-log.retention.chunk-size} rows per statement:
+ * 1. Collapses entries of the summarized types older than {@code summarize-after-days} into
+ *    one {@code activity_log_summaries} row per type, broadcast and day.
+ * 2. Purges summaries past {@code summary-retention-days}.
+ * Security events (see {@link ActivityLogEntity.ActivityType#isSecurityEvent()}) and every type
+ * not configured for summarizing are kept as individual rows.
+ */
+@Service
+public class ActivityLogRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogRetentionService.class);
+
+    // Oldest first in (activity_type, timestamp) index order, so a chunk reads only its own rows
+    private static final String SUMMARIZE_CHUNK_SQL =
+            "WITH moved AS (" +
+            "  DELETE FROM activity_logs WHERE id IN (" +
+            "    SELECT id FROM activity_logs WHERE activity_type = ? AND timestamp < ? ORDER BY timestamp LIMIT ?) " +
+            "  RETURNING activity_type, broadcast_id, timestamp), " +
+            "summarized AS (" +
+            "  INSERT INTO activity_log_summaries (activity_type, broadcast_id, summary_date, entry_count, first_timestamp, last_timestamp, summarized_at) " +
+            "  SELECT activity_type, COALESCE(broadcast_id, 0), CAST(timestamp AS date), COUNT(*), MIN(timestamp), MAX(timestamp), now() " +
+            "  FROM moved GROUP BY activity_type, COALESCE(broadcast_id, 0), CAST(timestamp AS date) " +
+            "  ON CONFLICT (activity_type, broadcast_id, summary_date) DO UPDATE SET " +
+            "    entry_count = activity_log_summaries.entry_count + EXCLUDED.entry_count, " +
+            "    first_timestamp = LEAST(activity_log_summaries.first_timestamp, EXCLUDED.first_timestamp), " +
+            "    last_timestamp = GREATEST(activity_log_summaries.last_timestamp, EXCLUDED.last_timestamp), " +
+            "    summarized_at = now() " +
+            "  RETURNING 1) " +
+            "SELECT COUNT(*) FROM moved";
+
+    private static final String PURGE_SUMMARIES_SQL =
+            "DELETE FROM activity_log_summaries WHERE summary_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityLogSummaryRepository summaryRepository;
+    private final ActivityLogRetentionProperties properties;
+
+    private volatile Map<String, Object> lastReport;
+
+    public ActivityLogRetentionService(JdbcTemplate jdbcTemplate,
+                                       ActivityLogSummaryRepository summaryRepository,
+                                       ActivityLogRetentionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.summaryRepository = summaryRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Nightly retention run. Each chunk deletes and summarizes in one statement, so a failed
+     * run never loses entries and a large backlog never holds long locks on activity_logs.
+     */
+    @Scheduled(cron = "${activity-log.retention.cron:0 45 3 * * ?}")
+    @SchedulerLock(name = "activityLogRetention", lockAtMostFor = "1h", lockAtLeastFor = "5m")
+    public void runRetention() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        logger.info("Starting activity log retention run");
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int chunkSize = Math.max(100, properties.getChunkSize());
+
+        try {
+            Map<String, Object> summarizedByType = new LinkedHashMap<>();
+            long summarized = 0;
+            if (properties.getSummarizeAfterDays() > 0) {
+                // Whole days only, so a day is never split between rows and its summary
+                Timestamp cutoff = Timestamp.valueOf(now.toLocalDate().minusDays(properties.getSummarizeAfterDays()).atStartOfDay());
+                for (ActivityLogEntity.ActivityType type : properties.getSummarizedTypes()) {
+                    if (type.isSecurityEvent()) {
+                        logger.warn("Not summarizing security activity type {}", type);
+                        continue;
+                    }
+                    long moved = runChunks(type.name(), cutoff, chunkSize);
+                    if (moved > 0) {
+                        summarizedByType.put(type.name(), moved);
+                        summarized += moved;
+                    }
+                }
+            }
+
+            int purged = 0;
+            if (properties.getSummaryRetentionDays() > 0) {
+                purged = jdbcTemplate.update(PURGE_SUMMARIES_SQL,
+                        Date.valueOf(now.toLocalDate().minusDays(properties.getSummaryRetentionDays())));
+            }
+
+            long durationMs = System.currentTimeMillis() - started;
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("startedAt", now);
+            report.put("summarized", summarized);
+            report.put("summarizedByType", summarizedByType);
+            report.put("purgedSummaries", purged);
+            report.put("durationMs", durationMs);
+            lastReport = report;
+
+            logger.info("Activity log retention completed in {} ms: summarized {} entries, purged {} summaries",
+                    durationMs, summarized, purged);
+        } catch (Exception e) {
+            logger.error("Error occurred during activity log retention", e);
+        }
+    }
+
+    public Map<String, Object> getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Summaries from the given day on, newest day first
+     */
+    public List<ActivityLogSummaryEntity> getSummaries(LocalDate since) {
+        return summaryRepository.findBySummaryDateGreaterThanEqualOrderBySummaryDateDescActivityTypeAsc(since);
+    }
+
+    private long runChunks(String activityType, Timestamp cutoff, int chunkSize) {
+        long total = 0;
+        long moved;
+        do {
+            Long count = jdbcTemplate.queryForObject(SUMMARIZE_CHUNK_SQL, Long.class, activityType, cutoff, chunkSize);
+            moved = count != null ? count : 0;
+            total += moved;
+        } while (moved >= chunkSize);
+        return total;
+    }
+}
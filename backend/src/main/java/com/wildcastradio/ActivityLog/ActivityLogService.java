@@ -1,11 +1,16 @@
 package com.wildcastradio.ActivityLog;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -16,17 +21,32 @@ import com.wildcastradio.User.UserEntity;
 @Service
 public class ActivityLogService {
 
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
     private final ActivityLogRepository activityLogRepository;
+    private final ActivityLogWriter activityLogWriter;
     private final ObjectMapper objectMapper;
 
-    public ActivityLogService(ActivityLogRepository activityLogRepository) {
+    public ActivityLogService(ActivityLogRepository activityLogRepository, ActivityLogWriter activityLogWriter) {
         this.activityLogRepository = activityLogRepository;
+        this.activityLogWriter = activityLogWriter;
         this.objectMapper = new ObjectMapper();
     }
 
+    // The log* methods hand entries to the batched writer and return them unsaved (no id), except
+    // for security-relevant types, which are saved before returning (see ActivityLogWriter)
+
     public ActivityLogEntity logActivity(UserEntity user, ActivityLogEntity.ActivityType activityType, String description) {
         ActivityLogEntity activityLog = new ActivityLogEntity(activityType, description, user);
-        return activityLogRepository.save(activityLog);
+        return store(activityLog);
+    }
+
+    /**
+     * Log user activity about a broadcast, so it can be found by broadcast and by the broadcast's DJs
+     */
+    public ActivityLogEntity logActivity(UserEntity user, ActivityLogEntity.ActivityType activityType, String description, Long broadcastId) {
+        ActivityLogEntity activityLog = new ActivityLogEntity(activityType, description, user, broadcastId);
+        return store(activityLog);
     }
 
     /**
@@ -34,7 +54,7 @@ public class ActivityLogService {
      */
     public ActivityLogEntity logSystemAudit(ActivityLogEntity.ActivityType activityType, String description) {
         ActivityLogEntity activityLog = new ActivityLogEntity(activityType, description);
-        return activityLogRepository.save(activityLog);
+        return store(activityLog);
     }
 
     /**
@@ -58,12 +78,12 @@ public class ActivityLogService {
                 broadcastId, 
                 metadataJson
             );
-            return activityLogRepository.save(activityLog);
+            return store(activityLog);
         } catch (JsonProcessingException e) {
             // Fallback to simple logging if JSON serialization fails
             ActivityLogEntity activityLog = new ActivityLogEntity(activityType, description, user);
             activityLog.setBroadcastId(broadcastId);
-            return activityLogRepository.save(activityLog);
+            return store(activityLog);
         }
     }
 
@@ -83,12 +103,12 @@ public class ActivityLogService {
             // Use constructor that sets all fields properly for system events
             ActivityLogEntity activityLog = new ActivityLogEntity(activityType, description, null, broadcastId, metadataJson);
             activityLog.setIsSystemEvent(true); // Explicitly mark as system event
-            return activityLogRepository.save(activityLog);
+            return store(activityLog);
         } catch (JsonProcessingException e) {
             // Fallback to simple logging if JSON serialization fails - use proper constructor
             ActivityLogEntity activityLog = new ActivityLogEntity(activityType, description, null, broadcastId, null);
             activityLog.setIsSystemEvent(true);
-            return activityLogRepository.save(activityLog);
+            return store(activityLog);
         }
     }
 
@@ -121,12 +141,75 @@ public class ActivityLogService {
         );
     }
 
-    public List<ActivityLogDTO> getActivityLogsForUser(UserEntity user) {
-        return activityLogRepository.findByUser(user).stream()
+    /**
+     * Queue and batch writer counters, for monitoring the audit pipeline
+     */
+    public Map<String, Object> getWriterStats() {
+        return activityLogWriter.stats();
+    }
+
+    private ActivityLogEntity store(ActivityLogEntity activityLog) {
+        if (activityLogWriter.isSynchronous(activityLog.getActivityType())) {
+            return activityLogRepository.save(activityLog);
+        }
+        activityLogWriter.enqueue(activityLog);
+        return activityLog;
+    }
+
+    /**
+     * Activity newest first, for all users or one user, optionally limited to some types and a
+     * time range (from inclusive, to exclusive). Keyset paged: pass the timestamp and id of the
+     * last entry of the previous page.
+     */
+    public List<ActivityLogDTO> getActivityLogs(Long userId, Collection<ActivityLogEntity.ActivityType> types,
+                                                LocalDateTime from, LocalDateTime to,
+                                                LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        return findActivityPage(userId, types, from, to, beforeTimestamp, beforeId, limit).stream()
                 .map(ActivityLogDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Walk every entry matching the filters, newest first, one keyset page at a time, so an
+     * export never holds more than a page in memory.
+     * @return Number of entries visited
+     */
+    public long forEachActivityLog(Long userId, Collection<ActivityLogEntity.ActivityType> types,
+                                   LocalDateTime from, LocalDateTime to, Consumer<ActivityLogDTO> consumer) {
+        long visited = 0;
+        LocalDateTime beforeTimestamp = null;
+        Long beforeId = null;
+        List<ActivityLogEntity> page;
+        do {
+            page = findActivityPage(userId, types, from, to, beforeTimestamp, beforeId, EXPORT_PAGE_SIZE);
+            for (ActivityLogEntity entry : page) {
+                consumer.accept(ActivityLogDTO.fromEntity(entry));
+            }
+            visited += page.size();
+            if (!page.isEmpty()) {
+                ActivityLogEntity last = page.get(page.size() - 1);
+                beforeTimestamp = last.getTimestamp();
+                beforeId = last.getId();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
+        return visited;
+    }
+
+    private List<ActivityLogEntity> findActivityPage(Long userId, Collection<ActivityLogEntity.ActivityType> types,
+                                                     LocalDateTime from, LocalDateTime to,
+                                                     LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        // An empty IN list is not valid SQL, so "any type" is a flag and the list is never empty
+        boolean allTypes = types == null || types.isEmpty();
+        Collection<ActivityLogEntity.ActivityType> typeList = allTypes
+                ? EnumSet.allOf(ActivityLogEntity.ActivityType.class) : types;
+        Long cursorId = beforeTimestamp != null && beforeId == null ? Long.MAX_VALUE : beforeId;
+        PageRequest page = PageRequest.of(0, limit);
+        if (userId != null) {
+            return activityLogRepository.findUserActivityPage(userId, allTypes, typeList, from, to, beforeTimestamp, cursorId, page);
+        }
+        return activityLogRepository.findActivityPage(allTypes, typeList, from, to, beforeTimestamp, cursorId, page);
+    }
+
     public List<ActivityLogDTO> getRecentActivityLogsForUser(UserEntity user) {
         return activityLogRepository.findTop10ByUserOrderByTimestampDesc(user).stream()
                 .map(ActivityLogDTO::fromEntity)
@@ -151,12 +234,6 @@ public class ActivityLogService {
                 .collect(Collectors.toList());
     }
 
-    public List<ActivityLogDTO> getAllActivityLogs() {
-        return activityLogRepository.findAll().stream()
-                .map(ActivityLogDTO::fromEntity)
-                .collect(Collectors.toList());
-    }
-
     // Analytics methods for data retrieval
     public long getTodayActivityCount() {
         LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
@@ -177,10 +254,35 @@ public class ActivityLogService {
     }
 
     public List<ActivityLogDTO> getRecentActivities(int limit) {
-        return activityLogRepository.findAll().stream()
-                .sorted((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()))
-                .limit(limit)
+        return activityLogRepository.findLatest(PageRequest.of(0, limit)).stream()
                 .map(ActivityLogDTO::fromEntity)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Activity by a DJ or about broadcasts the DJ was active on, newest first, optionally for one
+     * broadcast. Keyset paged: pass the timestamp and id of the last entry of the previous page.
+     * Users are reduced to their public profile, since the DJ may read this feed.
+     */
+    public List<ActivityLogDTO> getDjActivities(Long djId, Long broadcastId, LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        Long cursorId = beforeTimestamp != null && beforeId == null ? Long.MAX_VALUE : beforeId;
+        return activityLogRepository.findDjActivityPage(djId, broadcastId, beforeTimestamp, cursorId, PageRequest.of(0, limit)).stream()
+                .map(ActivityLogDTO::withPublicUser)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Counts of a DJ's activity since the start of today, 7 days ago and 30 days ago
+     */
+    public Map<String, Long> getDjActivityCounts(Long djId) {
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+        List<Object[]> rows = activityLogRepository.countDjActivity(
+                djId, todayStart, todayStart.minusDays(7), todayStart.minusDays(30));
+        Object[] row = rows.isEmpty() ? new Object[] { 0L, 0L, 0L } : rows.get(0);
+        Map<String, Long> counts = new HashMap<>();
+        counts.put("todayActivities", ((Number) row[0]).longValue());
+        counts.put("weekActivities", ((Number) row[1]).longValue());
+        counts.put("monthActivities", ((Number) row[2]).longValue());
+        return counts;
+    }
 } 
\ No newline at end of file
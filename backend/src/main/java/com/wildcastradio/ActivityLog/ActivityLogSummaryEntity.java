@@ -0,0 +1,68 @@
+package com.wildcastradio.ActivityLog;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Daily count of a frequent, low-value activity type (checkpoints, health checks...) per
+ * broadcast, replacing the individual rows removed by retention.
+ */
+@Entity
+@Table(
+    name = "activity_log_summaries",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_activity_log_summaries_day", columnNames = {"activity_type", "broadcast_id", "summary_date"})
+    }
+)
+public class ActivityLogSummaryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityLogEntity.ActivityType activityType;
+
+    // 0 for entries not about a broadcast, so the unique constraint also covers them
+    @Column(name = "broadcast_id", nullable = false)
+    private long broadcastId;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Column(name = "first_timestamp", nullable = false)
+    private LocalDateTime firstTimestamp;
+
+    @Column(name = "last_timestamp", nullable = false)
+    private LocalDateTime lastTimestamp;
+
+    @Column(name = "summarized_at", nullable = false)
+    private LocalDateTime summarizedAt;
+
+    // No-arg constructor required by JPA
+    public ActivityLogSummaryEntity() {
+    }
+
+    public Long getId() { return id; }
+    public ActivityLogEntity.ActivityType getActivityType() { return activityType; }
+    public long getBroadcastId() { return broadcastId; }
+    public LocalDate getSummaryDate() { return summaryDate; }
+    public long getEntryCount() { return entryCount; }
+    public LocalDateTime getFirstTimestamp() { return firstTimestamp; }
+    public LocalDateTime getLastTimestamp() { return lastTimestamp; }
+    public LocalDateTime getSummarizedAt() { return summarizedAt; }
+}
@@ -0,0 +1,13 @@
+package com.wildcastradio.ActivityLog;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ActivityLogSummaryRepository extends JpaRepository<ActivityLogSummaryEntity, Long> {
+
+    List<ActivityLogSummaryEntity> findBySummaryDateGreaterThanEqualOrderBySummaryDateDescActivityTypeAsc(LocalDate since);
+}
@@ -0,0 +1,160 @@
+package com.wildcastradio.ActivityLog;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wildcastradio.util.JdbcBatches;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind pipeline for activity log rows.
+ *
+ * Entries go into a bounded in-memory queue and are inserted with JDBC batches every flush
+ * interval, so callers (listener joins, health checks, circuit breaker transitions...) never wait
+ * on the database. When the queue is full the entry is dropped and counted rather than blocking
+ * the caller. Security-relevant types (sign-in, registration, role and account changes) bypass
+ * the queue and are written synchronously by ActivityLogService; see {@link #isSynchronous}.
+ *
+ * Queue depth, drops, failures and flush latency are reported by {@link #stats()}. Entries still
+ * queued at shutdown are flushed; entries of a node that dies are lost.
+ */
+@Component
+public class ActivityLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO activity_logs (activity_type, description, timestamp, user_id, broadcast_id, metadata, " +
+            "ip_address, is_system_event) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final BlockingQueue<ActivityLogEntity> queue;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lastFlushMs = new AtomicLong();
+    private final AtomicLong maxFlushMs = new AtomicLong();
+    private final AtomicLong lastFlushAt = new AtomicLong();
+    private final AtomicLong lastDropWarningAt = new AtomicLong();
+
+    public ActivityLogWriter(JdbcTemplate jdbcTemplate,
+                             @Value("${activity-log.writer.enabled:true}") boolean enabled,
+                             @Value("${activity-log.writer.queue-capacity:10000}") int capacity,
+                             @Value("${activity-log.writer.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new ArrayBlockingQueue<>(this.capacity);
+    }
+
+    /**
+     * Whether entries of this type must be stored before the logging call returns.
+     */
+    public boolean isSynchronous(ActivityLogEntity.ActivityType activityType) {
+        return !enabled || activityType.isSecurityEvent();
+    }
+
+    /**
+     * Queue an entry for the next batch without blocking.
+     * @return false if the queue was full and the entry was dropped
+     */
+    public boolean enqueue(ActivityLogEntity entry) {
+        if (queue.offer(entry)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+        long drops = dropped.incrementAndGet();
+        long now = System.currentTimeMillis();
+        long lastWarning = lastDropWarningAt.get();
+        if (now - lastWarning > 60000 && lastDropWarningAt.compareAndSet(lastWarning, now)) {
+            logger.warn("Activity log queue full ({} entries), dropping {} entry; {} dropped so far",
+                    capacity, entry.getActivityType(), drops);
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${activity-log.writer.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        List<ActivityLogEntity> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        lastFlushMs.set(elapsed);
+        maxFlushMs.accumulateAndGet(elapsed, Math::max);
+        lastFlushAt.set(started);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Queue depth and capacity, counters since startup, and flush latency in milliseconds.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", capacity);
+        stats.put("enqueued", enqueued.get());
+        stats.put("dropped", dropped.get());
+        stats.put("written", written.get());
+        stats.put("failed", failed.get());
+        stats.put("lastFlushMs", lastFlushMs.get());
+        stats.put("maxFlushMs", maxFlushMs.get());
+        stats.put("lastFlushAt", lastFlushAt.get() > 0 ? new Timestamp(lastFlushAt.get()).toLocalDateTime() : null);
+        return stats;
+    }
+
+    private void write(List<ActivityLogEntity> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (ActivityLogEntity entry : batch) {
+            args.add(new Object[]{
+                    entry.getActivityType().name(),
+                    entry.getDescription(),
+                    Timestamp.valueOf(entry.getTimestamp()),
+                    entry.getUser() != null ? entry.getUser().getId() : null,
+                    entry.getBroadcastId(),
+                    entry.getMetadata(),
+                    entry.getIpAddress(),
+                    entry.getIsSystemEvent()});
+        }
+        int[] results = JdbcBatches.insert(jdbcTemplate, INSERT_SQL, args, "activity log entries", (i, error) -> {
+            failed.incrementAndGet();
+            logger.warn("Dropping {} activity log entry: {}", batch.get(i).getActivityType(), error.getMessage());
+        });
+        for (int result : results) {
+            if (result != Statement.EXECUTE_FAILED) {
+                written.incrementAndGet();
+            }
+        }
+    }
+}
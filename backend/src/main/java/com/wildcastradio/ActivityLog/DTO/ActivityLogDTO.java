@@ -11,6 +11,7 @@ public class ActivityLogDTO {
     private String description;
     private LocalDateTime timestamp;
     private UserDTO user;
+    private Long broadcastId;
     
     // Constructors
     public ActivityLogDTO() {
@@ -30,13 +31,24 @@ public class ActivityLogDTO {
             return null;
         }
         
-        return new ActivityLogDTO(
+        ActivityLogDTO dto = new ActivityLogDTO(
             activityLog.getId(),
             activityLog.getActivityType().toString(),
             activityLog.getDescription(),
             activityLog.getTimestamp(),
             UserDTO.fromEntity(activityLog.getUser())
         );
+        dto.setBroadcastId(activityLog.getBroadcastId());
+        return dto;
+    }
+    
+    // As fromEntity, with only the public profile of the acting user
+    public static ActivityLogDTO withPublicUser(ActivityLogEntity activityLog) {
+        ActivityLogDTO dto = fromEntity(activityLog);
+        if (dto != null) {
+            dto.setUser(UserDTO.publicProfileOf(activityLog.getUser()));
+        }
+        return dto;
     }
     
     // Getters and Setters
@@ -79,4 +91,12 @@ public class ActivityLogDTO {
     public void setUser(UserDTO user) {
         this.user = user;
     }
-} 
\ No newline at end of file
+    
+    public Long getBroadcastId() {
+        return broadcastId;
+    }
+    
+    public void setBroadcastId(Long broadcastId) {
+        this.broadcastId = broadcastId;
+    }
+}
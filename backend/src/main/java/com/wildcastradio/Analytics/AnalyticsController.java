@@ -2,12 +2,12 @@ package com.wildcastradio.Analytics;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Period;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -22,9 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import com.wildcastradio.Broadcast.BroadcastEntity;
 import com.wildcastradio.Broadcast.BroadcastService;
 import com.wildcastradio.Broadcast.DTO.BroadcastDTO;
-import com.wildcastradio.ChatMessage.ChatMessageRepository;
 import com.wildcastradio.DJHandover.DJHandoverRepository;
-import com.wildcastradio.SongRequest.SongRequestRepository;
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserService;
 
@@ -50,13 +48,16 @@ public class AnalyticsController {
     private UserService userService;
 
     @Autowired
-    private ChatMessageRepository chatMessageRepository;
+    private DJPeriodAnalyticsService djPeriodAnalyticsService;
 
     @Autowired
-    private SongRequestRepository songRequestRepository;
+    private AnalyticsRollupService analyticsRollupService;
 
     @Autowired
-    private DJPeriodAnalyticsService djPeriodAnalyticsService;
+    private AnalyticsResponseCache analyticsResponseCache;
+
+    @Autowired
+    private BroadcastDemographicsRepository broadcastDemographicsRepository;
 
     @Autowired
     private DJHandoverRepository djHandoverRepository;
@@ -87,6 +88,14 @@ public class AnalyticsController {
         return null; // Admin and Moderator see overall stats
     }
 
+    /**
+     * Cached response for an endpoint scoped to one DJ (or global when userId is null)
+     */
+    private <T> T cached(String endpoint, Long userId, Function<Long, T> loader) {
+        String key = endpoint + ":" + (userId != null ? "dj:" + userId : "global");
+        return analyticsResponseCache.get(key, () -> loader.apply(userId));
+    }
+
     /**
      * Get broadcast statistics including real-time listener data
      * DJs see only their own broadcasts, Admin/Moderator can see overall or specific DJ stats via userId param
@@ -112,7 +121,7 @@ public class AnalyticsController {
             .header("Cache-Control", "no-store, no-cache, must-revalidate, max-age=0")
             .header("Pragma", "no-cache")
             .header("Expires", "0")
-            .body(analyticsService.getBroadcastStats(filterUserId));
+            .body(cached("broadcasts", filterUserId, analyticsService::getBroadcastStats));
     }
 
     /**
@@ -125,7 +134,7 @@ public class AnalyticsController {
             .header("Cache-Control", "no-store, no-cache, must-revalidate, max-age=0")
             .header("Pragma", "no-cache")
             .header("Expires", "0")
-            .body(analyticsService.getUserStats());
+            .body(analyticsResponseCache.get("users:global", analyticsService::getUserStats));
     }
 
     /**
@@ -157,7 +166,7 @@ public class AnalyticsController {
             }
             
             logger.info("Fetching engagement stats with filterUserId: {}", filterUserId);
-            Map<String, Object> stats = analyticsService.getEngagementStats(filterUserId);
+            Map<String, Object> stats = cached("engagement", filterUserId, analyticsService::getEngagementStats);
             logger.info("Successfully retrieved engagement stats");
             
         return ResponseEntity.ok()
@@ -171,6 +180,38 @@ public class AnalyticsController {
         }
     }
 
+    /**
+     * Get engagement over time from the hourly or daily rollups
+     * DJs see only their own broadcasts, Admin/Moderator can see overall or specific DJ series via userId param
+     */
+    @GetMapping("/engagement/series")
+    @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
+    public ResponseEntity<List<Map<String, Object>>> getEngagementSeries(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long broadcastId) {
+        boolean hourly = "hour".equalsIgnoreCase(granularity);
+        if (!hourly && !"day".equalsIgnoreCase(granularity)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Hourly buckets are capped at a week, daily at a year
+        int boundedDays = Math.max(1, Math.min(days, hourly ? 7 : 366));
+        Long filterUserId = getUserIdForFiltering();
+        if (filterUserId == null) {
+            filterUserId = userId;
+        }
+        try {
+            String series = "series:" + (hourly ? "hour" : "day") + ":" + boundedDays
+                    + (broadcastId != null ? ":broadcast:" + broadcastId : "");
+            return ResponseEntity.ok(cached(series, filterUserId,
+                id -> analyticsService.getEngagementSeries(hourly, boundedDays, id, broadcastId)));
+        } catch (Exception e) {
+            logger.error("Error getting engagement series: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Get activity statistics
      * DJs see only their own activities, Admin/Moderator can see overall or specific DJ stats via userId param
@@ -196,7 +237,7 @@ public class AnalyticsController {
             .header("Cache-Control", "no-store, no-cache, must-revalidate, max-age=0")
             .header("Pragma", "no-cache")
             .header("Expires", "0")
-            .body(analyticsService.getActivityStats(filterUserId));
+            .body(cached("activity", filterUserId, analyticsService::getActivityStats));
     }
 
     /**
@@ -228,7 +269,7 @@ public class AnalyticsController {
             }
             
             logger.info("Fetching popular broadcasts with filterUserId: {}", filterUserId);
-            List<BroadcastDTO> broadcastDTOs = analyticsService.getPopularBroadcasts(5, filterUserId);
+            List<BroadcastDTO> broadcastDTOs = cached("popular", filterUserId, id -> analyticsService.getPopularBroadcasts(5, id));
             logger.info("Successfully retrieved {} popular broadcasts", broadcastDTOs.size());
             
         return ResponseEntity.ok()
@@ -258,7 +299,7 @@ public class AnalyticsController {
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<Map<String, Object>> getDemographicAnalytics() {
         try {
-            Map<String, Object> demographics = analyticsService.getDemographicAnalytics();
+            Map<String, Object> demographics = analyticsResponseCache.get("demographics:global", analyticsService::getDemographicAnalytics);
             return ResponseEntity.ok(demographics);
         } catch (Exception e) {
             logger.error("Error getting demographic analytics: ", e);
@@ -272,141 +313,124 @@ public class AnalyticsController {
     @GetMapping("/topics/performance")
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<Map<String, Object>> getTopicPerformanceAnalytics() {
-        Map<String, Object> topicAnalytics = new HashMap<>();
-
         try {
-            // Get broadcasts without collections to avoid N+1 queries
-            List<com.wildcastradio.Broadcast.BroadcastEntity> broadcasts = broadcastService.getAllBroadcasts();
+            return ResponseEntity.ok(analyticsResponseCache.get("topics:global", this::buildTopicPerformanceAnalytics));
+        } catch (Exception e) {
+            logger.error("Error getting topic performance analytics: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-            // Create broadcast ID to interaction count mapping to avoid N+1 queries
-            Map<Long, Integer> chatMessageCounts = new HashMap<>();
-            Map<Long, Integer> songRequestCounts = new HashMap<>();
+    private Map<String, Object> buildTopicPerformanceAnalytics() {
+        Map<String, Object> topicAnalytics = new HashMap<>();
 
-            // Initialize all broadcasts with 0 counts
-            for (BroadcastEntity broadcast : broadcasts) {
-                chatMessageCounts.put(broadcast.getId(), 0);
-                songRequestCounts.put(broadcast.getId(), 0);
-            }
+        // Get broadcasts without collections to avoid N+1 queries
+        List<com.wildcastradio.Broadcast.BroadcastEntity> broadcasts = broadcastService.getAllBroadcasts();
 
-            // Batch query for all chat messages across all broadcasts
-            List<Object[]> chatCounts = chatMessageRepository.countMessagesByBroadcastIds(
-                broadcasts.stream().map(BroadcastEntity::getId).collect(java.util.stream.Collectors.toList()));
-            for (Object[] result : chatCounts) {
-                Long broadcastId = ((Number) result[0]).longValue();
-                Long count = ((Number) result[1]).longValue();
-                chatMessageCounts.put(broadcastId, count.intValue());
-            }
+        // Interaction counts for every broadcast in one read from the rollups
+        Map<Long, Map<String, Object>> interactionTotals = analyticsRollupService.broadcastTotals(null);
+        Map<Long, Integer> chatMessageCounts = new HashMap<>();
+        Map<Long, Integer> songRequestCounts = new HashMap<>();
+        for (Map.Entry<Long, Map<String, Object>> entry : interactionTotals.entrySet()) {
+            chatMessageCounts.put(entry.getKey(), ((Number) entry.getValue().get("messages")).intValue());
+            songRequestCounts.put(entry.getKey(), ((Number) entry.getValue().get("songRequests")).intValue());
+        }
 
-            // Batch query for all song requests across all broadcasts
-            List<Object[]> requestCounts = songRequestRepository.countSongRequestsByBroadcastIds(
-                broadcasts.stream().map(BroadcastEntity::getId).collect(java.util.stream.Collectors.toList()));
-            for (Object[] result : requestCounts) {
-                Long broadcastId = ((Number) result[0]).longValue();
-                Long count = ((Number) result[1]).longValue();
-                songRequestCounts.put(broadcastId, count.intValue());
-            }
+        // Map to store topic performance data
+        Map<String, Map<String, Object>> topicPerformance = new HashMap<>();
 
-            // Map to store topic performance data
-            Map<String, Map<String, Object>> topicPerformance = new HashMap<>();
+        for (com.wildcastradio.Broadcast.BroadcastEntity broadcast : broadcasts) {
+            String title = broadcast.getTitle();
+            if (title == null || title.trim().isEmpty()) {
+                continue;
+            }
 
-            for (com.wildcastradio.Broadcast.BroadcastEntity broadcast : broadcasts) {
-                String title = broadcast.getTitle();
-                if (title == null || title.trim().isEmpty()) {
-                    continue;
-                }
+            // Extract topic keywords (simple approach - could be enhanced with NLP)
+            String[] keywords = extractKeywords(title);
 
-                // Extract topic keywords (simple approach - could be enhanced with NLP)
-                String[] keywords = extractKeywords(title);
+            int chatMessages = chatMessageCounts.getOrDefault(broadcast.getId(), 0);
+            int songRequests = songRequestCounts.getOrDefault(broadcast.getId(), 0);
+            int totalInteractions = chatMessages + songRequests;
 
-                int chatMessages = chatMessageCounts.getOrDefault(broadcast.getId(), 0);
-                int songRequests = songRequestCounts.getOrDefault(broadcast.getId(), 0);
-                int totalInteractions = chatMessages + songRequests;
+            // Calculate duration for engagement rate
+            Long durationMinutes = null;
+            if (broadcast.getActualStart() != null && broadcast.getActualEnd() != null) {
+                durationMinutes = java.time.Duration.between(broadcast.getActualStart(), broadcast.getActualEnd()).toMinutes();
+            }
 
-                // Calculate duration for engagement rate
-                Long durationMinutes = null;
-                if (broadcast.getActualStart() != null && broadcast.getActualEnd() != null) {
-                    durationMinutes = java.time.Duration.between(broadcast.getActualStart(), broadcast.getActualEnd()).toMinutes();
-                }
+            Double engagementRate = null;
+            if (durationMinutes != null && durationMinutes > 0) {
+                engagementRate = (double) totalInteractions / durationMinutes;
+            }
 
-                Double engagementRate = null;
-                if (durationMinutes != null && durationMinutes > 0) {
-                    engagementRate = (double) totalInteractions / durationMinutes;
+            // Store broadcast performance data
+            Map<String, Object> broadcastData = new HashMap<>();
+            broadcastData.put("title", title);
+            broadcastData.put("totalInteractions", totalInteractions);
+            broadcastData.put("chatMessages", chatMessages);
+            broadcastData.put("songRequests", songRequests);
+            broadcastData.put("durationMinutes", durationMinutes);
+            broadcastData.put("engagementRate", engagementRate);
+            broadcastData.put("createdBy", broadcast.getCreatedBy().getEmail());
+            broadcastData.put("scheduledStart", broadcast.getScheduledStart());
+
+            // Aggregate by keywords/topics
+            for (String keyword : keywords) {
+                if (!topicPerformance.containsKey(keyword)) {
+                    Map<String, Object> topicData = new HashMap<>();
+                    topicData.put("keyword", keyword);
+                    topicData.put("broadcastCount", 0);
+                    topicData.put("totalInteractions", 0);
+                    topicData.put("totalChatMessages", 0);
+                    topicData.put("totalSongRequests", 0);
+                    topicData.put("averageEngagementRate", 0.0);
+                    topicData.put("broadcasts", new ArrayList<Map<String, Object>>());
+                    topicPerformance.put(keyword, topicData);
                 }
 
-                // Store broadcast performance data
-                Map<String, Object> broadcastData = new HashMap<>();
-                broadcastData.put("title", title);
-                broadcastData.put("totalInteractions", totalInteractions);
-                broadcastData.put("chatMessages", chatMessages);
-                broadcastData.put("songRequests", songRequests);
-                broadcastData.put("durationMinutes", durationMinutes);
-                broadcastData.put("engagementRate", engagementRate);
-                broadcastData.put("createdBy", broadcast.getCreatedBy().getEmail());
-                broadcastData.put("scheduledStart", broadcast.getScheduledStart());
-
-                // Aggregate by keywords/topics
-                for (String keyword : keywords) {
-                    if (!topicPerformance.containsKey(keyword)) {
-                        Map<String, Object> topicData = new HashMap<>();
-                        topicData.put("keyword", keyword);
-                        topicData.put("broadcastCount", 0);
-                        topicData.put("totalInteractions", 0);
-                        topicData.put("totalChatMessages", 0);
-                        topicData.put("totalSongRequests", 0);
-                        topicData.put("averageEngagementRate", 0.0);
-                        topicData.put("broadcasts", new ArrayList<Map<String, Object>>());
-                        topicPerformance.put(keyword, topicData);
-                    }
-
-                    Map<String, Object> topicData = topicPerformance.get(keyword);
-                    topicData.put("broadcastCount", (Integer) topicData.get("broadcastCount") + 1);
-                    topicData.put("totalInteractions", (Integer) topicData.get("totalInteractions") + totalInteractions);
-                    topicData.put("totalChatMessages", (Integer) topicData.get("totalChatMessages") + chatMessages);
-                    topicData.put("totalSongRequests", (Integer) topicData.get("totalSongRequests") + songRequests);
+                Map<String, Object> topicData = topicPerformance.get(keyword);
+                topicData.put("broadcastCount", (Integer) topicData.get("broadcastCount") + 1);
+                topicData.put("totalInteractions", (Integer) topicData.get("totalInteractions") + totalInteractions);
+                topicData.put("totalChatMessages", (Integer) topicData.get("totalChatMessages") + chatMessages);
+                topicData.put("totalSongRequests", (Integer) topicData.get("totalSongRequests") + songRequests);
 
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> broadcastList = (List<Map<String, Object>>) topicData.get("broadcasts");
-                    broadcastList.add(broadcastData);
-                }
-            }
-
-            // Calculate average engagement rates for topics
-            for (Map<String, Object> topicData : topicPerformance.values()) {
                 @SuppressWarnings("unchecked")
                 List<Map<String, Object>> broadcastList = (List<Map<String, Object>>) topicData.get("broadcasts");
+                broadcastList.add(broadcastData);
+            }
+        }
 
-                double totalEngagementRate = 0.0;
-                int validRates = 0;
+        // Calculate average engagement rates for topics
+        for (Map<String, Object> topicData : topicPerformance.values()) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> broadcastList = (List<Map<String, Object>>) topicData.get("broadcasts");
 
-                for (Map<String, Object> broadcastData : broadcastList) {
-                    Double rate = (Double) broadcastData.get("engagementRate");
-                    if (rate != null) {
-                        totalEngagementRate += rate;
-                        validRates++;
-                    }
-                }
+            double totalEngagementRate = 0.0;
+            int validRates = 0;
 
-                if (validRates > 0) {
-                    topicData.put("averageEngagementRate", totalEngagementRate / validRates);
+            for (Map<String, Object> broadcastData : broadcastList) {
+                Double rate = (Double) broadcastData.get("engagementRate");
+                if (rate != null) {
+                    totalEngagementRate += rate;
+                    validRates++;
                 }
             }
 
-            // Sort topics by total interactions (descending)
-            List<Map<String, Object>> sortedTopics = topicPerformance.values().stream()
-                .sorted((a, b) -> Integer.compare((Integer) b.get("totalInteractions"), (Integer) a.get("totalInteractions")))
-                .collect(Collectors.toList());
-
-            topicAnalytics.put("topicPerformance", sortedTopics);
-            topicAnalytics.put("totalTopics", sortedTopics.size());
-            topicAnalytics.put("totalBroadcasts", broadcasts.size());
-            topicAnalytics.put("lastUpdated", System.currentTimeMillis());
+            if (validRates > 0) {
+                topicData.put("averageEngagementRate", totalEngagementRate / validRates);
+            }
+        }
 
-            return ResponseEntity.ok(topicAnalytics);
+        // Sort topics by total interactions (descending)
+        List<Map<String, Object>> sortedTopics = topicPerformance.values().stream()
+            .sorted((a, b) -> Integer.compare((Integer) b.get("totalInteractions"), (Integer) a.get("totalInteractions")))
+            .collect(Collectors.toList());
 
-        } catch (Exception e) {
-            logger.error("Error getting topic performance analytics: ", e);
-            return ResponseEntity.internalServerError().build();
-        }
+        topicAnalytics.put("topicPerformance", sortedTopics);
+        topicAnalytics.put("totalTopics", sortedTopics.size());
+        topicAnalytics.put("totalBroadcasts", broadcasts.size());
+        topicAnalytics.put("lastUpdated", System.currentTimeMillis());
+        return topicAnalytics;
     }
 
     /**
@@ -415,90 +439,82 @@ public class AnalyticsController {
     @GetMapping("/broadcast/{broadcastId}/demographics")
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<Map<String, Object>> getBroadcastDemographicAnalytics(@PathVariable Long broadcastId) {
-        Map<String, Object> analytics = new HashMap<>();
-
         try {
-            // Get broadcast details
-            Optional<com.wildcastradio.Broadcast.BroadcastEntity> broadcastOpt = broadcastService.getBroadcastById(broadcastId);
-            if (!broadcastOpt.isPresent()) {
+            Map<String, Object> analytics = analyticsResponseCache.get("broadcast:" + broadcastId + ":demographics",
+                () -> buildBroadcastDemographicAnalytics(broadcastId));
+            if (analytics == null) {
                 return ResponseEntity.notFound().build();
             }
+            return ResponseEntity.ok(analytics);
+        } catch (Exception e) {
+            logger.error("Error getting broadcast demographic analytics for ID {}: ", broadcastId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-            com.wildcastradio.Broadcast.BroadcastEntity broadcast = broadcastOpt.get();
-
-            // Age group interaction counters
-            Map<String, Integer> ageGroupChatMessages = new HashMap<>();
-            Map<String, Integer> ageGroupSongRequests = new HashMap<>();
-
-            // Gender interaction counters
-            Map<String, Integer> genderChatMessages = new HashMap<>();
-            Map<String, Integer> genderSongRequests = new HashMap<>();
-
-            // Initialize counters
-            String[] ageGroups = {"teens", "youngAdults", "adults", "middleAged", "seniors", "unknown"};
-            for (String group : ageGroups) {
-                ageGroupChatMessages.put(group, 0);
-                ageGroupSongRequests.put(group, 0);
-            }
-            String[] genders = {"male", "female", "other", "unknown"};
-            for (String g : genders) {
-                genderChatMessages.put(g, 0);
-                genderSongRequests.put(g, 0);
-            }
-
-            LocalDate today = LocalDate.now();
-
-            // Analyze chat messages by age group and gender
-            if (broadcast.getChatMessages() != null) {
-                for (com.wildcastradio.ChatMessage.ChatMessageEntity message : broadcast.getChatMessages()) {
-                    String ageGroup = getAgeGroup(message.getSender().getBirthdate(), today);
-                    ageGroupChatMessages.put(ageGroup, ageGroupChatMessages.get(ageGroup) + 1);
+    private Map<String, Object> buildBroadcastDemographicAnalytics(Long broadcastId) {
+        Map<String, Object> analytics = new HashMap<>();
 
-                    String g = toGenderKey(message.getSender() != null ? message.getSender().getGender() : null);
-                    genderChatMessages.put(g, genderChatMessages.get(g) + 1);
-                }
-            }
+        // Get broadcast details
+        Optional<com.wildcastradio.Broadcast.BroadcastEntity> broadcastOpt = broadcastService.getBroadcastById(broadcastId);
+        if (!broadcastOpt.isPresent()) {
+            return null;
+        }
 
-            // Analyze song requests by age group and gender
-            if (broadcast.getSongRequests() != null) {
-                for (com.wildcastradio.SongRequest.SongRequestEntity request : broadcast.getSongRequests()) {
-                    String ageGroup = getAgeGroup(request.getRequestedBy().getBirthdate(), today);
-                    ageGroupSongRequests.put(ageGroup, ageGroupSongRequests.get(ageGroup) + 1);
+        com.wildcastradio.Broadcast.BroadcastEntity broadcast = broadcastOpt.get();
 
-                    String g = toGenderKey(request.getRequestedBy() != null ? request.getRequestedBy().getGender() : null);
-                    genderSongRequests.put(g, genderSongRequests.get(g) + 1);
-                }
-            }
+        // Age group interaction counters
+        Map<String, Integer> ageGroupChatMessages = new HashMap<>();
+        Map<String, Integer> ageGroupSongRequests = new HashMap<>();
 
-            // Calculate totals by age group and gender
-            Map<String, Integer> totalInteractionsByAge = new HashMap<>();
-            for (String group : ageGroups) {
-                int total = ageGroupChatMessages.get(group) + ageGroupSongRequests.get(group);
-                totalInteractionsByAge.put(group, total);
-            }
-            Map<String, Integer> totalInteractionsByGender = new HashMap<>();
-            for (String g : genders) {
-                int total = genderChatMessages.get(g) + genderSongRequests.get(g);
-                totalInteractionsByGender.put(g, total);
-            }
+        // Gender interaction counters
+        Map<String, Integer> genderChatMessages = new HashMap<>();
+        Map<String, Integer> genderSongRequests = new HashMap<>();
 
-            // Build response
-            analytics.put("broadcastId", broadcastId);
-            analytics.put("broadcastTitle", broadcast.getTitle());
-            analytics.put("ageGroupChatMessages", ageGroupChatMessages);
-            analytics.put("ageGroupSongRequests", ageGroupSongRequests);
-            analytics.put("totalInteractionsByAge", totalInteractionsByAge);
-            analytics.put("genderChatMessages", genderChatMessages);
-            analytics.put("genderSongRequests", genderSongRequests);
-            analytics.put("totalInteractionsByGender", totalInteractionsByGender);
-            analytics.put("lastUpdated", System.currentTimeMillis());
+        // Initialize counters
+        String[] ageGroups = {"teens", "youngAdults", "adults", "middleAged", "seniors", "unknown"};
+        for (String group : ageGroups) {
+            ageGroupChatMessages.put(group, 0);
+            ageGroupSongRequests.put(group, 0);
+        }
+        String[] genders = {"male", "female", "other", "unknown"};
+        for (String g : genders) {
+            genderChatMessages.put(g, 0);
+            genderSongRequests.put(g, 0);
+        }
 
-            return ResponseEntity.ok(analytics);
+        // Chat messages and song requests grouped by age group and gender in the database
+        for (BroadcastDemographicsRepository.Group group
+                : broadcastDemographicsRepository.countByAgeGroupAndGender(broadcastId, LocalDate.now())) {
+            Map<String, Integer> byAge = group.isChat() ? ageGroupChatMessages : ageGroupSongRequests;
+            Map<String, Integer> byGender = group.isChat() ? genderChatMessages : genderSongRequests;
+            byAge.merge(group.getAgeGroup(), group.getInteractions(), Integer::sum);
+            byGender.merge(group.getGender(), group.getInteractions(), Integer::sum);
+        }
 
-        } catch (Exception e) {
-            logger.error("Error getting broadcast demographic analytics for ID {}: ", broadcastId, e);
-            return ResponseEntity.internalServerError().build();
+        // Calculate totals by age group and gender
+        Map<String, Integer> totalInteractionsByAge = new HashMap<>();
+        for (String group : ageGroups) {
+            int total = ageGroupChatMessages.get(group) + ageGroupSongRequests.get(group);
+            totalInteractionsByAge.put(group, total);
         }
+        Map<String, Integer> totalInteractionsByGender = new HashMap<>();
+        for (String g : genders) {
+            int total = genderChatMessages.get(g) + genderSongRequests.get(g);
+            totalInteractionsByGender.put(g, total);
+        }
+
+        // Build response
+        analytics.put("broadcastId", broadcastId);
+        analytics.put("broadcastTitle", broadcast.getTitle());
+        analytics.put("ageGroupChatMessages", ageGroupChatMessages);
+        analytics.put("ageGroupSongRequests", ageGroupSongRequests);
+        analytics.put("totalInteractionsByAge", totalInteractionsByAge);
+        analytics.put("genderChatMessages", genderChatMessages);
+        analytics.put("genderSongRequests", genderSongRequests);
+        analytics.put("totalInteractionsByGender", totalInteractionsByGender);
+        analytics.put("lastUpdated", System.currentTimeMillis());
+        return analytics;
     }
 
     /**
@@ -507,76 +523,87 @@ public class AnalyticsController {
     @GetMapping("/broadcast/{broadcastId}")
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<Map<String, Object>> getBroadcastAnalytics(@PathVariable Long broadcastId) {
-        Map<String, Object> analytics = new HashMap<>();
-
         try {
-            // Get broadcast details
-            Optional<BroadcastEntity> broadcastOpt = broadcastService.getBroadcastById(broadcastId);
-            if (!broadcastOpt.isPresent()) {
+            Map<String, Object> analytics = analyticsResponseCache.get("broadcast:" + broadcastId,
+                () -> buildBroadcastAnalytics(broadcastId));
+            if (analytics == null) {
                 return ResponseEntity.notFound().build();
             }
+            return ResponseEntity.ok(analytics);
+        } catch (Exception e) {
+            logger.error("Error getting broadcast analytics for ID {}: ", broadcastId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-            BroadcastEntity broadcast = broadcastOpt.get();
-
-            // Basic broadcast information
-            analytics.put("id", broadcast.getId());
-            analytics.put("title", broadcast.getTitle());
-            analytics.put("description", broadcast.getDescription());
-            analytics.put("status", broadcast.getStatus().toString());
-            analytics.put("createdBy", broadcast.getCreatedBy().getEmail());
-            analytics.put("startedBy", broadcast.getStartedBy() != null ? broadcast.getStartedBy().getEmail() : null);
-
-            // Timing information
-            analytics.put("scheduledStart", broadcast.getScheduledStart());
-            analytics.put("scheduledEnd", broadcast.getScheduledEnd());
-            analytics.put("actualStart", broadcast.getActualStart());
-            analytics.put("actualEnd", broadcast.getActualEnd());
-
-            // Calculate duration
-            Long durationMinutes = null;
-            if (broadcast.getActualStart() != null && broadcast.getActualEnd() != null) {
-                durationMinutes = java.time.Duration.between(broadcast.getActualStart(), broadcast.getActualEnd()).toMinutes();
-            } else if (broadcast.getActualStart() != null && broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE) {
-                durationMinutes = java.time.Duration.between(broadcast.getActualStart(), LocalDateTime.now()).toMinutes();
-            }
-            analytics.put("durationMinutes", durationMinutes);
-
-            // Interaction metrics
-            int chatMessageCount = broadcast.getChatMessages() != null ? broadcast.getChatMessages().size() : 0;
-            int songRequestCount = broadcast.getSongRequests() != null ? broadcast.getSongRequests().size() : 0;
-            analytics.put("totalChatMessages", chatMessageCount);
-            analytics.put("totalSongRequests", songRequestCount);
-            analytics.put("totalInteractions", chatMessageCount + songRequestCount);
-
-            // Real-time metrics (if broadcast is live)
-            if (broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE) {
-                analytics.put("currentListeners", listenerTrackingService.getCurrentListenerCount());
-                analytics.put("streamLive", listenerTrackingService.isStreamLive());
-            } else {
-                analytics.put("currentListeners", 0);
-                analytics.put("streamLive", false);
-            }
-
-            // Peak listeners (placeholder - would need historical tracking)
-            // For now, use current listeners if live, or 0 if ended
-            analytics.put("peakListeners", broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE ? 
-                listenerTrackingService.getCurrentListenerCount() : 0);
+    private Map<String, Object> buildBroadcastAnalytics(Long broadcastId) {
+        Map<String, Object> analytics = new HashMap<>();
 
-            // Engagement rate (interactions per minute)
-            Double engagementRate = null;
-            if (durationMinutes != null && durationMinutes > 0) {
-                engagementRate = (double) (chatMessageCount + songRequestCount) / durationMinutes;
-            }
-            analytics.put("engagementRate", engagementRate);
+        // Get broadcast details
+        Optional<BroadcastEntity> broadcastOpt = broadcastService.getBroadcastById(broadcastId);
+        if (!broadcastOpt.isPresent()) {
+            return null;
+        }
 
-            analytics.put("lastUpdated", System.currentTimeMillis());
+        BroadcastEntity broadcast = broadcastOpt.get();
+
+        // Basic broadcast information
+        analytics.put("id", broadcast.getId());
+        analytics.put("title", broadcast.getTitle());
+        analytics.put("description", broadcast.getDescription());
+        analytics.put("status", broadcast.getStatus().toString());
+        analytics.put("createdBy", broadcast.getCreatedBy().getEmail());
+        analytics.put("startedBy", broadcast.getStartedBy() != null ? broadcast.getStartedBy().getEmail() : null);
+
+        // Timing information
+        analytics.put("scheduledStart", broadcast.getScheduledStart());
+        analytics.put("scheduledEnd", broadcast.getScheduledEnd());
+        analytics.put("actualStart", broadcast.getActualStart());
+        analytics.put("actualEnd", broadcast.getActualEnd());
+
+        // Calculate duration
+        Long durationMinutes = null;
+        if (broadcast.getActualStart() != null && broadcast.getActualEnd() != null) {
+            durationMinutes = java.time.Duration.between(broadcast.getActualStart(), broadcast.getActualEnd()).toMinutes();
+        } else if (broadcast.getActualStart() != null && broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE) {
+            durationMinutes = java.time.Duration.between(broadcast.getActualStart(), LocalDateTime.now()).toMinutes();
+        }
+        analytics.put("durationMinutes", durationMinutes);
+
+        // Interaction metrics from the rollups
+        Map<String, Object> totals = analyticsRollupService.broadcastTotals(broadcastId).getOrDefault(broadcastId, Map.of());
+        int chatMessageCount = ((Number) totals.getOrDefault("messages", 0)).intValue();
+        int songRequestCount = ((Number) totals.getOrDefault("songRequests", 0)).intValue();
+        int rolledUpPeak = ((Number) totals.getOrDefault("peakListeners", 0)).intValue();
+        analytics.put("totalChatMessages", chatMessageCount);
+        analytics.put("totalSongRequests", songRequestCount);
+        analytics.put("totalInteractions", chatMessageCount + songRequestCount);
+
+        // Real-time metrics (if broadcast is live)
+        if (broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE) {
+            analytics.put("currentListeners", listenerTrackingService.getCurrentListenerCount());
+            analytics.put("streamLive", listenerTrackingService.isStreamLive());
+        } else {
+            analytics.put("currentListeners", 0);
+            analytics.put("streamLive", false);
+        }
 
-            return ResponseEntity.ok(analytics);
+        // Peak listeners sampled into the rollups, topped up with the live count
+        int peakListeners = rolledUpPeak;
+        if (broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE) {
+            peakListeners = Math.max(peakListeners, listenerTrackingService.getCurrentListenerCount());
+        }
+        analytics.put("peakListeners", peakListeners);
 
-        } catch (Exception e) {
-            logger.error("Error getting broadcast analytics for ID {}: ", broadcastId, e);
-            return ResponseEntity.internalServerError().build();
+        // Engagement rate (interactions per minute)
+        Double engagementRate = null;
+        if (durationMinutes != null && durationMinutes > 0) {
+            engagementRate = (double) (chatMessageCount + songRequestCount) / durationMinutes;
         }
+        analytics.put("engagementRate", engagementRate);
+
+        analytics.put("lastUpdated", System.currentTimeMillis());
+        return analytics;
     }
 
     /**
@@ -586,46 +613,50 @@ public class AnalyticsController {
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<List<Map<String, Object>>> getAllBroadcastAnalytics() {
         try {
-            List<BroadcastEntity> broadcasts = broadcastService.getAllBroadcasts();
-            List<Map<String, Object>> analyticsData = new ArrayList<>();
-
-            for (BroadcastEntity broadcast : broadcasts) {
-                Map<String, Object> broadcastAnalytics = new HashMap<>();
-
-                // Basic information
-                broadcastAnalytics.put("id", broadcast.getId());
-                broadcastAnalytics.put("title", broadcast.getTitle());
-                broadcastAnalytics.put("status", broadcast.getStatus().toString());
-                broadcastAnalytics.put("createdBy", broadcast.getCreatedBy().getEmail());
-                broadcastAnalytics.put("scheduledStart", broadcast.getScheduledStart());
-                broadcastAnalytics.put("actualStart", broadcast.getActualStart());
-                broadcastAnalytics.put("actualEnd", broadcast.getActualEnd());
-
-                // Duration calculation
-                Long durationMinutes = null;
-                if (broadcast.getActualStart() != null && broadcast.getActualEnd() != null) {
-                    durationMinutes = java.time.Duration.between(broadcast.getActualStart(), broadcast.getActualEnd()).toMinutes();
-                } else if (broadcast.getActualStart() != null && broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE) {
-                    durationMinutes = java.time.Duration.between(broadcast.getActualStart(), LocalDateTime.now()).toMinutes();
-                }
-                broadcastAnalytics.put("durationMinutes", durationMinutes);
+            return ResponseEntity.ok(analyticsResponseCache.get("broadcasts:detailed", this::buildAllBroadcastAnalytics));
+        } catch (Exception e) {
+            logger.error("Error getting all broadcast analytics: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private List<Map<String, Object>> buildAllBroadcastAnalytics() {
+        List<BroadcastEntity> broadcasts = broadcastService.getAllBroadcasts();
+        Map<Long, Map<String, Object>> interactionTotals = analyticsRollupService.broadcastTotals(null);
+        List<Map<String, Object>> analyticsData = new ArrayList<>();
 
-                // Interaction counts
-                int chatMessages = broadcast.getChatMessages() != null ? broadcast.getChatMessages().size() : 0;
-                int songRequests = broadcast.getSongRequests() != null ? broadcast.getSongRequests().size() : 0;
-                broadcastAnalytics.put("totalInteractions", chatMessages + songRequests);
-                broadcastAnalytics.put("totalChatMessages", chatMessages);
-                broadcastAnalytics.put("totalSongRequests", songRequests);
+        for (BroadcastEntity broadcast : broadcasts) {
+            Map<String, Object> broadcastAnalytics = new HashMap<>();
 
-                analyticsData.add(broadcastAnalytics);
+            // Basic information
+            broadcastAnalytics.put("id", broadcast.getId());
+            broadcastAnalytics.put("title", broadcast.getTitle());
+            broadcastAnalytics.put("status", broadcast.getStatus().toString());
+            broadcastAnalytics.put("createdBy", broadcast.getCreatedBy().getEmail());
+            broadcastAnalytics.put("scheduledStart", broadcast.getScheduledStart());
+            broadcastAnalytics.put("actualStart", broadcast.getActualStart());
+            broadcastAnalytics.put("actualEnd", broadcast.getActualEnd());
+
+            // Duration calculation
+            Long durationMinutes = null;
+            if (broadcast.getActualStart() != null && broadcast.getActualEnd() != null) {
+                durationMinutes = java.time.Duration.between(broadcast.getActualStart(), broadcast.getActualEnd()).toMinutes();
+            } else if (broadcast.getActualStart() != null && broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE) {
+                durationMinutes = java.time.Duration.between(broadcast.getActualStart(), LocalDateTime.now()).toMinutes();
             }
+            broadcastAnalytics.put("durationMinutes", durationMinutes);
 
-            return ResponseEntity.ok(analyticsData);
+            // Interaction counts from the rollups
+            Map<String, Object> totals = interactionTotals.getOrDefault(broadcast.getId(), Map.of());
+            int chatMessages = ((Number) totals.getOrDefault("messages", 0)).intValue();
+            int songRequests = ((Number) totals.getOrDefault("songRequests", 0)).intValue();
+            broadcastAnalytics.put("totalInteractions", chatMessages + songRequests);
+            broadcastAnalytics.put("totalChatMessages", chatMessages);
+            broadcastAnalytics.put("totalSongRequests", songRequests);
 
-        } catch (Exception e) {
-            logger.error("Error getting all broadcast analytics: ", e);
-            return ResponseEntity.internalServerError().build();
+            analyticsData.add(broadcastAnalytics);
         }
+        return analyticsData;
     }
 
     /**
@@ -634,7 +665,7 @@ public class AnalyticsController {
     @GetMapping("/summary")
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<Map<String, Object>> getAnalyticsSummary() {
-        return ResponseEntity.ok(analyticsService.getAnalyticsSummary());
+        return ResponseEntity.ok(analyticsResponseCache.get("summary:global", analyticsService::getAnalyticsSummary));
     }
 
     /**
@@ -650,44 +681,6 @@ public class AnalyticsController {
         return ResponseEntity.ok(health);
     }
 
-    /**
-     * Helper method to determine age group from birthdate
-     */
-    private String getAgeGroup(LocalDate birthdate, LocalDate today) {
-        if (birthdate == null) {
-            return "unknown";
-        }
-
-        int age = Period.between(birthdate, today).getYears();
-
-        if (age >= 13 && age <= 19) {
-            return "teens";
-        } else if (age >= 20 && age <= 29) {
-            return "youngAdults";
-        } else if (age >= 30 && age <= 49) {
-            return "adults";
-        } else if (age >= 50 && age <= 64) {
-            return "middleAged";
-        } else if (age >= 65) {
-            return "seniors";
-        } else {
-            return "unknown";
-        }
-    }
-
-    /**
-     * Helper to normalize gender to analytics key
-     */
-    private String toGenderKey(com.wildcastradio.User.UserEntity.Gender gender) {
-        if (gender == null) return "unknown";
-        switch (gender) {
-            case MALE: return "male";
-            case FEMALE: return "female";
-            case OTHER: return "other";
-            default: return "unknown";
-        }
-    }
-
     /**
      * Helper method to extract keywords from broadcast titles for topic analysis
      */
@@ -739,7 +732,8 @@ public class AnalyticsController {
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<Map<String, Object>> getDJPeriodAnalytics(@PathVariable Long id) {
         try {
-            Map<String, Object> analytics = djPeriodAnalyticsService.getDJPeriodAnalytics(id);
+            Map<String, Object> analytics = analyticsResponseCache.get("djPeriods:broadcast:" + id,
+                () -> djPeriodAnalyticsService.getDJPeriodAnalytics(id));
             return ResponseEntity.ok(analytics);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
@@ -802,7 +796,7 @@ public class AnalyticsController {
     @PreAuthorize("hasAnyRole('ADMIN','MODERATOR')")
     public ResponseEntity<Map<String, Object>> getHandoverAuthMethodStats() {
         try {
-            return ResponseEntity.ok(analyticsService.getHandoverAuthMethodStats());
+            return ResponseEntity.ok(analyticsResponseCache.get("handoverAuthMethods:global", analyticsService::getHandoverAuthMethodStats));
         } catch (Exception e) {
             logger.error("Error getting handover auth method stats: ", e);
             return ResponseEntity.internalServerError().build();
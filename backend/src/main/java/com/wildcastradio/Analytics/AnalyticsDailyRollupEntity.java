@@ -0,0 +1,78 @@
+package com.wildcastradio.Analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One day of engagement for a broadcast, maintained by {@link AnalyticsRollupService}.
+ * Unique participants are distinct across the whole day, not a sum of the hourly rows.
+ */
+@Entity
+@Table(
+    name = "analytics_daily_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_rollup_broadcast_bucket", columnNames = {"broadcast_id", "bucket_date"})
+    },
+    indexes = {
+        @Index(name = "idx_daily_rollup_bucket", columnList = "bucket_date"),
+        @Index(name = "idx_daily_rollup_dj_bucket", columnList = "dj_id, bucket_date")
+    }
+)
+public class AnalyticsDailyRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "broadcast_id", nullable = false)
+    private Long broadcastId;
+
+    // Broadcast creator at rollup time
+    @Column(name = "dj_id")
+    private Long djId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private long messages;
+
+    @Column(name = "song_requests", nullable = false)
+    private long songRequests;
+
+    @Column(name = "poll_votes", nullable = false)
+    private long pollVotes;
+
+    @Column(name = "unique_participants", nullable = false)
+    private long uniqueParticipants;
+
+    @Column(name = "peak_listeners", nullable = false)
+    private int peakListeners;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // No-arg constructor required by JPA
+    public AnalyticsDailyRollupEntity() {
+    }
+
+    public Long getId() { return id; }
+    public Long getBroadcastId() { return broadcastId; }
+    public Long getDjId() { return djId; }
+    public LocalDate getBucketDate() { return bucketDate; }
+    public long getMessages() { return messages; }
+    public long getSongRequests() { return songRequests; }
+    public long getPollVotes() { return pollVotes; }
+    public long getUniqueParticipants() { return uniqueParticipants; }
+    public int getPeakListeners() { return peakListeners; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,76 @@
+package com.wildcastradio.Analytics;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One hour of engagement for a broadcast, maintained by {@link AnalyticsRollupService}.
+ */
+@Entity
+@Table(
+    name = "analytics_hourly_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_hourly_rollup_broadcast_bucket", columnNames = {"broadcast_id", "bucket_start"})
+    },
+    indexes = {
+        @Index(name = "idx_hourly_rollup_bucket", columnList = "bucket_start"),
+        @Index(name = "idx_hourly_rollup_dj_bucket", columnList = "dj_id, bucket_start")
+    }
+)
+public class AnalyticsHourlyRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "broadcast_id", nullable = false)
+    private Long broadcastId;
+
+    // Broadcast creator at rollup time
+    @Column(name = "dj_id")
+    private Long djId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long messages;
+
+    @Column(name = "song_requests", nullable = false)
+    private long songRequests;
+
+    @Column(name = "poll_votes", nullable = false)
+    private long pollVotes;
+
+    @Column(name = "unique_participants", nullable = false)
+    private long uniqueParticipants;
+
+    @Column(name = "peak_listeners", nullable = false)
+    private int peakListeners;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // No-arg constructor required by JPA
+    public AnalyticsHourlyRollupEntity() {
+    }
+
+    public Long getId() { return id; }
+    public Long getBroadcastId() { return broadcastId; }
+    public Long getDjId() { return djId; }
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public long getMessages() { return messages; }
+    public long getSongRequests() { return songRequests; }
+    public long getPollVotes() { return pollVotes; }
+    public long getUniqueParticipants() { return uniqueParticipants; }
+    public int getPeakListeners() { return peakListeners; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,119 @@
+package com.wildcastradio.Analytics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-node response cache for the analytics endpoints.
+ *
+ * Keys carry the scope of the figures ("engagement:global", "engagement:dj:7", "broadcast:42"...).
+ * Concurrent callers for a missing or expired key wait on a single computation instead of each
+ * running the aggregates. Once an entry is older than the refresh-ahead threshold it is still
+ * served while one background computation replaces it, so a busy dashboard rarely waits at all.
+ *
+ * {@link #invalidateAll()} runs when a broadcast starts, ends or is rescheduled (see
+ * BroadcastStatsCacheListener); computations already in flight at that point are not stored.
+ * Other nodes pick up the change when their entries expire.
+ */
+@Component
+public class AnalyticsResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsResponseCache.class);
+
+    private final long ttlMs;
+    private final long refreshAheadMs;
+
+    private final ConcurrentHashMap<String, Cached> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public AnalyticsResponseCache(@Value("${analytics.cache.ttl-ms:30000}") long ttlMs,
+                                  @Value("${analytics.cache.refresh-ahead-ms:20000}") long refreshAheadMs) {
+        this.ttlMs = Math.max(1000, ttlMs);
+        this.refreshAheadMs = Math.min(Math.max(0, refreshAheadMs), this.ttlMs);
+    }
+
+    /**
+     * Cached value for the key, computing it with the loader when missing or expired.
+     * A null result is returned to the callers but not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Cached cached = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAtMs < ttlMs) {
+            if (now - cached.loadedAtMs >= refreshAheadMs && !inFlight.containsKey(key)) {
+                CompletableFuture.runAsync(() -> load(key, loader)).exceptionally(e -> {
+                    logger.warn("Refresh-ahead of analytics '{}' failed: {}", key, e.getMessage());
+                    return null;
+                });
+            }
+            return (T) cached.value;
+        }
+        try {
+            return (T) load(key, loader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop every entry, e.g. after a broadcast started or ended.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Remove expired entries so scopes that are no longer requested do not linger.
+     */
+    @Scheduled(fixedDelayString = "${analytics.cache.sweep-interval-ms:60000}")
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - ttlMs;
+        entries.values().removeIf(cached -> cached.loadedAtMs < cutoff);
+    }
+
+    private CompletableFuture<Object> load(String key, Supplier<?> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        long startedGeneration = generation.get();
+        try {
+            Object value = loader.get();
+            if (value != null && startedGeneration == generation.get()) {
+                entries.put(key, new Cached(value, System.currentTimeMillis()));
+            }
+            created.complete(value);
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, created);
+        }
+        return created;
+    }
+
+    private static final class Cached {
+        final Object value;
+        final long loadedAtMs;
+
+        Cached(Object value, long loadedAtMs) {
+            this.value = value;
+            this.loadedAtMs = loadedAtMs;
+        }
+    }
+}
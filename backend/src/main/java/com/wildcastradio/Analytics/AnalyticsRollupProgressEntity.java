@@ -0,0 +1,37 @@
+package com.wildcastradio.Analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * How far {@link AnalyticsRollupService} has rolled up history: every day before
+ * {@code nextDay} is final. Lets an interrupted backfill, or a node that was down for a few
+ * days, carry on where it stopped instead of leaving the days in between empty.
+ */
+@Entity
+@Table(name = "analytics_rollup_progress")
+public class AnalyticsRollupProgressEntity {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(name = "next_day", nullable = false)
+    private LocalDate nextDay;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // No-arg constructor required by JPA
+    public AnalyticsRollupProgressEntity() {
+    }
+
+    public String getName() { return name; }
+    public LocalDate getNextDay() { return nextDay; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
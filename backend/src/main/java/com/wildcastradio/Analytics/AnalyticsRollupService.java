@@ -0,0 +1,325 @@
+package com.wildcastradio.Analytics;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.wildcastradio.Broadcast.LiveBroadcastRegistry;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Maintains the hourly and daily engagement rollups ({@link AnalyticsHourlyRollupEntity},
+ * {@link AnalyticsDailyRollupEntity}) and serves the engagement analytics from them.
+ *
+ * A short-interval job (one node, via ShedLock) recomputes the buckets that can still change:
+ * the current and previous hour, and the current day (plus yesterday just after midnight).
+ * Each bucket is rebuilt from chat messages, song requests and poll votes in one grouped
+ * statement, so late writes and deletions are picked up and reruns are idempotent. Buckets
+ * outside that window are final, which also keeps history after raw rows are cleaned up.
+ * Peak listeners are sampled for the live broadcast on every run and only ever raised.
+ *
+ * Days before the open window are caught up from a persisted cursor
+ * ({@link AnalyticsRollupProgressEntity}): on first start the whole history is backfilled, a
+ * few chunks per run so no run outlives its lock, and an interrupted backfill or a node that
+ * was down for days resumes from the first day not yet rolled up.
+ *
+ * Dashboard reads only touch the rollup tables, so their cost follows the number of
+ * broadcast-days rather than the number of messages. Figures lag writes by at most one run.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    // Interaction events of every kind in [from, to), attributed to their broadcast
+    private static final String EVENTS =
+            "SELECT c.broadcast_id, c.user_id, c.created_at AS at, 'M' AS kind FROM chat_messages c " +
+            "  WHERE c.created_at >= ? AND c.created_at < ? " +
+            "UNION ALL " +
+            "SELECT s.broadcast_id, s.requested_by_id, s.timestamp, 'R' FROM song_requests s " +
+            "  WHERE s.timestamp >= ? AND s.timestamp < ? " +
+            "UNION ALL " +
+            "SELECT p.broadcast_id, v.user_id, v.timestamp, 'V' FROM poll_votes v JOIN polls p ON p.id = v.poll_id " +
+            "  WHERE v.timestamp >= ? AND v.timestamp < ?";
+
+    private static final String AGGREGATES =
+            "COUNT(*) FILTER (WHERE e.kind = 'M'), COUNT(*) FILTER (WHERE e.kind = 'R'), " +
+            "COUNT(*) FILTER (WHERE e.kind = 'V'), COUNT(DISTINCT e.user_id), 0, ? ";
+
+    // peak_listeners is owned by the listener sampling below and left untouched here
+    private static final String ON_CONFLICT_SET =
+            "DO UPDATE SET dj_id = EXCLUDED.dj_id, messages = EXCLUDED.messages, " +
+            "song_requests = EXCLUDED.song_requests, poll_votes = EXCLUDED.poll_votes, " +
+            "unique_participants = EXCLUDED.unique_participants, updated_at = EXCLUDED.updated_at";
+
+    private static final String COLUMNS =
+            "(broadcast_id, dj_id, %s, messages, song_requests, poll_votes, unique_participants, peak_listeners, updated_at) ";
+
+    private static final String HOURLY_UPSERT =
+            "INSERT INTO analytics_hourly_rollups " + String.format(COLUMNS, "bucket_start") +
+            "SELECT e.broadcast_id, b.created_by_id, date_trunc('hour', e.at), " + AGGREGATES +
+            "FROM (" + EVENTS + ") e JOIN broadcasts b ON b.id = e.broadcast_id " +
+            "GROUP BY e.broadcast_id, b.created_by_id, date_trunc('hour', e.at) " +
+            "ON CONFLICT (broadcast_id, bucket_start) " + ON_CONFLICT_SET;
+
+    private static final String DAILY_UPSERT =
+            "INSERT INTO analytics_daily_rollups " + String.format(COLUMNS, "bucket_date") +
+            "SELECT e.broadcast_id, b.created_by_id, CAST(e.at AS date), " + AGGREGATES +
+            "FROM (" + EVENTS + ") e JOIN broadcasts b ON b.id = e.broadcast_id " +
+            "GROUP BY e.broadcast_id, b.created_by_id, CAST(e.at AS date) " +
+            "ON CONFLICT (broadcast_id, bucket_date) " + ON_CONFLICT_SET;
+
+    // Zero out buckets in the window whose events have all been deleted since the last run
+    private static final String HOURLY_ZERO_STALE =
+            "UPDATE analytics_hourly_rollups SET messages = 0, song_requests = 0, poll_votes = 0, " +
+            "unique_participants = 0, updated_at = ? WHERE bucket_start >= ? AND bucket_start < ? AND updated_at < ?";
+
+    private static final String DAILY_ZERO_STALE =
+            "UPDATE analytics_daily_rollups SET messages = 0, song_requests = 0, poll_votes = 0, " +
+            "unique_participants = 0, updated_at = ? WHERE bucket_date >= ? AND bucket_date < ? AND updated_at < ?";
+
+    private static final String PEAK_UPSERT =
+            "INSERT INTO %1$s (broadcast_id, dj_id, %2$s, messages, song_requests, poll_votes, unique_participants, " +
+            "peak_listeners, updated_at) " +
+            "SELECT b.id, b.created_by_id, ?, 0, 0, 0, 0, ?, ? FROM broadcasts b WHERE b.id = ? " +
+            "ON CONFLICT (broadcast_id, %2$s) DO UPDATE SET " +
+            "peak_listeners = GREATEST(%1$s.peak_listeners, EXCLUDED.peak_listeners)";
+
+    private static final String EARLIEST_EVENT =
+            "SELECT LEAST((SELECT MIN(created_at) FROM chat_messages), (SELECT MIN(timestamp) FROM song_requests), " +
+            "(SELECT MIN(timestamp) FROM poll_votes))";
+
+    private static final String PROGRESS_NAME = "daily";
+
+    private static final String PROGRESS_SELECT =
+            "SELECT next_day FROM analytics_rollup_progress WHERE name = ?";
+
+    private static final String PROGRESS_UPSERT =
+            "INSERT INTO analytics_rollup_progress (name, next_day, updated_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (name) DO UPDATE SET next_day = EXCLUDED.next_day, updated_at = EXCLUDED.updated_at";
+
+    private static final String TOTALS_SQL =
+            "SELECT COALESCE(SUM(messages), 0) AS messages, COALESCE(SUM(song_requests), 0) AS requests, " +
+            "  COALESCE(SUM(poll_votes), 0) AS votes, " +
+            "  COALESCE(SUM(messages) FILTER (WHERE bucket_date >= ?), 0) AS today_messages, " +
+            "  COALESCE(SUM(messages) FILTER (WHERE bucket_date >= ?), 0) AS week_messages, " +
+            "  COALESCE(SUM(messages) FILTER (WHERE bucket_date >= ?), 0) AS month_messages " +
+            "FROM analytics_daily_rollups ";
+
+    private static final String BROADCAST_TOTALS_SQL =
+            "SELECT broadcast_id, SUM(messages) AS messages, SUM(song_requests) AS requests, " +
+            "  SUM(poll_votes) AS votes, MAX(peak_listeners) AS peak " +
+            "FROM analytics_daily_rollups ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LiveBroadcastRegistry liveBroadcastRegistry;
+    private final ListenerTrackingService listenerTrackingService;
+    private final int backfillChunkDays;
+    private final int backfillChunksPerRun;
+
+    public AnalyticsRollupService(JdbcTemplate jdbcTemplate,
+                                  LiveBroadcastRegistry liveBroadcastRegistry,
+                                  ListenerTrackingService listenerTrackingService,
+                                  @Value("${analytics.rollup.backfill-chunk-days:7}") int backfillChunkDays,
+                                  @Value("${analytics.rollup.backfill-chunks-per-run:4}") int backfillChunksPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.liveBroadcastRegistry = liveBroadcastRegistry;
+        this.listenerTrackingService = listenerTrackingService;
+        this.backfillChunkDays = Math.max(1, backfillChunkDays);
+        this.backfillChunksPerRun = Math.max(1, backfillChunksPerRun);
+    }
+
+    /**
+     * Recompute the open hourly and daily buckets and sample peak listeners (one node).
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval-ms:60000}",
+               initialDelayString = "${analytics.rollup.initial-delay-ms:30000}")
+    @SchedulerLock(name = "analyticsRollup", lockAtMostFor = "10m", lockAtLeastFor = "10s")
+    public void refreshRollups() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime hourFrom = now.truncatedTo(ChronoUnit.HOURS).minusHours(1);
+            LocalDate dayFrom = now.minusHours(1).toLocalDate();
+            catchUp(dayFrom);
+            rollUpHours(hourFrom, now.truncatedTo(ChronoUnit.HOURS).plusHours(1));
+            rollUpDays(dayFrom, now.toLocalDate().plusDays(1));
+            samplePeakListeners(now);
+        } catch (Exception e) {
+            logger.error("Error refreshing analytics rollups: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Engagement totals from the daily rollups: overall or for one DJ's broadcasts.
+     * Keys: totalChatMessages, totalSongRequests, totalPollVotes, chatBreakdown {today, week, month}.
+     */
+    public Map<String, Object> engagementTotals(Long djId) {
+        LocalDate today = LocalDate.now();
+        String sql = TOTALS_SQL + (djId != null ? "WHERE dj_id = ?" : "");
+        List<Object> args = new ArrayList<>(List.of(
+                Date.valueOf(today), Date.valueOf(today.minusDays(7)), Date.valueOf(today.minusDays(30))));
+        if (djId != null) {
+            args.add(djId);
+        }
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            Map<String, Object> totals = new LinkedHashMap<>();
+            totals.put("totalChatMessages", rs.getLong("messages"));
+            totals.put("totalSongRequests", rs.getLong("requests"));
+            totals.put("totalPollVotes", rs.getLong("votes"));
+            Map<String, Object> chatBreakdown = new HashMap<>();
+            chatBreakdown.put("today", rs.getLong("today_messages"));
+            chatBreakdown.put("week", rs.getLong("week_messages"));
+            chatBreakdown.put("month", rs.getLong("month_messages"));
+            totals.put("chatBreakdown", chatBreakdown);
+            return totals;
+        }, args.toArray());
+    }
+
+    /**
+     * Lifetime totals per broadcast: messages, songRequests, pollVotes, peakListeners.
+     * With a non-null broadcastId only that broadcast is returned.
+     */
+    public Map<Long, Map<String, Object>> broadcastTotals(Long broadcastId) {
+        String sql = BROADCAST_TOTALS_SQL + (broadcastId != null ? "WHERE broadcast_id = ? " : "") + "GROUP BY broadcast_id";
+        Object[] args = broadcastId != null ? new Object[] { broadcastId } : new Object[0];
+        Map<Long, Map<String, Object>> totals = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("messages", rs.getLong("messages"));
+            row.put("songRequests", rs.getLong("requests"));
+            row.put("pollVotes", rs.getLong("votes"));
+            row.put("peakListeners", rs.getInt("peak"));
+            totals.put(rs.getLong("broadcast_id"), row);
+        }, args);
+        return totals;
+    }
+
+    /**
+     * Engagement time series from the hourly or daily rollups since {@code since}, oldest first.
+     * Across several broadcasts, uniqueParticipants is the sum of per-broadcast uniques and
+     * peakListeners the highest single-broadcast peak.
+     */
+    public List<Map<String, Object>> series(boolean hourly, LocalDateTime since, Long djId, Long broadcastId) {
+        String table = hourly ? "analytics_hourly_rollups" : "analytics_daily_rollups";
+        String bucket = hourly ? "bucket_start" : "bucket_date";
+        StringBuilder sql = new StringBuilder("SELECT ").append(bucket).append(" AS bucket, ")
+                .append("SUM(messages) AS messages, SUM(song_requests) AS requests, SUM(poll_votes) AS votes, ")
+                .append("SUM(unique_participants) AS participants, MAX(peak_listeners) AS peak FROM ")
+                .append(table).append(" WHERE ").append(bucket).append(" >= ? ");
+        List<Object> args = new ArrayList<>();
+        args.add(hourly ? Timestamp.valueOf(since) : Date.valueOf(since.toLocalDate()));
+        if (djId != null) {
+            sql.append("AND dj_id = ? ");
+            args.add(djId);
+        }
+        if (broadcastId != null) {
+            sql.append("AND broadcast_id = ? ");
+            args.add(broadcastId);
+        }
+        sql.append("GROUP BY 1 ORDER BY 1");
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucket", hourly
+                    ? rs.getTimestamp("bucket").toLocalDateTime().toString()
+                    : rs.getDate("bucket").toLocalDate().toString());
+            point.put("messages", rs.getLong("messages"));
+            point.put("songRequests", rs.getLong("requests"));
+            point.put("pollVotes", rs.getLong("votes"));
+            point.put("uniqueParticipants", rs.getLong("participants"));
+            point.put("peakListeners", rs.getInt("peak"));
+            return point;
+        }, args.toArray());
+    }
+
+    private void rollUpHours(LocalDateTime from, LocalDateTime to) {
+        Timestamp runAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(HOURLY_UPSERT, eventArgs(from, to, runAt));
+        jdbcTemplate.update(HOURLY_ZERO_STALE, runAt, Timestamp.valueOf(from), Timestamp.valueOf(to), runAt);
+    }
+
+    private void rollUpDays(LocalDate from, LocalDate to) {
+        Timestamp runAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(DAILY_UPSERT, eventArgs(from.atStartOfDay(), to.atStartOfDay(), runAt));
+        jdbcTemplate.update(DAILY_ZERO_STALE, runAt, Date.valueOf(from), Date.valueOf(to), runAt);
+    }
+
+    private static Object[] eventArgs(LocalDateTime from, LocalDateTime to, Timestamp runAt) {
+        Timestamp f = Timestamp.valueOf(from);
+        Timestamp t = Timestamp.valueOf(to);
+        // updated_at is selected ahead of the event subquery
+        return new Object[] { runAt, f, t, f, t, f, t };
+    }
+
+    private void samplePeakListeners(LocalDateTime now) {
+        liveBroadcastRegistry.getCurrent().ifPresent(broadcast -> {
+            Integer listeners = listenerTrackingService.getCurrentListenerCount();
+            if (listeners == null || listeners <= 0) {
+                return;
+            }
+            Timestamp runAt = Timestamp.valueOf(now);
+            jdbcTemplate.update(String.format(PEAK_UPSERT, "analytics_hourly_rollups", "bucket_start"),
+                    Timestamp.valueOf(now.truncatedTo(ChronoUnit.HOURS)), listeners, runAt, broadcast.getId());
+            jdbcTemplate.update(String.format(PEAK_UPSERT, "analytics_daily_rollups", "bucket_date"),
+                    Date.valueOf(now.toLocalDate()), listeners, runAt, broadcast.getId());
+        });
+    }
+
+    /**
+     * Roll up the days from the progress cursor to {@code until} (the first day of the open
+     * window), at most backfill-chunks-per-run chunks of backfill-chunk-days days per run. The
+     * cursor moves after every chunk, so an interrupted run loses at most the chunk in progress.
+     */
+    private void catchUp(LocalDate until) {
+        LocalDate day = nextDay(until);
+        int chunks = 0;
+        while (day.isBefore(until) && chunks < backfillChunksPerRun) {
+            LocalDate next = day.plusDays(backfillChunkDays);
+            if (next.isAfter(until)) {
+                next = until;
+            }
+            rollUpHours(day.atStartOfDay(), next.atStartOfDay());
+            rollUpDays(day, next);
+            jdbcTemplate.update(PROGRESS_UPSERT, PROGRESS_NAME, Date.valueOf(next), Timestamp.valueOf(LocalDateTime.now()));
+            day = next;
+            chunks++;
+        }
+        if (chunks > 0) {
+            logger.info("Rolled up analytics history through {} in {} chunk(s){}", day.minusDays(1), chunks,
+                    day.isBefore(until) ? ", continuing next run" : "");
+        }
+    }
+
+    /**
+     * The first day not rolled up yet. Without a cursor (first start, or rollups written by a
+     * backfill that may have stopped part way) history is rebuilt from the oldest raw event;
+     * the upserts overwrite whatever days are already there.
+     */
+    private LocalDate nextDay(LocalDate until) {
+        List<Date> stored = jdbcTemplate.queryForList(PROGRESS_SELECT, Date.class, PROGRESS_NAME);
+        if (!stored.isEmpty()) {
+            return stored.get(0).toLocalDate();
+        }
+        Timestamp earliest = jdbcTemplate.queryForObject(EARLIEST_EVENT, Timestamp.class);
+        LocalDate start = earliest != null ? earliest.toLocalDateTime().toLocalDate() : until;
+        if (start.isAfter(until)) {
+            start = until;
+        }
+        jdbcTemplate.update(PROGRESS_UPSERT, PROGRESS_NAME, Date.valueOf(start), Timestamp.valueOf(LocalDateTime.now()));
+        return start;
+    }
+}
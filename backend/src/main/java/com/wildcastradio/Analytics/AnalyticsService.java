@@ -17,12 +17,10 @@ import org.springframework.stereotype.Service;
 import com.wildcastradio.ActivityLog.ActivityLogService;
 import com.wildcastradio.Broadcast.BroadcastEntity;
 import com.wildcastradio.Broadcast.BroadcastRepository;
+import com.wildcastradio.Broadcast.BroadcastPopularityService;
 import com.wildcastradio.Broadcast.BroadcastService;
+import com.wildcastradio.Broadcast.BroadcastStatsService;
 import com.wildcastradio.Broadcast.DTO.BroadcastDTO;
-import com.wildcastradio.ChatMessage.ChatMessageService;
-import com.wildcastradio.ChatMessage.ChatMessageRepository;
-import com.wildcastradio.SongRequest.SongRequestService;
-import com.wildcastradio.SongRequest.SongRequestRepository;
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserService;
 import com.wildcastradio.DJHandover.DJHandoverRepository;
@@ -39,28 +37,25 @@ public class AnalyticsService {
     private BroadcastService broadcastService;
 
     @Autowired
-    private BroadcastRepository broadcastRepository;
-
-    @Autowired
-    private UserService userService;
+    private BroadcastPopularityService broadcastPopularityService;
 
     @Autowired
-    private SongRequestService songRequestService;
+    private BroadcastStatsService broadcastStatsService;
 
     @Autowired
-    private ChatMessageRepository chatMessageRepository;
+    private BroadcastRepository broadcastRepository;
 
     @Autowired
-    private SongRequestRepository songRequestRepository;
+    private UserService userService;
 
     @Autowired
     private ActivityLogService activityLogService;
 
     @Autowired
-    private ChatMessageService chatMessageService;
+    private ListenerTrackingService listenerTrackingService;
 
     @Autowired
-    private ListenerTrackingService listenerTrackingService;
+    private AnalyticsRollupService analyticsRollupService;
 
     @Autowired
     private DJHandoverRepository djHandoverRepository;
@@ -104,39 +99,11 @@ public class AnalyticsService {
             // Get stats for specific DJ
             UserEntity dj = userService.getUserById(userId).orElse(null);
             if (dj != null) {
-                List<BroadcastEntity> djBroadcasts = broadcastService.getBroadcastsByDJ(dj);
-                long totalBroadcasts = djBroadcasts.size();
-                long liveBroadcasts = djBroadcasts.stream()
-                    .filter(b -> b.getStatus() == BroadcastEntity.BroadcastStatus.LIVE)
-                    .count();
-                long upcomingBroadcasts = djBroadcasts.stream()
-                    .filter(b -> b.getStatus() == BroadcastEntity.BroadcastStatus.SCHEDULED)
-                    .filter(b -> b.getScheduledStart() != null && b.getScheduledStart().isAfter(java.time.LocalDateTime.now()))
-                    .count();
-                long completedBroadcasts = djBroadcasts.stream()
-                    .filter(b -> b.getStatus() == BroadcastEntity.BroadcastStatus.ENDED)
-                    .count();
-                
-                // Calculate average duration for this DJ's broadcasts
-                double avgDuration = djBroadcasts.stream()
-                    .filter(b -> b.getActualStart() != null && b.getActualEnd() != null)
-                    .mapToLong(b -> java.time.Duration.between(b.getActualStart(), b.getActualEnd()).toMinutes())
-                    .average()
-                    .orElse(0.0);
-                
-                stats.put("totalBroadcasts", totalBroadcasts);
-                stats.put("liveBroadcasts", liveBroadcasts);
-                stats.put("upcomingBroadcasts", upcomingBroadcasts);
-                stats.put("completedBroadcasts", completedBroadcasts);
-                stats.put("averageDuration", avgDuration);
-                
+                // Counts, durations and percentiles are aggregated in SQL and cached per DJ
+                stats.putAll(broadcastStatsService.getStats(dj.getId()));
+
                 // For DJs, only show listeners for their current live broadcast if any
-                BroadcastEntity djLiveBroadcast = djBroadcasts.stream()
-                    .filter(b -> b.getStatus() == BroadcastEntity.BroadcastStatus.LIVE)
-                    .findFirst()
-                    .orElse(null);
-                
-                if (djLiveBroadcast != null) {
+                if (((Number) stats.get("liveBroadcasts")).longValue() > 0) {
                     stats.put("currentListeners", listenerTrackingService.getCurrentListenerCount());
                     stats.put("streamLive", listenerTrackingService.isStreamLive());
                 } else {
@@ -155,13 +122,9 @@ public class AnalyticsService {
             }
         } else {
             // Overall stats (for Admin/Moderator)
-        stats.put("totalBroadcasts", broadcastService.getTotalBroadcastCount());
-        stats.put("liveBroadcasts", broadcastService.getLiveBroadcastCount());
-        stats.put("upcomingBroadcasts", broadcastService.getUpcomingBroadcastCount());
-        stats.put("completedBroadcasts", broadcastService.getCompletedBroadcastCount());
-        stats.put("averageDuration", broadcastService.getAverageBroadcastDuration());
-        stats.put("currentListeners", listenerTrackingService.getCurrentListenerCount());
-        stats.put("streamLive", listenerTrackingService.isStreamLive());
+            stats.putAll(broadcastStatsService.getStats(null));
+            stats.put("currentListeners", listenerTrackingService.getCurrentListenerCount());
+            stats.put("streamLive", listenerTrackingService.isStreamLive());
         }
         
         return stats;
@@ -191,50 +154,18 @@ public class AnalyticsService {
 
     /**
      * Get engagement statistics filtered by DJ (userId)
-     * If userId is null, returns overall stats
+     * If userId is null, returns overall stats. Counts are read from the daily rollups only.
      */
     public Map<String, Object> getEngagementStats(Long userId) {
         Map<String, Object> stats = new HashMap<>();
-        LocalDate nowDate = LocalDate.now();
-        LocalDateTime todayStart = nowDate.atStartOfDay();
-        LocalDateTime todayEnd = todayStart.plusDays(1);
-        LocalDateTime weekStart = todayStart.minusDays(7);
-        LocalDateTime monthStart = todayStart.minusDays(30);
 
         if (userId != null) {
-            // Get stats for specific DJ's broadcasts using bulk queries for performance
+            // Get stats for specific DJ's broadcasts
             UserEntity dj = userService.getUserById(userId).orElse(null);
             if (dj != null) {
-                List<BroadcastEntity> djBroadcasts = broadcastService.getBroadcastsByDJ(dj);
-                
-                // Use bulk queries instead of per-broadcast queries to avoid N+1 problem
-                long totalMessages = chatMessageRepository.countByBroadcast_CreatedBy_Id(userId);
-                long totalRequests = songRequestRepository.countByBroadcast_CreatedBy_Id(userId);
-                
-                // Use bulk queries for time-based counts
-                long todayMessages = chatMessageRepository.countByBroadcast_CreatedBy_IdAndCreatedAtBetween(
-                    userId, todayStart, todayEnd);
-                long weekMessages = chatMessageRepository.countByBroadcast_CreatedBy_IdAndCreatedAtBetween(
-                    userId, weekStart, todayEnd);
-                long monthMessages = chatMessageRepository.countByBroadcast_CreatedBy_IdAndCreatedAtBetween(
-                    userId, monthStart, todayEnd);
-                
-                long completedBroadcasts = djBroadcasts.stream()
-                    .filter(b -> b.getStatus() == BroadcastEntity.BroadcastStatus.ENDED)
-                    .count();
-                
-                stats.put("totalChatMessages", totalMessages);
-                stats.put("totalSongRequests", totalRequests);
-                stats.put("averageMessagesPerBroadcast", completedBroadcasts > 0 
-                    ? (double) totalMessages / completedBroadcasts : 0.0);
-                stats.put("averageRequestsPerBroadcast", completedBroadcasts > 0 
-                    ? (double) totalRequests / completedBroadcasts : 0.0);
-                
-                Map<String, Object> chatBreakdown = new HashMap<>();
-                chatBreakdown.put("today", todayMessages);
-                chatBreakdown.put("week", weekMessages);
-                chatBreakdown.put("month", monthMessages);
-                stats.put("chatBreakdown", chatBreakdown);
+                stats.putAll(analyticsRollupService.engagementTotals(dj.getId()));
+                // DJ averages are per completed broadcast
+                putAverages(stats, ((Number) broadcastStatsService.getStats(dj.getId()).get("completedBroadcasts")).longValue());
             } else {
                 // User not found, return empty stats
                 stats.put("totalChatMessages", 0);
@@ -243,29 +174,29 @@ public class AnalyticsService {
                 stats.put("averageRequestsPerBroadcast", 0);
             }
         } else {
-            // Overall stats (for Admin/Moderator)
-        stats.put("totalChatMessages", chatMessageService.getTotalMessageCount());
-        stats.put("totalSongRequests", songRequestService.getTotalSongRequestCount());
-        stats.put("averageMessagesPerBroadcast", chatMessageService.getAverageMessagesPerBroadcast());
-        stats.put("averageRequestsPerBroadcast", songRequestService.getAverageRequestsPerBroadcast());
-
-        try {
-            long todayMessages = chatMessageService.getRepository().countByCreatedAtBetween(todayStart, todayEnd);
-            long weekMessages = chatMessageService.getRepository().countByCreatedAtBetween(weekStart, todayEnd);
-            long monthMessages = chatMessageService.getRepository().countByCreatedAtBetween(monthStart, todayEnd);
-            Map<String, Object> chatBreakdown = new HashMap<>();
-            chatBreakdown.put("today", todayMessages);
-            chatBreakdown.put("week", weekMessages);
-            chatBreakdown.put("month", monthMessages);
-            stats.put("chatBreakdown", chatBreakdown);
-        } catch (Exception ignored) {
-            // Repository accessor not available; keep totals only
-            }
+            // Overall stats (for Admin/Moderator); averages are per broadcast of any status
+            stats.putAll(analyticsRollupService.engagementTotals(null));
+            putAverages(stats, ((Number) broadcastStatsService.getStats(null).get("totalBroadcasts")).longValue());
         }
 
         return stats;
     }
 
+    /**
+     * Engagement time series (hourly or daily buckets) for the last {@code days} days
+     */
+    public List<Map<String, Object>> getEngagementSeries(boolean hourly, int days, Long userId, Long broadcastId) {
+        LocalDateTime since = LocalDate.now().minusDays(Math.max(0, days - 1)).atStartOfDay();
+        return analyticsRollupService.series(hourly, since, userId, broadcastId);
+    }
+
+    private static void putAverages(Map<String, Object> stats, long broadcasts) {
+        long messages = ((Number) stats.get("totalChatMessages")).longValue();
+        long requests = ((Number) stats.get("totalSongRequests")).longValue();
+        stats.put("averageMessagesPerBroadcast", broadcasts > 0 ? (double) messages / broadcasts : 0.0);
+        stats.put("averageRequestsPerBroadcast", broadcasts > 0 ? (double) requests / broadcasts : 0.0);
+    }
+
     /**
      * Get activity statistics
      * If userId is provided, returns stats only for that DJ's activities
@@ -282,66 +213,11 @@ public class AnalyticsService {
         Map<String, Object> stats = new HashMap<>();
         
         if (userId != null) {
-            // For DJs, filter activities related to their broadcasts
+            // Activity by the DJ or about their broadcasts, filtered and counted in the database
             UserEntity dj = userService.getUserById(userId).orElse(null);
             if (dj != null) {
-                List<BroadcastEntity> djBroadcasts = broadcastService.getBroadcastsByDJ(dj);
-                List<Long> broadcastIds = djBroadcasts.stream()
-                    .map(BroadcastEntity::getId)
-                    .collect(Collectors.toList());
-                
-                // Get all activities and filter for this DJ's broadcasts or activities
-                // Note: getRecentActivities returns ActivityLogDTO, not Entity
-                List<com.wildcastradio.ActivityLog.DTO.ActivityLogDTO> allActivities = activityLogService.getRecentActivities(100);
-                List<com.wildcastradio.ActivityLog.DTO.ActivityLogDTO> djActivities = allActivities.stream()
-                    .filter(activity -> {
-                        // Include activities by this DJ or related to their broadcasts
-                        if (activity.getUser() != null && activity.getUser().getId().equals(userId)) {
-                            return true;
-                        }
-                        // Check if activity description mentions any of this DJ's broadcast IDs
-                        String description = activity.getDescription();
-                        if (description != null) {
-                            return broadcastIds.stream().anyMatch(id -> 
-                                description.contains(id.toString()) ||
-                                description.contains(dj.getEmail())
-                            );
-                        }
-                        return false;
-                    })
-                    .collect(Collectors.toList());
-                
-                LocalDateTime now = LocalDateTime.now();
-                LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
-                LocalDateTime weekStart = todayStart.minusDays(7);
-                LocalDateTime monthStart = todayStart.minusDays(30);
-                
-                long todayCount = djActivities.stream()
-                    .filter(a -> {
-                        if (a.getTimestamp() == null) return false;
-                        LocalDateTime timestamp = a.getTimestamp();
-                        return timestamp.isAfter(todayStart);
-                    })
-                    .count();
-                long weekCount = djActivities.stream()
-                    .filter(a -> {
-                        if (a.getTimestamp() == null) return false;
-                        LocalDateTime timestamp = a.getTimestamp();
-                        return timestamp.isAfter(weekStart);
-                    })
-                    .count();
-                long monthCount = djActivities.stream()
-                    .filter(a -> {
-                        if (a.getTimestamp() == null) return false;
-                        LocalDateTime timestamp = a.getTimestamp();
-                        return timestamp.isAfter(monthStart);
-                    })
-                    .count();
-                
-                stats.put("todayActivities", todayCount);
-                stats.put("weekActivities", weekCount);
-                stats.put("monthActivities", monthCount);
-                stats.put("recentActivities", djActivities.stream().limit(10).collect(Collectors.toList()));
+                stats.putAll(activityLogService.getDjActivityCounts(dj.getId()));
+                stats.put("recentActivities", activityLogService.getDjActivities(dj.getId(), null, null, null, 10));
             } else {
                 stats.put("todayActivities", 0);
                 stats.put("weekActivities", 0);
@@ -375,74 +251,8 @@ public class AnalyticsService {
         List<BroadcastEntity> popularBroadcasts;
         
         if (userId != null) {
-            // Get this DJ's broadcasts (without collections to avoid MultipleBagFetchException)
-            UserEntity dj = userService.getUserById(userId).orElse(null);
-            if (dj != null) {
-                List<BroadcastEntity> djBroadcasts = broadcastRepository.findByCreatedBy(dj);
-                
-                if (djBroadcasts.isEmpty()) {
-                    popularBroadcasts = Collections.emptyList();
-                } else {
-                    // Get all broadcast IDs
-                    List<Long> broadcastIds = djBroadcasts.stream()
-                        .map(BroadcastEntity::getId)
-                        .collect(Collectors.toList());
-                    
-                    // Use batch aggregation queries to get all counts in just 2 queries
-                    Map<Long, Integer> interactionCounts = new HashMap<>();
-                    
-                    // Initialize all broadcasts with 0 counts
-                    for (Long id : broadcastIds) {
-                        interactionCounts.put(id, 0);
-                    }
-                    
-                    // Batch query for chat messages - single query for all broadcasts
-                    List<Object[]> chatCounts = chatMessageRepository.countMessagesByBroadcastIds(broadcastIds);
-                    for (Object[] result : chatCounts) {
-                        Long broadcastId = ((Number) result[0]).longValue();
-                        Long count = ((Number) result[1]).longValue();
-                        interactionCounts.put(broadcastId, count.intValue());
-                    }
-                    
-                    // Batch query for song requests - single query for all broadcasts
-                    List<Object[]> requestCounts = songRequestRepository.countSongRequestsByBroadcastIds(broadcastIds);
-                    Map<Long, Integer> requestCountsMap = new HashMap<>();
-                    for (Object[] result : requestCounts) {
-                        Long broadcastId = ((Number) result[0]).longValue();
-                        Long count = ((Number) result[1]).longValue();
-                        requestCountsMap.put(broadcastId, count.intValue());
-                    }
-                    
-                    // Combine chat and request counts
-                    for (Long id : broadcastIds) {
-                        int chatCount = interactionCounts.getOrDefault(id, 0);
-                        int requestCount = requestCountsMap.getOrDefault(id, 0);
-                        interactionCounts.put(id, chatCount + requestCount);
-                    }
-                    
-                    // Sort using pre-computed counts
-                    popularBroadcasts = djBroadcasts.stream()
-                        .sorted((a, b) -> {
-                            int aInteractions = interactionCounts.getOrDefault(a.getId(), 0);
-                            int bInteractions = interactionCounts.getOrDefault(b.getId(), 0);
-                            
-                            // If interactions are equal, sort by latest actualStart/end
-                            int cmp = Integer.compare(bInteractions, aInteractions);
-                            if (cmp != 0) return cmp;
-                            
-                            java.time.LocalDateTime aTime = a.getActualEnd() != null ? a.getActualEnd() : a.getActualStart();
-                            java.time.LocalDateTime bTime = b.getActualEnd() != null ? b.getActualEnd() : b.getActualStart();
-                            if (aTime == null && bTime == null) return 0;
-                            if (aTime == null) return 1;
-                            if (bTime == null) return -1;
-                            return bTime.compareTo(aTime);
-                        })
-                        .limit(limit)
-                        .collect(Collectors.toList());
-                }
-            } else {
-                popularBroadcasts = Collections.emptyList();
-            }
+            // This DJ's broadcasts, ranked from the maintained interaction counters
+            popularBroadcasts = broadcastService.loadInOrder(broadcastPopularityService.topForDj(userId, limit));
         } else {
             // Overall popular broadcasts (for Admin/Moderator)
             popularBroadcasts = broadcastService.getPopularBroadcasts(limit);
@@ -0,0 +1,81 @@
+package com.wildcastradio.Analytics;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Chat message and song request counts for one broadcast, grouped by the participant's age
+ * group and gender in SQL. Returns one row per (kind, age group, gender) combination instead of
+ * loading every message, request and sender.
+ *
+ * Age groups match the analytics buckets: teens 13-19, youngAdults 20-29, adults 30-49,
+ * middleAged 50-64, seniors 65+, and unknown for a missing birthdate or under 13. Ages are
+ * completed years on the given day, like {@code Period.between(birthdate, today).getYears()}.
+ */
+@Repository
+public class BroadcastDemographicsRepository {
+
+    private static final String AGE = "date_part('year', age(CAST(? AS date), u.birthdate))";
+
+    private static final String DEMOGRAPHICS_SQL =
+            "SELECT e.kind, " +
+            "  CASE WHEN u.birthdate IS NULL THEN 'unknown' " +
+            "    WHEN " + AGE + " < 13 THEN 'unknown' " +
+            "    WHEN " + AGE + " < 20 THEN 'teens' " +
+            "    WHEN " + AGE + " < 30 THEN 'youngAdults' " +
+            "    WHEN " + AGE + " < 50 THEN 'adults' " +
+            "    WHEN " + AGE + " < 65 THEN 'middleAged' " +
+            "    ELSE 'seniors' END AS age_group, " +
+            "  COALESCE(LOWER(u.gender), 'unknown') AS gender, COUNT(*) AS interactions " +
+            "FROM (" +
+            "  SELECT c.user_id, 'chat' AS kind FROM chat_messages c WHERE c.broadcast_id = ? " +
+            "  UNION ALL " +
+            "  SELECT s.requested_by_id, 'request' FROM song_requests s WHERE s.broadcast_id = ?" +
+            ") e JOIN users u ON u.id = e.user_id " +
+            "GROUP BY 1, 2, 3";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BroadcastDemographicsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Grouped interaction counts for the broadcast, ages as of {@code today}.
+     */
+    public List<Group> countByAgeGroupAndGender(Long broadcastId, LocalDate today) {
+        Date day = Date.valueOf(today);
+        return jdbcTemplate.query(DEMOGRAPHICS_SQL, (rs, rowNum) -> new Group(
+                "chat".equals(rs.getString("kind")),
+                rs.getString("age_group"),
+                rs.getString("gender"),
+                rs.getInt("interactions")),
+                day, day, day, day, day, broadcastId, broadcastId);
+    }
+
+    /**
+     * One (kind, age group, gender) bucket; chat is false for song requests.
+     */
+    public static final class Group {
+        private final boolean chat;
+        private final String ageGroup;
+        private final String gender;
+        private final int interactions;
+
+        Group(boolean chat, String ageGroup, String gender, int interactions) {
+            this.chat = chat;
+            this.ageGroup = ageGroup;
+            this.gender = gender;
+            this.interactions = interactions;
+        }
+
+        public boolean isChat() { return chat; }
+        public String getAgeGroup() { return ageGroup; }
+        public String getGender() { return gender; }
+        public int getInteractions() { return interactions; }
+    }
+}
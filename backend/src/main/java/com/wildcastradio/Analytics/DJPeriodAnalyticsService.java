@@ -1,5 +1,6 @@
 package com.wildcastradio.Analytics;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -9,16 +10,13 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import com.wildcastradio.Broadcast.BroadcastEntity;
 import com.wildcastradio.Broadcast.BroadcastRepository;
-import com.wildcastradio.ChatMessage.ChatMessageEntity;
-import com.wildcastradio.ChatMessage.ChatMessageRepository;
 import com.wildcastradio.DJHandover.DJHandoverEntity;
 import com.wildcastradio.DJHandover.DJHandoverRepository;
-import com.wildcastradio.SongRequest.SongRequestEntity;
-import com.wildcastradio.SongRequest.SongRequestRepository;
 import com.wildcastradio.User.UserEntity;
 
 /**
@@ -34,10 +32,7 @@ public class DJPeriodAnalyticsService {
     private BroadcastRepository broadcastRepository;
 
     @Autowired
-    private ChatMessageRepository chatMessageRepository;
-
-    @Autowired
-    private SongRequestRepository songRequestRepository;
+    private JdbcTemplate jdbcTemplate;
 
     /**
      * Represents a time period when a DJ was active
@@ -122,21 +117,7 @@ public class DJPeriodAnalyticsService {
      */
     public Map<Long, Long> getChatMessageCountsPerDJ(Long broadcastId) {
         List<TimePeriod> periods = getDJPeriodsForBroadcast(broadcastId);
-        Map<Long, Long> messageCounts = new HashMap<>();
-
-        // Get all chat messages for the broadcast
-        List<ChatMessageEntity> messages = chatMessageRepository
-                .findByBroadcast_IdOrderByCreatedAtAsc(broadcastId);
-
-        // Attribute messages to DJs based on time periods
-        for (ChatMessageEntity message : messages) {
-            Long djId = getActiveDJAtTime(broadcastId, message.getCreatedAt(), periods);
-            if (djId != null) {
-                messageCounts.put(djId, messageCounts.getOrDefault(djId, 0L) + 1);
-            }
-        }
-
-        return messageCounts;
+        return sumPerDJ(periods, countPerPeriod(broadcastId, periods), 0);
     }
 
     /**
@@ -147,21 +128,7 @@ public class DJPeriodAnalyticsService {
      */
     public Map<Long, Long> getSongRequestCountsPerDJ(Long broadcastId) {
         List<TimePeriod> periods = getDJPeriodsForBroadcast(broadcastId);
-        Map<Long, Long> requestCounts = new HashMap<>();
-
-        // Get all song requests for the broadcast
-        List<SongRequestEntity> requests = songRequestRepository
-                .findByBroadcast(broadcastRepository.findById(broadcastId).orElse(null));
-
-        // Attribute requests to DJs based on time periods
-        for (SongRequestEntity request : requests) {
-            Long djId = getActiveDJAtTime(broadcastId, request.getTimestamp(), periods);
-            if (djId != null) {
-                requestCounts.put(djId, requestCounts.getOrDefault(djId, 0L) + 1);
-            }
-        }
-
-        return requestCounts;
+        return sumPerDJ(periods, countPerPeriod(broadcastId, periods), 1);
     }
 
     /**
@@ -177,16 +144,77 @@ public class DJPeriodAnalyticsService {
             periods = getDJPeriodsForBroadcast(broadcastId);
         }
 
-        for (TimePeriod period : periods) {
-            if (timestamp.isAfter(period.getStartTime()) && 
-                (period.getEndTime() == null || timestamp.isBefore(period.getEndTime()) || timestamp.isEqual(period.getEndTime()))) {
-                return period.getDJ().getId();
+        // Periods are contiguous and ordered (start exclusive, end inclusive): the match is the last
+        // period starting strictly before the timestamp
+        int low = 0;
+        int high = periods.size() - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (timestamp.isAfter(periods.get(mid).getStartTime())) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
             }
         }
-
+        if (candidate < 0) {
+            return null;
+        }
+        TimePeriod period = periods.get(candidate);
+        if (period.getEndTime() == null || !timestamp.isAfter(period.getEndTime())) {
+            return period.getDJ().getId();
+        }
         return null;
     }
 
+    /**
+     * Chat message and song request counts for each period, in one statement: every period is a
+     * (start, end] range probed against the broadcast's timestamp indexes, so the cost follows the
+     * number of periods rather than the number of messages.
+     *
+     * @return per period: [0] chat messages, [1] song requests
+     */
+    private long[][] countPerPeriod(Long broadcastId, List<TimePeriod> periods) {
+        long[][] counts = new long[periods.size()][2];
+        if (periods.isEmpty()) {
+            return counts;
+        }
+
+        StringBuilder values = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        args.add(broadcastId);
+        args.add(broadcastId);
+        for (int i = 0; i < periods.size(); i++) {
+            values.append(i == 0 ? "" : ", ").append("(CAST(? AS integer), CAST(? AS timestamp), CAST(? AS timestamp))");
+            args.add(i);
+            args.add(Timestamp.valueOf(periods.get(i).getStartTime()));
+            args.add(Timestamp.valueOf(periods.get(i).getEndTime()));
+        }
+
+        String sql = "SELECT p.idx, " +
+                "(SELECT COUNT(*) FROM chat_messages c WHERE c.broadcast_id = ? " +
+                "  AND c.created_at > p.start_at AND c.created_at <= p.end_at) AS chat, " +
+                "(SELECT COUNT(*) FROM song_requests s WHERE s.broadcast_id = ? " +
+                "  AND s.timestamp > p.start_at AND s.timestamp <= p.end_at) AS requests " +
+                "FROM (VALUES " + values + ") AS p(idx, start_at, end_at)";
+
+        jdbcTemplate.query(sql, rs -> {
+            int idx = rs.getInt("idx");
+            counts[idx][0] = rs.getLong("chat");
+            counts[idx][1] = rs.getLong("requests");
+        }, args.toArray());
+        return counts;
+    }
+
+    private static Map<Long, Long> sumPerDJ(List<TimePeriod> periods, long[][] counts, int column) {
+        Map<Long, Long> perDJ = new HashMap<>();
+        for (int i = 0; i < periods.size(); i++) {
+            perDJ.merge(periods.get(i).getDJ().getId(), counts[i][column], Long::sum);
+        }
+        return perDJ;
+    }
+
     /**
      * Get analytics breakdown per DJ period for a broadcast
      * 
@@ -194,9 +222,11 @@ public class DJPeriodAnalyticsService {
      * @return Map containing DJ period analytics
      */
     public Map<String, Object> getDJPeriodAnalytics(Long broadcastId) {
+        // Periods are computed once and attributed in a single query
         List<TimePeriod> periods = getDJPeriodsForBroadcast(broadcastId);
-        Map<Long, Long> chatCounts = getChatMessageCountsPerDJ(broadcastId);
-        Map<Long, Long> requestCounts = getSongRequestCountsPerDJ(broadcastId);
+        long[][] counts = countPerPeriod(broadcastId, periods);
+        Map<Long, Long> chatCounts = sumPerDJ(periods, counts, 0);
+        Map<Long, Long> requestCounts = sumPerDJ(periods, counts, 1);
 
         List<Map<String, Object>> djPeriods = periods.stream()
                 .map(period -> {
@@ -10,9 +10,9 @@ import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.wildcastradio.Notification.NotificationFanoutService;
 import com.wildcastradio.Notification.NotificationService;
 import com.wildcastradio.Notification.NotificationType;
-import com.wildcastradio.User.UserService;
 
 /**
  * Scheduled tasks for announcements:
@@ -26,14 +26,14 @@ public class AnnouncementScheduler {
 
     private final AnnouncementRepository announcementRepository;
     private final NotificationService notificationService;
-    private final UserService userService;
+    private final NotificationFanoutService notificationFanoutService;
 
     public AnnouncementScheduler(AnnouncementRepository announcementRepository,
                                  NotificationService notificationService,
-                                 UserService userService) {
+                                 NotificationFanoutService notificationFanoutService) {
         this.announcementRepository = announcementRepository;
         this.notificationService = notificationService;
-        this.userService = userService;
+        this.notificationFanoutService = notificationFanoutService;
     }
 
     /**
@@ -62,14 +62,11 @@ public class AnnouncementScheduler {
                     // Notify all users for each published announcement
                     final AnnouncementEntity published = announcement;
                     String message = "New announcement: " + (published.getTitle() != null ? published.getTitle() : "View details");
-                    userService.findAllUsers().forEach(user -> {
-                        notificationService.sendNotificationWithAnnouncement(
-                            user,
-                            message,
-                            NotificationType.ANNOUNCEMENT_PUBLISHED,
-                            published
-                        );
-                    });
+                    notificationFanoutService.fanOutToAllUsers(
+                        message,
+                        NotificationType.ANNOUNCEMENT_PUBLISHED,
+                        published.getId()
+                    );
                     notificationService.sendPublicAnnouncementToast(published, message);
                 }
             }
@@ -16,9 +16,9 @@ import com.wildcastradio.Announcement.DTO.ScheduleAnnouncementRequest;
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserEntity.UserRole;
 import com.wildcastradio.storage.GcsStorageService;
+import com.wildcastradio.Notification.NotificationFanoutService;
 import com.wildcastradio.Notification.NotificationService;
 import com.wildcastradio.Notification.NotificationType;
-import com.wildcastradio.User.UserService;
 
 @Service
 public class AnnouncementService {
@@ -27,14 +27,14 @@ public class AnnouncementService {
     private final AnnouncementRepository announcementRepository;
     private final GcsStorageService gcsStorageService;
     private final NotificationService notificationService;
-    private final UserService userService;
+    private final NotificationFanoutService notificationFanoutService;
 
     public AnnouncementService(AnnouncementRepository announcementRepository, GcsStorageService gcsStorageService,
-            NotificationService notificationService, UserService userService) {
+            NotificationService notificationService, NotificationFanoutService notificationFanoutService) {
         this.announcementRepository = announcementRepository;
         this.gcsStorageService = gcsStorageService;
         this.notificationService = notificationService;
-        this.userService = userService;
+        this.notificationFanoutService = notificationFanoutService;
     }
 
     /**
@@ -450,13 +450,10 @@ public class AnnouncementService {
         try {
             String message = "New announcement: "
                     + (announcement.getTitle() != null ? announcement.getTitle() : "View details");
-            userService.findAllUsers().forEach(user -> {
-                notificationService.sendNotificationWithAnnouncement(
-                        user,
-                        message,
-                        NotificationType.ANNOUNCEMENT_PUBLISHED,
-                        announcement);
-            });
+            notificationFanoutService.fanOutToAllUsers(
+                    message,
+                    NotificationType.ANNOUNCEMENT_PUBLISHED,
+                    announcement.getId());
         } catch (Exception _e) {
             // Fail-soft: do not interrupt publish flow
         }
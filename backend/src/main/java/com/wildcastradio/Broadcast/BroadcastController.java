@@ -26,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.wildcastradio.Broadcast.DTO.BroadcastDTO;
+import com.wildcastradio.Broadcast.DTO.BroadcastSuggestionDTO;
 import com.wildcastradio.Broadcast.DTO.CreateBroadcastRequest;
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserService;
@@ -216,6 +217,14 @@ public class BroadcastController {
         Page<BroadcastEntity> results = broadcastService.searchBroadcasts(query != null ? query : "", status, pageable);
         return ResponseEntity.ok(results.map(BroadcastDTO::fromEntity));
     }
+
+    @GetMapping("/search/suggest")
+    @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
+    public ResponseEntity<List<BroadcastSuggestionDTO>> suggestBroadcasts(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(broadcastService.suggestBroadcasts(prefix, limit));
+    }
     
     @GetMapping("/live/current")
     public ResponseEntity<BroadcastDTO> getCurrentLiveBroadcast() {
@@ -3,6 +3,7 @@ package com.wildcastradio.Broadcast;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import com.wildcastradio.ChatMessage.ChatMessageEntity;
 import com.wildcastradio.DJHandover.DJHandoverEntity;
@@ -13,6 +14,7 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -21,10 +23,14 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 @Entity
+@EntityListeners({LiveBroadcastRegistryListener.class, BroadcastStatsCacheListener.class})
 @Table(name = "broadcasts", indexes = {
     @Index(name = "idx_broadcast_status", columnList = "status"),
     @Index(name = "idx_broadcast_created_by", columnList = "created_by_id"),
@@ -34,7 +40,9 @@ import jakarta.persistence.Transient;
     @Index(name = "idx_broadcast_actual_end", columnList = "actual_end"),
     @Index(name = "idx_broadcast_status_start", columnList = "status, actual_start"),
     @Index(name = "idx_broadcast_started_by", columnList = "started_by_id"),
-    @Index(name = "idx_broadcast_current_dj", columnList = "current_active_dj_id")
+    @Index(name = "idx_broadcast_current_dj", columnList = "current_active_dj_id"),
+    @Index(name = "idx_broadcast_total_interactions", columnList = "total_interactions"),
+    @Index(name = "idx_broadcast_created_by_interactions", columnList = "created_by_id, total_interactions")
 })
 public class BroadcastEntity {
 
@@ -45,6 +53,10 @@ public class BroadcastEntity {
     @Column(name = "slow_mode_seconds")
     private Integer slowModeSeconds = 0;
 
+    // Live poll result refresh rate; null uses poll.results.publish-interval-ms
+    @Column(name = "poll_results_interval_ms")
+    private Integer pollResultsIntervalMs;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -79,7 +91,8 @@ public class BroadcastEntity {
     @Column(name = "peak_listeners")
     private Integer peakListeners = 0; // Historical peak
 
-    @Column(name = "total_interactions")
+    // Maintained by BroadcastPopularityService; never written back from a loaded entity
+    @Column(name = "total_interactions", updatable = false)
     private Integer totalInteractions = 0; // Cached count
 
     // Relationships
@@ -127,6 +140,10 @@ public class BroadcastEntity {
     @Transient
     private boolean verificationRetried;
 
+    // Status and timing as last read from / written to the database, to detect stats-relevant changes
+    @Transient
+    private int statsFingerprint;
+
     // Broadcast status enum with state machine validation
     public enum BroadcastStatus {
         SCHEDULED, LIVE, ENDED, TESTING, CANCELLED;
@@ -319,6 +336,14 @@ public class BroadcastEntity {
         this.slowModeSeconds = slowModeSeconds != null ? slowModeSeconds : 0;
     }
 
+    public Integer getPollResultsIntervalMs() {
+        return pollResultsIntervalMs;
+    }
+
+    public void setPollResultsIntervalMs(Integer pollResultsIntervalMs) {
+        this.pollResultsIntervalMs = pollResultsIntervalMs;
+    }
+
     public String getStartIdempotencyKey() {
         return startIdempotencyKey;
     }
@@ -390,4 +415,19 @@ public class BroadcastEntity {
     public void setVerificationRetried(boolean verificationRetried) {
         this.verificationRetried = verificationRetried;
     }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberStatsFingerprint() {
+        statsFingerprint = computeStatsFingerprint();
+    }
+
+    boolean statsFieldsChanged() {
+        return statsFingerprint != computeStatsFingerprint();
+    }
+
+    private int computeStatsFingerprint() {
+        return Objects.hash(status, scheduledStart, actualStart, actualEnd);
+    }
 }
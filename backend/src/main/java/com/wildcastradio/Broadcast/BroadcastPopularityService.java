@@ -0,0 +1,304 @@
+package com.wildcastradio.Broadcast;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Maintains {@code broadcasts.total_interactions} and the "popular broadcasts" rankings.
+ *
+ * Chat messages, song requests and poll votes call {@link #recordInteraction(Long)}, which only
+ * bumps an in-memory delta; deltas are flushed to the counter column every few seconds, so a
+ * busy chat does not lock the broadcast row once per message. Each flush feeds the new totals
+ * into bounded top-K rankings (one global, one per DJ) that are served from memory. Rankings
+ * are reloaded from the counter column periodically, which also picks up writes made on other
+ * nodes, and an hourly recount repairs the counters of live and recently ended broadcasts from
+ * the underlying rows.
+ */
+@Service
+public class BroadcastPopularityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastPopularityService.class);
+
+    private static final String RANKED_COLUMNS =
+            "SELECT id, created_by_id, COALESCE(total_interactions, 0) AS total_interactions, " +
+            "COALESCE(actual_end, actual_start) AS activity_time FROM broadcasts ";
+
+    private static final String RANKED_ORDER =
+            "ORDER BY COALESCE(total_interactions, 0) DESC, COALESCE(actual_end, actual_start) DESC NULLS LAST, id DESC LIMIT ?";
+
+    private static final String FLUSH_SQL =
+            "UPDATE broadcasts SET total_interactions = COALESCE(total_interactions, 0) + ? WHERE id = ? " +
+            "RETURNING id, created_by_id, total_interactions, COALESCE(actual_end, actual_start) AS activity_time";
+
+    // Only ever raises a counter, so rows removed by chat cleanup do not lower historic totals.
+    // Limited to live and recently ended broadcasts; older counters no longer change.
+    private static final String RECOUNT_SQL =
+            "UPDATE broadcasts b SET total_interactions = x.cnt FROM (" +
+            "  SELECT b2.id, " +
+            "    (SELECT COUNT(*) FROM chat_messages c WHERE c.broadcast_id = b2.id) + " +
+            "    (SELECT COUNT(*) FROM song_requests s WHERE s.broadcast_id = b2.id) + " +
+            "    (SELECT COUNT(*) FROM poll_votes v JOIN polls p ON p.id = v.poll_id WHERE p.broadcast_id = b2.id) AS cnt " +
+            "  FROM broadcasts b2 WHERE b2.status = 'LIVE' OR b2.actual_end >= ?) x " +
+            "WHERE b.id = x.id AND x.cnt > COALESCE(b.total_interactions, 0)";
+
+    private static final RowMapper<Ranked> RANKED_ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp activity = rs.getTimestamp("activity_time");
+        long djId = rs.getLong("created_by_id");
+        return new Ranked(
+                rs.getLong("id"),
+                rs.wasNull() ? null : djId,
+                rs.getLong("total_interactions"),
+                activity != null ? activity.toLocalDateTime() : null);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int topK;
+    private final int recountWindowHours;
+
+    private final Map<Long, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+    private volatile TopK global;
+    private final Map<Long, TopK> byDj = new ConcurrentHashMap<>();
+
+    public BroadcastPopularityService(JdbcTemplate jdbcTemplate,
+                                      @Value("${broadcast.popularity.top-k:50}") int topK,
+                                      @Value("${broadcast.popularity.recount-window-hours:48}") int recountWindowHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topK = Math.max(1, topK);
+        this.recountWindowHours = Math.max(1, recountWindowHours);
+    }
+
+    /**
+     * Count one interaction (chat message, song request or poll vote) for the broadcast.
+     */
+    public void recordInteraction(Long broadcastId) {
+        if (broadcastId == null) {
+            return;
+        }
+        LongAdder delta = pendingDeltas.get(broadcastId);
+        if (delta == null) {
+            delta = pendingDeltas.computeIfAbsent(broadcastId, id -> new LongAdder());
+        }
+        delta.increment();
+    }
+
+    /**
+     * Ids of the most popular broadcasts overall, best first.
+     */
+    public List<Long> topGlobal(int limit) {
+        if (limit > topK) {
+            return ids(load("", null, limit));
+        }
+        TopK ranking = global;
+        if (ranking == null) {
+            ranking = reloadGlobal();
+        }
+        return ranking.topIds(limit);
+    }
+
+    /**
+     * Ids of the given DJ's most popular broadcasts, best first.
+     */
+    public List<Long> topForDj(Long djId, int limit) {
+        if (limit > topK) {
+            return ids(load("WHERE created_by_id = ? ", djId, limit));
+        }
+        TopK ranking = byDj.get(djId);
+        if (ranking == null) {
+            ranking = new TopK(topK);
+            ranking.replaceAll(load("WHERE created_by_id = ? ", djId, topK));
+            byDj.put(djId, ranking);
+        }
+        return ranking.topIds(limit);
+    }
+
+    @Scheduled(fixedDelayString = "${broadcast.popularity.flush-interval-ms:5000}")
+    public synchronized void flushPendingDeltas() {
+        if (pendingDeltas.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Long, LongAdder> entry : pendingDeltas.entrySet()) {
+            Long broadcastId = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta <= 0) {
+                // Idle since the last flush; keep any increment that raced the removal
+                if (pendingDeltas.remove(broadcastId, adder)) {
+                    requeue(broadcastId, adder.sumThenReset());
+                }
+                continue;
+            }
+            try {
+                List<Ranked> updated = jdbcTemplate.query(FLUSH_SQL, RANKED_ROW_MAPPER, delta, broadcastId);
+                for (Ranked ranked : updated) {
+                    offer(ranked);
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to flush {} interaction(s) for broadcast {}: {}", delta, broadcastId, e.getMessage());
+                // Put the delta back so it is retried on the next flush
+                requeue(broadcastId, delta);
+            }
+        }
+    }
+
+    /**
+     * Reload rankings from the counter column (per node; also picks up other nodes' flushes).
+     */
+    @Scheduled(fixedDelayString = "${broadcast.popularity.reload-interval-ms:300000}")
+    public void reloadRankings() {
+        try {
+            reloadGlobal();
+            // Per-DJ rankings are reloaded lazily on their next read
+            byDj.clear();
+        } catch (Exception e) {
+            logger.error("Error reloading popularity rankings: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Repair counters of live broadcasts and broadcasts ended within
+     * {@code broadcast.popularity.recount-window-hours} from chat messages, song requests and
+     * poll votes (one node, hourly).
+     */
+    @Scheduled(fixedDelayString = "${broadcast.popularity.recount-interval-ms:3600000}",
+               initialDelayString = "${broadcast.popularity.recount-initial-delay-ms:120000}")
+    @SchedulerLock(name = "recountBroadcastInteractions", lockAtMostFor = "30m", lockAtLeastFor = "1m")
+    public void recountInteractions() {
+        try {
+            flushPendingDeltas();
+            Timestamp endedAfter = Timestamp.valueOf(LocalDateTime.now().minusHours(recountWindowHours));
+            int repaired = jdbcTemplate.update(RECOUNT_SQL, endedAfter);
+            if (repaired > 0) {
+                logger.info("Recounted interactions for {} broadcast(s)", repaired);
+                reloadRankings();
+            }
+        } catch (Exception e) {
+            logger.error("Error recounting broadcast interactions: {}", e.getMessage());
+        }
+    }
+
+    private void requeue(Long broadcastId, long delta) {
+        if (delta > 0) {
+            pendingDeltas.computeIfAbsent(broadcastId, id -> new LongAdder()).add(delta);
+        }
+    }
+
+    private void offer(Ranked ranked) {
+        TopK ranking = global;
+        if (ranking != null) {
+            ranking.offer(ranked);
+        }
+        if (ranked.djId != null) {
+            TopK djRanking = byDj.get(ranked.djId);
+            if (djRanking != null) {
+                djRanking.offer(ranked);
+            }
+        }
+    }
+
+    private TopK reloadGlobal() {
+        TopK ranking = new TopK(topK);
+        ranking.replaceAll(load("", null, topK));
+        global = ranking;
+        return ranking;
+    }
+
+    private List<Ranked> load(String where, Long djId, int limit) {
+        String sql = RANKED_COLUMNS + where + RANKED_ORDER;
+        return djId != null
+                ? jdbcTemplate.query(sql, RANKED_ROW_MAPPER, djId, limit)
+                : jdbcTemplate.query(sql, RANKED_ROW_MAPPER, limit);
+    }
+
+    private static List<Long> ids(List<Ranked> rankedList) {
+        List<Long> ids = new ArrayList<>(rankedList.size());
+        for (Ranked ranked : rankedList) {
+            ids.add(ranked.broadcastId);
+        }
+        return ids;
+    }
+
+    /**
+     * A broadcast's position in a ranking.
+     */
+    static final class Ranked {
+        final long broadcastId;
+        final Long djId;
+        final long interactions;
+        final LocalDateTime activityTime;
+
+        Ranked(long broadcastId, Long djId, long interactions, LocalDateTime activityTime) {
+            this.broadcastId = broadcastId;
+            this.djId = djId;
+            this.interactions = interactions;
+            this.activityTime = activityTime;
+        }
+    }
+
+    /**
+     * Bounded ranking: most interactions first, then most recent activity, then newest id.
+     */
+    static final class TopK {
+        private static final Comparator<Ranked> ORDER = Comparator
+                .comparingLong((Ranked r) -> r.interactions).reversed()
+                .thenComparing(r -> r.activityTime, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Comparator.comparingLong((Ranked r) -> r.broadcastId).reversed());
+
+        private final int capacity;
+        private final TreeSet<Ranked> ranked = new TreeSet<>(ORDER);
+        private final Map<Long, Ranked> members = new HashMap<>();
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(Ranked candidate) {
+            Ranked existing = members.remove(candidate.broadcastId);
+            if (existing != null) {
+                ranked.remove(existing);
+            }
+            ranked.add(candidate);
+            members.put(candidate.broadcastId, candidate);
+            if (ranked.size() > capacity) {
+                Ranked evicted = ranked.pollLast();
+                members.remove(evicted.broadcastId);
+            }
+        }
+
+        synchronized void replaceAll(List<Ranked> candidates) {
+            ranked.clear();
+            members.clear();
+            for (Ranked candidate : candidates) {
+                offer(candidate);
+            }
+        }
+
+        synchronized List<Long> topIds(int limit) {
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Ranked r : ranked) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                ids.add(r.broadcastId);
+            }
+            return ids;
+        }
+    }
+}
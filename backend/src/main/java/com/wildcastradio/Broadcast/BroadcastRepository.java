@@ -7,10 +7,12 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.LockModeType;
 
 import com.wildcastradio.Broadcast.BroadcastEntity.BroadcastStatus;
@@ -114,9 +116,42 @@ public interface BroadcastRepository extends JpaRepository<BroadcastEntity, Long
     
     Optional<BroadcastEntity> findByEndIdempotencyKey(String endIdempotencyKey);
 
-    // Search broadcasts by title (paginated)
-    Page<BroadcastEntity> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    // Substring search on title or description, optionally by status (paginated, newest first).
+    // Served by the pg_trgm GIN indexes; the pattern comes from SearchPatterns.contains
+    @Query(value = "SELECT * FROM broadcasts b " +
+                   "WHERE (b.title ILIKE :pattern OR b.description ILIKE :pattern) " +
+                   "AND (CAST(:status AS varchar) IS NULL OR b.status = CAST(:status AS varchar)) " +
+                   "ORDER BY COALESCE(b.actual_start, b.scheduled_start) DESC NULLS LAST, b.id DESC",
+           countQuery = "SELECT COUNT(*) FROM broadcasts b " +
+                        "WHERE (b.title ILIKE :pattern OR b.description ILIKE :pattern) " +
+                        "AND (CAST(:status AS varchar) IS NULL OR b.status = CAST(:status AS varchar))",
+           nativeQuery = true)
+    Page<BroadcastEntity> searchByText(@Param("pattern") String pattern, @Param("status") String status, Pageable pageable);
 
-    // Search broadcasts by title and status (paginated)
-    Page<BroadcastEntity> findByTitleContainingIgnoreCaseAndStatus(String title, BroadcastStatus status, Pageable pageable);
-} 
\ No newline at end of file
+    // Title prefix search, optionally by status (paginated, newest first), for queries too short
+    // for trigrams. Served by the lower(title) text_pattern_ops index; pattern from SearchPatterns.prefix
+    @Query(value = "SELECT * FROM broadcasts b " +
+                   "WHERE LOWER(b.title) LIKE :prefix " +
+                   "AND (CAST(:status AS varchar) IS NULL OR b.status = CAST(:status AS varchar)) " +
+                   "ORDER BY COALESCE(b.actual_start, b.scheduled_start) DESC NULLS LAST, b.id DESC",
+           countQuery = "SELECT COUNT(*) FROM broadcasts b " +
+                        "WHERE LOWER(b.title) LIKE :prefix " +
+                        "AND (CAST(:status AS varchar) IS NULL OR b.status = CAST(:status AS varchar))",
+           nativeQuery = true)
+    Page<BroadcastEntity> searchByTitlePrefix(@Param("prefix") String prefix, @Param("status") String status, Pageable pageable);
+
+    // Typeahead: title prefix matches as lightweight projections
+    @Query("SELECT new com.wildcastradio.Broadcast.DTO.BroadcastSuggestionDTO(b.id, b.title, b.status, b.actualStart) " +
+           "FROM BroadcastEntity b WHERE LOWER(b.title) LIKE :prefix ORDER BY LOWER(b.title), b.id")
+    List<com.wildcastradio.Broadcast.DTO.BroadcastSuggestionDTO> suggestByTitlePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    // Checkpoint every LIVE broadcast in one statement (crash recovery reads these columns)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE broadcasts SET last_checkpoint_time = :checkpointTime, " +
+                   "current_duration_seconds = CASE WHEN actual_start IS NOT NULL " +
+                   "  THEN CAST(EXTRACT(EPOCH FROM (:checkpointTime - actual_start)) AS BIGINT) " +
+                   "  ELSE current_duration_seconds END " +
+                   "WHERE status = 'LIVE'", nativeQuery = true)
+    int checkpointLiveBroadcasts(@Param("checkpointTime") LocalDateTime checkpointTime);
+}
@@ -22,6 +22,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.cache.annotation.Cacheable;
@@ -31,9 +32,11 @@ import com.wildcastradio.ActivityLog.ActivityLogEntity;
 import com.wildcastradio.ActivityLog.ActivityLogService;
 import com.wildcastradio.Analytics.ListenerTrackingService;
 import com.wildcastradio.Broadcast.DTO.BroadcastDTO;
+import com.wildcastradio.Broadcast.DTO.BroadcastSuggestionDTO;
 import com.wildcastradio.Broadcast.DTO.CreateBroadcastRequest;
 import com.wildcastradio.ChatMessage.ChatMessageService;
 import com.wildcastradio.ChatMessage.ChatMessageRepository;
+import com.wildcastradio.Notification.NotificationFanoutService;
 import com.wildcastradio.Notification.NotificationService;
 import com.wildcastradio.Notification.NotificationType;
 import com.wildcastradio.Poll.PollService;
@@ -42,6 +45,7 @@ import com.wildcastradio.SongRequest.SongRequestService;
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserRepository;
 import com.wildcastradio.icecast.IcecastService;
+import com.wildcastradio.util.SearchPatterns;
 
 @Service
 public class BroadcastService {
@@ -63,6 +67,18 @@ public class BroadcastService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+
+    @Autowired
+    private LiveBroadcastRegistry liveBroadcastRegistry;
+
+    @Autowired
+    private BroadcastPopularityService broadcastPopularityService;
+
+    @Autowired
+    private BroadcastStatsService broadcastStatsService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -124,6 +140,12 @@ public class BroadcastService {
     @Value("${broadcast.healthCheck.adaptive.stableThresholdMinutes:60}")
     private long adaptiveStableThresholdMinutes; // After 60 minutes, use max interval
 
+    @Value("${broadcast.healthCheck.push.reconcileIntervalMs:120000}")
+    private long pushReconcileIntervalMs; // Poll interval while push signals show the source flowing
+
+    @Autowired
+    private StreamHealthMonitor streamHealthMonitor;
+
     // Broadcast cleanup configuration (stale LIVE broadcasts)
     @Value("${broadcast.cleanup.enabled:true}")
     private boolean cleanupEnabled;
@@ -155,6 +177,8 @@ public class BroadcastService {
     // Adaptive scheduling
     private ScheduledExecutorService healthCheckScheduler;
     private ScheduledFuture<?> healthCheckFuture;
+    // Serializes polls and push signals, which now arrive from different threads
+    private final Object healthCheckLock = new Object();
 
 
     // Unified method that handles both scheduled and immediate broadcasts
@@ -205,7 +229,8 @@ public class BroadcastService {
         activityLogService.logActivity(
             user,
             ActivityLogEntity.ActivityType.BROADCAST_START,
-            "Broadcast created: " + savedBroadcast.getTitle()
+            "Broadcast created: " + savedBroadcast.getTitle(),
+            savedBroadcast.getId()
         );
 
         // Only send a schedule notification if this broadcast is scheduled for the future
@@ -276,12 +301,9 @@ public class BroadcastService {
     }
 
 
-    // Helper method to send notifications to all users
+    // Helper method to send notifications to all users (set-based insert + one topic push)
     private void sendNotificationToAllUsers(String message, NotificationType type) {
-        List<UserEntity> allUsers = userRepository.findAll();
-        for (UserEntity user : allUsers) {
-            notificationService.sendNotification(user, message, type);
-        }
+        notificationFanoutService.fanOutToAllUsers(message, type);
     }
 
     private void publishBroadcastEndedEvent(BroadcastEntity broadcast) {
@@ -455,7 +477,8 @@ public class BroadcastService {
             activityLogService.logActivity(
                 dj,
                 ActivityLogEntity.ActivityType.BROADCAST_START,
-                (testMode ? "TEST MODE: " : "") + "Broadcast started: " + savedBroadcast.getTitle()
+                (testMode ? "TEST MODE: " : "") + "Broadcast started: " + savedBroadcast.getTitle(),
+                savedBroadcast.getId()
             );
 
             // Record success in circuit breaker
@@ -612,7 +635,8 @@ public class BroadcastService {
             activityLogService.logActivity(
                 dj,
                 ActivityLogEntity.ActivityType.BROADCAST_END,
-                "Broadcast ended: " + finalBroadcast.getTitle()
+                "Broadcast ended: " + finalBroadcast.getTitle(),
+                finalBroadcast.getId()
             );
 
             // Record success in circuit breaker
@@ -784,11 +808,12 @@ public class BroadcastService {
     
     /**
      * Get the most recent live broadcast (the one that should be active)
-     * This ensures we always get the current live broadcast, not an old one
+     * This ensures we always get the current live broadcast, not an old one.
+     * Served from the in-memory registry; callers that modify the broadcast should
+     * reload it (e.g. findByIdForUpdate) rather than saving the returned snapshot.
      */
     public Optional<BroadcastEntity> getCurrentLiveBroadcast() {
-        List<BroadcastEntity> liveBroadcasts = getLiveBroadcasts();
-        return liveBroadcasts.isEmpty() ? Optional.empty() : Optional.of(liveBroadcasts.get(0));
+        return liveBroadcastRegistry.getCurrent();
     }
 
     @Cacheable(value = "upcomingBroadcasts")
@@ -829,15 +854,32 @@ public class BroadcastService {
     }
 
     public Page<BroadcastEntity> searchBroadcasts(String query, String status, Pageable pageable) {
+        String statusFilter = null;
         if (status != null && !status.isEmpty()) {
             try {
-                BroadcastEntity.BroadcastStatus broadcastStatus = BroadcastEntity.BroadcastStatus.valueOf(status.toUpperCase());
-                return broadcastRepository.findByTitleContainingIgnoreCaseAndStatus(query, broadcastStatus, pageable);
+                statusFilter = BroadcastEntity.BroadcastStatus.valueOf(status.toUpperCase()).name();
             } catch (IllegalArgumentException e) {
                 logger.warn("Invalid broadcast status: {}, falling back to title search", status);
             }
         }
-        return broadcastRepository.findByTitleContainingIgnoreCase(query, pageable);
+        // Trigram-indexed title/description search; one- and two-character queries match title prefixes
+        if (SearchPatterns.supportsSubstringSearch(query)) {
+            return broadcastRepository.searchByText(SearchPatterns.contains(query), statusFilter, pageable);
+        }
+        String prefix = SearchPatterns.prefix(query);
+        return broadcastRepository.searchByTitlePrefix(prefix != null ? prefix : "%", statusFilter, pageable);
+    }
+
+    /**
+     * Typeahead suggestions for broadcast history: titles starting with the given prefix
+     * (index-only prefix scan, capped at 20 results).
+     */
+    public List<BroadcastSuggestionDTO> suggestBroadcasts(String prefix, int limit) {
+        String pattern = SearchPatterns.prefix(prefix);
+        if (pattern == null) {
+            return List.of();
+        }
+        return broadcastRepository.suggestByTitlePrefix(pattern, PageRequest.of(0, Math.max(1, Math.min(limit, 20))));
     }
 
     // Method to get engagement data for analytics
@@ -900,10 +942,8 @@ public class BroadcastService {
             String notificationMessage = "Broadcast starting soon: " + broadcast.getTitle() +
                                         " at " + broadcast.getScheduledStart();
             String baseKey = "starting-soon:" + broadcast.getId();
-            List<UserEntity> allUsers = userRepository.findAll();
-            for (UserEntity user : allUsers) {
-                notificationService.sendTransientNotificationOnce(baseKey + ":" + user.getId(), user,
-                        notificationMessage, NotificationType.BROADCAST_STARTING_SOON);
+            if (notificationService.claimTransientKey(baseKey)) {
+                sendNotificationToAllUsers(notificationMessage, NotificationType.BROADCAST_STARTING_SOON);
             }
 
             logger.info("Ensured 'starting soon' notification for broadcast: {} (deduped)", broadcast.getTitle());
@@ -927,7 +967,8 @@ public class BroadcastService {
         if (broadcastOpt.isPresent()) {
             BroadcastEntity broadcast = broadcastOpt.get();
 
-            // Log the activity if the user is authenticated
+            // Log the activity if the user is authenticated. No broadcast reference: audience
+            // joins are not activity of the broadcast's DJ
             if (user != null) {
                 activityLogService.logActivity(
                     user,
@@ -981,84 +1022,35 @@ public class BroadcastService {
     }
 
     public double getAverageBroadcastDuration() {
-        List<BroadcastEntity> completedBroadcasts = broadcastRepository.findByStatusOrderByActualStartDesc(BroadcastEntity.BroadcastStatus.ENDED);
-
-        if (completedBroadcasts.isEmpty()) {
-            return 0.0;
-        }
-
-        long totalMinutes = completedBroadcasts.stream()
-            .filter(broadcast -> broadcast.getActualStart() != null && broadcast.getActualEnd() != null)
-            .mapToLong(broadcast -> java.time.Duration.between(broadcast.getActualStart(), broadcast.getActualEnd()).toMinutes())
-            .sum();
-
-        return (double) totalMinutes / completedBroadcasts.size();
+        // Averaged in SQL over ended broadcasts with both start and end times (cached)
+        Object average = broadcastStatsService.getStats(null).get("averageDuration");
+        return average instanceof Number ? ((Number) average).doubleValue() : 0.0;
     }
 
     public List<BroadcastEntity> getPopularBroadcasts(int limit) {
-        // Prefer ended broadcasts with most interactions, then live, then scheduled
-        // Fetch all broadcasts (without collections to avoid MultipleBagFetchException)
-        List<BroadcastEntity> all = broadcastRepository.findAll();
-        
-        if (all.isEmpty()) {
+        // Most interactions first, tie-breaker by latest actualStart/end (ranking kept in memory)
+        return loadInOrder(broadcastPopularityService.topGlobal(limit));
+    }
+
+    /**
+     * Load broadcasts by id, preserving the order of the given ids.
+     */
+    public List<BroadcastEntity> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
             return java.util.Collections.emptyList();
         }
-        
-        // Get all broadcast IDs
-        List<Long> broadcastIds = all.stream()
-            .map(BroadcastEntity::getId)
-            .collect(java.util.stream.Collectors.toList());
-        
-        // Use batch aggregation queries to get all counts in just 2 queries
-        java.util.Map<Long, Integer> interactionCounts = new java.util.HashMap<>();
-        
-        // Initialize all broadcasts with 0 counts
-        for (Long id : broadcastIds) {
-            interactionCounts.put(id, 0);
-        }
-        
-        // Batch query for chat messages - single query for all broadcasts
-        List<Object[]> chatCounts = chatMessageRepository.countMessagesByBroadcastIds(broadcastIds);
-        for (Object[] result : chatCounts) {
-            Long broadcastId = ((Number) result[0]).longValue();
-            Long count = ((Number) result[1]).longValue();
-            interactionCounts.put(broadcastId, count.intValue());
+        Map<Long, BroadcastEntity> byId = new java.util.HashMap<>();
+        for (BroadcastEntity broadcast : broadcastRepository.findAllById(ids)) {
+            byId.put(broadcast.getId(), broadcast);
         }
-        
-        // Batch query for song requests - single query for all broadcasts
-        List<Object[]> requestCounts = songRequestRepository.countSongRequestsByBroadcastIds(broadcastIds);
-        java.util.Map<Long, Integer> requestCountsMap = new java.util.HashMap<>();
-        for (Object[] result : requestCounts) {
-            Long broadcastId = ((Number) result[0]).longValue();
-            Long count = ((Number) result[1]).longValue();
-            requestCountsMap.put(broadcastId, count.intValue());
-        }
-        
-        // Combine chat and request counts
-        for (Long id : broadcastIds) {
-            int chatCount = interactionCounts.getOrDefault(id, 0);
-            int requestCount = requestCountsMap.getOrDefault(id, 0);
-            interactionCounts.put(id, chatCount + requestCount);
+        List<BroadcastEntity> ordered = new java.util.ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BroadcastEntity broadcast = byId.get(id);
+            if (broadcast != null) {
+                ordered.add(broadcast);
+            }
         }
-        
-        return all.stream()
-            .sorted((a, b) -> {
-                // Use pre-computed counts instead of querying during sort
-                int aInteractions = interactionCounts.getOrDefault(a.getId(), 0);
-                int bInteractions = interactionCounts.getOrDefault(b.getId(), 0);
-                
-                // Desc by interactions, tie-breaker by latest actualStart/end
-                int cmp = Integer.compare(bInteractions, aInteractions);
-                if (cmp != 0) return cmp;
-                java.time.LocalDateTime aTime = a.getActualEnd() != null ? a.getActualEnd() : a.getActualStart();
-                java.time.LocalDateTime bTime = b.getActualEnd() != null ? b.getActualEnd() : b.getActualStart();
-                if (aTime == null && bTime == null) return 0;
-                if (aTime == null) return 1;
-                if (bTime == null) return -1;
-                return bTime.compareTo(aTime);
-            })
-            .limit(limit)
-            .collect(java.util.stream.Collectors.toList());
+        return ordered;
     }
 
     /**
@@ -1114,6 +1106,11 @@ public class BroadcastService {
             return adaptiveMinIntervalMs;
         }
 
+        // Push signals watch a flowing source on this node; polling only reconciles
+        if (streamHealthMonitor.isSourceFlowing()) {
+            return Math.max(adaptiveMaxIntervalMs, pushReconcileIntervalMs);
+        }
+
         // Calculate broadcast age
         if (broadcast.getActualStart() == null) {
             return adaptiveMinIntervalMs; // New broadcast, use min interval
@@ -1145,7 +1142,7 @@ public class BroadcastService {
     /**
      * Schedule the next health check with adaptive interval
      */
-    private void scheduleNextHealthCheck() {
+    private synchronized void scheduleNextHealthCheck() {
         if (healthCheckScheduler == null || !healthCheckEnabled) {
             return;
         }
@@ -1198,9 +1195,94 @@ public class BroadcastService {
     }
 
     /**
-     * Internal health check implementation (called by both fixed and adaptive schedulers)
+     * Run a health check now instead of waiting for the next scheduled poll
+     * (used by push signals to confirm a degradation or a recovery).
+     */
+    public synchronized void requestImmediateHealthCheck(String reason) {
+        if (!healthCheckEnabled) {
+            return;
+        }
+        logger.debug("Immediate health check requested: {}", reason);
+        if (healthCheckScheduler == null) {
+            CompletableFuture.runAsync(this::monitorLiveStreamHealthInternal);
+            return;
+        }
+        // A check that is already running will reschedule itself with the new state
+        if (healthCheckFuture != null && !healthCheckFuture.cancel(false)) {
+            return;
+        }
+        healthCheckFuture = healthCheckScheduler.schedule(() -> {
+            monitorLiveStreamHealthInternal();
+            scheduleNextHealthCheck();
+        }, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * React to a push health signal from {@link StreamHealthMonitor}: mark the live broadcast
+     * as recovering, start reconnection right away and confirm with an immediate poll. Auto-end
+     * still needs the usual number of consecutive unhealthy polls.
+     */
+    public void handlePushHealthSignal(String signal, String detail, SourceDisconnectionType disconnectionType) {
+        if (!healthCheckEnabled) {
+            return;
+        }
+        Optional<BroadcastEntity> liveOpt = getCurrentLiveBroadcast();
+        if (liveOpt.isEmpty() || liveOpt.get().getId() == null) {
+            return;
+        }
+        BroadcastEntity live = liveOpt.get();
+        Long id = live.getId();
+
+        synchronized (healthCheckLock) {
+            lastCheckedBroadcastId = id;
+            // Only polls count towards auto-end; the signal just brings the next one forward
+            recovering = true;
+            Map<String, Object> snapshot = new java.util.HashMap<>(lastHealthSnapshot);
+            snapshot.put("healthy", false);
+            snapshot.put("recovering", true);
+            snapshot.put("consecutiveUnhealthyChecks", consecutiveUnhealthyChecks);
+            snapshot.put("broadcastId", id);
+            snapshot.put("broadcastLive", true);
+            snapshot.put("signal", signal);
+            snapshot.put("disconnectionType", disconnectionType.toString());
+            snapshot.put("supportsAutomaticRecovery", disconnectionType.supportsAutomaticRecovery());
+            snapshot.put("requiresAdminIntervention", disconnectionType.requiresAdminIntervention());
+            lastHealthSnapshot = snapshot;
+            lastHealthCheckTime = LocalDateTime.now();
+        }
+
+        Map<String, Object> metadata = new java.util.HashMap<>();
+        metadata.put("source", "push");
+        metadata.put("signal", signal);
+        metadata.put("detail", detail);
+        metadata.put("disconnectionType", disconnectionType.toString());
+        activityLogService.logSystemAuditWithMetadata(
+            ActivityLogEntity.ActivityType.BROADCAST_HEALTH_CHECK_FAILED,
+            String.format("Broadcast health signal %s: %s", signal, live.getTitle()),
+            id,
+            metadata
+        );
+
+        if (!autoEndOnUnhealthy && reconnectionManager != null
+                && disconnectionType.supportsAutomaticRecovery() && !reconnectionManager.isReconnecting(id)) {
+            logger.info("Triggering automatic reconnection for broadcast {} on push signal {}", id, signal);
+            reconnectionManager.attemptReconnection(id, disconnectionType);
+        }
+
+        requestImmediateHealthCheck("push signal " + signal);
+    }
+
+    /**
+     * Internal health check implementation (called by both fixed and adaptive schedulers,
+     * and on demand by push signals)
      */
     private void monitorLiveStreamHealthInternal() {
+        synchronized (healthCheckLock) {
+            checkLiveStreamHealth();
+        }
+    }
+
+    private void checkLiveStreamHealth() {
         if (!healthCheckEnabled) {
             return;
         }
@@ -1272,6 +1354,13 @@ public class BroadcastService {
 
             boolean healthy = serverReachable && mountExists && hasSource && bitrate > 0;
 
+            if (healthy && streamHealthMonitor.isDegraded()) {
+                // Icecast can lag a push signal by a few seconds; stay recovering until the signal clears or expires
+                logger.debug("Poll reports healthy for broadcast id={} but a push signal is still active", id);
+                lastHealthCheckTime = LocalDateTime.now();
+                return;
+            }
+
             if (healthy) {
                 boolean wasRecovering = recovering || consecutiveUnhealthyChecks > 0;
                 if (wasRecovering) {
@@ -1518,57 +1607,46 @@ public class BroadcastService {
 
     /**
      * Periodic checkpointing for live broadcasts to enable recovery from server crashes.
-     * Runs every 60 seconds and updates checkpoint time and current duration.
+     * Runs every 60 seconds on one node and updates checkpoint time and current duration
+     * for all live broadcasts with a single UPDATE.
      */
     @Scheduled(fixedRate = 60000) // Every minute
+    @SchedulerLock(name = "checkpointLiveBroadcasts", lockAtMostFor = "50s", lockAtLeastFor = "10s")
     public void checkpointLiveBroadcasts() {
         try {
-            List<BroadcastEntity> liveBroadcasts = getLiveBroadcasts();
-            
-            if (liveBroadcasts.isEmpty()) {
+            LocalDateTime checkpointTime = LocalDateTime.now();
+            int checkpointed = broadcastRepository.checkpointLiveBroadcasts(checkpointTime);
+            if (checkpointed == 0) {
                 return; // No live broadcasts to checkpoint
             }
-            
-            logger.debug("Checkpointing {} live broadcast(s)", liveBroadcasts.size());
-            
-            for (BroadcastEntity broadcast : liveBroadcasts) {
-                try {
-                    // Update last checkpoint time
-                    LocalDateTime checkpointTime = LocalDateTime.now();
-                    broadcast.setLastCheckpointTime(checkpointTime);
-                    
-                    // Calculate and store current duration
-                    if (broadcast.getActualStart() != null) {
-                        java.time.Duration duration = java.time.Duration.between(
-                            broadcast.getActualStart(), 
-                            checkpointTime
-                        );
-                        broadcast.setCurrentDurationSeconds(duration.getSeconds());
-                    }
-                    
-                    BroadcastEntity savedBroadcast = broadcastRepository.save(broadcast);
-                    broadcastRepository.flush(); // Force immediate write to database
-                    
-                    logger.debug("Checkpointed broadcast {}: duration={}s, checkpointTime={}", 
-                        savedBroadcast.getId(), 
-                        savedBroadcast.getCurrentDurationSeconds(),
-                        savedBroadcast.getLastCheckpointTime());
-                    
-                    // Audit log: Periodic checkpoint (only log every 10th checkpoint to avoid log spam)
-                    if (savedBroadcast.getCurrentDurationSeconds() != null && savedBroadcast.getCurrentDurationSeconds() % 600 == 0) {
+            logger.debug("Checkpointed {} live broadcast(s) at {}", checkpointed, checkpointTime);
+
+            // Audit log: one entry per 10 minutes of airtime, written off the scheduler thread
+            for (BroadcastEntity broadcast : liveBroadcastRegistry.getLive()) {
+                if (broadcast.getActualStart() == null) {
+                    continue;
+                }
+                long durationSeconds = java.time.Duration.between(broadcast.getActualStart(), checkpointTime).getSeconds();
+                if (durationSeconds < 600 || durationSeconds % 600 >= 60) {
+                    continue;
+                }
+                Long broadcastId = broadcast.getId();
+                String title = broadcast.getTitle();
+                CompletableFuture.runAsync(() -> {
+                    try {
                         Map<String, Object> metadata = new java.util.HashMap<>();
-                        metadata.put("durationSeconds", broadcast.getCurrentDurationSeconds());
-                        metadata.put("checkpointTime", broadcast.getLastCheckpointTime().toString());
+                        metadata.put("durationSeconds", durationSeconds);
+                        metadata.put("checkpointTime", checkpointTime.toString());
                         activityLogService.logSystemAuditWithMetadata(
                             ActivityLogEntity.ActivityType.BROADCAST_CHECKPOINT,
-                            String.format("Checkpoint saved for broadcast: %s (duration: %ds)", broadcast.getTitle(), broadcast.getCurrentDurationSeconds()),
-                            broadcast.getId(),
+                            String.format("Checkpoint saved for broadcast: %s (duration: %ds)", title, durationSeconds),
+                            broadcastId,
                             metadata
                         );
+                    } catch (Exception e) {
+                        logger.error("Error writing checkpoint audit log for broadcast {}: {}", broadcastId, e.getMessage());
                     }
-                } catch (Exception e) {
-                    logger.error("Error checkpointing broadcast {}: {}", broadcast.getId(), e.getMessage());
-                }
+                });
             }
         } catch (Exception e) {
             logger.error("Error during broadcast checkpointing: {}", e.getMessage());
@@ -0,0 +1,65 @@
+package com.wildcastradio.Broadcast;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.wildcastradio.Analytics.AnalyticsResponseCache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that invalidates {@link BroadcastStatsService} and the analytics
+ * response cache on status transitions (a broadcast starting, ending, being scheduled...).
+ * Updates that do not touch status or timing (chat settings, checkpoints, handovers...) leave
+ * the cache alone. Eviction happens after commit so a concurrent read cannot re-cache the
+ * pre-transition figures.
+ */
+@Component
+public class BroadcastStatsCacheListener {
+
+    private final BroadcastStatsService broadcastStatsService;
+    private final AnalyticsResponseCache analyticsResponseCache;
+
+    // Lazy: both are created after the entity manager that instantiates this listener
+    public BroadcastStatsCacheListener(@Lazy BroadcastStatsService broadcastStatsService,
+                                       @Lazy AnalyticsResponseCache analyticsResponseCache) {
+        this.broadcastStatsService = broadcastStatsService;
+        this.analyticsResponseCache = analyticsResponseCache;
+    }
+
+    @PostPersist
+    @PostRemove
+    public void onCreatedOrRemoved(BroadcastEntity broadcast) {
+        afterCommit(this::invalidate);
+    }
+
+    @PostUpdate
+    public void onUpdated(BroadcastEntity broadcast) {
+        // Entity listeners run before the entity's own callback refreshes its snapshot
+        if (broadcast.statsFieldsChanged()) {
+            afterCommit(this::invalidate);
+        }
+    }
+
+    private void invalidate() {
+        broadcastStatsService.invalidate();
+        analyticsResponseCache.invalidateAll();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.wildcastradio.Broadcast;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Broadcast counts and duration statistics computed in SQL.
+ *
+ * Replaces loading every broadcast entity and averaging {@code Duration.between} in Java.
+ * Durations are whole minutes (truncated, as before) and only count broadcasts that have
+ * both an actual start and an actual end. A DJ scope matches
+ * {@link BroadcastRepository#findByActiveDJ}: creator, starter, current DJ or handover target.
+ */
+@Repository
+public class BroadcastStatsRepository {
+
+    private static final String DURATION_MINUTES =
+            "FLOOR(EXTRACT(EPOCH FROM (b.actual_end - b.actual_start)) / 60)";
+
+    private static final String DJ_SCOPE =
+            "(b.created_by_id = ? OR b.started_by_id = ? OR b.current_active_dj_id = ? " +
+            "OR EXISTS (SELECT 1 FROM dj_handovers h WHERE h.broadcast_id = b.id AND h.new_dj_id = ?))";
+
+    private static final String SUMMARY_SQL =
+            "SELECT COUNT(*) AS total, " +
+            "  COUNT(*) FILTER (WHERE b.status = 'LIVE') AS live, " +
+            "  COUNT(*) FILTER (WHERE b.status = 'SCHEDULED' AND b.scheduled_start > ?) AS upcoming, " +
+            "  COUNT(*) FILTER (WHERE b.status = 'ENDED') AS completed, " +
+            "  COUNT(*) FILTER (WHERE b.status = 'CANCELLED') AS cancelled " +
+            "FROM broadcasts b ";
+
+    private static final String DURATION_SQL =
+            "SELECT COUNT(*) AS timed, " +
+            "  COALESCE(AVG(" + DURATION_MINUTES + "), 0) AS avg_minutes, " +
+            "  COALESCE(SUM(" + DURATION_MINUTES + "), 0) AS total_minutes, " +
+            "  COALESCE(MAX(" + DURATION_MINUTES + "), 0) AS max_minutes, " +
+            "  COALESCE(percentile_cont(0.5) WITHIN GROUP (ORDER BY " + DURATION_MINUTES + "), 0) AS p50, " +
+            "  COALESCE(percentile_cont(0.9) WITHIN GROUP (ORDER BY " + DURATION_MINUTES + "), 0) AS p90, " +
+            "  COALESCE(percentile_cont(0.95) WITHIN GROUP (ORDER BY " + DURATION_MINUTES + "), 0) AS p95 " +
+            "FROM broadcasts b WHERE b.actual_start IS NOT NULL AND b.actual_end IS NOT NULL ";
+
+    private static final String MONTHLY_SQL =
+            "SELECT to_char(date_trunc('month', b.actual_start), 'YYYY-MM') AS period, COUNT(*) AS broadcasts, " +
+            "  COALESCE(AVG(" + DURATION_MINUTES + "), 0) AS avg_minutes, " +
+            "  COALESCE(SUM(" + DURATION_MINUTES + "), 0) AS total_minutes " +
+            "FROM broadcasts b WHERE b.actual_start IS NOT NULL AND b.actual_end IS NOT NULL " +
+            "AND b.actual_start >= ? ";
+
+    private static final String MONTHLY_GROUPING = "GROUP BY 1 ORDER BY 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BroadcastStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Status counts: totalBroadcasts, liveBroadcasts, upcomingBroadcasts, completedBroadcasts,
+     * cancelledBroadcasts.
+     */
+    public Map<String, Object> statusCounts(Long djId, LocalDateTime now) {
+        String sql = SUMMARY_SQL + (djId != null ? "WHERE " + DJ_SCOPE : "");
+        Object[] args = djId != null
+                ? new Object[] { Timestamp.valueOf(now), djId, djId, djId, djId }
+                : new Object[] { Timestamp.valueOf(now) };
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            Map<String, Object> counts = new LinkedHashMap<>();
+            counts.put("totalBroadcasts", rs.getLong("total"));
+            counts.put("liveBroadcasts", rs.getLong("live"));
+            counts.put("upcomingBroadcasts", rs.getLong("upcoming"));
+            counts.put("completedBroadcasts", rs.getLong("completed"));
+            counts.put("cancelledBroadcasts", rs.getLong("cancelled"));
+            return counts;
+        }, args);
+    }
+
+    /**
+     * Duration statistics in minutes: averageDuration, totalDuration, longestDuration,
+     * medianDuration, p90Duration, p95Duration, plus the number of timed broadcasts.
+     */
+    public Map<String, Object> durationStats(Long djId) {
+        String sql = DURATION_SQL + (djId != null ? "AND " + DJ_SCOPE : "");
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            Map<String, Object> durations = new LinkedHashMap<>();
+            durations.put("timedBroadcasts", rs.getLong("timed"));
+            durations.put("averageDuration", rs.getDouble("avg_minutes"));
+            durations.put("totalDuration", rs.getLong("total_minutes"));
+            durations.put("longestDuration", rs.getLong("max_minutes"));
+            durations.put("medianDuration", rs.getDouble("p50"));
+            durations.put("p90Duration", rs.getDouble("p90"));
+            durations.put("p95Duration", rs.getDouble("p95"));
+            return durations;
+        }, djScopeArgs(djId));
+    }
+
+    /**
+     * Broadcasts per calendar month (by actual start) since {@code since}, oldest first.
+     */
+    public List<Map<String, Object>> monthlyBuckets(Long djId, LocalDateTime since) {
+        String sql = MONTHLY_SQL + (djId != null ? "AND " + DJ_SCOPE : "") + MONTHLY_GROUPING;
+        Object[] args = djId != null
+                ? new Object[] { Timestamp.valueOf(since), djId, djId, djId, djId }
+                : new Object[] { Timestamp.valueOf(since) };
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("period", rs.getString("period"));
+            bucket.put("broadcasts", rs.getLong("broadcasts"));
+            bucket.put("averageDuration", rs.getDouble("avg_minutes"));
+            bucket.put("totalDuration", rs.getLong("total_minutes"));
+            return bucket;
+        }, args);
+    }
+
+    private static Object[] djScopeArgs(Long djId) {
+        return djId != null ? new Object[] { djId, djId, djId, djId } : new Object[0];
+    }
+}
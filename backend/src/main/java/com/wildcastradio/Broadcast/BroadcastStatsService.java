@@ -0,0 +1,54 @@
+package com.wildcastradio.Broadcast;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cached broadcast status and duration statistics for the dashboards.
+ *
+ * Aggregates come from {@link BroadcastStatsRepository} and are cached per scope (overall or
+ * per DJ) in the shared {@code broadcastStats} cache. {@link BroadcastStatsCacheListener}
+ * evicts the cache whenever a broadcast is created, deleted, or changes status or schedule,
+ * so dashboard reads stay flat no matter how much history accumulates.
+ */
+@Service
+public class BroadcastStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastStatsService.class);
+
+    private final BroadcastStatsRepository broadcastStatsRepository;
+    private final int bucketMonths;
+
+    public BroadcastStatsService(BroadcastStatsRepository broadcastStatsRepository,
+                                 @Value("${broadcast.stats.bucket-months:12}") int bucketMonths) {
+        this.broadcastStatsRepository = broadcastStatsRepository;
+        this.bucketMonths = Math.max(1, bucketMonths);
+    }
+
+    /**
+     * Counts, durations and monthly buckets, overall when {@code djId} is null.
+     */
+    @Cacheable(value = "broadcastStats", key = "#djId == null ? 'all' : 'dj:' + #djId")
+    public Map<String, Object> getStats(Long djId) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.putAll(broadcastStatsRepository.statusCounts(djId, now));
+        stats.putAll(broadcastStatsRepository.durationStats(djId));
+        LocalDateTime since = now.withDayOfMonth(1).toLocalDate().atStartOfDay().minusMonths(bucketMonths - 1L);
+        stats.put("monthly", broadcastStatsRepository.monthlyBuckets(djId, since));
+        return stats;
+    }
+
+    @CacheEvict(value = "broadcastStats", allEntries = true)
+    public void invalidate() {
+        logger.debug("Broadcast stats cache invalidated");
+    }
+}
@@ -27,6 +27,9 @@ public class BroadcastDTO {
     // Chat slow mode fields
     private Boolean slowModeEnabled;
     private Integer slowModeSeconds;
+
+    // Live poll result refresh rate (null = server default)
+    private Integer pollResultsIntervalMs;
     
     // Active session identifier for multi-device handling
     private String activeSessionId;
@@ -107,6 +110,7 @@ public class BroadcastDTO {
         );
         dto.setSlowModeEnabled(broadcast.getSlowModeEnabled());
         dto.setSlowModeSeconds(broadcast.getSlowModeSeconds());
+        dto.setPollResultsIntervalMs(broadcast.getPollResultsIntervalMs());
         dto.setActiveSessionId(broadcast.getActiveSessionId());
         return dto;
     }
@@ -263,4 +267,12 @@ public class BroadcastDTO {
     public void setSlowModeSeconds(Integer slowModeSeconds) {
         this.slowModeSeconds = slowModeSeconds;
     }
+
+    public Integer getPollResultsIntervalMs() {
+        return pollResultsIntervalMs;
+    }
+
+    public void setPollResultsIntervalMs(Integer pollResultsIntervalMs) {
+        this.pollResultsIntervalMs = pollResultsIntervalMs;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.wildcastradio.Broadcast.DTO;
+
+import java.time.LocalDateTime;
+
+import com.wildcastradio.Broadcast.BroadcastEntity;
+
+/**
+ * Minimal broadcast entry for search-as-you-type suggestions.
+ */
+public class BroadcastSuggestionDTO {
+    private Long id;
+    private String title;
+    private BroadcastEntity.BroadcastStatus status;
+    private LocalDateTime actualStart;
+
+    public BroadcastSuggestionDTO() {}
+
+    public BroadcastSuggestionDTO(Long id, String title, BroadcastEntity.BroadcastStatus status, LocalDateTime actualStart) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.actualStart = actualStart;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public BroadcastEntity.BroadcastStatus getStatus() { return status; }
+    public void setStatus(BroadcastEntity.BroadcastStatus status) { this.status = status; }
+
+    public LocalDateTime getActualStart() { return actualStart; }
+    public void setActualStart(LocalDateTime actualStart) { this.actualStart = actualStart; }
+}
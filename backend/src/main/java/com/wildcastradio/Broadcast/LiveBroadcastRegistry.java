@@ -0,0 +1,181 @@
+package com.wildcastradio.Broadcast;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Node-local registry of LIVE broadcasts.
+ *
+ * Answers "what is live right now" from memory instead of querying and sorting the broadcasts
+ * table on every status push and health check. The registry is kept current by
+ * {@link LiveBroadcastRegistryListener}, which reports every committed broadcast insert, update
+ * and delete (start, end, handover, recovery, checkpoints...). Other nodes are told which
+ * broadcast changed over Redis pub/sub and reload just that row; a periodic reconciliation
+ * against the database catches anything missed (e.g. while Redis was unreachable).
+ */
+@Component
+public class LiveBroadcastRegistry implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(LiveBroadcastRegistry.class);
+
+    static final String CHANNEL = "wildcats:broadcast:live";
+
+    private static final Comparator<BroadcastEntity> MOST_RECENT_FIRST = Comparator.comparing(
+            BroadcastEntity::getActualStart, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final BroadcastRepository broadcastRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<Long, BroadcastEntity> live = new ConcurrentHashMap<>();
+    private volatile List<BroadcastEntity> sortedLive = Collections.emptyList();
+    private volatile boolean initialized;
+
+    public LiveBroadcastRegistry(BroadcastRepository broadcastRepository,
+                                 StringRedisTemplate redisTemplate,
+                                 RedisMessageListenerContainer listenerContainer) {
+        this.broadcastRepository = broadcastRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        try {
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        } catch (Exception e) {
+            logger.warn("Could not subscribe to live broadcast channel, relying on reconciliation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The most recently started live broadcast, if any.
+     */
+    public Optional<BroadcastEntity> getCurrent() {
+        List<BroadcastEntity> snapshot = getLive();
+        return snapshot.isEmpty() ? Optional.empty() : Optional.of(snapshot.get(0));
+    }
+
+    /**
+     * Live broadcasts, most recently started first.
+     */
+    public List<BroadcastEntity> getLive() {
+        if (!initialized) {
+            reconcile();
+        }
+        return sortedLive;
+    }
+
+    /**
+     * Apply a committed change made on this node and tell the other nodes about it.
+     */
+    void onSaved(BroadcastEntity broadcast) {
+        if (broadcast == null || broadcast.getId() == null) {
+            return;
+        }
+        apply(broadcast.getId(), broadcast);
+        publish(broadcast.getId());
+    }
+
+    void onRemoved(Long broadcastId) {
+        if (broadcastId == null) {
+            return;
+        }
+        apply(broadcastId, null);
+        publish(broadcastId);
+    }
+
+    /**
+     * Replace the registry with the LIVE broadcasts in the database.
+     */
+    @Scheduled(fixedDelayString = "${broadcast.live-registry.reconcile-interval-ms:60000}")
+    public synchronized void reconcile() {
+        try {
+            List<BroadcastEntity> fromDb = broadcastRepository.findByStatusOrderByActualStartDesc(BroadcastEntity.BroadcastStatus.LIVE);
+            if (initialized && !sameIds(fromDb)) {
+                logger.info("Live broadcast registry reconciled: {} -> {}", live.keySet(), ids(fromDb));
+            }
+            live.clear();
+            for (BroadcastEntity broadcast : fromDb) {
+                live.put(broadcast.getId(), broadcast);
+            }
+            rebuild();
+            initialized = true;
+        } catch (Exception e) {
+            logger.error("Error reconciling live broadcast registry: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.lastIndexOf(':');
+        if (sep <= 0 || body.substring(0, sep).equals(nodeId)) {
+            return;
+        }
+        try {
+            Long broadcastId = Long.valueOf(body.substring(sep + 1));
+            apply(broadcastId, broadcastRepository.findById(broadcastId).orElse(null));
+        } catch (Exception e) {
+            logger.warn("Could not apply live broadcast change '{}': {}", body, e.getMessage());
+        }
+    }
+
+    private synchronized void apply(Long broadcastId, BroadcastEntity broadcast) {
+        boolean changed;
+        if (broadcast != null && broadcast.getStatus() == BroadcastEntity.BroadcastStatus.LIVE) {
+            changed = live.put(broadcastId, broadcast) == null;
+        } else {
+            changed = live.remove(broadcastId) != null;
+        }
+        rebuild();
+        if (changed) {
+            logger.debug("Live broadcast registry updated for broadcast {}: {}", broadcastId, live.keySet());
+        }
+    }
+
+    private void rebuild() {
+        List<BroadcastEntity> sorted = new ArrayList<>(live.values());
+        sorted.sort(MOST_RECENT_FIRST);
+        sortedLive = Collections.unmodifiableList(sorted);
+    }
+
+    private void publish(Long broadcastId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + ":" + broadcastId);
+        } catch (Exception e) {
+            logger.debug("Could not publish live broadcast change for {}: {}", broadcastId, e.getMessage());
+        }
+    }
+
+    private boolean sameIds(List<BroadcastEntity> broadcasts) {
+        return broadcasts.size() == live.size() && live.keySet().containsAll(ids(broadcasts));
+    }
+
+    private static List<Long> ids(List<BroadcastEntity> broadcasts) {
+        List<Long> ids = new ArrayList<>(broadcasts.size());
+        for (BroadcastEntity broadcast : broadcasts) {
+            ids.add(broadcast.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,51 @@
+package com.wildcastradio.Broadcast;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that feeds broadcast changes into {@link LiveBroadcastRegistry}.
+ * Changes are applied only after the surrounding transaction commits, so a rolled-back
+ * start or end never shows up in the registry.
+ */
+@Component
+public class LiveBroadcastRegistryListener {
+
+    private final LiveBroadcastRegistry registry;
+
+    // Lazy: the registry depends on the repository, which depends on this listener
+    public LiveBroadcastRegistryListener(@Lazy LiveBroadcastRegistry registry) {
+        this.registry = registry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(BroadcastEntity broadcast) {
+        afterCommit(() -> registry.onSaved(broadcast));
+    }
+
+    @PostRemove
+    public void onRemoved(BroadcastEntity broadcast) {
+        Long id = broadcast.getId();
+        afterCommit(() -> registry.onRemoved(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.wildcastradio.Broadcast;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wildcastradio.icecast.IcecastStreamHandler;
+import com.wildcastradio.icecast.StreamHealthSignalEvent;
+import com.wildcastradio.icecast.StreamStatusChangeEvent;
+
+/**
+ * Push-driven live stream health.
+ *
+ * Consumes signals from the source pipeline on this node: abnormal /ws/live closes, transport
+ * errors, FFmpeg pipe write failures, and (via a one-second watchdog) audio chunks or encoder
+ * progress stalling. A degradation is handed to {@link BroadcastService} straight away, which
+ * starts reconnection and runs an early Icecast poll (auto-end still takes the usual run of
+ * unhealthy polls); a recovery triggers an immediate poll
+ * so the recovering state clears without waiting for the next interval.
+ *
+ * While the source is flowing, the Icecast poll drops to a slow reconciliation interval. Nodes
+ * that do not hold the DJ's WebSocket see no signals and keep the adaptive polling schedule.
+ */
+@Component
+public class StreamHealthMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(StreamHealthMonitor.class);
+
+    private final IcecastStreamHandler streamHandler;
+    private final BroadcastService broadcastService;
+    private final boolean enabled;
+    private final long stallThresholdMs;
+    private final long signalTtlMs;
+
+    // Current degradation episode (null when healthy); one reaction per episode
+    private volatile String degradedSignal;
+    private volatile long degradedAtMs;
+
+    // Lazy: BroadcastService consults this monitor when scheduling polls
+    public StreamHealthMonitor(IcecastStreamHandler streamHandler,
+                               @Lazy BroadcastService broadcastService,
+                               @Value("${broadcast.healthCheck.push.enabled:true}") boolean enabled,
+                               @Value("${broadcast.healthCheck.push.stallThresholdMs:5000}") long stallThresholdMs,
+                               @Value("${broadcast.healthCheck.push.signalTtlMs:30000}") long signalTtlMs) {
+        this.streamHandler = streamHandler;
+        this.broadcastService = broadcastService;
+        this.enabled = enabled;
+        this.stallThresholdMs = stallThresholdMs;
+        this.signalTtlMs = signalTtlMs;
+    }
+
+    @EventListener
+    public void onSignal(StreamHealthSignalEvent event) {
+        degraded(event.getSignal().name(), event.getDetail(), SourceDisconnectionType.DJ_SOURCE_DISCONNECTED);
+    }
+
+    @EventListener
+    public void onStreamStatusChange(StreamStatusChangeEvent event) {
+        if (event.isLive()) {
+            recovered("SOURCE_CONNECTED");
+        }
+    }
+
+    /**
+     * Detect stalls while a source is attached: no audio chunks from the DJ, or FFmpeg no
+     * longer reporting progress towards Icecast.
+     */
+    @Scheduled(fixedDelayString = "${broadcast.healthCheck.push.watchdogIntervalMs:1000}")
+    public void watchdog() {
+        if (!enabled || !streamHandler.isSourceAttached()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long frameAge = now - streamHandler.getLastFrameAtMs();
+        long progressAge = now - streamHandler.getLastEncoderProgressAtMs();
+        if (frameAge > stallThresholdMs) {
+            degraded("FRAMES_STALLED", "No audio from the DJ for " + frameAge + "ms", SourceDisconnectionType.NETWORK_ISSUE);
+        } else if (progressAge > stallThresholdMs) {
+            degraded("ENCODER_STALLED", "No encoder progress for " + progressAge + "ms", SourceDisconnectionType.NETWORK_ISSUE);
+        } else if (degradedSignal != null && degradedSignal.endsWith("_STALLED")) {
+            recovered("FLOW_RESUMED");
+        }
+    }
+
+    /**
+     * Whether a recent push signal says the stream is down. Expires after the signal TTL so
+     * polling takes over again (e.g. when the DJ reconnects through another node).
+     */
+    public boolean isDegraded() {
+        return degradedSignal != null && System.currentTimeMillis() - degradedAtMs < signalTtlMs;
+    }
+
+    /**
+     * Whether this node holds the source and audio and encoder progress are both flowing.
+     */
+    public boolean isSourceFlowing() {
+        if (!enabled || !streamHandler.isSourceAttached() || isDegraded()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        return now - streamHandler.getLastFrameAtMs() <= stallThresholdMs
+                && now - streamHandler.getLastEncoderProgressAtMs() <= stallThresholdMs;
+    }
+
+    private synchronized void degraded(String signal, String detail, SourceDisconnectionType disconnectionType) {
+        if (!enabled || isDegraded()) {
+            return;
+        }
+        degradedSignal = signal;
+        degradedAtMs = System.currentTimeMillis();
+        logger.warn("Stream health signal {}: {}", signal, detail);
+        // React off the WebSocket / watchdog thread
+        CompletableFuture.runAsync(() -> broadcastService.handlePushHealthSignal(signal, detail, disconnectionType));
+    }
+
+    private synchronized void recovered(String signal) {
+        if (!enabled || degradedSignal == null) {
+            return;
+        }
+        logger.info("Stream health signal {} clears {}", signal, degradedSignal);
+        degradedSignal = null;
+        CompletableFuture.runAsync(() -> broadcastService.requestImmediateHealthCheck(signal));
+    }
+}
@@ -30,6 +30,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.wildcastradio.Broadcast.BroadcastEntity;
+import com.wildcastradio.Broadcast.BroadcastPopularityService;
 import com.wildcastradio.Broadcast.BroadcastRepository;
 import com.wildcastradio.ChatMessage.DTO.ChatMessageDTO;
 import com.wildcastradio.User.UserEntity;
@@ -51,6 +52,9 @@ public class ChatMessageService {
     @Autowired
     private ProfanityService profanityService;
 
+    @Autowired
+    private BroadcastPopularityService broadcastPopularityService;
+
     /**
      * Get all messages for a specific broadcast
      * 
@@ -91,6 +95,7 @@ public class ChatMessageService {
 		// Persist original content for accurate exports
 		message.setOriginalContent(content);
         ChatMessageEntity savedMessage = chatMessageRepository.save(message);
+        broadcastPopularityService.recordInteraction(broadcastId);
 
         // Create DTO for the message
         ChatMessageDTO messageDTO = ChatMessageDTO.fromEntity(savedMessage);
@@ -14,6 +14,8 @@ public class NotificationDTO {
     private boolean read;
     private UserDTO recipient;
     private Long announcementId;
+    // True for read notifications folded into a shared digest by retention (see NotificationHistoryRepository)
+    private boolean compacted;
     
     // Constructors
     public NotificationDTO() {
@@ -103,4 +105,12 @@ public class NotificationDTO {
     public void setAnnouncementId(Long announcementId) {
         this.announcementId = announcementId;
     }
-} 
\ No newline at end of file
+
+    public boolean isCompacted() {
+        return compacted;
+    }
+
+    public void setCompacted(boolean compacted) {
+        this.compacted = compacted;
+    }
+} 
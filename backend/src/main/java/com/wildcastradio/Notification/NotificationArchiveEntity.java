@@ -0,0 +1,64 @@
+package com.wildcastradio.Notification;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Cold copy of notifications past their retention TTL, written by
+ * {@link NotificationRetentionService}. Ids are kept from the original rows.
+ */
+@Entity
+@Table(
+    name = "notifications_archive",
+    indexes = {
+        @Index(name = "idx_notifications_archive_recipient", columnList = "recipient_id"),
+        @Index(name = "idx_notifications_archive_archived_at", columnList = "archived_at")
+    }
+)
+public class NotificationArchiveEntity {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean isRead;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Column(name = "announcement_id")
+    private Long announcementId;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // No-arg constructor required by JPA
+    public NotificationArchiveEntity() {
+    }
+
+    public Long getId() { return id; }
+    public String getMessage() { return message; }
+    public NotificationType getType() { return type; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public boolean isRead() { return isRead; }
+    public Long getRecipientId() { return recipientId; }
+    public Long getAnnouncementId() { return announcementId; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
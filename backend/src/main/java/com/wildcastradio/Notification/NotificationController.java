@@ -2,8 +2,10 @@ package com.wildcastradio.Notification;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -25,10 +27,16 @@ public class NotificationController {
 
     private final NotificationService notificationService;
     private final UserService userService;
+    private final NotificationFanoutService notificationFanoutService;
+    private final NotificationRetentionService notificationRetentionService;
 
-    public NotificationController(NotificationService notificationService, UserService userService) {
+    public NotificationController(NotificationService notificationService, UserService userService,
+                                  NotificationFanoutService notificationFanoutService,
+                                  NotificationRetentionService notificationRetentionService) {
         this.notificationService = notificationService;
         this.userService = userService;
+        this.notificationFanoutService = notificationFanoutService;
+        this.notificationRetentionService = notificationRetentionService;
     }
 
     @GetMapping
@@ -55,11 +63,18 @@ public class NotificationController {
     }
 
     @GetMapping("/unread")
-    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(Authentication authentication) {
+    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(
+            Authentication authentication,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "beforeTimestamp", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTimestamp,
+            @RequestParam(value = "beforeId", required = false) Long beforeId) {
         UserEntity user = userService.getUserByEmail(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<NotificationDTO> notifications = notificationService.getUnreadNotificationsForUser(user);
+        // Keyset paging: pass the timestamp and id of the last item to fetch the next page
+        List<NotificationDTO> notifications = notificationService.getUnreadNotificationsForUser(
+                user, beforeTimestamp, beforeId, limit);
         return ResponseEntity.ok(notifications);
     }
 
@@ -160,17 +175,34 @@ public class NotificationController {
         
         try {
             NotificationType notificationType = NotificationType.valueOf(type.toUpperCase());
-            List<UserEntity> allUsers = userService.findAllUsers();
-            
-            int sentCount = 0;
-            for (UserEntity user : allUsers) {
-                notificationService.sendNotification(user, message, notificationType);
-                sentCount++;
-            }
-            
-            return ResponseEntity.ok("Notification sent to " + sentCount + " users");
+            NotificationFanoutService.FanoutResult result =
+                    notificationFanoutService.fanOutToAllUsers(message, notificationType);
+
+            return ResponseEntity.ok("Notification sent to " + result.getNotificationsCreated() + " users");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid notification type");
         }
     }
-} 
+
+    // Outcome of the most recent bulk fan-out on this node
+    @GetMapping("/fanout/last")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificationFanoutService.FanoutResult> getLastFanout() {
+        NotificationFanoutService.FanoutResult result = notificationFanoutService.getLastResult();
+        if (result == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    // Rows compacted, archived and purged by the most recent retention run on this node
+    @GetMapping("/retention/last")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getLastRetentionReport() {
+        Map<String, Object> report = notificationRetentionService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+}
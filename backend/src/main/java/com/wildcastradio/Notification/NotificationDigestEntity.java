@@ -0,0 +1,68 @@
+package com.wildcastradio.Notification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One shared row for a broadcast-lifecycle notification that was sent to many users and
+ * has since been read. Compaction replaces each user's row with a thin
+ * {@link NotificationDigestRecipientEntity} pointing here.
+ */
+@Entity
+@Table(
+    name = "notification_digests",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_digests_event", columnNames = {"type", "message", "event_date"})
+    }
+)
+public class NotificationDigestEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDate eventDate;
+
+    @Column(name = "recipient_count", nullable = false)
+    private long recipientCount;
+
+    @Column(name = "first_timestamp", nullable = false)
+    private LocalDateTime firstTimestamp;
+
+    @Column(name = "last_timestamp", nullable = false)
+    private LocalDateTime lastTimestamp;
+
+    @Column(name = "compacted_at", nullable = false)
+    private LocalDateTime compactedAt;
+
+    // No-arg constructor required by JPA
+    public NotificationDigestEntity() {
+    }
+
+    public Long getId() { return id; }
+    public NotificationType getType() { return type; }
+    public String getMessage() { return message; }
+    public LocalDate getEventDate() { return eventDate; }
+    public long getRecipientCount() { return recipientCount; }
+    public LocalDateTime getFirstTimestamp() { return firstTimestamp; }
+    public LocalDateTime getLastTimestamp() { return lastTimestamp; }
+    public LocalDateTime getCompactedAt() { return compactedAt; }
+}
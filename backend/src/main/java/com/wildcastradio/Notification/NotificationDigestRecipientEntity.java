@@ -0,0 +1,50 @@
+package com.wildcastradio.Notification;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A recipient's reference to a shared {@link NotificationDigestEntity}, left in place of the
+ * read notification that compaction removed, so the notification stays in the user's history.
+ * Compacted notifications were all read, so a reference is always read.
+ */
+@Entity
+@Table(
+    name = "notification_digest_recipients",
+    indexes = {
+        @Index(name = "idx_notification_digest_recipients_recipient_timestamp", columnList = "recipient_id, timestamp"),
+        @Index(name = "idx_notification_digest_recipients_digest", columnList = "digest_id")
+    }
+)
+public class NotificationDigestRecipientEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Column(name = "digest_id", nullable = false)
+    private Long digestId;
+
+    // When the original notification was sent
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    // No-arg constructor required by JPA
+    public NotificationDigestRecipientEntity() {
+    }
+
+    public Long getId() { return id; }
+    public Long getRecipientId() { return recipientId; }
+    public Long getDigestId() { return digestId; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+}
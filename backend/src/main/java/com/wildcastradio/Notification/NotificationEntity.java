@@ -24,7 +24,9 @@ import jakarta.persistence.Table;
     indexes = {
         @Index(name = "idx_notifications_recipient", columnList = "recipient_id"),
         @Index(name = "idx_notifications_recipient_timestamp", columnList = "recipient_id, timestamp"),
-        @Index(name = "idx_notifications_recipient_is_read", columnList = "recipient_id, is_read")
+        @Index(name = "idx_notifications_recipient_is_read", columnList = "recipient_id, is_read"),
+        @Index(name = "idx_notifications_recipient_unread_keyset", columnList = "recipient_id, is_read, timestamp, id"),
+        @Index(name = "idx_notifications_type_timestamp", columnList = "type, timestamp")
     }
 )
 public class NotificationEntity {
@@ -0,0 +1,157 @@
+package com.wildcastradio.Notification;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Set-based fan-out of one notification to every user.
+ *
+ * Instead of a dedupe query, an insert and a per-user WebSocket push for each user, the rows
+ * are written with one INSERT ... SELECT per chunk of user ids (the same one-minute duplicate
+ * guard as {@link NotificationService#sendNotification} is applied inside the statement, which
+ * also bumps the recipients' unread counters), and a single event is published on {@code /topic/notifications/fanout} so connected clients
+ * refresh their inbox.
+ */
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    public static final String FANOUT_TOPIC = "/topic/notifications/fanout";
+
+    // Inserts the chunk and bumps existing unread counters for exactly the rows inserted
+    private static final String INSERT_CHUNK_SQL =
+            "WITH inserted AS (" +
+            "  INSERT INTO notifications (message, type, timestamp, is_read, recipient_id, announcement_id) " +
+            "  SELECT ?, ?, ?, false, u.id, ? FROM users u " +
+            "  WHERE u.id > ? AND u.id <= ? " +
+            "  AND NOT EXISTS (SELECT 1 FROM notifications n " +
+            "                  WHERE n.recipient_id = u.id AND n.type = ? AND n.message = ? AND n.timestamp > ?) " +
+            "  RETURNING recipient_id), " +
+            "bumped AS (" +
+            "  UPDATE notification_unread_counts c SET unread_count = c.unread_count + 1, updated_at = now() " +
+            "  FROM inserted i WHERE c.user_id = i.recipient_id RETURNING c.user_id) " +
+            "SELECT COUNT(*) FROM inserted";
+
+    // Explicit types so a null announcement_id binds correctly
+    private static final int[] INSERT_CHUNK_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT,
+            Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int chunkSize;
+
+    private volatile FanoutResult lastResult;
+
+    public NotificationFanoutService(JdbcTemplate jdbcTemplate,
+                                     SimpMessagingTemplate messagingTemplate,
+                                     @Value("${notifications.fanout.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.chunkSize = Math.max(100, chunkSize);
+    }
+
+    public FanoutResult fanOutToAllUsers(String message, NotificationType type) {
+        return fanOutToAllUsers(message, type, null);
+    }
+
+    /**
+     * Create one notification per user and publish a single real-time event.
+     *
+     * @param announcementId optional announcement to link each notification to
+     */
+    public FanoutResult fanOutToAllUsers(String message, NotificationType type, Long announcementId) {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        Timestamp dedupeSince = Timestamp.valueOf(now.minusMinutes(1));
+
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM users");
+        Number minId = (Number) bounds.get("min_id");
+        Number maxId = (Number) bounds.get("max_id");
+
+        int inserted = 0;
+        int chunks = 0;
+        if (minId != null && maxId != null) {
+            long totalSpan = maxId.longValue() - minId.longValue() + 1;
+            for (long lower = minId.longValue() - 1; lower < maxId.longValue(); lower += chunkSize) {
+                long upper = Math.min(lower + chunkSize, maxId.longValue());
+                Long chunkInserted = jdbcTemplate.queryForObject(INSERT_CHUNK_SQL,
+                        new Object[] { message, type.name(), createdAt, announcementId,
+                                lower, upper, type.name(), message, dedupeSince },
+                        INSERT_CHUNK_TYPES, Long.class);
+                inserted += chunkInserted != null ? chunkInserted.intValue() : 0;
+                chunks++;
+                if (logger.isDebugEnabled()) {
+                    long done = upper - minId.longValue() + 1;
+                    logger.debug("Notification fan-out {}: {}% of user id range, {} rows so far",
+                            type, (done * 100) / totalSpan, inserted);
+                }
+            }
+        }
+
+        publishFanoutEvent(message, type, announcementId, now);
+
+        long durationMs = System.currentTimeMillis() - started;
+        FanoutResult result = new FanoutResult(type, inserted, chunks, durationMs, now);
+        lastResult = result;
+        logger.info("Notification fan-out {} created {} notifications in {} chunk(s) in {} ms",
+                type, inserted, chunks, durationMs);
+        return result;
+    }
+
+    public FanoutResult getLastResult() {
+        return lastResult;
+    }
+
+    private void publishFanoutEvent(String message, NotificationType type, Long announcementId, LocalDateTime timestamp) {
+        try {
+            Map<String, Object> event = new HashMap<>();
+            event.put("type", "FANOUT");
+            event.put("notificationType", type.name());
+            event.put("message", message);
+            event.put("announcementId", announcementId);
+            event.put("timestamp", timestamp);
+            messagingTemplate.convertAndSend(FANOUT_TOPIC, event);
+        } catch (Exception e) {
+            logger.warn("Failed to publish notification fan-out event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Outcome of one fan-out run.
+     */
+    public static class FanoutResult {
+        private final NotificationType type;
+        private final int notificationsCreated;
+        private final int chunks;
+        private final long durationMs;
+        private final LocalDateTime startedAt;
+
+        public FanoutResult(NotificationType type, int notificationsCreated, int chunks, long durationMs, LocalDateTime startedAt) {
+            this.type = type;
+            this.notificationsCreated = notificationsCreated;
+            this.chunks = chunks;
+            this.durationMs = durationMs;
+            this.startedAt = startedAt;
+        }
+
+        public NotificationType getType() { return type; }
+        public int getNotificationsCreated() { return notificationsCreated; }
+        public int getChunks() { return chunks; }
+        public long getDurationMs() { return durationMs; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+    }
+}
@@ -0,0 +1,62 @@
+package com.wildcastradio.Notification;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.wildcastradio.Notification.DTO.NotificationDTO;
+
+/**
+ * A user's full notification history: their rows in notifications plus the read
+ * broadcast-lifecycle notifications that retention compacted into shared digests.
+ * Compacted entries carry the negated id of their reference row, so ids stay unique within
+ * one history and are never mistaken for a notification that can be marked as read.
+ */
+@Repository
+public class NotificationHistoryRepository {
+
+    private static final String HISTORY_SQL =
+            "SELECT n.id, n.message, n.type, n.timestamp, n.is_read, n.announcement_id, false AS compacted " +
+            "FROM notifications n WHERE n.recipient_id = ? " +
+            "UNION ALL " +
+            "SELECT -r.id, d.message, d.type, r.timestamp, true, NULL, true " +
+            "FROM notification_digest_recipients r JOIN notification_digests d ON d.id = r.digest_id " +
+            "WHERE r.recipient_id = ? " +
+            "ORDER BY timestamp DESC, id DESC LIMIT ? OFFSET ?";
+
+    private static final String COUNT_SQL =
+            "SELECT (SELECT COUNT(*) FROM notifications WHERE recipient_id = ?) + " +
+            "(SELECT COUNT(*) FROM notification_digest_recipients WHERE recipient_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * History entries newest first. The recipient is left for the caller to fill in.
+     */
+    public List<NotificationDTO> findPage(Long recipientId, long offset, int limit) {
+        return jdbcTemplate.query(HISTORY_SQL, (rs, rowNum) -> {
+            NotificationDTO dto = new NotificationDTO();
+            dto.setId(rs.getLong("id"));
+            dto.setMessage(rs.getString("message"));
+            dto.setType(rs.getString("type"));
+            Timestamp timestamp = rs.getTimestamp("timestamp");
+            dto.setTimestamp(timestamp != null ? timestamp.toLocalDateTime() : null);
+            dto.setRead(rs.getBoolean("is_read"));
+            long announcementId = rs.getLong("announcement_id");
+            dto.setAnnouncementId(rs.wasNull() ? null : announcementId);
+            dto.setCompacted(rs.getBoolean("compacted"));
+            return dto;
+        }, recipientId, recipientId, limit, offset);
+    }
+
+    public long count(Long recipientId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, recipientId, recipientId);
+        return count != null ? count : 0;
+    }
+}
@@ -43,4 +43,17 @@ public interface NotificationRepository extends JpaRepository<NotificationEntity
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE NotificationEntity n SET n.isRead = true WHERE n.recipient = :recipient AND n.isRead = false")
     int markAllAsReadForUser(@Param("recipient") UserEntity recipient);
-} 
+
+    // Keyset pagination over unread notifications (newest first, id breaks timestamp ties)
+    @Query("SELECT n FROM NotificationEntity n WHERE n.recipient = :recipient AND n.isRead = false " +
+           "ORDER BY n.timestamp DESC, n.id DESC")
+    List<NotificationEntity> findUnreadFirstPage(@Param("recipient") UserEntity recipient, Pageable pageable);
+
+    @Query("SELECT n FROM NotificationEntity n WHERE n.recipient = :recipient AND n.isRead = false " +
+           "AND (n.timestamp < :beforeTimestamp OR (n.timestamp = :beforeTimestamp AND n.id < :beforeId)) " +
+           "ORDER BY n.timestamp DESC, n.id DESC")
+    List<NotificationEntity> findUnreadBefore(@Param("recipient") UserEntity recipient,
+                                              @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                              @Param("beforeId") Long beforeId,
+                                              Pageable pageable);
+}
@@ -0,0 +1,39 @@
+package com.wildcastradio.Notification;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "notifications.retention")
+public class NotificationRetentionProperties {
+    private boolean enabled = true;
+    // Days a notification stays in the hot table before it is archived; 0 keeps it forever
+    private int defaultTtlDays = 90;
+    private Map<NotificationType, Integer> ttlDays = new EnumMap<>(NotificationType.class);
+    // Read broadcast-lifecycle notifications older than this are collapsed into digests
+    private int compactAfterDays = 7;
+    // Days archived rows and digests are kept before they are purged; 0 keeps them forever
+    private int archiveRetentionDays = 365;
+    private int chunkSize = 5000;
+
+    public int ttlDaysFor(NotificationType type) {
+        Integer days = ttlDays.get(type);
+        return days != null ? days : defaultTtlDays;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getDefaultTtlDays() { return defaultTtlDays; }
+    public void setDefaultTtlDays(int defaultTtlDays) { this.defaultTtlDays = defaultTtlDays; }
+    public Map<NotificationType, Integer> getTtlDays() { return ttlDays; }
+    public void setTtlDays(Map<NotificationType, Integer> ttlDays) { this.ttlDays = ttlDays; }
+    public int getCompactAfterDays() { return compactAfterDays; }
+    public void setCompactAfterDays(int compactAfterDays) { this.compactAfterDays = compactAfterDays; }
+    public int getArchiveRetentionDays() { return archiveRetentionDays; }
+    public void setArchiveRetentionDays(int archiveRetentionDays) { this.archiveRetentionDays = archiveRetentionDays; }
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+}
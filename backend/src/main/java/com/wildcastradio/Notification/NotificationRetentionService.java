@@ -0,0 +1,193 @@
+package com.wildcastradio.Notification;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Keeps the notifications table bounded.
+ *
+ * Each run, in chunks of {@code notifications.retention.chunk-size} rows per statement:
+ * 1. Compacts read broadcast-lifecycle notifications into one shared digest row per event,
+ *    leaving each recipient a thin reference row so the notification stays in their history.
+ * 2. Moves notifications past their per-type TTL into {@code notifications_archive}, and
+ *    takes still-unread ones off the owners' unread counters.
+ * 3. Purges archived rows and digests past the archive retention.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private static final Set<NotificationType> BROADCAST_LIFECYCLE_TYPES = EnumSet.of(
+            NotificationType.BROADCAST_SCHEDULED,
+            NotificationType.BROADCAST_STARTING_SOON,
+            NotificationType.BROADCAST_STARTED,
+            NotificationType.BROADCAST_ENDED,
+            NotificationType.NEW_BROADCAST_POSTED);
+
+    // The digest CTE returns both inserted and updated digests, so every moved row finds its digest
+    private static final String COMPACT_CHUNK_SQL =
+            "WITH moved AS (" +
+            "  DELETE FROM notifications WHERE id IN (" +
+            "    SELECT id FROM notifications WHERE is_read = true AND type IN (" + sqlList(BROADCAST_LIFECYCLE_TYPES) + ") " +
+            "    AND timestamp < ? ORDER BY id LIMIT ?) " +
+            "  RETURNING type, message, timestamp, recipient_id), " +
+            "digested AS (" +
+            "  INSERT INTO notification_digests (type, message, event_date, recipient_count, first_timestamp, last_timestamp, compacted_at) " +
+            "  SELECT type, message, CAST(timestamp AS date), COUNT(*), MIN(timestamp), MAX(timestamp), now() " +
+            "  FROM moved GROUP BY type, message, CAST(timestamp AS date) " +
+            "  ON CONFLICT (type, message, event_date) DO UPDATE SET " +
+            "    recipient_count = notification_digests.recipient_count + EXCLUDED.recipient_count, " +
+            "    first_timestamp = LEAST(notification_digests.first_timestamp, EXCLUDED.first_timestamp), " +
+            "    last_timestamp = GREATEST(notification_digests.last_timestamp, EXCLUDED.last_timestamp), " +
+            "    compacted_at = now() " +
+            "  RETURNING id, type, message, event_date), " +
+            "referenced AS (" +
+            "  INSERT INTO notification_digest_recipients (recipient_id, digest_id, timestamp) " +
+            "  SELECT m.recipient_id, d.id, m.timestamp FROM moved m JOIN digested d " +
+            "    ON d.type = m.type AND d.message = m.message AND d.event_date = CAST(m.timestamp AS date) " +
+            "  RETURNING 1) " +
+            "SELECT COUNT(*) FROM moved";
+
+    private static final String ARCHIVE_CHUNK_SQL =
+            "WITH moved AS (" +
+            "  DELETE FROM notifications WHERE id IN (" +
+            "    SELECT id FROM notifications WHERE type = ? AND timestamp < ? ORDER BY id LIMIT ?) " +
+            "  RETURNING id, message, type, timestamp, is_read, recipient_id, announcement_id), " +
+            "archived AS (" +
+            "  INSERT INTO notifications_archive (id, message, type, timestamp, is_read, recipient_id, announcement_id, archived_at) " +
+            "  SELECT id, message, type, timestamp, is_read, recipient_id, announcement_id, now() FROM moved " +
+            "  ON CONFLICT (id) DO NOTHING RETURNING 1), " +
+            "uncounted AS (" +
+            "  UPDATE notification_unread_counts c SET unread_count = GREATEST(c.unread_count - m.cnt, 0), updated_at = now() " +
+            "  FROM (SELECT recipient_id, COUNT(*) AS cnt FROM moved WHERE is_read = false GROUP BY recipient_id) m " +
+            "  WHERE c.user_id = m.recipient_id RETURNING 1) " +
+            "SELECT COUNT(*) FROM moved";
+
+    private static final String PURGE_ARCHIVE_CHUNK_SQL =
+            "DELETE FROM notifications_archive WHERE id IN (" +
+            "  SELECT id FROM notifications_archive WHERE archived_at < ? LIMIT ?)";
+
+    // Digests go together with the per-user references to them
+    private static final String PURGE_DIGESTS_SQL =
+            "WITH purged AS (DELETE FROM notification_digests WHERE last_timestamp < ? RETURNING id), " +
+            "dereferenced AS (" +
+            "  DELETE FROM notification_digest_recipients WHERE digest_id IN (SELECT id FROM purged) RETURNING 1) " +
+            "SELECT (SELECT COUNT(*) FROM purged) + (SELECT COUNT(*) FROM dereferenced)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationRetentionProperties properties;
+
+    private volatile Map<String, Object> lastReport;
+
+    public NotificationRetentionService(JdbcTemplate jdbcTemplate, NotificationRetentionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Nightly retention run. Each chunk is its own statement and commits on its own, so a
+     * large backlog never holds long locks on the notifications table.
+     */
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * ?}")
+    @SchedulerLock(name = "notificationRetention", lockAtMostFor = "1h", lockAtLeastFor = "5m")
+    public void runRetention() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        logger.info("Starting notification retention run");
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int chunkSize = Math.max(100, properties.getChunkSize());
+
+        try {
+            long compacted = 0;
+            if (properties.getCompactAfterDays() > 0) {
+                Timestamp cutoff = Timestamp.valueOf(now.minusDays(properties.getCompactAfterDays()));
+                compacted = runChunks(COMPACT_CHUNK_SQL, chunkSize, cutoff);
+            }
+
+            Map<String, Object> archivedByType = new LinkedHashMap<>();
+            long archived = 0;
+            for (NotificationType type : NotificationType.values()) {
+                int ttlDays = properties.ttlDaysFor(type);
+                if (ttlDays <= 0) {
+                    continue;
+                }
+                Timestamp cutoff = Timestamp.valueOf(now.minusDays(ttlDays));
+                long moved = runChunks(ARCHIVE_CHUNK_SQL, chunkSize, type.name(), cutoff);
+                if (moved > 0) {
+                    archivedByType.put(type.name(), moved);
+                    archived += moved;
+                }
+            }
+
+            long purged = 0;
+            if (properties.getArchiveRetentionDays() > 0) {
+                Timestamp cutoff = Timestamp.valueOf(now.minusDays(properties.getArchiveRetentionDays()));
+                int deleted;
+                do {
+                    deleted = jdbcTemplate.update(PURGE_ARCHIVE_CHUNK_SQL, cutoff, chunkSize);
+                    purged += deleted;
+                } while (deleted >= chunkSize);
+                Long digests = jdbcTemplate.queryForObject(PURGE_DIGESTS_SQL, Long.class, cutoff);
+                purged += digests != null ? digests : 0;
+            }
+
+            long durationMs = System.currentTimeMillis() - started;
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("startedAt", now);
+            report.put("compacted", compacted);
+            report.put("archived", archived);
+            report.put("archivedByType", archivedByType);
+            report.put("purgedFromArchive", purged);
+            report.put("reclaimedFromHotTable", compacted + archived);
+            report.put("durationMs", durationMs);
+            lastReport = report;
+
+            logger.info("Notification retention completed in {} ms: compacted {}, archived {}, purged {} from archive",
+                    durationMs, compacted, archived, purged);
+        } catch (Exception e) {
+            logger.error("Error occurred during notification retention", e);
+        }
+    }
+
+    public Map<String, Object> getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Run a chunked move statement until a chunk comes back short. The chunk size is always
+     * bound as the last parameter.
+     */
+    private long runChunks(String sql, int chunkSize, Object... leadingArgs) {
+        Object[] args = Arrays.copyOf(leadingArgs, leadingArgs.length + 1);
+        args[leadingArgs.length] = chunkSize;
+        long total = 0;
+        long moved;
+        do {
+            Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+            moved = count != null ? count : 0;
+            total += moved;
+        } while (moved >= chunkSize);
+        return total;
+    }
+
+    private static String sqlList(Set<NotificationType> types) {
+        return types.stream().map(t -> "'" + t.name() + "'").collect(Collectors.joining(", "));
+    }
+}
@@ -2,13 +2,12 @@ package com.wildcastradio.Notification;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -18,21 +17,33 @@ import org.springframework.transaction.annotation.Transactional;
 import com.wildcastradio.Notification.DTO.NotificationDTO;
 import com.wildcastradio.Notification.DTO.PublicNotificationDTO;
 import com.wildcastradio.Announcement.AnnouncementEntity;
+import com.wildcastradio.User.DTO.UserDTO;
 import com.wildcastradio.User.UserEntity;
 
 @Service
 public class NotificationService {
 
+    // Largest page of unread notifications returned at once
+    public static final int MAX_UNREAD_PAGE_SIZE = 50;
+
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
     // Tracks notifications already broadcasted for ephemeral events (e.g., "starting soon")
-    private final Set<String> transientNotificationKeys = new HashSet<>();
+    private final TransientNotificationDedupeStore transientNotificationKeys;
+    private final NotificationUnreadCounter unreadCounter;
+    private final NotificationHistoryRepository historyRepository;
 
     public NotificationService(
             NotificationRepository notificationRepository,
-            SimpMessagingTemplate messagingTemplate) {
+            SimpMessagingTemplate messagingTemplate,
+            TransientNotificationDedupeStore transientNotificationKeys,
+            NotificationUnreadCounter unreadCounter,
+            NotificationHistoryRepository historyRepository) {
         this.notificationRepository = notificationRepository;
         this.messagingTemplate = messagingTemplate;
+        this.transientNotificationKeys = transientNotificationKeys;
+        this.unreadCounter = unreadCounter;
+        this.historyRepository = historyRepository;
     }
 
     @Transactional
@@ -66,6 +77,7 @@ public class NotificationService {
                 "/queue/notifications",
                 notificationDTO
         );
+        unreadCounter.increment(recipient);
 
         return savedNotification;
     }
@@ -109,32 +121,53 @@ public class NotificationService {
      * Send a transient (non-repeating) broadcast-style notification that should not
      * fire multiple times for the same logical event key (e.g., a specific broadcast id).
      *
-     * The key is caller-defined (e.g., "starting-soon:123").
+     * The key is caller-defined (e.g., "starting-soon:123") and shared by all recipients;
+     * each recipient is tracked as one bit under it. Claims expire after a TTL and are
+     * shared across instances through Redis.
      */
     @Transactional
     public boolean sendTransientNotificationOnce(String dedupeKey, UserEntity recipient, String message, NotificationType type) {
-        if (transientNotificationKeys.contains(dedupeKey)) {
-            return false; // already sent during app lifetime
+        if (!transientNotificationKeys.claimForUser(dedupeKey, recipient.getId())) {
+            return false; // already sent for this event
         }
-        transientNotificationKeys.add(dedupeKey);
         sendNotification(recipient, message, type);
         return true;
     }
 
+    /**
+     * Claim a transient key without sending anything; returns false if it was already claimed.
+     * Used when the notification itself is sent through a bulk fan-out.
+     */
+    public boolean claimTransientKey(String dedupeKey) {
+        return transientNotificationKeys.claim(dedupeKey);
+    }
+
     public void clearTransientKey(String dedupeKey) {
-        transientNotificationKeys.remove(dedupeKey);
+        transientNotificationKeys.clear(dedupeKey);
     }
 
+    /**
+     * The user's notification history, newest first, including read notifications that
+     * retention compacted into shared digests.
+     */
     @Transactional(readOnly = true)
     public List<NotificationDTO> getNotificationsForUser(UserEntity user) {
-        return notificationRepository.findByRecipientOrderByTimestampDesc(user).stream()
-                .map(NotificationDTO::fromEntity)
-                .collect(Collectors.toList());
+        return withRecipient(historyRepository.findPage(user.getId(), 0, Integer.MAX_VALUE), user);
     }
 
+    /**
+     * Unread notifications, newest first, one page at a time. Pass the timestamp and id of the
+     * last item of the previous page as the cursor (both null for the first page). The limit is
+     * capped at {@link #MAX_UNREAD_PAGE_SIZE}.
+     */
     @Transactional(readOnly = true)
-    public List<NotificationDTO> getUnreadNotificationsForUser(UserEntity user) {
-        return notificationRepository.findByRecipientAndIsReadOrderByTimestampDesc(user, false).stream()
+    public List<NotificationDTO> getUnreadNotificationsForUser(UserEntity user, LocalDateTime beforeTimestamp,
+                                                               Long beforeId, int limit) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_UNREAD_PAGE_SIZE)));
+        List<NotificationEntity> rows = (beforeTimestamp == null || beforeId == null)
+                ? notificationRepository.findUnreadFirstPage(user, pageable)
+                : notificationRepository.findUnreadBefore(user, beforeTimestamp, beforeId, pageable);
+        return rows.stream()
                 .map(NotificationDTO::fromEntity)
                 .collect(Collectors.toList());
     }
@@ -144,8 +177,10 @@ public class NotificationService {
         NotificationEntity notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
+        boolean wasUnread = !notification.isRead();
         notification.setRead(true);
-        NotificationEntity saved = notificationRepository.save(notification);
+        // Flush so a counter seeded below sees the row as read
+        NotificationEntity saved = notificationRepository.saveAndFlush(notification);
 
         // ✅ PHASE 3: Send WebSocket update for real-time sync across devices
         NotificationDTO dto = NotificationDTO.fromEntity(saved);
@@ -154,12 +189,15 @@ public class NotificationService {
                 "/queue/notifications/updates",
                 dto
         );
+        if (wasUnread) {
+            unreadCounter.decrement(saved.getRecipient());
+        }
 
         return saved;
     }
 
     public long countUnreadNotifications(UserEntity user) {
-        return notificationRepository.countByRecipientAndIsRead(user, false);
+        return unreadCounter.get(user);
     }
 
     @Transactional(readOnly = true)
@@ -189,6 +227,7 @@ public class NotificationService {
                 "/queue/notifications/updates",
                 update
         );
+        unreadCounter.reset(user);
 
         return updated;
     }
@@ -198,7 +237,14 @@ public class NotificationService {
         int safePage = Math.max(0, page);
         int safeSize = Math.max(1, Math.min(size, 100));
         Pageable pageable = PageRequest.of(safePage, safeSize);
-        Page<NotificationEntity> result = notificationRepository.findByRecipientOrderByTimestampDesc(user, pageable);
-        return result.map(NotificationDTO::fromEntity);
+        List<NotificationDTO> content = withRecipient(
+                historyRepository.findPage(user.getId(), pageable.getOffset(), safeSize), user);
+        return new PageImpl<>(content, pageable, historyRepository.count(user.getId()));
+    }
+
+    private static List<NotificationDTO> withRecipient(List<NotificationDTO> history, UserEntity user) {
+        UserDTO recipient = UserDTO.fromEntity(user);
+        history.forEach(dto -> dto.setRecipient(recipient));
+        return history;
     }
 } 
@@ -0,0 +1,126 @@
+package com.wildcastradio.Notification;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wildcastradio.User.UserEntity;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Incrementally maintained unread counts, stored one row per user in
+ * {@code notification_unread_counts}.
+ *
+ * Counters are adjusted in the same transaction as the notification change, so the badge
+ * no longer needs a COUNT over the notifications table. A user's row is seeded from a real
+ * count the first time it is needed, and a periodic reconciliation corrects any drift.
+ * Every single-user change pushes the new count on {@code /queue/notifications/updates}.
+ */
+@Component
+public class NotificationUnreadCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationUnreadCounter.class);
+
+    private static final String ADD_SQL =
+            "UPDATE notification_unread_counts SET unread_count = GREATEST(unread_count + ?, 0), updated_at = now() " +
+            "WHERE user_id = ? RETURNING unread_count";
+
+    private static final String RESET_SQL =
+            "INSERT INTO notification_unread_counts (user_id, unread_count, updated_at) VALUES (?, 0, now()) " +
+            "ON CONFLICT (user_id) DO UPDATE SET unread_count = 0, updated_at = now()";
+
+    private static final String SEED_SQL =
+            "INSERT INTO notification_unread_counts (user_id, unread_count, updated_at) " +
+            "SELECT ?, COUNT(*), now() FROM notifications WHERE recipient_id = ? AND is_read = false " +
+            "ON CONFLICT (user_id) DO NOTHING";
+
+    private static final String SELECT_SQL =
+            "SELECT unread_count FROM notification_unread_counts WHERE user_id = ?";
+
+    private static final String RECONCILE_SQL =
+            "UPDATE notification_unread_counts c SET unread_count = x.cnt, updated_at = now() " +
+            "FROM (SELECT c2.user_id, COUNT(n.id) AS cnt FROM notification_unread_counts c2 " +
+            "      LEFT JOIN notifications n ON n.recipient_id = c2.user_id AND n.is_read = false " +
+            "      GROUP BY c2.user_id) x " +
+            "WHERE c.user_id = x.user_id AND c.unread_count <> x.cnt";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public NotificationUnreadCounter(JdbcTemplate jdbcTemplate, SimpMessagingTemplate messagingTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public long get(UserEntity user) {
+        List<Long> rows = jdbcTemplate.queryForList(SELECT_SQL, Long.class, user.getId());
+        if (!rows.isEmpty()) {
+            return rows.get(0);
+        }
+        return seed(user.getId());
+    }
+
+    public void increment(UserEntity user) {
+        push(user, add(user.getId(), 1));
+    }
+
+    public void decrement(UserEntity user) {
+        push(user, add(user.getId(), -1));
+    }
+
+    public void reset(UserEntity user) {
+        jdbcTemplate.update(RESET_SQL, user.getId());
+        push(user, 0);
+    }
+
+    /**
+     * Recompute every existing counter from the notifications table.
+     * Drift can come from manual data fixes or from a reconciliation racing a concurrent change.
+     */
+    @Scheduled(fixedDelayString = "${notifications.unread.reconcile-interval-ms:3600000}",
+               initialDelayString = "${notifications.unread.reconcile-initial-delay-ms:300000}")
+    @SchedulerLock(name = "reconcileUnreadNotificationCounts", lockAtMostFor = "10m", lockAtLeastFor = "1m")
+    public void reconcile() {
+        try {
+            int corrected = jdbcTemplate.update(RECONCILE_SQL);
+            if (corrected > 0) {
+                logger.info("Reconciled {} unread notification counter(s)", corrected);
+            }
+        } catch (Exception e) {
+            logger.error("Error reconciling unread notification counters", e);
+        }
+    }
+
+    private long add(Long userId, int delta) {
+        List<Long> rows = jdbcTemplate.queryForList(ADD_SQL, Long.class, delta, userId);
+        if (!rows.isEmpty()) {
+            return rows.get(0);
+        }
+        // No counter yet: seeding counts the notification rows, which already reflect this change
+        return seed(userId);
+    }
+
+    private long seed(Long userId) {
+        jdbcTemplate.update(SEED_SQL, userId, userId);
+        return jdbcTemplate.queryForObject(SELECT_SQL, Long.class, userId);
+    }
+
+    private void push(UserEntity user, long unreadCount) {
+        try {
+            Map<String, Object> update = new HashMap<>();
+            update.put("type", "UNREAD_COUNT");
+            update.put("unreadCount", unreadCount);
+            messagingTemplate.convertAndSendToUser(user.getEmail(), "/queue/notifications/updates", update);
+        } catch (Exception e) {
+            logger.debug("Failed to push unread count to {}: {}", user.getEmail(), e.getMessage());
+        }
+    }
+}
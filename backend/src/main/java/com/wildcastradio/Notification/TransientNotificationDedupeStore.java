@@ -0,0 +1,200 @@
+package com.wildcastradio.Notification;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expiring "already sent" markers for transient notifications (e.g. "starting soon").
+ *
+ * Each logical event key is one Redis entry: a plain key for event-wide claims, or a bitmap
+ * indexed by user id for per-user claims, so a fan-out to N users costs N bits rather than
+ * N strings. Claims are atomic in Redis (SET NX / SETBIT), which keeps several backend
+ * instances from sending the same notification twice, and every entry carries a TTL.
+ *
+ * When Redis is unreachable the store falls back to a node-local map with the same TTLs,
+ * capped at {@code notifications.dedupe.max-local-entries} event keys.
+ */
+@Component
+public class TransientNotificationDedupeStore {
+    private static final Logger logger = LoggerFactory.getLogger(TransientNotificationDedupeStore.class);
+
+    private static final String KEY_PREFIX = "wildcats:notification-dedupe:";
+    private static final String USERS_SUFFIX = ":users";
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final Duration defaultTtl;
+    private final int maxLocalEntries;
+    private final long retryBackoffMs;
+
+    private final Map<String, LocalEntry> localEntries = new ConcurrentHashMap<>();
+    private volatile long redisRetryAtNanos;
+
+    public TransientNotificationDedupeStore(StringRedisTemplate redisTemplate,
+                                            @Value("${notifications.dedupe.redis-enabled:true}") boolean redisEnabled,
+                                            @Value("${notifications.dedupe.default-ttl-minutes:120}") long defaultTtlMinutes,
+                                            @Value("${notifications.dedupe.max-local-entries:10000}") int maxLocalEntries,
+                                            @Value("${notifications.dedupe.retry-backoff-ms:30000}") long retryBackoffMs) {
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled && redisTemplate != null;
+        this.defaultTtl = Duration.ofMinutes(Math.max(1, defaultTtlMinutes));
+        this.maxLocalEntries = Math.max(1, maxLocalEntries);
+        this.retryBackoffMs = Math.max(1000L, retryBackoffMs);
+        this.redisRetryAtNanos = System.nanoTime();
+    }
+
+    public boolean claim(String eventKey) {
+        return claim(eventKey, defaultTtl);
+    }
+
+    /**
+     * Claim an event-wide key.
+     *
+     * @return true if this caller is the first to claim the key within its TTL
+     */
+    public boolean claim(String eventKey, Duration ttl) {
+        if (isRedisAvailable()) {
+            try {
+                Boolean claimed = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + eventKey, "1", ttl);
+                return Boolean.TRUE.equals(claimed);
+            } catch (Exception e) {
+                onRedisFailure(e);
+            }
+        }
+        LocalEntry entry = localEntry(eventKey, ttl);
+        synchronized (entry) {
+            if (entry.claimed) {
+                return false;
+            }
+            entry.claimed = true;
+            return true;
+        }
+    }
+
+    public boolean claimForUser(String eventKey, long userId) {
+        return claimForUser(eventKey, userId, defaultTtl);
+    }
+
+    /**
+     * Claim an event key for one recipient, stored as one bit in the event's bitmap.
+     *
+     * @return true if the user had not been claimed for this event within its TTL
+     */
+    public boolean claimForUser(String eventKey, long userId, Duration ttl) {
+        if (userId < 0 || userId > Integer.MAX_VALUE) {
+            // Outside bitmap range; fall back to a dedicated key for this recipient
+            return claim(eventKey + ":" + userId, ttl);
+        }
+        if (isRedisAvailable()) {
+            String key = KEY_PREFIX + eventKey + USERS_SUFFIX;
+            try {
+                Boolean previous = redisTemplate.opsForValue().setBit(key, userId, true);
+                if (Boolean.TRUE.equals(previous)) {
+                    return false;
+                }
+                redisTemplate.expire(key, ttl);
+                return true;
+            } catch (Exception e) {
+                onRedisFailure(e);
+            }
+        }
+        LocalEntry entry = localEntry(eventKey, ttl);
+        synchronized (entry) {
+            if (entry.users.get((int) userId)) {
+                return false;
+            }
+            entry.users.set((int) userId);
+            return true;
+        }
+    }
+
+    /**
+     * Forget every claim made under the event key (event-wide and per-user).
+     */
+    public void clear(String eventKey) {
+        localEntries.remove(eventKey);
+        if (isRedisAvailable()) {
+            try {
+                redisTemplate.delete(List.of(KEY_PREFIX + eventKey, KEY_PREFIX + eventKey + USERS_SUFFIX));
+            } catch (Exception e) {
+                onRedisFailure(e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.dedupe.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        localEntries.values().removeIf(entry -> entry.expiresAtMs <= now);
+    }
+
+    int localSize() {
+        return localEntries.size();
+    }
+
+    private LocalEntry localEntry(String eventKey, Duration ttl) {
+        long now = System.currentTimeMillis();
+        LocalEntry entry = localEntries.get(eventKey);
+        if (entry != null && entry.expiresAtMs > now) {
+            return entry;
+        }
+        if (entry != null) {
+            localEntries.remove(eventKey, entry);
+        }
+        if (localEntries.size() >= maxLocalEntries) {
+            trimLocal();
+        }
+        return localEntries.computeIfAbsent(eventKey, k -> new LocalEntry(now + ttl.toMillis()));
+    }
+
+    /**
+     * Make room for one more event key: drop expired entries, then the one closest to expiry.
+     */
+    private void trimLocal() {
+        evictExpired();
+        while (localEntries.size() >= maxLocalEntries) {
+            String soonest = null;
+            long soonestExpiry = Long.MAX_VALUE;
+            for (Map.Entry<String, LocalEntry> e : localEntries.entrySet()) {
+                if (e.getValue().expiresAtMs < soonestExpiry) {
+                    soonestExpiry = e.getValue().expiresAtMs;
+                    soonest = e.getKey();
+                }
+            }
+            if (soonest == null || localEntries.remove(soonest) == null) {
+                break;
+            }
+        }
+    }
+
+    private boolean isRedisAvailable() {
+        return redisEnabled && System.nanoTime() - redisRetryAtNanos >= 0;
+    }
+
+    private void onRedisFailure(Exception e) {
+        redisRetryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryBackoffMs);
+        logger.warn("Redis notification dedupe unavailable, using local store for {} ms: {}",
+                retryBackoffMs, e.getMessage());
+    }
+
+    private static final class LocalEntry {
+        private final long expiresAtMs;
+        private final BitSet users = new BitSet();
+        private boolean claimed;
+
+        private LocalEntry(long expiresAtMs) {
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.wildcastradio.Poll;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wildcastradio.Poll.DTO.PollResultDTO;
+import com.wildcastradio.util.JdbcBatches;
+
+/**
+ * In-memory state for active polls on this node.
+ *
+ * Each live poll keeps one atomic counter per option and a concurrent map of voter to chosen
+ * option, loaded once from the database (one grouped count, one voter query) when the poll is
+ * first touched. A vote is accepted by claiming the voter slot and incrementing the counter under
+ * the poll's lock; the row is queued and written in batches by {@link #flush()}. The
+ * (user_id, poll_id) unique constraint stays the source of truth: a queued vote that conflicts with
+ * a row written by another node is dropped, its count taken back and the voter pointed at the
+ * stored option. A row that keeps failing to insert is dropped after a few attempts and the voter
+ * released, so the user can vote again.
+ *
+ * Results are not pushed per vote: polls with new votes are handed to {@link PollResultPublisher},
+ * which sends throttled deltas on the poll topic. {@link #reconcile()} periodically re-reads the
+ * counts so votes accepted by other nodes show up here, and drops polls that ended elsewhere or
+ * have been idle.
+ */
+@Component
+public class LivePollEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LivePollEngine.class);
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private static final String INSERT_VOTE_SQL =
+            "INSERT INTO poll_votes (timestamp, user_id, poll_id, option_id) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, poll_id) DO NOTHING";
+
+    private final PollRepository pollRepository;
+    private final PollOptionRepository optionRepository;
+    private final PollVoteRepository voteRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PollResultPublisher resultPublisher;
+    private final int batchSize;
+    private final long idleEvictMs;
+
+    private final ConcurrentHashMap<Long, LivePoll> polls = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingVote> pending = new ConcurrentLinkedQueue<>();
+    private final Object flushLock = new Object();
+
+    public LivePollEngine(PollRepository pollRepository,
+                          PollOptionRepository optionRepository,
+                          PollVoteRepository voteRepository,
+                          JdbcTemplate jdbcTemplate,
+                          PollResultPublisher resultPublisher,
+                          @Value("${poll.votes.batch-size:500}") int batchSize,
+                          @Value("${poll.live.idle-evict-ms:1800000}") long idleEvictMs) {
+        this.pollRepository = pollRepository;
+        this.optionRepository = optionRepository;
+        this.voteRepository = voteRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.resultPublisher = resultPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.idleEvictMs = idleEvictMs;
+    }
+
+    /**
+     * Accept a vote without touching the database. Throws the same errors as the former
+     * synchronous path; the returned results already include the vote.
+     */
+    public PollResultDTO vote(Long pollId, Long optionId, Long userId) {
+        LivePoll poll = live(pollId);
+        if (poll == null) {
+            if (!pollRepository.existsById(pollId)) {
+                throw new RuntimeException("Poll not found");
+            }
+            throw new RuntimeException("Poll is no longer active");
+        }
+        AtomicLong counter = poll.counts.get(optionId);
+        if (counter == null) {
+            throw new RuntimeException(optionRepository.existsById(optionId)
+                    ? "Option does not belong to the poll" : "Option not found");
+        }
+        synchronized (poll.lock) {
+            // Deactivated while this caller held on to it
+            if (!poll.active) {
+                throw new RuntimeException("Poll is no longer active");
+            }
+            if (poll.voters.putIfAbsent(userId, optionId) != null) {
+                throw new RuntimeException("User has already voted in this poll");
+            }
+            pending.add(new PendingVote(pollId, optionId, userId, LocalDateTime.now()));
+            counter.incrementAndGet();
+        }
+        resultPublisher.markDirty(poll);
+        return poll.toResults();
+    }
+
+    /**
+     * Live state for the poll, loading it if the poll is active; null for drafts, ended or
+     * missing polls.
+     */
+    public LivePoll live(Long pollId) {
+        LivePoll poll = polls.get(pollId);
+        if (poll == null) {
+            poll = load(pollId);
+            if (poll == null) {
+                return null;
+            }
+            LivePoll raced = polls.putIfAbsent(pollId, poll);
+            if (raced != null) {
+                poll = raced;
+            }
+        }
+        poll.lastAccessMs = System.currentTimeMillis();
+        return poll;
+    }
+
+    /**
+     * Write queued votes and forget the poll, e.g. when it ends or is deleted. The caller
+     * reads final counts from the database afterwards.
+     */
+    public void deactivate(Long pollId) {
+        synchronized (flushLock) {
+            LivePoll poll = polls.get(pollId);
+            if (poll != null) {
+                close(poll);
+            }
+            flushPending();
+            polls.remove(pollId);
+            resultPublisher.forget(pollId);
+        }
+    }
+
+    /**
+     * Write queued votes, at most batch-size rows per statement.
+     */
+    @Scheduled(fixedDelayString = "${poll.votes.flush-interval-ms:500}")
+    public void flush() {
+        synchronized (flushLock) {
+            flushPending();
+        }
+    }
+
+    /**
+     * Refresh counts from the database so votes taken on other nodes are reflected, and drop
+     * polls that are no longer active or have not been touched for a while.
+     */
+    @Scheduled(fixedDelayString = "${poll.live.reconcile-interval-ms:10000}")
+    public void reconcile() {
+        if (polls.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            flushPending();
+            long idleCutoff = System.currentTimeMillis() - idleEvictMs;
+            for (LivePoll poll : new ArrayList<>(polls.values())) {
+                try {
+                    boolean active = pollRepository.findById(poll.pollId).map(PollEntity::isActive).orElse(false);
+                    if (!active || poll.lastAccessMs < idleCutoff) {
+                        if (!active) {
+                            close(poll);
+                        }
+                        polls.remove(poll.pollId);
+                        resultPublisher.forget(poll.pollId);
+                        continue;
+                    }
+                    Map<Long, Long> stored = new HashMap<>(voteRepository.countVotesByOption(poll.pollId));
+                    boolean changed = false;
+                    // Hold off votes so the pending rows and the counters describe the same votes
+                    synchronized (poll.lock) {
+                        // Votes accepted since the flush above are counted but not stored yet
+                        for (PendingVote vote : pending) {
+                            if (vote.pollId.equals(poll.pollId)) {
+                                stored.merge(vote.optionId, 1L, Long::sum);
+                            }
+                        }
+                        for (Map.Entry<Long, AtomicLong> entry : poll.counts.entrySet()) {
+                            long value = stored.getOrDefault(entry.getKey(), 0L);
+                            if (entry.getValue().getAndSet(value) != value) {
+                                changed = true;
+                            }
+                        }
+                    }
+                    if (changed) {
+                        resultPublisher.markDirty(poll);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Failed to reconcile poll {}: {}", poll.pollId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private LivePoll load(Long pollId) {
+        PollEntity poll = pollRepository.findById(pollId).orElse(null);
+        if (poll == null || !poll.isActive()) {
+            return null;
+        }
+        Map<Long, Long> stored = voteRepository.countVotesByOption(pollId);
+        LivePoll live = new LivePoll(pollId, poll.getBroadcast().getId(), poll.getQuestion());
+        for (PollOptionEntity option : optionRepository.findByPollOrderByIdAsc(poll)) {
+            live.texts.put(option.getId(), option.getText());
+            live.counts.put(option.getId(), new AtomicLong(stored.getOrDefault(option.getId(), 0L)));
+        }
+        for (Object[] row : voteRepository.findVoterOptions(pollId)) {
+            live.voters.put((Long) row[0], (Long) row[1]);
+        }
+        // Votes queued before an eviction are not in the stored counts yet
+        for (PendingVote vote : pending) {
+            if (!vote.pollId.equals(pollId)) {
+                continue;
+            }
+            AtomicLong counter = live.counts.get(vote.optionId);
+            if (counter != null && live.voters.putIfAbsent(vote.userId, vote.optionId) == null) {
+                counter.incrementAndGet();
+            }
+        }
+        return live;
+    }
+
+    private static void close(LivePoll poll) {
+        synchronized (poll.lock) {
+            poll.active = false;
+        }
+    }
+
+    private void flushPending() {
+        List<PendingVote> retry = new ArrayList<>();
+        List<PendingVote> batch = new ArrayList<>(batchSize);
+        PendingVote vote;
+        while ((vote = pending.poll()) != null) {
+            batch.add(vote);
+            if (batch.size() == batchSize) {
+                write(batch, retry);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, retry);
+        }
+        // Re-queued after draining so a failing row is tried once per flush
+        pending.addAll(retry);
+    }
+
+    private void write(List<PendingVote> batch, List<PendingVote> retry) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (PendingVote vote : batch) {
+            args.add(new Object[]{Timestamp.valueOf(vote.timestamp), vote.userId, vote.pollId, vote.optionId});
+        }
+        int[] results = JdbcBatches.insert(jdbcTemplate, INSERT_VOTE_SQL, args, "poll votes", (i, error) -> {
+            PendingVote vote = batch.get(i);
+            if (++vote.attempts < MAX_WRITE_ATTEMPTS) {
+                logger.warn("Failed to store vote of user {} in poll {}, will retry: {}",
+                        vote.userId, vote.pollId, error.getMessage());
+                retry.add(vote);
+            } else {
+                logger.warn("Dropping vote of user {} in poll {} after {} attempts: {}",
+                        vote.userId, vote.pollId, vote.attempts, error.getMessage());
+                dropped(vote);
+            }
+        });
+        for (int i = 0; i < batch.size(); i++) {
+            if (results[i] == 0) {
+                rejected(batch.get(i));
+            }
+        }
+    }
+
+    /**
+     * The database kept another vote for this user (cast on another node); take ours back and
+     * remember the stored option. That option's count catches up on the next reconcile.
+     */
+    private void rejected(PendingVote vote) {
+        LivePoll poll = polls.get(vote.pollId);
+        if (poll == null) {
+            return;
+        }
+        Long storedOptionId = null;
+        try {
+            storedOptionId = voteRepository.findOptionIdByPollIdAndUserId(vote.pollId, vote.userId).orElse(null);
+        } catch (Exception e) {
+            logger.warn("Failed to read stored vote of user {} in poll {}: {}", vote.userId, vote.pollId, e.getMessage());
+        }
+        if (storedOptionId != null) {
+            poll.voters.replace(vote.userId, vote.optionId, storedOptionId);
+        } else {
+            poll.voters.remove(vote.userId, vote.optionId);
+        }
+        takeBack(poll, vote);
+    }
+
+    /**
+     * The vote could not be stored; release the voter so the user can vote again.
+     */
+    private void dropped(PendingVote vote) {
+        LivePoll poll = polls.get(vote.pollId);
+        if (poll == null) {
+            return;
+        }
+        poll.voters.remove(vote.userId, vote.optionId);
+        takeBack(poll, vote);
+    }
+
+    private void takeBack(LivePoll poll, PendingVote vote) {
+        AtomicLong counter = poll.counts.get(vote.optionId);
+        if (counter != null) {
+            counter.decrementAndGet();
+            resultPublisher.markDirty(poll);
+        }
+    }
+
+    /**
+     * Counters and voters of one active poll.
+     */
+    public static final class LivePoll {
+        private final Long pollId;
+        private final Long broadcastId;
+        private final String question;
+        // Insertion order is option id order; the key set is fixed after loading
+        private final Map<Long, String> texts = new LinkedHashMap<>();
+        private final Map<Long, AtomicLong> counts = new HashMap<>();
+        private final ConcurrentHashMap<Long, Long> voters = new ConcurrentHashMap<>();
+        private final Object lock = new Object();
+        private boolean active = true;
+        private volatile long lastAccessMs;
+
+        LivePoll(Long pollId, Long broadcastId, String question) {
+            this.pollId = pollId;
+            this.broadcastId = broadcastId;
+            this.question = question;
+        }
+
+        public Long getPollId() {
+            return pollId;
+        }
+
+        public Long getBroadcastId() {
+            return broadcastId;
+        }
+
+        /**
+         * Option id to vote count, in option order.
+         */
+        public Map<Long, Long> counts() {
+            Map<Long, Long> snapshot = new LinkedHashMap<>();
+            for (Long optionId : texts.keySet()) {
+                snapshot.put(optionId, counts.get(optionId).get());
+            }
+            return Collections.unmodifiableMap(snapshot);
+        }
+
+        /**
+         * The option the user voted for, or null.
+         */
+        public Long optionOf(Long userId) {
+            return voters.get(userId);
+        }
+
+        public PollResultDTO toResults() {
+            Map<Long, Long> snapshot = counts();
+            long total = 0;
+            for (long votes : snapshot.values()) {
+                total += votes;
+            }
+            List<PollResultDTO.OptionResult> options = new ArrayList<>(snapshot.size());
+            for (Map.Entry<Long, Long> entry : snapshot.entrySet()) {
+                long votes = entry.getValue();
+                options.add(new PollResultDTO.OptionResult(entry.getKey(), texts.get(entry.getKey()), votes,
+                        total > 0 ? (votes * 100.0) / total : 0));
+            }
+            return new PollResultDTO(pollId, question, true, total, options);
+        }
+    }
+
+    private static final class PendingVote {
+        final Long pollId;
+        final Long optionId;
+        final Long userId;
+        final LocalDateTime timestamp;
+        int attempts;
+
+        PendingVote(Long pollId, Long optionId, Long userId, LocalDateTime timestamp) {
+            this.pollId = pollId;
+            this.optionId = optionId;
+            this.userId = userId;
+            this.timestamp = timestamp;
+        }
+    }
+}
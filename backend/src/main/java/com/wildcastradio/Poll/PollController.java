@@ -1,6 +1,8 @@
 package com.wildcastradio.Poll;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.http.ResponseEntity;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -55,6 +58,20 @@ public class PollController {
         return ResponseEntity.ok(polls);
     }
 
+    /**
+     * Live result refresh rate for the broadcast's polls: {"intervalMs": 500}, or null for the default.
+     */
+    @PutMapping("/broadcast/{broadcastId}/results-interval")
+    @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
+    public ResponseEntity<Map<String, Object>> updateResultsInterval(@PathVariable Long broadcastId,
+                                                                     @RequestBody Map<String, Integer> request) {
+        Integer intervalMs = pollService.updateResultsInterval(broadcastId, request != null ? request.get("intervalMs") : null);
+        Map<String, Object> body = new HashMap<>();
+        body.put("broadcastId", broadcastId);
+        body.put("intervalMs", intervalMs);
+        return ResponseEntity.ok(body);
+    }
+
     @GetMapping("/{pollId}")
     public ResponseEntity<PollDTO> getPoll(@PathVariable Long pollId) {
         PollDTO poll = pollService.getPoll(pollId);
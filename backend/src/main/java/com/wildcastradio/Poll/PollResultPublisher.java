@@ -0,0 +1,161 @@
+package com.wildcastradio.Poll;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wildcastradio.Broadcast.BroadcastEntity;
+import com.wildcastradio.Broadcast.BroadcastRepository;
+
+/**
+ * Coalesces live poll result updates into throttled frames on the poll topic.
+ *
+ * Votes only mark their poll dirty. Each tick, a dirty poll whose broadcast interval has elapsed
+ * since its last frame gets one POLL_DELTA carrying the options whose count changed (option id to
+ * count), the total and a per-poll sequence number. Subscribers load the full state once through
+ * the snapshot subscription (see PollWebSocketController) and apply deltas on top; a gap in the
+ * sequence means a frame was missed and the client should take a new snapshot.
+ *
+ * The interval is the broadcast's poll_results_interval_ms, or the configured default. Settings
+ * are cached per broadcast and re-read after a short TTL, so changes made on another node apply
+ * within seconds.
+ */
+@Component
+public class PollResultPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PollResultPublisher.class);
+
+    public static final int MIN_INTERVAL_MS = 250;
+    public static final int MAX_INTERVAL_MS = 10000;
+    private static final long SETTINGS_TTL_MS = 30000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastRepository broadcastRepository;
+    private final long defaultIntervalMs;
+
+    private final ConcurrentHashMap<Long, LivePollEngine.LivePoll> dirty = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Published> published = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Interval> intervals = new ConcurrentHashMap<>();
+
+    public PollResultPublisher(SimpMessagingTemplate messagingTemplate,
+                               BroadcastRepository broadcastRepository,
+                               @Value("${poll.results.publish-interval-ms:1000}") long defaultIntervalMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.broadcastRepository = broadcastRepository;
+        this.defaultIntervalMs = Math.max(MIN_INTERVAL_MS, Math.min(defaultIntervalMs, MAX_INTERVAL_MS));
+    }
+
+    public void markDirty(LivePollEngine.LivePoll poll) {
+        dirty.put(poll.getPollId(), poll);
+    }
+
+    /**
+     * Drop state of a poll that is no longer live.
+     */
+    public void forget(Long pollId) {
+        dirty.remove(pollId);
+        published.remove(pollId);
+    }
+
+    /**
+     * Sequence number of the last frame sent for the poll; a snapshot taken now is current as of it.
+     */
+    public long sequence(Long pollId) {
+        Published last = published.get(pollId);
+        return last != null ? last.seq : 0;
+    }
+
+    /**
+     * Apply a new interval for the broadcast on this node (null for the default).
+     */
+    public void setInterval(Long broadcastId, Integer intervalMs) {
+        intervals.put(broadcastId, new Interval(resolve(intervalMs), System.currentTimeMillis()));
+    }
+
+    public long intervalFor(Long broadcastId) {
+        Interval cached = intervals.get(broadcastId);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAtMs < SETTINGS_TTL_MS) {
+            return cached.ms;
+        }
+        long ms = broadcastRepository.findById(broadcastId)
+                .map(BroadcastEntity::getPollResultsIntervalMs)
+                .map(this::resolve)
+                .orElse(defaultIntervalMs);
+        intervals.put(broadcastId, new Interval(ms, now));
+        return ms;
+    }
+
+    @Scheduled(fixedDelayString = "${poll.results.tick-ms:100}")
+    public void publish() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (LivePollEngine.LivePoll poll : dirty.values()) {
+            Long pollId = poll.getPollId();
+            try {
+                Published last = published.get(pollId);
+                if (last != null && now - last.atMs < intervalFor(poll.getBroadcastId())) {
+                    continue;
+                }
+                // Votes landing after this point mark the poll dirty again
+                dirty.remove(pollId, poll);
+                Map<Long, Long> counts = poll.counts();
+                Map<Long, Long> delta = new LinkedHashMap<>();
+                long total = 0;
+                for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+                    total += entry.getValue();
+                    if (last == null || !entry.getValue().equals(last.counts.get(entry.getKey()))) {
+                        delta.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                if (delta.isEmpty()) {
+                    continue;
+                }
+                long seq = last != null ? last.seq + 1 : 1;
+                published.put(pollId, new Published(counts, now, seq));
+                messagingTemplate.convertAndSend("/topic/broadcast/" + poll.getBroadcastId() + "/polls",
+                        new PollWebSocketMessage("POLL_DELTA", pollId, delta, total, seq));
+            } catch (Exception e) {
+                logger.warn("Failed to publish results for poll {}: {}", pollId, e.getMessage());
+            }
+        }
+    }
+
+    private long resolve(Integer intervalMs) {
+        if (intervalMs == null) {
+            return defaultIntervalMs;
+        }
+        return Math.max(MIN_INTERVAL_MS, Math.min(intervalMs, MAX_INTERVAL_MS));
+    }
+
+    private static final class Published {
+        final Map<Long, Long> counts;
+        final long atMs;
+        final long seq;
+
+        Published(Map<Long, Long> counts, long atMs, long seq) {
+            this.counts = counts;
+            this.atMs = atMs;
+            this.seq = seq;
+        }
+    }
+
+    private static final class Interval {
+        final long ms;
+        final long loadedAtMs;
+
+        Interval(long ms, long loadedAtMs) {
+            this.ms = ms;
+            this.loadedAtMs = loadedAtMs;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.wildcastradio.Poll;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.wildcastradio.Broadcast.BroadcastEntity;
+import com.wildcastradio.Broadcast.BroadcastPopularityService;
 import com.wildcastradio.Broadcast.BroadcastRepository;
 import com.wildcastradio.Poll.DTO.CreatePollRequest;
 import com.wildcastradio.Poll.DTO.PollDTO;
@@ -28,6 +30,9 @@ public class PollService {
     private final BroadcastRepository broadcastRepository;
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastPopularityService broadcastPopularityService;
+    private final LivePollEngine livePollEngine;
+    private final PollResultPublisher resultPublisher;
 
     public PollService(
             PollRepository pollRepository,
@@ -35,13 +40,19 @@ public class PollService {
             PollVoteRepository voteRepository,
             BroadcastRepository broadcastRepository,
             UserRepository userRepository,
-            SimpMessagingTemplate messagingTemplate) {
+            SimpMessagingTemplate messagingTemplate,
+            BroadcastPopularityService broadcastPopularityService,
+            LivePollEngine livePollEngine,
+            PollResultPublisher resultPublisher) {
         this.pollRepository = pollRepository;
         this.optionRepository = optionRepository;
         this.voteRepository = voteRepository;
         this.broadcastRepository = broadcastRepository;
         this.userRepository = userRepository;
         this.messagingTemplate = messagingTemplate;
+        this.broadcastPopularityService = broadcastPopularityService;
+        this.livePollEngine = livePollEngine;
+        this.resultPublisher = resultPublisher;
     }
 
     @Transactional
@@ -83,6 +94,7 @@ public class PollService {
         List<PollEntity> currentlyActive = pollRepository.findByBroadcastAndActiveTrue(poll.getBroadcast());
         for (PollEntity other : currentlyActive) {
             if (!other.getId().equals(pollId)) {
+                livePollEngine.deactivate(other.getId());
                 other.endPoll();
                 PollEntity ended = pollRepository.save(other);
                 // Broadcast update for ended poll so clients can clear it
@@ -116,6 +128,7 @@ public class PollService {
         PollEntity poll = pollRepository.findById(pollId)
                 .orElseThrow(() -> new RuntimeException("Poll not found"));
         Long broadcastId = poll.getBroadcast().getId();
+        livePollEngine.deactivate(pollId);
         pollRepository.delete(poll);
 
         // Notify listeners that the poll was deleted
@@ -163,57 +176,36 @@ public class PollService {
         return buildPollDTO(poll, options);
     }
 
-    @Transactional
+    /**
+     * Count the vote in memory; the row is written in the next batch and results are pushed to
+     * listeners at the engine's publish rate (see LivePollEngine).
+     */
     public PollResultDTO vote(VoteRequest request, Long userId) {
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        PollEntity poll = pollRepository.findById(request.getPollId())
-                .orElseThrow(() -> new RuntimeException("Poll not found"));
-
-        if (!poll.isActive()) {
-            throw new RuntimeException("Poll is no longer active");
-        }
-
-        // Check if user has already voted
-        if (voteRepository.existsByUserAndPoll(user, poll)) {
-            throw new RuntimeException("User has already voted in this poll");
-        }
-
-        PollOptionEntity option = optionRepository.findById(request.getOptionId())
-                .orElseThrow(() -> new RuntimeException("Option not found"));
-
-        // Ensure option belongs to the poll
-        if (!option.getPoll().getId().equals(poll.getId())) {
-            throw new RuntimeException("Option does not belong to the poll");
+        PollResultDTO results = livePollEngine.vote(request.getPollId(), request.getOptionId(), userId);
+        LivePollEngine.LivePoll live = livePollEngine.live(request.getPollId());
+        if (live != null) {
+            broadcastPopularityService.recordInteraction(live.getBroadcastId());
         }
-
-        // Create the vote
-        PollVoteEntity vote = new PollVoteEntity(user, poll, option);
-        voteRepository.save(vote);
-
-        // Get updated poll results
-        PollResultDTO results = getPollResults(poll.getId());
-
-        // Notify all clients about the vote
-        broadcastPollUpdate(poll.getBroadcast().getId(), 
-            new PollWebSocketMessage("POLL_RESULTS", poll.getId(), results));
-
         return results;
     }
 
     @Transactional(readOnly = true)
     public PollResultDTO getPollResults(Long pollId) {
+        LivePollEngine.LivePoll live = livePollEngine.live(pollId);
+        if (live != null) {
+            return live.toResults();
+        }
+
         PollEntity poll = pollRepository.findById(pollId)
                 .orElseThrow(() -> new RuntimeException("Poll not found"));
 
         List<PollOptionEntity> options = optionRepository.findByPollOrderByIdAsc(poll);
-
-        long totalVotes = voteRepository.countByPoll(poll);
+        Map<Long, Long> counts = voteRepository.countVotesByOption(pollId);
+        long totalVotes = counts.values().stream().mapToLong(Long::longValue).sum();
 
         List<PollResultDTO.OptionResult> optionResults = options.stream()
                 .map(option -> {
-                    long optionVotes = voteRepository.countByOption(option);
+                    long optionVotes = counts.getOrDefault(option.getId(), 0L);
                     double percentage = totalVotes > 0 ? (optionVotes * 100.0) / totalVotes : 0;
 
                     return new PollResultDTO.OptionResult(
@@ -239,6 +231,8 @@ public class PollService {
         PollEntity poll = pollRepository.findById(pollId)
                 .orElseThrow(() -> new RuntimeException("Poll not found"));
 
+        // Write queued votes first so the final counts below include them
+        livePollEngine.deactivate(pollId);
         poll.endPoll();
         PollEntity savedPoll = pollRepository.save(poll);
 
@@ -254,34 +248,33 @@ public class PollService {
 
     @Transactional(readOnly = true)
     public boolean hasUserVoted(Long pollId, Long userId) {
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        PollEntity poll = pollRepository.findById(pollId)
-                .orElseThrow(() -> new RuntimeException("Poll not found"));
-
-        return voteRepository.existsByUserAndPoll(user, poll);
+        return getUserVote(pollId, userId).isPresent();
     }
 
     @Transactional(readOnly = true)
     public Optional<Long> getUserVote(Long pollId, Long userId) {
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        PollEntity poll = pollRepository.findById(pollId)
-                .orElseThrow(() -> new RuntimeException("Poll not found"));
+        LivePollEngine.LivePoll live = livePollEngine.live(pollId);
+        if (live != null) {
+            return Optional.ofNullable(live.optionOf(userId));
+        }
 
-        Optional<PollVoteEntity> vote = voteRepository.findByUserAndPoll(user, poll);
+        if (!pollRepository.existsById(pollId)) {
+            throw new RuntimeException("Poll not found");
+        }
 
-        return vote.map(v -> v.getOption().getId());
+        return voteRepository.findOptionIdByPollIdAndUserId(pollId, userId);
     }
 
     private PollDTO buildPollDTO(PollEntity poll, List<PollOptionEntity> options) {
+        LivePollEngine.LivePoll live = poll.isActive() ? livePollEngine.live(poll.getId()) : null;
+        Map<Long, Long> counts = live != null ? live.counts() : voteRepository.countVotesByOption(poll.getId());
+        long totalVotes = counts.values().stream().mapToLong(Long::longValue).sum();
+
         List<PollOptionDTO> optionDTOs = options.stream()
                 .map(option -> new PollOptionDTO(
                         option.getId(),
                         option.getText(),
-                        voteRepository.countByOption(option)
+                        counts.getOrDefault(option.getId(), 0L)
                 ))
                 .collect(Collectors.toList());
 
@@ -295,10 +288,46 @@ public class PollService {
                 poll.getCreatedBy().getFirstname() + " " + poll.getCreatedBy().getLastname(),
                 poll.getBroadcast().getId(),
                 optionDTOs,
-                voteRepository.countByPoll(poll)
+                totalVotes
         );
     }
 
+    /**
+     * Full results of the broadcast's active poll for a new subscriber, stamped with the sequence
+     * of the last delta so the client can apply later POLL_DELTA frames; null without an active poll.
+     */
+    @Transactional(readOnly = true)
+    public PollWebSocketMessage getResultsSnapshot(Long broadcastId) {
+        BroadcastEntity broadcast = broadcastRepository.findById(broadcastId)
+                .orElseThrow(() -> new RuntimeException("Broadcast not found"));
+
+        List<PollEntity> active = pollRepository.findByBroadcastAndActiveTrue(broadcast);
+        if (active.isEmpty()) {
+            return null;
+        }
+        Long pollId = active.get(0).getId();
+        // Read the sequence first: a delta sent meanwhile is then re-applied, never skipped
+        long seq = resultPublisher.sequence(pollId);
+        PollWebSocketMessage snapshot = new PollWebSocketMessage("POLL_SNAPSHOT", pollId, getPollResults(pollId));
+        snapshot.setSeq(seq);
+        return snapshot;
+    }
+
+    /**
+     * Set how often live poll results are pushed for the broadcast; null restores the default.
+     */
+    @Transactional
+    public Integer updateResultsInterval(Long broadcastId, Integer intervalMs) {
+        BroadcastEntity broadcast = broadcastRepository.findById(broadcastId)
+                .orElseThrow(() -> new RuntimeException("Broadcast not found"));
+        Integer value = intervalMs == null ? null
+                : Math.max(PollResultPublisher.MIN_INTERVAL_MS, Math.min(intervalMs, PollResultPublisher.MAX_INTERVAL_MS));
+        broadcast.setPollResultsIntervalMs(value);
+        broadcastRepository.save(broadcast);
+        resultPublisher.setInterval(broadcastId, value);
+        return value;
+    }
+
     /**
      * Broadcast poll update to all subscribers
      * Centralized messaging method for controller-based pattern
@@ -1,9 +1,13 @@
 package com.wildcastradio.Poll;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.wildcastradio.User.UserEntity;
@@ -24,4 +28,23 @@ public interface PollVoteRepository extends JpaRepository<PollVoteEntity, Long>
     long countByOption(PollOptionEntity option);
     
     long countByPoll(PollEntity poll);
-}
\ No newline at end of file
+
+    // Vote counts of every option in one grouped query; options without votes are absent
+    @Query("SELECT v.option.id, COUNT(v) FROM PollVoteEntity v WHERE v.poll.id = :pollId GROUP BY v.option.id")
+    List<Object[]> countGroupedByOption(@Param("pollId") Long pollId);
+
+    default Map<Long, Long> countVotesByOption(Long pollId) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : countGroupedByOption(pollId)) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    // (user id, option id) pairs of the poll's voters
+    @Query("SELECT v.user.id, v.option.id FROM PollVoteEntity v WHERE v.poll.id = :pollId")
+    List<Object[]> findVoterOptions(@Param("pollId") Long pollId);
+
+    @Query("SELECT v.option.id FROM PollVoteEntity v WHERE v.poll.id = :pollId AND v.user.id = :userId")
+    Optional<Long> findOptionIdByPollIdAndUserId(@Param("pollId") Long pollId, @Param("userId") Long userId);
+}
@@ -5,6 +5,7 @@ import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
@@ -31,6 +32,22 @@ public class PollWebSocketController {
     @Autowired
     private UserService userService;
 
+    /**
+     * Full results of the active poll, sent once to a client subscribing to
+     * /app/broadcast/{broadcastId}/polls/snapshot; later changes arrive as POLL_DELTA frames on
+     * /topic/broadcast/{broadcastId}/polls.
+     */
+    @SubscribeMapping("/broadcast/{broadcastId}/polls/snapshot")
+    public PollWebSocketMessage handleResultsSnapshot(@DestinationVariable Long broadcastId) {
+        try {
+            PollWebSocketMessage snapshot = pollService.getResultsSnapshot(broadcastId);
+            return snapshot != null ? snapshot : new PollWebSocketMessage("POLL_SNAPSHOT", null, null);
+        } catch (Exception e) {
+            logger.warn("Error building poll snapshot for broadcast {}: {}", broadcastId, e.getMessage());
+            return new PollWebSocketMessage("POLL_SNAPSHOT", null, null);
+        }
+    }
+
     /**
      * Handle poll votes via WebSocket
      * Message destination: /app/broadcast/{broadcastId}/poll/vote
@@ -1,5 +1,7 @@
 package com.wildcastradio.Poll;
 
+import java.util.Map;
+
 import com.wildcastradio.Poll.DTO.PollDTO;
 import com.wildcastradio.Poll.DTO.PollResultDTO;
 
@@ -9,6 +11,10 @@ public class PollWebSocketMessage {
     private PollResultDTO results;
     private Long pollId;
     private Object vote;
+    // POLL_DELTA: counts of the options that changed, keyed by option id
+    private Map<Long, Long> counts;
+    private Long totalVotes;
+    private Long seq;
 
     public PollWebSocketMessage() {}
 
@@ -26,6 +32,14 @@ public class PollWebSocketMessage {
         this.results = results;
     }
 
+    public PollWebSocketMessage(String type, Long pollId, Map<Long, Long> counts, long totalVotes, long seq) {
+        this.type = type;
+        this.pollId = pollId;
+        this.counts = counts;
+        this.totalVotes = totalVotes;
+        this.seq = seq;
+    }
+
     // Getters and setters
     public String getType() {
         return type;
@@ -66,4 +80,28 @@ public class PollWebSocketMessage {
     public void setVote(Object vote) {
         this.vote = vote;
     }
-} 
\ No newline at end of file
+
+    public Map<Long, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<Long, Long> counts) {
+        this.counts = counts;
+    }
+
+    public Long getTotalVotes() {
+        return totalVotes;
+    }
+
+    public void setTotalVotes(Long totalVotes) {
+        this.totalVotes = totalVotes;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+}
@@ -0,0 +1,38 @@
+package com.wildcastradio.SongRequest.DTO;
+
+import java.util.List;
+
+/**
+ * A broadcast's live request queue: the best ranked entries, and the number of requests taken
+ * for the broadcast, including songs that have dropped out of the bounded queue.
+ */
+public class SongQueueDTO {
+    private List<SongQueueEntryDTO> entries;
+    private long totalRequests;
+
+    // Constructors
+    public SongQueueDTO() {
+    }
+
+    public SongQueueDTO(List<SongQueueEntryDTO> entries, long totalRequests) {
+        this.entries = entries;
+        this.totalRequests = totalRequests;
+    }
+
+    // Getters and Setters
+    public List<SongQueueEntryDTO> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<SongQueueEntryDTO> entries) {
+        this.entries = entries;
+    }
+
+    public long getTotalRequests() {
+        return totalRequests;
+    }
+
+    public void setTotalRequests(long totalRequests) {
+        this.totalRequests = totalRequests;
+    }
+}
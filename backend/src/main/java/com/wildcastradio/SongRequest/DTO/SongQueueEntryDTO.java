@@ -0,0 +1,111 @@
+package com.wildcastradio.SongRequest.DTO;
+
+import java.time.LocalDateTime;
+
+import com.wildcastradio.User.DTO.UserDTO;
+
+/**
+ * One song in a broadcast's live request queue: every request for the same normalized title
+ * and artist, counted once per requester.
+ */
+public class SongQueueEntryDTO {
+    private String key;
+    private String songTitle;
+    private String artist;
+    private int count;
+    private LocalDateTime firstRequestedAt;
+    private LocalDateTime timestamp;
+    private UserDTO requestedBy;
+    private Long broadcastId;
+
+    // Constructors
+    public SongQueueEntryDTO() {
+    }
+
+    public SongQueueEntryDTO(String key, String songTitle, String artist, int count,
+                             LocalDateTime firstRequestedAt, LocalDateTime timestamp,
+                             UserDTO requestedBy, Long broadcastId) {
+        this.key = key;
+        this.songTitle = songTitle;
+        this.artist = artist;
+        this.count = count;
+        this.firstRequestedAt = firstRequestedAt;
+        this.timestamp = timestamp;
+        this.requestedBy = requestedBy;
+        this.broadcastId = broadcastId;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getSongTitle() {
+        return songTitle;
+    }
+
+    public void setSongTitle(String songTitle) {
+        this.songTitle = songTitle;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+    public void setArtist(String artist) {
+        this.artist = artist;
+    }
+
+    /**
+     * Number of distinct listeners who requested the song
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public LocalDateTime getFirstRequestedAt() {
+        return firstRequestedAt;
+    }
+
+    public void setFirstRequestedAt(LocalDateTime firstRequestedAt) {
+        this.firstRequestedAt = firstRequestedAt;
+    }
+
+    /**
+     * Time of the latest request
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Latest requester
+     */
+    public UserDTO getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(UserDTO requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public Long getBroadcastId() {
+        return broadcastId;
+    }
+
+    public void setBroadcastId(Long broadcastId) {
+        this.broadcastId = broadcastId;
+    }
+}
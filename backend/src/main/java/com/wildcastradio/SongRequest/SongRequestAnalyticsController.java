@@ -1,6 +1,5 @@
 package com.wildcastradio.SongRequest;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -8,8 +7,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.wildcastradio.Analytics.AnalyticsResponseCache;
 import com.wildcastradio.SongRequest.DTO.SongRequestDTO;
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserService;
@@ -20,17 +21,23 @@ public class SongRequestAnalyticsController {
 
     private final SongRequestService songRequestService;
     private final UserService userService;
+    private final AnalyticsResponseCache responseCache;
 
-    public SongRequestAnalyticsController(SongRequestService songRequestService, UserService userService) {
+    public SongRequestAnalyticsController(SongRequestService songRequestService, UserService userService,
+                                          AnalyticsResponseCache responseCache) {
         this.songRequestService = songRequestService;
         this.userService = userService;
+        this.responseCache = responseCache;
     }
 
     /**
-     * Get all song requests for analytics (requires DJ or ADMIN role)
+     * Get song requests for analytics, newest first, one page at a time (requires DJ or ADMIN role)
      */
     @GetMapping
-    public ResponseEntity<List<SongRequestDTO>> getAllSongRequests(Authentication authentication) {
+    public ResponseEntity<List<SongRequestDTO>> getAllSongRequests(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
         if (authentication == null) {
             return ResponseEntity.status(401).build();
         }
@@ -43,8 +50,9 @@ public class SongRequestAnalyticsController {
             return ResponseEntity.status(403).build();
         }
 
-        List<SongRequestDTO> allSongRequests = songRequestService.getAllSongRequests();
-        return ResponseEntity.ok(allSongRequests);
+        List<SongRequestDTO> songRequests = songRequestService.getRecentSongRequests(
+                Math.max(0, page), Math.max(1, Math.min(size, 200)));
+        return ResponseEntity.ok(songRequests);
     }
 
     /**
@@ -64,12 +72,7 @@ public class SongRequestAnalyticsController {
             return ResponseEntity.status(403).build();
         }
 
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalSongRequests", songRequestService.getTotalSongRequestCount());
-        
-        List<SongRequestDTO> allRequests = songRequestService.getAllSongRequests();
-        stats.put("allRequests", allRequests);
-        
+        Map<String, Object> stats = responseCache.get("song-requests:stats", songRequestService::getStats);
         return ResponseEntity.ok(stats);
     }
 } 
\ No newline at end of file
@@ -11,8 +11,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.wildcastradio.SongRequest.DTO.SongQueueDTO;
+import com.wildcastradio.SongRequest.DTO.SongQueueEntryDTO;
 import com.wildcastradio.SongRequest.DTO.SongRequestDTO;
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserService;
@@ -31,7 +34,7 @@ public class SongRequestController {
 
     @PostMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<SongRequestDTO> createSongRequest(
+    public ResponseEntity<SongQueueEntryDTO> createSongRequest(
             @PathVariable Long broadcastId,
             @RequestBody SongRequestCreateRequest request,
             Authentication authentication) {
@@ -41,14 +44,18 @@ public class SongRequestController {
         UserEntity requestedBy = userService.getUserByEmail(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        SongRequestEntity songRequest = songRequestService.createSongRequest(
+        if (request.getSongTitle() == null || request.getSongTitle().trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        SongQueueEntryDTO entry = songRequestService.createSongRequest(
                 broadcastId,
                 requestedBy,
                 request.getSongTitle(),
                 request.getArtist()
         );
         
-        return ResponseEntity.ok(SongRequestDTO.fromEntity(songRequest));
+        return ResponseEntity.ok(entry);
     }
 
     @GetMapping
@@ -58,6 +65,30 @@ public class SongRequestController {
         return ResponseEntity.ok(songRequests);
     }
 
+    /**
+     * Live request queue: one entry per song with its requester count, most requested first,
+     * and the broadcast's total request count
+     */
+    @GetMapping("/queue")
+    @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
+    public ResponseEntity<SongQueueDTO> getSongRequestQueue(
+            @PathVariable Long broadcastId,
+            @RequestParam(defaultValue = "50") int limit) {
+        SongQueueDTO queue = songRequestService.getSongRequestQueue(broadcastId, Math.max(1, Math.min(limit, 100)));
+        return ResponseEntity.ok(queue);
+    }
+
+    /**
+     * Remove a song (all its requests) from the queue; the key comes from the queue entry
+     */
+    @DeleteMapping("/queue")
+    @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
+    public ResponseEntity<Void> dismissQueuedSong(@PathVariable Long broadcastId, @RequestParam String key) {
+        return songRequestService.dismissQueuedSong(broadcastId, key)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @DeleteMapping("/{requestId}")
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<Void> deleteSongRequest(
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import com.wildcastradio.Broadcast.BroadcastEntity;
 import com.wildcastradio.User.UserEntity;
+import com.wildcastradio.util.SongKeys;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -13,6 +14,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
@@ -20,7 +23,8 @@ import jakarta.persistence.Table;
     @Index(name = "idx_song_request_broadcast", columnList = "broadcast_id"),
     @Index(name = "idx_song_request_user", columnList = "requested_by_id"),
     @Index(name = "idx_song_request_timestamp", columnList = "timestamp"),
-    @Index(name = "idx_song_request_broadcast_timestamp", columnList = "broadcast_id, timestamp")
+    @Index(name = "idx_song_request_broadcast_timestamp", columnList = "broadcast_id, timestamp"),
+    @Index(name = "idx_song_request_song_key", columnList = "song_key")
 })
 public class SongRequestEntity {
 
@@ -34,6 +38,10 @@ public class SongRequestEntity {
     @Column
     private String artist;
 
+    // Normalized "title|artist" used to group requests for the same song (see SongKeys)
+    @Column(name = "song_key", length = SongKeys.MAX_LENGTH)
+    private String songKey;
+
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
@@ -57,6 +65,12 @@ public class SongRequestEntity {
         this.timestamp = LocalDateTime.now();
     }
 
+    @PrePersist
+    @PreUpdate
+    void updateSongKey() {
+        this.songKey = SongKeys.of(songTitle, artist);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -82,6 +96,10 @@ public class SongRequestEntity {
         this.artist = artist;
     }
 
+    public String getSongKey() {
+        return songKey;
+    }
+
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
@@ -0,0 +1,620 @@
+package com.wildcastradio.SongRequest;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wildcastradio.SongRequest.DTO.SongQueueDTO;
+import com.wildcastradio.SongRequest.DTO.SongQueueEntryDTO;
+import com.wildcastradio.User.DTO.UserDTO;
+import com.wildcastradio.User.UserEntity;
+import com.wildcastradio.User.UserRepository;
+import com.wildcastradio.util.JdbcBatches;
+import com.wildcastradio.util.SongKeys;
+
+/**
+ * Per-broadcast live song request queue on this node.
+ *
+ * Requests for the same song (same normalized key, see SongKeys) merge into one entry that counts
+ * distinct requesters; a listener asking for a song they already requested changes nothing.
+ * Entries are kept ranked by count, then by latest request, and the queue is bounded: the lowest
+ * ranked entry drops out when it grows past max-entries (its requests stay stored and counted, and
+ * a new request for it brings it back with its stored requesters). Changed and removed entries are pushed
+ * as one SONG_QUEUE_DELTA per broadcast per publish interval, together with the broadcast's total
+ * request count. Accepted requests are written to song_requests in batches; a row that keeps
+ * failing is dropped after a few attempts and its requester taken off the entry.
+ *
+ * A queue is built from the broadcast's stored requests on first use and rebuilt every
+ * reconcile interval, which also picks up requests taken by other nodes.
+ */
+@Component
+public class SongRequestQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(SongRequestQueue.class);
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO song_requests (song_title, artist, song_key, timestamp, requested_by_id, broadcast_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String LOAD_SQL =
+            "SELECT song_key, mode() WITHIN GROUP (ORDER BY song_title) AS title, " +
+            "  mode() WITHIN GROUP (ORDER BY artist) AS artist, " +
+            "  array_agg(DISTINCT requested_by_id) AS requesters, MIN(timestamp) AS first_at, MAX(timestamp) AS last_at, " +
+            "  (array_agg(requested_by_id ORDER BY timestamp DESC))[1] AS latest_requester " +
+            "FROM song_requests WHERE broadcast_id = ? AND song_key <> '' GROUP BY song_key";
+
+    private static final String STORED_SQL =
+            "SELECT requested_by_id, timestamp FROM song_requests WHERE broadcast_id = ? AND song_key = ?";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM song_requests WHERE broadcast_id = ? AND song_key = ? RETURNING requested_by_id";
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingInt((Entry e) -> e.requesters.size()).reversed()
+            .thenComparing((Entry e) -> e.lastAt, Comparator.reverseOrder())
+            .thenComparing(e -> e.key);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int maxEntries;
+    private final int batchSize;
+    private final long idleEvictMs;
+
+    private final ConcurrentHashMap<Long, BroadcastQueue> queues = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingRequest> pending = new ConcurrentLinkedQueue<>();
+    private final Object flushLock = new Object();
+
+    public SongRequestQueue(JdbcTemplate jdbcTemplate,
+                            UserRepository userRepository,
+                            SimpMessagingTemplate messagingTemplate,
+                            @Value("${song-requests.queue.max-entries:100}") int maxEntries,
+                            @Value("${song-requests.queue.batch-size:500}") int batchSize,
+                            @Value("${song-requests.queue.idle-evict-ms:1800000}") long idleEvictMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.batchSize = Math.max(1, batchSize);
+        this.idleEvictMs = idleEvictMs;
+    }
+
+    /**
+     * Add a request to the broadcast's queue. Returns the merged entry and whether the request
+     * was new (false when this listener already requested the song).
+     */
+    public Added add(Long broadcastId, UserEntity user, String title, String artist) {
+        String key = SongKeys.of(title, artist);
+        if (key == null) {
+            throw new RuntimeException("Song title is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BroadcastQueue queue = queue(broadcastId);
+        boolean evicted;
+        synchronized (queue) {
+            evicted = queue.evicted.contains(key);
+        }
+        if (evicted) {
+            // Rare: under flushLock so none of the song's requests is between pending and stored
+            synchronized (flushLock) {
+                return add(queue, user, title, artist, key, now, true);
+            }
+        }
+        return add(queue, user, title, artist, key, now, false);
+    }
+
+    private Added add(BroadcastQueue queue, UserEntity user, String title, String artist, String key,
+                      LocalDateTime now, boolean holdsFlushLock) {
+        SongQueueEntryDTO entry;
+        synchronized (queue) {
+            Entry existing = queue.byKey.get(key);
+            if (existing == null && holdsFlushLock && queue.evicted.contains(key)) {
+                existing = stored(queue, key, title, artist);
+                if (existing != null && !existing.requesters.contains(user.getId())) {
+                    queue.evicted.remove(key);
+                    queue.byKey.put(key, existing);
+                }
+            }
+            if (existing != null && existing.requesters.contains(user.getId())) {
+                return new Added(toDTO(queue, existing), false);
+            }
+            entry = toDTO(queue, apply(queue, key, title, artist, user.getId(), UserDTO.fromEntity(user), now));
+            // Under the queue's lock, so a rebuild either sees this request or runs before it
+            pending.add(new PendingRequest(queue.broadcastId, user.getId(), title, artist, key, now));
+        }
+        return new Added(entry, true);
+    }
+
+    /**
+     * Whether the broadcast's queue is held on this node.
+     */
+    public boolean isLoaded(Long broadcastId) {
+        return queues.containsKey(broadcastId);
+    }
+
+    /**
+     * The broadcast's queue, best ranked first, with its total request count.
+     */
+    public SongQueueDTO snapshot(Long broadcastId, int limit) {
+        BroadcastQueue queue = queue(broadcastId);
+        List<SongQueueEntryDTO> result = new ArrayList<>();
+        synchronized (queue) {
+            for (Entry entry : queue.ranked) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(toDTO(queue, entry));
+            }
+            return new SongQueueDTO(result, queue.totalRequests);
+        }
+    }
+
+    /**
+     * Remove a song from the queue and delete its requests, also when it has dropped out of
+     * the bounded queue.
+     * @return false if the song was neither queued nor stored
+     */
+    public boolean dismiss(Long broadcastId, String key) {
+        BroadcastQueue queue = queue(broadcastId);
+        boolean held;
+        synchronized (queue) {
+            Entry entry = queue.byKey.remove(key);
+            held = entry != null;
+            queue.evicted.remove(key);
+            if (held) {
+                queue.ranked.remove(entry);
+                queue.changed.remove(key);
+                queue.removed.add(key);
+                queue.totalRequests -= entry.requesters.size();
+                queue.totalChanged = true;
+            }
+        }
+        synchronized (flushLock) {
+            flushPending();
+            List<Long> deleted = jdbcTemplate.queryForList(DELETE_SQL, Long.class, broadcastId, key);
+            if (!held && !deleted.isEmpty()) {
+                // Evicted songs are still counted in the total
+                synchronized (queue) {
+                    queue.totalRequests -= new HashSet<>(deleted).size();
+                    queue.totalChanged = true;
+                }
+            }
+            return held || !deleted.isEmpty();
+        }
+    }
+
+    /**
+     * Rebuild the broadcast's queue from the database, e.g. after a single request was deleted.
+     */
+    public void refresh(Long broadcastId) {
+        BroadcastQueue queue = queues.get(broadcastId);
+        if (queue == null) {
+            return;
+        }
+        synchronized (flushLock) {
+            flushPending();
+            rebuild(queue);
+        }
+    }
+
+    /**
+     * Write pending requests and drop the queue, e.g. when the broadcast ends.
+     */
+    public void close(Long broadcastId) {
+        synchronized (flushLock) {
+            flushPending();
+            queues.remove(broadcastId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${song-requests.queue.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushLock) {
+            flushPending();
+        }
+    }
+
+    /**
+     * Push changed and removed entries of every queue.
+     */
+    @Scheduled(fixedDelayString = "${song-requests.queue.publish-interval-ms:500}")
+    public void publish() {
+        for (BroadcastQueue queue : queues.values()) {
+            List<SongQueueEntryDTO> upserts = new ArrayList<>();
+            List<String> removed;
+            long totalRequests;
+            synchronized (queue) {
+                if (queue.changed.isEmpty() && queue.removed.isEmpty() && !queue.totalChanged) {
+                    continue;
+                }
+                for (String key : queue.changed) {
+                    Entry entry = queue.byKey.get(key);
+                    if (entry != null) {
+                        upserts.add(toDTO(queue, entry));
+                    }
+                }
+                removed = new ArrayList<>(queue.removed);
+                totalRequests = queue.totalRequests;
+                queue.changed.clear();
+                queue.removed.clear();
+                queue.totalChanged = false;
+            }
+            Map<String, Object> delta = new HashMap<>();
+            delta.put("type", "SONG_QUEUE_DELTA");
+            delta.put("broadcastId", queue.broadcastId);
+            delta.put("upserts", upserts);
+            delta.put("removed", removed);
+            delta.put("totalRequests", totalRequests);
+            try {
+                messagingTemplate.convertAndSend("/topic/broadcast/" + queue.broadcastId + "/song-requests", delta);
+            } catch (Exception e) {
+                logger.warn("Failed to publish song request queue for broadcast {}: {}", queue.broadcastId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rebuild queues from the database so requests taken on other nodes show up, and drop
+     * queues nobody has touched for a while.
+     */
+    @Scheduled(fixedDelayString = "${song-requests.queue.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        if (queues.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            flushPending();
+            long idleCutoff = System.currentTimeMillis() - idleEvictMs;
+            for (BroadcastQueue queue : new ArrayList<>(queues.values())) {
+                if (queue.lastAccessMs < idleCutoff) {
+                    queues.remove(queue.broadcastId);
+                    continue;
+                }
+                try {
+                    rebuild(queue);
+                } catch (Exception e) {
+                    logger.warn("Failed to reconcile song request queue for broadcast {}: {}", queue.broadcastId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private BroadcastQueue queue(Long broadcastId) {
+        BroadcastQueue queue = queues.get(broadcastId);
+        if (queue == null) {
+            BroadcastQueue loaded = new BroadcastQueue(broadcastId);
+            loadStored(loaded);
+            synchronized (loaded) {
+                applyPending(loaded);
+            }
+            queue = queues.putIfAbsent(broadcastId, loaded);
+            if (queue == null) {
+                queue = loaded;
+            }
+        }
+        queue.lastAccessMs = System.currentTimeMillis();
+        return queue;
+    }
+
+    // Caller holds flushLock and has flushed, so the database has every request taken before now
+    private void rebuild(BroadcastQueue queue) {
+        BroadcastQueue fresh = new BroadcastQueue(queue.broadcastId);
+        loadStored(fresh);
+        // Requests are queued under this lock too, so none can slip in between reading the
+        // pending rows and swapping in the rebuilt entries
+        synchronized (queue) {
+            applyPending(fresh);
+            for (String key : queue.byKey.keySet()) {
+                if (!fresh.byKey.containsKey(key)) {
+                    queue.removed.add(key);
+                }
+            }
+            for (Entry entry : fresh.byKey.values()) {
+                Entry old = queue.byKey.get(entry.key);
+                if (old == null || old.requesters.size() != entry.requesters.size() || !old.lastAt.equals(entry.lastAt)) {
+                    queue.changed.add(entry.key);
+                    queue.removed.remove(entry.key);
+                }
+            }
+            queue.changed.retainAll(fresh.byKey.keySet());
+            queue.byKey.clear();
+            queue.byKey.putAll(fresh.byKey);
+            queue.ranked.clear();
+            queue.ranked.addAll(fresh.ranked);
+            queue.evicted.clear();
+            queue.evicted.addAll(fresh.evicted);
+            if (queue.totalRequests != fresh.totalRequests) {
+                queue.totalRequests = fresh.totalRequests;
+                queue.totalChanged = true;
+            }
+        }
+    }
+
+    // Stored requests only; see applyPending
+    private void loadStored(BroadcastQueue queue) {
+        List<Entry> entries = new ArrayList<>();
+        Map<Entry, Long> latest = new HashMap<>();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            Entry entry = new Entry(rs.getString("song_key"), rs.getString("title"), rs.getString("artist"),
+                    rs.getTimestamp("first_at").toLocalDateTime());
+            entry.lastAt = rs.getTimestamp("last_at").toLocalDateTime();
+            entry.requesters.addAll(ids(rs.getArray("requesters")));
+            entries.add(entry);
+            latest.put(entry, rs.getLong("latest_requester"));
+        }, queue.broadcastId);
+
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.requesters.size();
+        }
+        entries.sort(RANKING);
+        List<Entry> kept = entries.subList(0, Math.min(entries.size(), maxEntries));
+        Map<Long, UserDTO> users = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+        for (Entry entry : kept) {
+            userIds.add(latest.get(entry));
+        }
+        for (UserEntity user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), UserDTO.fromEntity(user));
+        }
+        synchronized (queue) {
+            for (Entry entry : kept) {
+                entry.latestRequester = users.get(latest.get(entry));
+                queue.byKey.put(entry.key, entry);
+                queue.ranked.add(entry);
+            }
+            for (Entry entry : entries.subList(kept.size(), entries.size())) {
+                queue.evicted.add(entry.key);
+            }
+            queue.totalRequests = total;
+        }
+    }
+
+    // Requests accepted here but not written yet; caller holds the queue's lock
+    private void applyPending(BroadcastQueue queue) {
+        for (PendingRequest request : pending) {
+            if (request.broadcastId.equals(queue.broadcastId)) {
+                Entry entry = queue.byKey.get(request.key);
+                if (entry == null || !entry.requesters.contains(request.userId)) {
+                    UserDTO requester = entry != null ? entry.latestRequester : null;
+                    apply(queue, request.key, request.title, request.artist, request.userId, requester, request.timestamp);
+                }
+            }
+        }
+    }
+
+    /**
+     * An evicted song rebuilt from its stored and pending requests, which are already in the
+     * total, or null if it has none. Caller holds flushLock and the queue's lock.
+     */
+    private Entry stored(BroadcastQueue queue, String key, String title, String artist) {
+        Set<Long> requesters = new HashSet<>();
+        List<LocalDateTime> times = new ArrayList<>();
+        jdbcTemplate.query(STORED_SQL, rs -> {
+            requesters.add(rs.getLong("requested_by_id"));
+            times.add(rs.getTimestamp("timestamp").toLocalDateTime());
+        }, queue.broadcastId, key);
+        for (PendingRequest request : pending) {
+            if (request.broadcastId.equals(queue.broadcastId) && request.key.equals(key)) {
+                requesters.add(request.userId);
+                times.add(request.timestamp);
+            }
+        }
+        if (requesters.isEmpty()) {
+            return null;
+        }
+        Entry entry = new Entry(key, title, artist, times.stream().min(Comparator.naturalOrder()).get());
+        entry.lastAt = times.stream().max(Comparator.naturalOrder()).get();
+        entry.requesters.addAll(requesters);
+        return entry;
+    }
+
+    // Caller holds the queue's lock
+    private Entry apply(BroadcastQueue queue, String key, String title, String artist, Long userId,
+                        UserDTO requester, LocalDateTime at) {
+        Entry entry = queue.byKey.get(key);
+        if (entry == null) {
+            entry = new Entry(key, title, artist, at);
+            queue.byKey.put(key, entry);
+        } else {
+            queue.ranked.remove(entry);
+        }
+        entry.requesters.add(userId);
+        if (requester != null) {
+            entry.latestRequester = requester;
+        }
+        if (entry.lastAt == null || at.isAfter(entry.lastAt)) {
+            entry.lastAt = at;
+        }
+        queue.ranked.add(entry);
+        queue.changed.add(key);
+        queue.removed.remove(key);
+        queue.totalRequests++;
+        queue.totalChanged = true;
+        while (queue.ranked.size() > maxEntries) {
+            Entry dropped = queue.ranked.pollLast();
+            queue.byKey.remove(dropped.key);
+            queue.changed.remove(dropped.key);
+            queue.removed.add(dropped.key);
+            queue.evicted.add(dropped.key);
+        }
+        return entry;
+    }
+
+    private void flushPending() {
+        List<PendingRequest> retry = new ArrayList<>();
+        List<PendingRequest> batch = new ArrayList<>(batchSize);
+        PendingRequest request;
+        while ((request = pending.poll()) != null) {
+            batch.add(request);
+            if (batch.size() == batchSize) {
+                write(batch, retry);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, retry);
+        }
+        // Re-queued after draining so a failing row is tried once per flush
+        pending.addAll(retry);
+    }
+
+    private void write(List<PendingRequest> batch, List<PendingRequest> retry) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (PendingRequest request : batch) {
+            args.add(new Object[]{request.title, request.artist, request.key, Timestamp.valueOf(request.timestamp),
+                    request.userId, request.broadcastId});
+        }
+        JdbcBatches.insert(jdbcTemplate, INSERT_SQL, args, "song requests", (i, error) -> {
+            PendingRequest request = batch.get(i);
+            if (++request.attempts < MAX_WRITE_ATTEMPTS) {
+                logger.warn("Failed to store song request of user {} in broadcast {}, will retry: {}",
+                        request.userId, request.broadcastId, error.getMessage());
+                retry.add(request);
+            } else {
+                logger.warn("Dropping song request of user {} in broadcast {} after {} attempts: {}",
+                        request.userId, request.broadcastId, request.attempts, error.getMessage());
+                dropped(request);
+            }
+        });
+    }
+
+    /**
+     * The request could not be stored; take its requester off the entry so the queue matches
+     * the database, and let the listener request the song again.
+     */
+    private void dropped(PendingRequest request) {
+        BroadcastQueue queue = queues.get(request.broadcastId);
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            // Counted when it was queued, even if its song has since dropped out of the queue
+            queue.totalRequests--;
+            queue.totalChanged = true;
+            Entry entry = queue.byKey.get(request.key);
+            if (entry == null || !entry.requesters.contains(request.userId)) {
+                return;
+            }
+            queue.ranked.remove(entry);
+            entry.requesters.remove(request.userId);
+            if (entry.requesters.isEmpty()) {
+                queue.byKey.remove(entry.key);
+                queue.changed.remove(entry.key);
+                queue.removed.add(entry.key);
+            } else {
+                queue.ranked.add(entry);
+                queue.changed.add(entry.key);
+            }
+        }
+    }
+
+    private static List<Long> ids(Array array) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        if (array != null) {
+            for (Object id : (Object[]) array.getArray()) {
+                if (id != null) {
+                    ids.add(((Number) id).longValue());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static SongQueueEntryDTO toDTO(BroadcastQueue queue, Entry entry) {
+        return new SongQueueEntryDTO(entry.key, entry.title, entry.artist, entry.requesters.size(),
+                entry.firstAt, entry.lastAt, entry.latestRequester, queue.broadcastId);
+    }
+
+    /**
+     * Result of {@link #add}: the merged entry, and false for a repeat request by the same listener.
+     */
+    public static final class Added {
+        private final SongQueueEntryDTO entry;
+        private final boolean accepted;
+
+        Added(SongQueueEntryDTO entry, boolean accepted) {
+            this.entry = entry;
+            this.accepted = accepted;
+        }
+
+        public SongQueueEntryDTO getEntry() { return entry; }
+        public boolean isAccepted() { return accepted; }
+    }
+
+    private static final class BroadcastQueue {
+        final Long broadcastId;
+        final Map<String, Entry> byKey = new HashMap<>();
+        final TreeSet<Entry> ranked = new TreeSet<>(RANKING);
+        final Set<String> changed = new HashSet<>();
+        final Set<String> removed = new HashSet<>();
+        // Songs dropped out of the bounded queue that may still have stored requests
+        final Set<String> evicted = new HashSet<>();
+        long totalRequests;
+        boolean totalChanged;
+        volatile long lastAccessMs;
+
+        BroadcastQueue(Long broadcastId) {
+            this.broadcastId = broadcastId;
+        }
+    }
+
+    // Ranking fields change only while the entry is out of the ranked set
+    private static final class Entry {
+        final String key;
+        final String title;
+        final String artist;
+        final LocalDateTime firstAt;
+        final Set<Long> requesters = new HashSet<>();
+        LocalDateTime lastAt;
+        UserDTO latestRequester;
+
+        Entry(String key, String title, String artist, LocalDateTime firstAt) {
+            this.key = key;
+            this.title = title;
+            this.artist = artist;
+            this.firstAt = firstAt;
+            this.lastAt = firstAt;
+        }
+    }
+
+    private static final class PendingRequest {
+        final Long broadcastId;
+        final Long userId;
+        final String title;
+        final String artist;
+        final String key;
+        final LocalDateTime timestamp;
+        int attempts;
+
+        PendingRequest(Long broadcastId, Long userId, String title, String artist, String key, LocalDateTime timestamp) {
+            this.broadcastId = broadcastId;
+            this.userId = userId;
+            this.title = title;
+            this.artist = artist;
+            this.key = key;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.wildcastradio.SongRequest;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +17,10 @@ public interface SongRequestRepository extends JpaRepository<SongRequestEntity,
     List<SongRequestEntity> findByBroadcastOrderByTimestampDesc(BroadcastEntity broadcast);
     List<SongRequestEntity> findByRequestedBy(UserEntity requestedBy);
     long countByBroadcast(BroadcastEntity broadcast);
+
+    // Newest requests first, one page at a time
+    @Query("SELECT s FROM SongRequestEntity s JOIN FETCH s.requestedBy JOIN FETCH s.broadcast ORDER BY s.timestamp DESC, s.id DESC")
+    List<SongRequestEntity> findLatest(Pageable pageable);
     
     // Bulk count: Count all song requests for broadcasts created by a specific DJ
     @Query("SELECT COUNT(s) FROM SongRequestEntity s WHERE s.broadcast.createdBy.id = :userId")
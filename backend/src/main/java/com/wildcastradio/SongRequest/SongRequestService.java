@@ -1,50 +1,90 @@
 package com.wildcastradio.SongRequest;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.security.access.AccessDeniedException;
 
 import com.wildcastradio.Broadcast.BroadcastEntity;
+import com.wildcastradio.Broadcast.BroadcastPopularityService;
 import com.wildcastradio.Broadcast.BroadcastRepository;
+import com.wildcastradio.SongRequest.DTO.SongQueueDTO;
+import com.wildcastradio.SongRequest.DTO.SongQueueEntryDTO;
 import com.wildcastradio.SongRequest.DTO.SongRequestDTO;
 import com.wildcastradio.User.UserEntity;
 
 @Service
 public class SongRequestService {
+    private static final Logger logger = LoggerFactory.getLogger(SongRequestService.class);
+
+    private static final int TOP_SONGS_LIMIT = 10;
+    private static final int TRENDING_DAYS = 7;
+    private static final int SONG_KEY_BACKFILL_BATCH = 1000;
 
     private final SongRequestRepository songRequestRepository;
+    private final SongRequestStatsRepository statsRepository;
+    private final SongRequestQueue songRequestQueue;
     private final BroadcastRepository broadcastRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastPopularityService broadcastPopularityService;
 
     public SongRequestService(
             SongRequestRepository songRequestRepository,
+            SongRequestStatsRepository statsRepository,
+            SongRequestQueue songRequestQueue,
             BroadcastRepository broadcastRepository,
-            SimpMessagingTemplate messagingTemplate) {
+            SimpMessagingTemplate messagingTemplate,
+            BroadcastPopularityService broadcastPopularityService) {
         this.songRequestRepository = songRequestRepository;
+        this.statsRepository = statsRepository;
+        this.songRequestQueue = songRequestQueue;
         this.broadcastRepository = broadcastRepository;
         this.messagingTemplate = messagingTemplate;
+        this.broadcastPopularityService = broadcastPopularityService;
     }
 
-    public SongRequestEntity createSongRequest(Long broadcastId, UserEntity requestedBy, String songTitle, String artist) {
-        BroadcastEntity broadcast = broadcastRepository.findById(broadcastId)
-                .orElseThrow(() -> new RuntimeException("Broadcast not found"));
-
-        SongRequestEntity songRequest = new SongRequestEntity(songTitle, artist, requestedBy, broadcast);
-        SongRequestEntity savedRequest = songRequestRepository.save(songRequest);
+    /**
+     * Add a request to the broadcast's live queue. Duplicates of a queued song merge into its
+     * entry; the row is written and clients are updated asynchronously (see SongRequestQueue).
+     */
+    public SongQueueEntryDTO createSongRequest(Long broadcastId, UserEntity requestedBy, String songTitle, String artist) {
+        if (!songRequestQueue.isLoaded(broadcastId) && !broadcastRepository.existsById(broadcastId)) {
+            throw new RuntimeException("Broadcast not found");
+        }
 
-        // Create DTO for the song request
-        SongRequestDTO requestDTO = SongRequestDTO.fromEntity(savedRequest);
+        SongRequestQueue.Added added = songRequestQueue.add(broadcastId, requestedBy, songTitle, artist);
+        if (added.isAccepted()) {
+            broadcastPopularityService.recordInteraction(broadcastId);
+        }
+        return added.getEntry();
+    }
 
-        // Notify all clients about the new song request
-        broadcastSongRequestUpdate(broadcastId, requestDTO);
+    /**
+     * The broadcast's request queue, most requested first, with the total request count
+     */
+    public SongQueueDTO getSongRequestQueue(Long broadcastId, int limit) {
+        if (!songRequestQueue.isLoaded(broadcastId) && !broadcastRepository.existsById(broadcastId)) {
+            throw new RuntimeException("Broadcast not found");
+        }
+        return songRequestQueue.snapshot(broadcastId, limit);
+    }
 
-        return savedRequest;
+    /**
+     * Remove a song from the broadcast's queue along with all its requests
+     */
+    public boolean dismissQueuedSong(Long broadcastId, String key) {
+        return songRequestQueue.dismiss(broadcastId, key);
     }
 
     public List<SongRequestDTO> getSongRequestsForBroadcast(Long broadcastId) {
@@ -63,8 +103,11 @@ public class SongRequestService {
         return songRequestRepository.countByBroadcast(broadcast);
     }
 
-    public List<SongRequestDTO> getAllSongRequests() {
-        return songRequestRepository.findAll().stream()
+    /**
+     * One page of all song requests, newest first
+     */
+    public List<SongRequestDTO> getRecentSongRequests(int page, int size) {
+        return songRequestRepository.findLatest(PageRequest.of(page, size)).stream()
                 .map(SongRequestDTO::fromEntity)
                 .collect(Collectors.toList());
     }
@@ -73,32 +116,38 @@ public class SongRequestService {
         return songRequestRepository.count();
     }
 
+    /**
+     * Totals and the most requested songs (overall and over the last week), grouped by
+     * normalized song key in SQL
+     */
     public Map<String, Object> getStats() {
-        // Return a statistics object with total counts
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalRequests", getTotalSongRequestCount());
-        stats.put("mostRequestedSongs", getMostRequestedSongs());
+        Map<String, Object> stats = new HashMap<>(statsRepository.totals());
+        long totalBroadcasts = broadcastRepository.count();
+        long totalRequests = (Long) stats.get("totalRequests");
+        stats.put("averageRequestsPerBroadcast", totalBroadcasts > 0 ? (double) totalRequests / totalBroadcasts : 0.0);
+        stats.put("mostRequestedSongs", statsRepository.topSongs(LocalDateTime.of(1970, 1, 1, 0, 0), TOP_SONGS_LIMIT));
+        stats.put("trendingSongs", statsRepository.topSongs(LocalDateTime.now().minusDays(TRENDING_DAYS), TOP_SONGS_LIMIT));
         return stats;
     }
 
-    private List<Map<String, Object>> getMostRequestedSongs() {
-        // This is a simplified implementation - you might want to implement a more sophisticated query
-        // that groups by song title and artist to get actual count statistics
-        List<Map<String, Object>> result = new ArrayList<>();
-
-        List<SongRequestEntity> songs = songRequestRepository.findAll().stream()
-            .limit(5)  // Just return up to 5 songs for now
-            .collect(Collectors.toList());
-
-        for (SongRequestEntity song : songs) {
-            Map<String, Object> songData = new HashMap<>();
-            songData.put("title", song.getSongTitle());
-            songData.put("artist", song.getArtist());
-            songData.put("count", 1);
-            result.add(songData);
-        }
-
-        return result;
+    /**
+     * Give requests stored before song keys existed their key, in batches, off the startup thread
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSongKeys() {
+        CompletableFuture.runAsync(() -> {
+            int total = 0;
+            int updated;
+            while ((updated = statsRepository.backfillSongKeys(SONG_KEY_BACKFILL_BATCH)) > 0) {
+                total += updated;
+            }
+            if (total > 0) {
+                logger.info("Backfilled song keys for {} song requests", total);
+            }
+        }).exceptionally(e -> {
+            logger.warn("Song key backfill failed: {}", e.getMessage());
+            return null;
+        });
     }
 
     public double getAverageRequestsPerBroadcast() {
@@ -129,6 +178,7 @@ public class SongRequestService {
 
         // Delete the song request
         songRequestRepository.delete(songRequest);
+        songRequestQueue.refresh(broadcastId);
 
         // Create a deletion notification
         Map<String, Object> deletionNotification = new HashMap<>();
@@ -154,6 +204,7 @@ public class SongRequestService {
     }
 
     public void broadcastSongRequestsCleared(Long broadcastId) {
+        songRequestQueue.close(broadcastId);
         Map<String, Object> payload = new HashMap<>();
         payload.put("type", "SONG_REQUESTS_CLEARED");
         payload.put("broadcastId", broadcastId);
@@ -0,0 +1,87 @@
+package com.wildcastradio.SongRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.wildcastradio.util.SongKeys;
+
+/**
+ * Song request statistics computed in SQL over the normalized song_key, so totals and the most
+ * requested songs do not load the request history. Each song is shown with its most common
+ * spelling.
+ */
+@Repository
+public class SongRequestStatsRepository {
+
+    private static final String TOTALS_SQL =
+            "SELECT COUNT(*) AS total, COUNT(DISTINCT NULLIF(song_key, '')) AS songs, " +
+            "COUNT(DISTINCT requested_by_id) AS requesters FROM song_requests";
+
+    private static final String TOP_SONGS_SQL =
+            "SELECT mode() WITHIN GROUP (ORDER BY song_title) AS title, " +
+            "  mode() WITHIN GROUP (ORDER BY artist) AS artist, " +
+            "  COUNT(*) AS requests, COUNT(DISTINCT requested_by_id) AS requesters, MAX(timestamp) AS last_requested " +
+            "FROM song_requests WHERE song_key <> '' AND timestamp >= ? " +
+            "GROUP BY song_key ORDER BY requests DESC, last_requested DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SongRequestStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * totalRequests, uniqueSongs and uniqueRequesters over all requests.
+     */
+    public Map<String, Object> totals() {
+        return jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> {
+            Map<String, Object> totals = new HashMap<>();
+            totals.put("totalRequests", rs.getLong("total"));
+            totals.put("uniqueSongs", rs.getLong("songs"));
+            totals.put("uniqueRequesters", rs.getLong("requesters"));
+            return totals;
+        });
+    }
+
+    /**
+     * Most requested songs since the given time, most requests first (ties: most recent first).
+     */
+    public List<Map<String, Object>> topSongs(LocalDateTime since, int limit) {
+        return jdbcTemplate.query(TOP_SONGS_SQL, (rs, rowNum) -> {
+            Map<String, Object> song = new HashMap<>();
+            song.put("title", rs.getString("title"));
+            song.put("artist", rs.getString("artist"));
+            song.put("count", rs.getLong("requests"));
+            song.put("requesters", rs.getLong("requesters"));
+            Timestamp last = rs.getTimestamp("last_requested");
+            song.put("lastRequested", last != null ? last.toLocalDateTime() : null);
+            return song;
+        }, Timestamp.valueOf(since), limit);
+    }
+
+    /**
+     * Fill song_key for up to {@code batchSize} rows stored before keys existed.
+     * @return Number of rows updated; 0 once every row has a key
+     */
+    public int backfillSongKeys(int batchSize) {
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, song_title, artist FROM song_requests WHERE song_key IS NULL LIMIT ?",
+                rs -> {
+                    // Blank titles have no key; mark them so they are not selected again
+                    String key = SongKeys.of(rs.getString("song_title"), rs.getString("artist"));
+                    updates.add(new Object[]{key != null ? key : "", rs.getLong("id")});
+                }, batchSize);
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("UPDATE song_requests SET song_key = ? WHERE id = ?", updates);
+        return updates.size();
+    }
+}
@@ -57,6 +57,23 @@ public class UserDTO {
         );
     }
     
+    /**
+     * Name and role only, for showing who did something to users who may not see the
+     * account's email, gender or moderation state
+     */
+    public static UserDTO publicProfileOf(UserEntity user) {
+        if (user == null) {
+            return null;
+        }
+
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setFirstname(user.getFirstname());
+        dto.setLastname(user.getLastname());
+        dto.setRole(user.getRole().toString());
+        return dto;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,65 @@
+package com.wildcastradio.User.DTO;
+
+import com.wildcastradio.User.UserEntity;
+
+/**
+ * Minimal user entry for the admin user table's search-as-you-type suggestions.
+ */
+public class UserSuggestionDTO {
+    private Long id;
+    private String firstname;
+    private String lastname;
+    private String email;
+    private String role;
+
+    public UserSuggestionDTO() {
+    }
+
+    public UserSuggestionDTO(Long id, String firstname, String lastname, String email, UserEntity.UserRole role) {
+        this.id = id;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.email = email;
+        this.role = role != null ? role.name() : null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public void setFirstname(String firstname) {
+        this.firstname = firstname;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public void setLastname(String lastname) {
+        this.lastname = lastname;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+}
@@ -40,6 +40,7 @@ import com.wildcastradio.User.DTO.LoginRequest;
 import com.wildcastradio.User.DTO.LoginResponse;
 import com.wildcastradio.User.DTO.RegisterRequest;
 import com.wildcastradio.User.DTO.UserDTO;
+import com.wildcastradio.User.DTO.UserSuggestionDTO;
 import com.wildcastradio.config.JwtUtil;
 import com.wildcastradio.ratelimit.IpUtils;
 import com.wildcastradio.ratelimit.LoginAttemptLimiter;
@@ -610,6 +611,14 @@ public class UserController {
         return ResponseEntity.ok(dtoPage);
     }
 
+    @GetMapping("/suggest")
+    @PreAuthorize("hasAnyRole('ADMIN','MODERATOR')")
+    public ResponseEntity<List<UserSuggestionDTO>> suggestUsers(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.suggestUsers(prefix, limit));
+    }
+
     @GetMapping("/by-role/{role}")
     @PreAuthorize("hasAnyRole('DJ','ADMIN','MODERATOR')")
     public ResponseEntity<List<UserDTO>> getUsersByRole(@PathVariable UserEntity.UserRole role) {
@@ -23,13 +23,35 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     // Analytics count methods
     long countByRole(UserEntity.UserRole role);
 
-    // Search users by name or email
-    @Query("SELECT u FROM UserEntity u WHERE LOWER(u.firstname) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.lastname) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<UserEntity> searchUsers(@Param("query") String query, Pageable pageable);
-
-    // Search users by name or email and filter by role
-    @Query("SELECT u FROM UserEntity u WHERE (LOWER(u.firstname) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.lastname) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))) AND u.role = :role")
-    Page<UserEntity> searchUsersByRole(@Param("query") String query, @Param("role") UserEntity.UserRole role, Pageable pageable);
+    // Substring search on first name, last name or email, optionally by role (paginated).
+    // Served by the pg_trgm GIN indexes; the pattern comes from SearchPatterns.contains
+    @Query(value = "SELECT * FROM users u " +
+                   "WHERE (u.firstname ILIKE :pattern OR u.lastname ILIKE :pattern OR u.email ILIKE :pattern) " +
+                   "AND (CAST(:role AS varchar) IS NULL OR u.role = CAST(:role AS varchar)) " +
+                   "ORDER BY u.id",
+           countQuery = "SELECT COUNT(*) FROM users u " +
+                        "WHERE (u.firstname ILIKE :pattern OR u.lastname ILIKE :pattern OR u.email ILIKE :pattern) " +
+                        "AND (CAST(:role AS varchar) IS NULL OR u.role = CAST(:role AS varchar))",
+           nativeQuery = true)
+    Page<UserEntity> searchUsers(@Param("pattern") String pattern, @Param("role") String role, Pageable pageable);
+
+    // Prefix search on first name, last name or email, optionally by role (paginated), for queries
+    // too short for trigrams. Served by the lower(...) text_pattern_ops indexes; pattern from SearchPatterns.prefix
+    @Query(value = "SELECT * FROM users u " +
+                   "WHERE (LOWER(u.firstname) LIKE :prefix OR LOWER(u.lastname) LIKE :prefix OR LOWER(u.email) LIKE :prefix) " +
+                   "AND (CAST(:role AS varchar) IS NULL OR u.role = CAST(:role AS varchar)) " +
+                   "ORDER BY u.id",
+           countQuery = "SELECT COUNT(*) FROM users u " +
+                        "WHERE (LOWER(u.firstname) LIKE :prefix OR LOWER(u.lastname) LIKE :prefix OR LOWER(u.email) LIKE :prefix) " +
+                        "AND (CAST(:role AS varchar) IS NULL OR u.role = CAST(:role AS varchar))",
+           nativeQuery = true)
+    Page<UserEntity> searchUsersByPrefix(@Param("prefix") String prefix, @Param("role") String role, Pageable pageable);
+
+    // Typeahead: name or email prefix matches as lightweight projections
+    @Query("SELECT new com.wildcastradio.User.DTO.UserSuggestionDTO(u.id, u.firstname, u.lastname, u.email, u.role) " +
+           "FROM UserEntity u WHERE LOWER(u.firstname) LIKE :prefix OR LOWER(u.lastname) LIKE :prefix OR LOWER(u.email) LIKE :prefix " +
+           "ORDER BY LOWER(u.email)")
+    List<com.wildcastradio.User.DTO.UserSuggestionDTO> suggestByPrefix(@Param("prefix") String prefix, Pageable pageable);
 
     // Find all users by role (paginated)
     Page<UserEntity> findByRole(UserEntity.UserRole role, Pageable pageable);
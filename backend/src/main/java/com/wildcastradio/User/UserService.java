@@ -12,6 +12,7 @@ import java.util.Random;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -28,7 +29,10 @@ import com.wildcastradio.User.DTO.LoginRequest;
 import com.wildcastradio.User.DTO.LoginResponse;
 import com.wildcastradio.User.DTO.RegisterRequest;
 import com.wildcastradio.User.DTO.UserDTO;
+import com.wildcastradio.User.DTO.UserSuggestionDTO;
+import com.wildcastradio.config.AuthenticatedPrincipalCache;
 import com.wildcastradio.config.JwtUtil;
+import com.wildcastradio.util.SearchPatterns;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -39,13 +43,16 @@ public class UserService implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final ActivityLogService activityLogService;
+    private final AuthenticatedPrincipalCache principalCache;
     private final Random random = new Random();
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, ActivityLogService activityLogService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+                       ActivityLogService activityLogService, AuthenticatedPrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.activityLogService = activityLogService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -212,6 +219,7 @@ public class UserService implements UserDetailsService {
                 user.setVerified(true);
                 user.setVerificationCode(null);
                 userRepository.save(user);
+                principalCache.invalidateUser(user.getEmail());
 
                 // Log the activity
                 activityLogService.logActivity(
@@ -264,7 +272,9 @@ public class UserService implements UserDetailsService {
         // Don't update email here for security reasons
         // Don't update password here for security reasons
 
-        return userRepository.save(user);
+        UserEntity updatedUser = userRepository.save(user);
+        principalCache.invalidateUser(updatedUser.getEmail());
+        return updatedUser;
     }
 
     public UserEntity updateUserRole(Long userId, UserEntity.UserRole newRole) {
@@ -273,6 +283,7 @@ public class UserService implements UserDetailsService {
         UserEntity.UserRole oldRole = user.getRole();
         user.setRole(newRole);
         UserEntity updatedUser = userRepository.save(user);
+        principalCache.invalidateUser(updatedUser.getEmail());
 
         activityLogService.logActivity(
             updatedUser,
@@ -310,6 +321,7 @@ public class UserService implements UserDetailsService {
 
         target.setRole(newRole);
         UserEntity updatedUser = userRepository.save(target);
+        principalCache.invalidateUser(updatedUser.getEmail());
 
         activityLogService.logActivity(
             updatedUser,
@@ -375,6 +387,7 @@ public class UserService implements UserDetailsService {
         target.setBannedUntil(until);
         target.setBanReason(request.getReason());
         UserEntity updated = userRepository.save(target);
+        principalCache.invalidateUser(updated.getEmail());
         activityLogService.logActivity(
             actor,
             ActivityLogEntity.ActivityType.PROFILE_UPDATE,
@@ -403,6 +416,7 @@ public class UserService implements UserDetailsService {
         target.setBannedUntil(null);
         target.setBanReason(null);
         UserEntity updated = userRepository.save(target);
+        principalCache.invalidateUser(updated.getEmail());
         activityLogService.logActivity(
             actor,
             ActivityLogEntity.ActivityType.PROFILE_UPDATE,
@@ -502,11 +516,12 @@ public class UserService implements UserDetailsService {
         }
 
         if (query != null && !query.trim().isEmpty()) {
-            if (role != null) {
-                return userRepository.searchUsersByRole(query.trim().toLowerCase(), role, pageable);
-            } else {
-                return userRepository.searchUsers(query.trim().toLowerCase(), pageable);
+            String roleName = role != null ? role.name() : null;
+            // Trigram-indexed substring search; one- and two-character queries match by prefix
+            if (SearchPatterns.supportsSubstringSearch(query)) {
+                return userRepository.searchUsers(SearchPatterns.contains(query), roleName, pageable);
             }
+            return userRepository.searchUsersByPrefix(SearchPatterns.prefix(query), roleName, pageable);
         } else { // No search query
             if (role != null) {
                 return userRepository.findByRole(role, pageable);
@@ -516,6 +531,18 @@ public class UserService implements UserDetailsService {
         }
     }
 
+    /**
+     * Typeahead suggestions for the admin user table: users whose first name, last name or
+     * email starts with the given prefix (index-only prefix scans, capped at 20 results).
+     */
+    public List<UserSuggestionDTO> suggestUsers(String prefix, int limit) {
+        String pattern = SearchPatterns.prefix(prefix);
+        if (pattern == null) {
+            return List.of();
+        }
+        return userRepository.suggestByPrefix(pattern, PageRequest.of(0, Math.max(1, Math.min(limit, 20))));
+    }
+
     public List<UserEntity> findUsersByRole(UserEntity.UserRole role) {
         return userRepository.findByRole(role);
     }
@@ -544,6 +571,7 @@ public class UserService implements UserDetailsService {
         // Update with the new password
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.invalidateUser(user.getEmail());
 
         return true;
     }
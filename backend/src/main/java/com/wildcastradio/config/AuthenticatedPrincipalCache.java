@@ -0,0 +1,140 @@
+package com.wildcastradio.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Cache of verified JWTs and the principal they resolve to.
+ *
+ * Entries are keyed by a SHA-256 hash of the token (raw tokens are never kept) and live
+ * until the earlier of the token's own expiry and a short max TTL, so role or ban changes
+ * made on another node are picked up within that window. Changes made through
+ * {@code UserService} on this node invalidate the user's entries immediately.
+ * A cache hit skips both the HMAC verification and the user lookup.
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticatedPrincipalCache.class);
+
+    private final JwtUtil jwtUtil;
+    private final long maxTtlMs;
+    private final int maxEntries;
+    private final Map<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+
+    public AuthenticatedPrincipalCache(JwtUtil jwtUtil,
+                                       @Value("${jwt.principal-cache.max-ttl-ms:60000}") long maxTtlMs,
+                                       @Value("${jwt.principal-cache.max-entries:20000}") int maxEntries) {
+        this.jwtUtil = jwtUtil;
+        this.maxTtlMs = Math.max(0, maxTtlMs);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Resolve the principal for a token, verifying it and loading the user only on a miss.
+     *
+     * @param token raw JWT
+     * @param loader loads user details by username (typically {@code UserService::loadUserByUsername})
+     * @return the principal, or null if the token is invalid/expired or the user cannot be loaded
+     */
+    public UserDetails resolve(String token, Function<String, UserDetails> loader) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMs > now) {
+                return cached.userDetails;
+            }
+            entries.remove(key, cached);
+        }
+
+        Claims claims = jwtUtil.parseVerifiedClaims(token);
+        if (claims == null || claims.getSubject() == null) {
+            return null;
+        }
+        UserDetails userDetails;
+        try {
+            userDetails = loader.apply(claims.getSubject());
+        } catch (Exception e) {
+            logger.debug("Could not load principal for token subject: {}", e.getMessage());
+            return null;
+        }
+        if (userDetails == null || !claims.getSubject().equals(userDetails.getUsername())) {
+            return null;
+        }
+
+        Date exp = claims.getExpiration();
+        long expiresAt = Math.min(exp.getTime(), now + maxTtlMs);
+        if (expiresAt > now) {
+            if (entries.size() >= maxEntries) {
+                evictExpired();
+            }
+            if (entries.size() < maxEntries) {
+                entries.put(key, new CachedPrincipal(userDetails, expiresAt));
+            }
+        }
+        return userDetails;
+    }
+
+    /**
+     * Drop every cached token for the given user (role change, ban, password change...).
+     */
+    public void invalidateUser(String username) {
+        if (username == null) {
+            return;
+        }
+        entries.values().removeIf(p -> username.equalsIgnoreCase(p.userDetails.getUsername()));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(p -> p.expiresAtMs <= now);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every JVM
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedPrincipal {
+        private final UserDetails userDetails;
+        private final long expiresAtMs;
+
+        private CachedPrincipal(UserDetails userDetails, long expiresAtMs) {
+            this.userDetails = userDetails;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
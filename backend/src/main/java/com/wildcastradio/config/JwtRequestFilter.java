@@ -22,12 +22,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtRequestFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtRequestFilter.class);
     private final UserService userService;
-    private final JwtUtil jwtUtil;
+    private final AuthenticatedPrincipalCache principalCache;
 
     @Autowired
-    public JwtRequestFilter(@Lazy UserService userService, JwtUtil jwtUtil) {
+    public JwtRequestFilter(@Lazy UserService userService, AuthenticatedPrincipalCache principalCache) {
         this.userService = userService;
-        this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -43,7 +43,6 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         
-        String username = null;
         String jwt = null;
 
         // Extract JWT token from HttpOnly cookie instead of Authorization header
@@ -65,28 +64,17 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             }
         }
 
-        // Extract username from JWT token if found
-        if (jwt != null) {
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (io.jsonwebtoken.ExpiredJwtException e) {
-                // Expired tokens are expected during OAuth login transitions
-                // Silently ignore - don't log as error to reduce noise
-                logger.debug("Expired JWT token detected (expected during auth transitions): {}", e.getMessage());
-            } catch (Exception e) {
-                // Only log non-expired token errors
-                logger.debug("Invalid JWT token: {}", e.getMessage());
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        // Verify the token and resolve the principal; cached per token so repeat requests
+        // skip both the HMAC check and the user lookup
+        if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = principalCache.resolve(jwt, userService::loadUserByUsername);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else {
+                logger.debug("JWT token could not be verified (invalid, expired or unknown user)");
             }
         }
 
@@ -6,6 +6,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+import jakarta.annotation.PostConstruct;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Component;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -32,9 +35,40 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}")
     private long expiration;
 
+    // Built once: deriving the HMAC key and parser per call showed up on every authenticated request
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void initSigningKey() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
     private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    /**
+     * Verify the token signature and expiry with a single parse.
+     *
+     * @return the verified claims, or null if the token is invalid or expired
+     */
+    public Claims parseVerifiedClaims(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            Date exp = claims.getExpiration();
+            if (exp == null || exp.before(new Date())) {
+                return null;
+            }
+            return claims;
+        } catch (ExpiredJwtException e) {
+            logger.debug("Cannot verify expired token: {}", e.getMessage());
+            return null;
+        } catch (Exception e) {
+            logger.debug("Error verifying token: {}", e.getMessage());
+            return null;
+        }
     }
 
     public String extractUsername(String token) {
@@ -77,11 +111,7 @@ public class JwtUtil {
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             // Expired tokens are expected during OAuth login transitions
             // Log at debug level instead of error to reduce noise
@@ -105,14 +135,6 @@ public class JwtUtil {
         }
     }
 
-    private Boolean isTokenExpired(String token) {
-        Date expiration = extractExpiration(token);
-        if (expiration == null) {
-            return true; // Consider token expired if we can't extract expiration
-        }
-        return expiration.before(new Date());
-    }
-
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, userDetails.getUsername());
@@ -139,12 +161,12 @@ public class JwtUtil {
 
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            if (username == null) {
-                logger.error("Username extracted from token is null");
+            final Claims claims = parseVerifiedClaims(token);
+            if (claims == null || claims.getSubject() == null) {
+                logger.debug("Token is invalid, expired or has no subject");
                 return false;
             }
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return claims.getSubject().equals(userDetails.getUsername());
         } catch (Exception e) {
             logger.error("Error validating token: {}", e.getMessage());
             return false;
@@ -16,6 +16,7 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -72,6 +73,17 @@ public class RedisConfig implements CachingConfigurer {
         return template;
     }
 
+    /**
+     * Listener container for Redis pub/sub channels used to keep node-local state in sync
+     * (e.g. the live broadcast registry).
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     @Bean
     public LockProvider lockProvider(RedisConnectionFactory connectionFactory) {
         // Essential: Prefix all locks with "wildcats:" to avoid collisions on shared
@@ -94,6 +106,8 @@ public class RedisConfig implements CachingConfigurer {
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultCacheConfig)
+                // Evicted on status transitions; the short TTL only covers time-based counts (upcoming)
+                .withCacheConfiguration("broadcastStats", defaultCacheConfig.entryTtl(Duration.ofMinutes(2)))
                 .build();
     }
 
@@ -0,0 +1,117 @@
+package com.wildcastradio.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the search indexes that Hibernate's ddl-auto cannot express:
+ * pg_trgm GIN indexes for substring search (ILIKE '%q%') on broadcast titles/descriptions and
+ * user names/emails, and lower(...) text_pattern_ops B-tree indexes for typeahead prefix search.
+ *
+ * Indexes are built CONCURRENTLY in the background so startup and writes are not blocked.
+ * Every statement is idempotent, and an index left INVALID by an interrupted build is dropped
+ * and rebuilt. If the pg_trgm extension cannot be created (insufficient privileges), searches
+ * still work, just without the trigram indexes.
+ */
+@Component
+public class SearchIndexInitializer implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    private static final String CREATE_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    // Index name -> CREATE statement
+    private static final Map<String, String> TRIGRAM_INDEXES = orderedMap(
+            "idx_broadcast_title_trgm", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_broadcast_title_trgm ON broadcasts USING gin (title gin_trgm_ops)",
+            "idx_broadcast_description_trgm", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_broadcast_description_trgm ON broadcasts USING gin (description gin_trgm_ops)",
+            "idx_user_firstname_trgm", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_firstname_trgm ON users USING gin (firstname gin_trgm_ops)",
+            "idx_user_lastname_trgm", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_lastname_trgm ON users USING gin (lastname gin_trgm_ops)",
+            "idx_user_email_trgm", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_email_trgm ON users USING gin (email gin_trgm_ops)");
+
+    private static final Map<String, String> PREFIX_INDEXES = orderedMap(
+            "idx_broadcast_title_prefix", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_broadcast_title_prefix ON broadcasts (lower(title) text_pattern_ops)",
+            "idx_user_firstname_prefix", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_firstname_prefix ON users (lower(firstname) text_pattern_ops)",
+            "idx_user_lastname_prefix", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_lastname_prefix ON users (lower(lastname) text_pattern_ops)",
+            "idx_user_email_prefix", "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_email_prefix ON users (lower(email) text_pattern_ops)");
+
+    // An interrupted concurrent build leaves an INVALID index that IF NOT EXISTS would skip.
+    // One still being built (by another node) is invalid too, but has a progress row.
+    private static final String INVALID_INDEX_SQL =
+            "SELECT COUNT(*) FROM pg_class c JOIN pg_index i ON i.indexrelid = c.oid " +
+            "WHERE c.relname = ? AND NOT i.indisvalid " +
+            "AND NOT EXISTS (SELECT 1 FROM pg_stat_progress_create_index p WHERE p.index_relid = c.oid)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SearchIndexInitializer(JdbcTemplate jdbcTemplate,
+                                  @Value("${search.indexes.create-on-startup:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        CompletableFuture.runAsync(this::createIndexes);
+    }
+
+    void createIndexes() {
+        boolean trigramAvailable = execute(CREATE_EXTENSION);
+        if (trigramAvailable) {
+            TRIGRAM_INDEXES.forEach(this::createIndex);
+        } else {
+            logger.warn("pg_trgm extension unavailable; substring search will not use trigram indexes");
+        }
+        PREFIX_INDEXES.forEach(this::createIndex);
+        logger.info("Search indexes verified");
+    }
+
+    private void createIndex(String name, String createSql) {
+        if (isInvalid(name)) {
+            logger.warn("Search index {} is invalid (interrupted build); rebuilding", name);
+            execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+        if (execute(createSql) && isInvalid(name)) {
+            logger.warn("Search index {} is still invalid after building; it will be rebuilt on the next startup", name);
+        }
+    }
+
+    private boolean isInvalid(String name) {
+        try {
+            Long invalid = jdbcTemplate.queryForObject(INVALID_INDEX_SQL, Long.class, name);
+            return invalid != null && invalid > 0;
+        } catch (Exception e) {
+            logger.warn("Could not check search index {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private static Map<String, String> orderedMap(String... namesAndStatements) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndStatements.length; i += 2) {
+            map.put(namesAndStatements[i], namesAndStatements[i + 1]);
+        }
+        return map;
+    }
+
+    private boolean execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+            return true;
+        } catch (Exception e) {
+            // e.g. another node building the same index, or missing privileges
+            logger.warn("Search index statement failed ({}): {}", sql, e.getMessage());
+            return false;
+        }
+    }
+}
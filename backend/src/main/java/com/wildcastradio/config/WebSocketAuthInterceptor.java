@@ -13,7 +13,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import com.wildcastradio.User.UserService;
-import io.jsonwebtoken.ExpiredJwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,7 +25,7 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
     private static final Logger logger = LoggerFactory.getLogger(WebSocketAuthInterceptor.class);
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private AuthenticatedPrincipalCache principalCache;
 
     @Autowired
     private UserService userService;
@@ -51,38 +50,23 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                 String token = authHeader.substring(7);
                 
                 try {
-                    // Extract username from JWT token
-                    String username = jwtUtil.extractUsername(token);
-                    
-                    if (username != null) {
-                        // Load user details
-                        UserDetails userDetails = userService.loadUserByUsername(username);
-                        
-                        // Validate token
-                        if (jwtUtil.validateToken(token, userDetails)) {
-                            // Create authentication token
-                            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                            
-                            // Set authentication in context
-                            SecurityContextHolder.getContext().setAuthentication(authentication);
-                            accessor.setUser(authentication);
-                        } else {
-                            // Token is invalid - allow anonymous connection (user can reconnect after getting new token)
-                            logger.debug("WebSocket: Invalid token for user {}, allowing anonymous connection", username);
-                            return message; // Allow connection but without authentication
-                        }
+                    // Verify token and resolve user (cached per token)
+                    UserDetails userDetails = principalCache.resolve(token, userService::loadUserByUsername);
+
+                    if (userDetails != null) {
+                        // Create authentication token
+                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+
+                        // Set authentication in context
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        accessor.setUser(authentication);
                     } else {
-                        // Could not extract username (likely expired token) - allow anonymous connection
-                        // This is expected during OAuth login transitions
-                        logger.debug("WebSocket: Could not extract username from token (likely expired), allowing anonymous connection");
+                        // Invalid or expired token (expected during OAuth login transitions) - allow anonymous
+                        // connection; the user can reconnect after getting a new token
+                        logger.debug("WebSocket: Invalid or expired token, allowing anonymous connection");
                         return message; // Allow connection but without authentication
                     }
-                } catch (ExpiredJwtException e) {
-                    // Expired tokens are expected during OAuth login transitions
-                    // Allow anonymous connection instead of blocking
-                    logger.debug("WebSocket: Expired token detected, allowing anonymous connection: {}", e.getMessage());
-                    return message; // Allow connection but without authentication
                 } catch (Exception e) {
                     // For other token errors, log but still allow anonymous connection
                     // This prevents blocking legitimate users during token refresh
@@ -27,6 +27,9 @@ public class WebSocketMessageConfig implements WebSocketMessageBrokerConfigurer
     @Autowired
     private com.wildcastradio.ratelimit.WebSocketRateLimitHandshakeInterceptor rateLimitHandshakeInterceptor;
 
+    @Autowired
+    private com.wildcastradio.ratelimit.StompMessageRateLimitInterceptor stompMessageRateLimitInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
@@ -44,7 +47,7 @@ public class WebSocketMessageConfig implements WebSocketMessageBrokerConfigurer
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(webSocketAuthInterceptor);
+        registration.interceptors(webSocketAuthInterceptor, stompMessageRateLimitInterceptor);
     }
 
     @Override
@@ -41,6 +41,9 @@ public class IcecastStreamHandler extends AbstractWebSocketHandler {
     private volatile boolean shouldStopLogging = false;
     // Prevent repeated warning spam when FFmpeg isn't running
     private volatile boolean dataWritesDisabled = false;
+    // Push health signals: last audio chunk piped into FFmpeg and last FFmpeg progress line (epoch ms)
+    private volatile long lastFrameAtMs = 0;
+    private volatile long lastEncoderProgressAtMs = 0;
     
     private final NetworkConfig networkConfig;
     private final IcecastService icecastService;
@@ -284,6 +287,11 @@ public class IcecastStreamHandler extends AbstractWebSocketHandler {
 
                             logger.info("FFmpeg: {}", line);
 
+                            // Periodic stats line ("size=... time=... bitrate=...") means the encoder is making progress
+                            if (line.contains("time=") && line.contains("bitrate=")) {
+                                lastEncoderProgressAtMs = System.currentTimeMillis();
+                            }
+
                             // Detect input audio quality from FFmpeg stream info
                             if (!lowQualityDetected[0] && line.contains("Audio:")) {
                                 try {
@@ -443,6 +451,9 @@ public class IcecastStreamHandler extends AbstractWebSocketHandler {
                     
                     if (connectionSuccessful[0] || ffmpeg.isAlive()) {
                         started = true;
+                        // Start the stall clocks from now
+                        lastFrameAtMs = System.currentTimeMillis();
+                        lastEncoderProgressAtMs = lastFrameAtMs;
                         logger.info("FFmpeg process started successfully for session: {} (attempt {})", session.getId(), attempts[0]);
 
                         // Notify service that broadcast started
@@ -492,12 +503,15 @@ public class IcecastStreamHandler extends AbstractWebSocketHandler {
                 if (outputStream != null) {
                     outputStream.write(message.getPayload().array());
                     outputStream.flush();
+                    lastFrameAtMs = System.currentTimeMillis();
                 } else {
                     logger.error("FFmpeg output stream is null");
                     session.close(new CloseStatus(1011, "FFmpeg output stream not available"));
                 }
             } catch (IOException e) {
                 logger.error("Error writing to FFmpeg process: {}", e.getMessage(), e);
+                eventPublisher.publishEvent(new StreamHealthSignalEvent(this,
+                        StreamHealthSignalEvent.Signal.PIPE_WRITE_FAILED, e.getMessage()));
                 try {
                     session.close(CloseStatus.SERVER_ERROR);
                 } catch (IOException closeEx) {
@@ -542,6 +556,10 @@ public class IcecastStreamHandler extends AbstractWebSocketHandler {
         
         // Publish event to trigger status update
         eventPublisher.publishEvent(new StreamStatusChangeEvent(this, false));
+        if (!CloseStatus.NORMAL.equalsCode(status) && !CloseStatus.GOING_AWAY.equalsCode(status)) {
+            eventPublisher.publishEvent(new StreamHealthSignalEvent(this,
+                    StreamHealthSignalEvent.Signal.SOURCE_LOST, "Closed with status " + status));
+        }
         
         // Stop the logging thread first
         if (loggingThread != null && loggingThread.isAlive()) {
@@ -587,6 +605,9 @@ public class IcecastStreamHandler extends AbstractWebSocketHandler {
         
         // Notify the Icecast service of the error
         icecastService.notifyBroadcastFailed(session.getId(), exception.getMessage());
+
+        eventPublisher.publishEvent(new StreamHealthSignalEvent(this,
+                StreamHealthSignalEvent.Signal.TRANSPORT_ERROR, exception.getMessage()));
         
         // Publish event to trigger status update
         eventPublisher.publishEvent(new StreamStatusChangeEvent(this, false));
@@ -604,6 +625,22 @@ public class IcecastStreamHandler extends AbstractWebSocketHandler {
         super.handleTransportError(session, exception);
     }
 
+    /** Whether a DJ source is currently attached to this node (FFmpeg running for /ws/live) */
+    public boolean isSourceAttached() {
+        Process process = ffmpeg;
+        return process != null && process.isAlive();
+    }
+
+    /** Epoch ms of the last audio chunk piped into FFmpeg, or 0 if none yet */
+    public long getLastFrameAtMs() {
+        return lastFrameAtMs;
+    }
+
+    /** Epoch ms of the last FFmpeg progress line, or 0 if none yet */
+    public long getLastEncoderProgressAtMs() {
+        return lastEncoderProgressAtMs;
+    }
+
     /** Utility: mask Icecast credentials in any string to avoid leaking secrets in logs */
     private String maskIcecastCredentials(String text) {
         if (text == null || text.isEmpty()) return text;
@@ -0,0 +1,37 @@
+package com.wildcastradio.icecast;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published the moment the live source pipeline reports a problem, so stream health
+ * can react without waiting for the next Icecast poll. Sources connecting and closing
+ * normally are reported through {@link StreamStatusChangeEvent} only.
+ */
+public class StreamHealthSignalEvent extends ApplicationEvent {
+
+    public enum Signal {
+        /** The /ws/live WebSocket closed abnormally (browser crash, network drop) */
+        SOURCE_LOST,
+        /** Writing a received audio chunk into FFmpeg's stdin failed (FFmpeg died or hung up) */
+        PIPE_WRITE_FAILED,
+        /** The /ws/live WebSocket reported a transport error */
+        TRANSPORT_ERROR
+    }
+
+    private final Signal signal;
+    private final String detail;
+
+    public StreamHealthSignalEvent(Object source, Signal signal, String detail) {
+        super(source);
+        this.signal = signal;
+        this.detail = detail;
+    }
+
+    public Signal getSignal() {
+        return signal;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,230 @@
+package com.wildcastradio.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cluster-wide token buckets stored in Redis, with a node-local near-cache.
+ *
+ * Each bucket lives in a Redis hash and is refilled atomically inside a Lua script using
+ * the Redis server clock, so every backend instance shares one limit per identifier.
+ * To keep Redis off the hot path, a node asks for a small lease of tokens at a time and
+ * spends it locally; Redis is only contacted again once the lease is used up. Only one
+ * lease request per identifier is in flight on a node: the first thread to find the lease
+ * empty fetches it, and threads arriving meanwhile wait on that same request instead of
+ * queueing behind a lock. Tokens left over when a lease expires are handed back to Redis
+ * with the next lease request; if the entry is evicted first, at most one lease
+ * ({@code ratelimit.distributed.max-lease-tokens}) per identifier and node is lost.
+ *
+ * When Redis is unreachable the limiter fails open to the node-local Bucket4j buckets
+ * (requests are never rejected because Redis is down) and retries Redis after a back-off.
+ */
+@Component
+public class DistributedRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(DistributedRateLimiter.class);
+
+    private static final String KEY_PREFIX = "wildcats:ratelimit:";
+    private static final long REFILL_PERIOD_MS = 60_000L;
+    private static final long LEASE_TTL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    // Longest a request waits on another thread's lease request before using the local bucket
+    private static final long LEASE_WAIT_MS = 1000L;
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    // Adds back returned tokens, then takes up to the requested count. Returns the tokens
+    // granted, or the tokens remaining when none were requested. Tokens refill continuously
+    // at capacity per refill period.
+    private static final DefaultRedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) " +
+            "local refillMs = tonumber(ARGV[2]) " +
+            "local requested = tonumber(ARGV[3]) " +
+            "local returned = tonumber(ARGV[4]) " +
+            "local t = redis.call('TIME') " +
+            "local now = t[1] * 1000 + math.floor(t[2] / 1000) " +
+            "local data = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(data[1]) " +
+            "local ts = tonumber(data[2]) " +
+            "if tokens == nil or ts == nil then tokens = capacity; ts = now end " +
+            "local elapsed = math.max(0, now - ts) " +
+            "tokens = math.min(capacity, tokens + returned + (elapsed * capacity / refillMs)) " +
+            "local granted = math.min(requested, math.floor(tokens)) " +
+            "tokens = tokens - granted " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now)) " +
+            "redis.call('PEXPIRE', KEYS[1], refillMs * 2) " +
+            "if requested == 0 then return math.floor(tokens) end " +
+            "return granted",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final RateLimitBucketStore bucketStore;
+
+    private volatile long redisRetryAtNanos;
+    private final LongAdder redisCalls = new LongAdder();
+    private final LongAdder redisFailures = new LongAdder();
+    private final LongAdder localFallbacks = new LongAdder();
+    private final LongAdder returnedTokens = new LongAdder();
+
+    public DistributedRateLimiter(StringRedisTemplate redisTemplate,
+                                  RateLimitProperties properties,
+                                  RateLimitBucketStore bucketStore) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.bucketStore = bucketStore;
+        this.redisRetryAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Try to take one token from the cluster-wide bucket, spending a local lease first.
+     */
+    public boolean tryConsume(RateLimitCategory category, String key, int capacityPerMinute, int leaseSize) {
+        RateLimitBucketStore.Entry entry = bucketStore.resolveEntry(category, key, capacityPerMinute);
+        if (!isRedisAvailable()) {
+            return consumeLocal(entry);
+        }
+        for (int attempt = 0; attempt < MAX_LEASE_ATTEMPTS; attempt++) {
+            if (entry.tryTakeLeased(System.nanoTime())) {
+                return true;
+            }
+            CompletableFuture<Long> pending = entry.pendingLease();
+            if (pending == null) {
+                CompletableFuture<Long> request = new CompletableFuture<>();
+                if (!entry.startLease(request)) {
+                    continue;
+                }
+                long granted = fetchLease(entry, category, key, capacityPerMinute, Math.max(1, leaseSize), request);
+                if (granted < 0) {
+                    return consumeLocal(entry);
+                }
+                // The requesting thread keeps the first granted token for itself
+                return granted > 0;
+            }
+            long granted = await(pending);
+            if (granted < 0) {
+                return consumeLocal(entry);
+            }
+            if (granted == 0) {
+                return false;
+            }
+            // Tokens were leased; loop to take one, or to request another lease if others were faster
+        }
+        // A very hot identifier kept draining fresh leases; take a single token directly
+        Long granted = execute(category, key, capacityPerMinute, 1, 0);
+        return granted == null ? consumeLocal(entry) : granted > 0;
+    }
+
+    /**
+     * Consume tokens directly in Redis without leasing. Used for login failures where the
+     * count must be exact across nodes.
+     */
+    public void consumeExact(RateLimitCategory category, String key, int capacityPerMinute) {
+        RateLimitBucketStore.Entry entry = bucketStore.resolveEntry(category, key, capacityPerMinute);
+        if (!isRedisAvailable() || execute(category, key, capacityPerMinute, 1, 0) == null) {
+            consumeLocal(entry);
+        }
+    }
+
+    /**
+     * Remaining cluster-wide tokens for the identifier, or the local bucket's count when
+     * Redis is unavailable.
+     */
+    public long availableTokens(RateLimitCategory category, String key, int capacityPerMinute) {
+        RateLimitBucketStore.Entry entry = bucketStore.resolveEntry(category, key, capacityPerMinute);
+        if (isRedisAvailable()) {
+            Long remaining = execute(category, key, capacityPerMinute, 0, 0);
+            if (remaining != null) {
+                return remaining;
+            }
+        }
+        localFallbacks.increment();
+        return entry.bucket().getAvailableTokens();
+    }
+
+    public boolean isEnabled() {
+        return properties.getDistributed().isEnabled();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("redisAvailable", isRedisAvailable());
+        stats.put("redisCalls", redisCalls.sum());
+        stats.put("redisFailures", redisFailures.sum());
+        stats.put("localFallbacks", localFallbacks.sum());
+        stats.put("returnedTokens", returnedTokens.sum());
+        return stats;
+    }
+
+    private boolean isRedisAvailable() {
+        return isEnabled() && System.nanoTime() - redisRetryAtNanos >= 0;
+    }
+
+    private boolean consumeLocal(RateLimitBucketStore.Entry entry) {
+        localFallbacks.increment();
+        return entry.bucket().tryConsume(1);
+    }
+
+    /**
+     * Request a new lease for the entry, handing back what is left of an expired one, and
+     * publish the result to threads waiting on the request.
+     * @return Tokens granted (one of them already spent by the caller), or -1 if Redis failed
+     */
+    private long fetchLease(RateLimitBucketStore.Entry entry, RateLimitCategory category, String key,
+                            int capacity, int leaseSize, CompletableFuture<Long> request) {
+        long granted = -1;
+        try {
+            long unused = entry.drainExpiredLease(System.nanoTime());
+            Long result = execute(category, key, capacity, leaseSize, unused);
+            if (result != null) {
+                granted = result;
+                returnedTokens.add(unused);
+                if (granted > 1) {
+                    entry.lease(granted - 1, System.nanoTime() + LEASE_TTL_NANOS);
+                }
+            }
+            return granted;
+        } finally {
+            entry.finishLease(request);
+            request.complete(granted);
+        }
+    }
+
+    private long await(CompletableFuture<Long> pending) {
+        try {
+            return pending.get(LEASE_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (ExecutionException | TimeoutException e) {
+            return -1;
+        }
+    }
+
+    private Long execute(RateLimitCategory category, String key, int capacity, long requested, long returned) {
+        redisCalls.increment();
+        try {
+            return redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                    Collections.singletonList(KEY_PREFIX + category.name() + ":" + key),
+                    String.valueOf(capacity), String.valueOf(REFILL_PERIOD_MS),
+                    String.valueOf(requested), String.valueOf(returned));
+        } catch (Exception e) {
+            redisFailures.increment();
+            long backoffMs = Math.max(1000L, properties.getDistributed().getRetryBackoffMs());
+            redisRetryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+            logger.warn("Redis rate limiting unavailable, falling back to local buckets for {} ms: {}",
+                    backoffMs, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,14 +1,7 @@
 package com.wildcastradio.ratelimit;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * Limits failed authentication attempts per username and per IP.
  *
@@ -16,27 +9,37 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Check isBlocked(username, ip) BEFORE attempting authentication; return 429 if true
  * - Call onFailure(username, ip) when authentication fails
  * - Do NOT reset on success; allow natural refill to enforce cool-down
+ *
+ * When distributed rate limiting is enabled, failures are counted in Redis so a lockout
+ * applies on every backend instance.
  */
 @Component
 public class LoginAttemptLimiter {
     private final RateLimitProperties properties;
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitBucketStore bucketStore;
+    private final DistributedRateLimiter distributedRateLimiter;
 
-    public LoginAttemptLimiter(RateLimitProperties properties) {
+    public LoginAttemptLimiter(RateLimitProperties properties,
+                               RateLimitBucketStore bucketStore,
+                               DistributedRateLimiter distributedRateLimiter) {
         this.properties = properties;
+        this.bucketStore = bucketStore;
+        this.distributedRateLimiter = distributedRateLimiter;
     }
 
     public boolean isBlocked(String username, String ip) {
         if (!properties.isEnabled()) return false;
-        boolean ipBlocked = getIpBucket(ip).getAvailableTokens() <= 0;
-        boolean userBlocked = getUserBucket(username).getAvailableTokens() <= 0;
+        boolean ipBlocked = availableTokens(RateLimitCategory.LOGIN_FAILURE_IP, normalize(ip), ipCapacity()) <= 0;
+        boolean userBlocked = availableTokens(RateLimitCategory.LOGIN_FAILURE_USER, normalize(username), userCapacity()) <= 0;
+        if (ipBlocked) bucketStore.recordRejection(RateLimitCategory.LOGIN_FAILURE_IP);
+        if (userBlocked) bucketStore.recordRejection(RateLimitCategory.LOGIN_FAILURE_USER);
         return ipBlocked || userBlocked;
     }
 
     public void onFailure(String username, String ip) {
         if (!properties.isEnabled()) return;
-        getIpBucket(ip).tryConsume(1);
-        getUserBucket(username).tryConsume(1);
+        consume(RateLimitCategory.LOGIN_FAILURE_IP, normalize(ip), ipCapacity());
+        consume(RateLimitCategory.LOGIN_FAILURE_USER, normalize(username), userCapacity());
     }
 
     public void onSuccess(String username, String ip) {
@@ -48,24 +51,30 @@ public class LoginAttemptLimiter {
         return 60L;
     }
 
-    private Bucket getIpBucket(String ip) {
-        int capacity = Math.max(1, properties.getAuth().getPerIpPerMinute());
-        String key = "auth:ip:" + normalize(ip);
-        return buckets.computeIfAbsent(key, k -> buildPerMinuteBucket(capacity));
+    private long availableTokens(RateLimitCategory category, String key, int capacity) {
+        if (distributedRateLimiter.isEnabled()) {
+            return distributedRateLimiter.availableTokens(category, key, capacity);
+        }
+        return bucketStore.resolve(category, key, capacity).getAvailableTokens();
     }
 
-    private Bucket getUserBucket(String username) {
-        int capacity = Math.max(1, properties.getAuth().getPerUsernamePerMinute());
-        String key = "auth:user:" + normalize(username);
-        return buckets.computeIfAbsent(key, k -> buildPerMinuteBucket(capacity));
+    private void consume(RateLimitCategory category, String key, int capacity) {
+        if (distributedRateLimiter.isEnabled()) {
+            distributedRateLimiter.consumeExact(category, key, capacity);
+        } else {
+            bucketStore.resolve(category, key, capacity).tryConsume(1);
+        }
     }
 
-    private String normalize(String s) {
-        return s == null ? "" : s.trim().toLowerCase();
+    private int ipCapacity() {
+        return Math.max(1, properties.getAuth().getPerIpPerMinute());
     }
 
-    private Bucket buildPerMinuteBucket(int capacity) {
-        Bandwidth limit = Bandwidth.classic(capacity, Refill.greedy(capacity, Duration.ofMinutes(1)));
-        return Bucket.builder().addLimit(limit).build();
+    private int userCapacity() {
+        return Math.max(1, properties.getAuth().getPerUsernamePerMinute());
+    }
+
+    private String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
     }
 }
@@ -0,0 +1,238 @@
+package com.wildcastradio.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, idle-expiring store for Bucket4j buckets.
+ *
+ * Buckets are kept in one segment per {@link RateLimitCategory}, keyed by the raw
+ * identifier, so the hot path does a single map lookup without building a key string.
+ * A bucket that has been idle longer than its refill window is indistinguishable from a
+ * fresh one, so idle entries are dropped by a periodic sweep. Each segment is also capped;
+ * when a burst of new identifiers overflows it, the least recently used entries are evicted.
+ * This store is node-local on purpose and is not guarded by ShedLock.
+ */
+@Component
+public class RateLimitBucketStore {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitBucketStore.class);
+
+    private final RateLimitProperties properties;
+    private final Map<RateLimitCategory, Segment> segments = new EnumMap<>(RateLimitCategory.class);
+
+    public RateLimitBucketStore(RateLimitProperties properties) {
+        this.properties = properties;
+        for (RateLimitCategory category : RateLimitCategory.values()) {
+            segments.put(category, new Segment());
+        }
+    }
+
+    /**
+     * Resolve the bucket for the given identifier, creating a per-minute bucket with the
+     * given capacity when none exists. Lookups of existing buckets do not allocate.
+     */
+    public Bucket resolve(RateLimitCategory category, String key, int capacityPerMinute) {
+        return resolveEntry(category, key, capacityPerMinute).bucket;
+    }
+
+    /**
+     * Resolve the store entry, which carries the local bucket plus the near-cache lease
+     * used by {@link DistributedRateLimiter}.
+     */
+    Entry resolveEntry(RateLimitCategory category, String key, int capacityPerMinute) {
+        Segment segment = segments.get(category);
+        long now = System.nanoTime();
+        Entry entry = segment.entries.get(key);
+        if (entry == null) {
+            entry = segment.entries.computeIfAbsent(key, k -> new Entry(buildPerMinuteBucket(capacityPerMinute), now));
+            if (segment.entries.size() > maxEntries()) {
+                evictOverflow(category, segment);
+            }
+        }
+        entry.lastAccessNanos = now;
+        return entry;
+    }
+
+    /**
+     * Record a rejected request for the category (exposed through {@link #getStats()}).
+     */
+    public void recordRejection(RateLimitCategory category) {
+        segments.get(category).rejections.increment();
+    }
+
+    public int size(RateLimitCategory category) {
+        return segments.get(category).entries.size();
+    }
+
+    /**
+     * Periodically drop buckets that have been idle longer than the configured expiry.
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.store.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - idleExpiryNanos();
+        int removed = 0;
+        for (Segment segment : segments.values()) {
+            removed += removeIdle(segment, cutoff);
+        }
+        if (removed > 0) {
+            logger.debug("Evicted {} idle rate-limit buckets", removed);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Map.Entry<RateLimitCategory, Segment> e : segments.entrySet()) {
+            Segment segment = e.getValue();
+            Map<String, Object> categoryStats = new LinkedHashMap<>();
+            categoryStats.put("size", segment.entries.size());
+            categoryStats.put("rejections", segment.rejections.sum());
+            categoryStats.put("evictions", segment.evictions.sum());
+            stats.put(e.getKey().name(), categoryStats);
+        }
+        stats.put("maxEntriesPerCategory", maxEntries());
+        stats.put("idleExpirySeconds", properties.getStore().getIdleExpirySeconds());
+        return stats;
+    }
+
+    private void evictOverflow(RateLimitCategory category, Segment segment) {
+        // Only one thread trims a segment at a time; others keep serving from the map
+        if (!segment.trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            removeIdle(segment, System.nanoTime() - idleExpiryNanos());
+            int max = maxEntries();
+            if (segment.entries.size() <= max) {
+                return;
+            }
+            // Trim to 90% of the cap so a steady stream of new keys doesn't trigger a sort per insert
+            int target = Math.max(1, (int) (max * 0.9));
+            List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(segment.entries.entrySet());
+            snapshot.sort((a, b) -> Long.compare(a.getValue().lastAccessNanos, b.getValue().lastAccessNanos));
+            int toRemove = segment.entries.size() - target;
+            int removed = 0;
+            for (int i = 0; i < snapshot.size() && removed < toRemove; i++) {
+                Map.Entry<String, Entry> candidate = snapshot.get(i);
+                if (segment.entries.remove(candidate.getKey(), candidate.getValue())) {
+                    removed++;
+                }
+            }
+            segment.evictions.add(removed);
+            logger.warn("Rate-limit bucket store for {} exceeded {} entries; evicted {} least recently used",
+                    category, max, removed);
+        } finally {
+            segment.trimming.set(false);
+        }
+    }
+
+    private int removeIdle(Segment segment, long cutoffNanos) {
+        int removed = 0;
+        for (Map.Entry<String, Entry> e : segment.entries.entrySet()) {
+            // Compare as a difference so System.nanoTime() wrap-around is handled
+            if (e.getValue().lastAccessNanos - cutoffNanos < 0
+                    && segment.entries.remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        segment.evictions.add(removed);
+        return removed;
+    }
+
+    private int maxEntries() {
+        return Math.max(1, properties.getStore().getMaxEntriesPerCategory());
+    }
+
+    private long idleExpiryNanos() {
+        return TimeUnit.SECONDS.toNanos(Math.max(60, properties.getStore().getIdleExpirySeconds()));
+    }
+
+    private Bucket buildPerMinuteBucket(int capacity) {
+        Bandwidth limit = Bandwidth.builder().capacity(capacity).refillGreedy(capacity, Duration.ofMinutes(1)).build();
+        return Bucket.builder().addLimit(limit).build();
+    }
+
+    private static final class Segment {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final AtomicBoolean trimming = new AtomicBoolean(false);
+    }
+
+    static final class Entry {
+        private final Bucket bucket;
+        private volatile long lastAccessNanos;
+        // Tokens granted by Redis in advance and not yet spent on this node
+        private final AtomicLong leasedTokens = new AtomicLong();
+        private volatile long leaseExpiresAtNanos;
+        // Lease request currently in flight for this identifier, if any
+        private final AtomicReference<CompletableFuture<Long>> pendingLease = new AtomicReference<>();
+
+        private Entry(Bucket bucket, long lastAccessNanos) {
+            this.bucket = bucket;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+
+        Bucket bucket() {
+            return bucket;
+        }
+
+        boolean tryTakeLeased(long now) {
+            if (leaseExpiresAtNanos - now < 0) {
+                return false;
+            }
+            long current;
+            do {
+                current = leasedTokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!leasedTokens.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        void lease(long tokens, long expiresAtNanos) {
+            leasedTokens.set(Math.max(0, tokens));
+            leaseExpiresAtNanos = expiresAtNanos;
+        }
+
+        /**
+         * Take the tokens left in an expired lease so they can be returned to Redis.
+         */
+        long drainExpiredLease(long now) {
+            if (leaseExpiresAtNanos - now >= 0) {
+                return 0;
+            }
+            return Math.max(0, leasedTokens.getAndSet(0));
+        }
+
+        CompletableFuture<Long> pendingLease() {
+            return pendingLease.get();
+        }
+
+        boolean startLease(CompletableFuture<Long> request) {
+            return pendingLease.compareAndSet(null, request);
+        }
+
+        void finishLease(CompletableFuture<Long> request) {
+            pendingLease.compareAndSet(request, null);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.wildcastradio.ratelimit;
+
+/**
+ * Categories of rate-limit buckets.
+ *
+ * Each category gets its own segment in {@link RateLimitBucketStore}, so bucket keys
+ * are the raw identifier (IP or normalized username) and never need a prefix.
+ */
+public enum RateLimitCategory {
+    API,
+    AUTH_IP,
+    AUTH_USER,
+    WS_HANDSHAKE,
+    LOGIN_FAILURE_IP,
+    LOGIN_FAILURE_USER
+}
@@ -27,14 +27,51 @@ public class RateLimitProperties {
 
     public static class WebSocketLimits {
         private int handshakePerIpPerMinute = 20;
+        private int chatPerMinute = 30;
+        private int pollVotePerMinute = 20;
+        private int songRequestPerMinute = 10;
+        private int listenerStatusPerMinute = 60;
 
         public int getHandshakePerIpPerMinute() { return handshakePerIpPerMinute; }
         public void setHandshakePerIpPerMinute(int handshakePerIpPerMinute) { this.handshakePerIpPerMinute = handshakePerIpPerMinute; }
+        public int getChatPerMinute() { return chatPerMinute; }
+        public void setChatPerMinute(int chatPerMinute) { this.chatPerMinute = chatPerMinute; }
+        public int getPollVotePerMinute() { return pollVotePerMinute; }
+        public void setPollVotePerMinute(int pollVotePerMinute) { this.pollVotePerMinute = pollVotePerMinute; }
+        public int getSongRequestPerMinute() { return songRequestPerMinute; }
+        public void setSongRequestPerMinute(int songRequestPerMinute) { this.songRequestPerMinute = songRequestPerMinute; }
+        public int getListenerStatusPerMinute() { return listenerStatusPerMinute; }
+        public void setListenerStatusPerMinute(int listenerStatusPerMinute) { this.listenerStatusPerMinute = listenerStatusPerMinute; }
+    }
+
+    public static class StoreLimits {
+        private int maxEntriesPerCategory = 100000;
+        private long idleExpirySeconds = 600;
+
+        public int getMaxEntriesPerCategory() { return maxEntriesPerCategory; }
+        public void setMaxEntriesPerCategory(int maxEntriesPerCategory) { this.maxEntriesPerCategory = maxEntriesPerCategory; }
+        public long getIdleExpirySeconds() { return idleExpirySeconds; }
+        public void setIdleExpirySeconds(long idleExpirySeconds) { this.idleExpirySeconds = idleExpirySeconds; }
+    }
+
+    public static class DistributedLimits {
+        private boolean enabled = false;
+        private int maxLeaseTokens = 10;
+        private long retryBackoffMs = 30000;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getMaxLeaseTokens() { return maxLeaseTokens; }
+        public void setMaxLeaseTokens(int maxLeaseTokens) { this.maxLeaseTokens = maxLeaseTokens; }
+        public long getRetryBackoffMs() { return retryBackoffMs; }
+        public void setRetryBackoffMs(long retryBackoffMs) { this.retryBackoffMs = retryBackoffMs; }
     }
 
     private AuthLimits auth = new AuthLimits();
     private ApiLimits api = new ApiLimits();
     private WebSocketLimits ws = new WebSocketLimits();
+    private StoreLimits store = new StoreLimits();
+    private DistributedLimits distributed = new DistributedLimits();
     private boolean useXForwardedFor = true;
 
     public boolean isEnabled() { return enabled; }
@@ -49,6 +86,12 @@ public class RateLimitProperties {
     public WebSocketLimits getWs() { return ws; }
     public void setWs(WebSocketLimits ws) { this.ws = ws; }
 
+    public StoreLimits getStore() { return store; }
+    public void setStore(StoreLimits store) { this.store = store; }
+
+    public DistributedLimits getDistributed() { return distributed; }
+    public void setDistributed(DistributedLimits distributed) { this.distributed = distributed; }
+
     public boolean isUseXForwardedFor() { return useXForwardedFor; }
     public void setUseXForwardedFor(boolean useXForwardedFor) { this.useXForwardedFor = useXForwardedFor; }
 }
@@ -0,0 +1,38 @@
+package com.wildcastradio.ratelimit;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admin-only view of rate-limit bucket store sizes, rejection counters and
+ * dropped STOMP frames.
+ */
+@RestController
+@RequestMapping("/api/ratelimit")
+public class RateLimitStatsController {
+    private final RateLimiterService rateLimiterService;
+    private final StompMessageRateLimitInterceptor stompMessageRateLimitInterceptor;
+
+    public RateLimitStatsController(RateLimiterService rateLimiterService,
+                                    StompMessageRateLimitInterceptor stompMessageRateLimitInterceptor) {
+        this.rateLimiterService = rateLimiterService;
+        this.stompMessageRateLimitInterceptor = stompMessageRateLimitInterceptor;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", rateLimiterService.isEnabled());
+        response.put("buckets", rateLimiterService.getStats());
+        response.put("stomp", stompMessageRateLimitInterceptor.getStats());
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,22 +1,23 @@
 package com.wildcastradio.ratelimit;
 
-import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.BucketConfiguration;
-import io.github.bucket4j.Refill;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class RateLimiterService {
     private final RateLimitProperties properties;
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitBucketStore bucketStore;
+    private final DistributedRateLimiter distributedRateLimiter;
 
-    public RateLimiterService(RateLimitProperties properties) {
+    public RateLimiterService(RateLimitProperties properties,
+                              RateLimitBucketStore bucketStore,
+                              DistributedRateLimiter distributedRateLimiter) {
         this.properties = properties;
+        this.bucketStore = bucketStore;
+        this.distributedRateLimiter = distributedRateLimiter;
     }
 
     public boolean isEnabled() {
@@ -24,28 +25,81 @@ public class RateLimiterService {
     }
 
     public Bucket resolveApiBucketForIp(String ip) {
-        int capacity = Math.max(1, properties.getApi().getPerIpPerMinute());
-        return buckets.computeIfAbsent("api:" + ip, key -> buildPerMinuteBucket(capacity));
+        return bucketStore.resolve(RateLimitCategory.API, ip, apiCapacity());
     }
 
     public Bucket resolveAuthBucketForIp(String ip) {
-        int capacity = Math.max(1, properties.getAuth().getPerIpPerMinute());
-        return buckets.computeIfAbsent("auth:ip:" + ip, key -> buildPerMinuteBucket(capacity));
+        return bucketStore.resolve(RateLimitCategory.AUTH_IP, ip, authIpCapacity());
     }
 
     public Bucket resolveAuthBucketForUsername(String username) {
-        int capacity = Math.max(1, properties.getAuth().getPerUsernamePerMinute());
-        return buckets.computeIfAbsent("auth:user:" + username.toLowerCase(), key -> buildPerMinuteBucket(capacity));
+        return bucketStore.resolve(RateLimitCategory.AUTH_USER, username.toLowerCase(), authUserCapacity());
     }
 
     public Bucket resolveWsHandshakeBucketForIp(String ip) {
-        int capacity = Math.max(1, properties.getWs().getHandshakePerIpPerMinute());
-        return buckets.computeIfAbsent("ws:handshake:" + ip, key -> buildPerMinuteBucket(capacity));
+        return bucketStore.resolve(RateLimitCategory.WS_HANDSHAKE, ip, wsHandshakeCapacity());
     }
 
-    private Bucket buildPerMinuteBucket(int capacity) {
-        Bandwidth limit = Bandwidth.classic(capacity, Refill.greedy(capacity, Duration.ofMinutes(1)));
-        BucketConfiguration config = BucketConfiguration.builder().addLimit(limit).build();
-        return Bucket.builder().addLimit(limit).build();
+    public boolean tryConsumeApi(String ip) {
+        return consume(RateLimitCategory.API, ip, apiCapacity());
+    }
+
+    public boolean tryConsumeAuthForIp(String ip) {
+        return consume(RateLimitCategory.AUTH_IP, ip, authIpCapacity());
+    }
+
+    public boolean tryConsumeAuthForUsername(String username) {
+        return consume(RateLimitCategory.AUTH_USER, username.toLowerCase(), authUserCapacity());
+    }
+
+    public boolean tryConsumeWsHandshake(String ip) {
+        return consume(RateLimitCategory.WS_HANDSHAKE, ip, wsHandshakeCapacity());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(bucketStore.getStats());
+        stats.put("distributed", distributedRateLimiter.getStats());
+        return stats;
+    }
+
+    private boolean consume(RateLimitCategory category, String key, int capacity) {
+        boolean allowed;
+        if (distributedRateLimiter.isEnabled()) {
+            allowed = distributedRateLimiter.tryConsume(category, key, capacity, leaseSize(category, capacity));
+        } else {
+            allowed = bucketStore.resolve(category, key, capacity).tryConsume(1);
+        }
+        if (!allowed) {
+            bucketStore.recordRejection(category);
+        }
+        return allowed;
+    }
+
+    /**
+     * Tokens leased from Redis per round trip. Auth buckets are small, so they are
+     * always counted exactly; general API traffic leases about 5% of capacity.
+     */
+    private int leaseSize(RateLimitCategory category, int capacity) {
+        if (category == RateLimitCategory.AUTH_IP || category == RateLimitCategory.AUTH_USER) {
+            return 1;
+        }
+        int maxLease = Math.max(1, properties.getDistributed().getMaxLeaseTokens());
+        return Math.max(1, Math.min(maxLease, capacity / 20));
+    }
+
+    private int apiCapacity() {
+        return Math.max(1, properties.getApi().getPerIpPerMinute());
+    }
+
+    private int authIpCapacity() {
+        return Math.max(1, properties.getAuth().getPerIpPerMinute());
+    }
+
+    private int authUserCapacity() {
+        return Math.max(1, properties.getAuth().getPerUsernamePerMinute());
+    }
+
+    private int wsHandshakeCapacity() {
+        return Math.max(1, properties.getWs().getHandshakePerIpPerMinute());
     }
 }
@@ -1,7 +1,6 @@
 package com.wildcastradio.ratelimit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.github.bucket4j.Bucket;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -51,8 +50,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 
         if (isAuth) {
             // Per-IP
-            Bucket ipBucket = rateLimiterService.resolveAuthBucketForIp(clientIp);
-            if (!ipBucket.tryConsume(1)) {
+            if (!rateLimiterService.tryConsumeAuthForIp(clientIp)) {
                 tooMany(response, Duration.ofMinutes(1));
                 return;
             }
@@ -61,16 +59,14 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                 String bodyEmail = request.getParameter("email"); // fallback if form
                 String username = bodyEmail != null ? bodyEmail : request.getHeader("X-Auth-Username");
                 if (username != null && !username.isBlank()) {
-                    Bucket userBucket = rateLimiterService.resolveAuthBucketForUsername(username.trim().toLowerCase());
-                    if (!userBucket.tryConsume(1)) {
+                    if (!rateLimiterService.tryConsumeAuthForUsername(username.trim())) {
                         tooMany(response, Duration.ofMinutes(1));
                         return;
                     }
                 }
             }
         } else if (isApi) {
-            Bucket ipBucket = rateLimiterService.resolveApiBucketForIp(clientIp);
-            if (!ipBucket.tryConsume(1)) {
+            if (!rateLimiterService.tryConsumeApi(clientIp)) {
                 tooMany(response, Duration.ofMinutes(1));
                 return;
             }
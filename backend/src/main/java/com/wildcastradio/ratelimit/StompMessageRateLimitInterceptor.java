@@ -0,0 +1,160 @@
+package com.wildcastradio.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-connection rate limiting for inbound STOMP frames.
+ *
+ * Every WebSocket session gets an overall bucket (websocket.message-rate-limit messages per
+ * second) plus smaller per-destination buckets for chat, poll votes, song requests and
+ * listener status. Over-limit SEND frames are dropped here by returning null, before they
+ * reach any @MessageMapping handler or touch the database. Session state is released when
+ * the DISCONNECT frame (sent by the client or synthesized on socket close) passes through.
+ */
+@Component
+public class StompMessageRateLimitInterceptor implements ChannelInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(StompMessageRateLimitInterceptor.class);
+
+    enum Destination {
+        CHAT,
+        POLL_VOTE,
+        SONG_REQUEST,
+        LISTENER_STATUS,
+        OTHER
+    }
+
+    private final RateLimitProperties properties;
+    private final int messagesPerSecond;
+    private final Map<String, SessionLimits> sessions = new ConcurrentHashMap<>();
+    private final Map<Destination, LongAdder> dropped = new EnumMap<>(Destination.class);
+    private final LongAdder droppedBySessionLimit = new LongAdder();
+
+    public StompMessageRateLimitInterceptor(RateLimitProperties properties,
+                                            @Value("${websocket.message-rate-limit:50}") int messagesPerSecond) {
+        this.properties = properties;
+        this.messagesPerSecond = Math.max(1, messagesPerSecond);
+        for (Destination destination : Destination.values()) {
+            dropped.put(destination, new LongAdder());
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        if (type == SimpMessageType.DISCONNECT) {
+            sessions.remove(sessionId);
+            return message;
+        }
+        if (type != SimpMessageType.MESSAGE || !properties.isEnabled()) {
+            return message;
+        }
+
+        SessionLimits limits = sessions.get(sessionId);
+        if (limits == null) {
+            limits = sessions.computeIfAbsent(sessionId, id -> new SessionLimits());
+        }
+        Destination destination = classify(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+
+        if (!limits.total.tryConsume(1)) {
+            droppedBySessionLimit.increment();
+            dropped.get(destination).increment();
+            logger.debug("Dropping STOMP frame from session {}: over {} msg/s", sessionId, messagesPerSecond);
+            return null;
+        }
+        Bucket destinationBucket = limits.forDestination(destination);
+        if (destinationBucket != null && !destinationBucket.tryConsume(1)) {
+            dropped.get(destination).increment();
+            logger.debug("Dropping STOMP {} frame from session {}: destination limit reached", destination, sessionId);
+            return null;
+        }
+        return message;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeSessions", sessions.size());
+        stats.put("messagesPerSecondPerSession", messagesPerSecond);
+        stats.put("droppedBySessionLimit", droppedBySessionLimit.sum());
+        Map<String, Object> byDestination = new LinkedHashMap<>();
+        for (Map.Entry<Destination, LongAdder> e : dropped.entrySet()) {
+            byDestination.put(e.getKey().name(), e.getValue().sum());
+        }
+        stats.put("droppedByDestination", byDestination);
+        return stats;
+    }
+
+    static Destination classify(String destination) {
+        if (destination == null) {
+            return Destination.OTHER;
+        }
+        if (destination.endsWith("/chat")) {
+            return Destination.CHAT;
+        }
+        if (destination.endsWith("/poll/vote")) {
+            return Destination.POLL_VOTE;
+        }
+        if (destination.endsWith("/song-request/create")) {
+            return Destination.SONG_REQUEST;
+        }
+        if (destination.endsWith("/listener/status")) {
+            return Destination.LISTENER_STATUS;
+        }
+        return Destination.OTHER;
+    }
+
+    private static Bucket perMinute(int capacity) {
+        int safe = Math.max(1, capacity);
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder().capacity(safe).refillGreedy(safe, Duration.ofMinutes(1)).build())
+                .build();
+    }
+
+    /**
+     * Buckets for one WebSocket session.
+     */
+    private final class SessionLimits {
+        private final Bucket total = Bucket.builder()
+                .addLimit(Bandwidth.builder().capacity(messagesPerSecond).refillGreedy(messagesPerSecond, Duration.ofSeconds(1)).build())
+                .build();
+        private final Bucket chat = perMinute(properties.getWs().getChatPerMinute());
+        private final Bucket pollVote = perMinute(properties.getWs().getPollVotePerMinute());
+        private final Bucket songRequest = perMinute(properties.getWs().getSongRequestPerMinute());
+        private final Bucket listenerStatus = perMinute(properties.getWs().getListenerStatusPerMinute());
+
+        private Bucket forDestination(Destination destination) {
+            switch (destination) {
+                case CHAT:
+                    return chat;
+                case POLL_VOTE:
+                    return pollVote;
+                case SONG_REQUEST:
+                    return songRequest;
+                case LISTENER_STATUS:
+                    return listenerStatus;
+                default:
+                    return null;
+            }
+        }
+    }
+}
@@ -1,21 +1,20 @@
 package com.wildcastradio.ratelimit;
 
-import io.github.bucket4j.Bucket;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 
 import com.wildcastradio.User.UserEntity;
 import com.wildcastradio.User.UserService;
-import com.wildcastradio.config.JwtUtil;
+import com.wildcastradio.config.AuthenticatedPrincipalCache;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
-import java.util.Optional;
 import java.time.Duration;
 
 /**
@@ -31,17 +30,17 @@ import java.time.Duration;
 public class WebSocketRateLimitHandshakeInterceptor implements HandshakeInterceptor {
     private final RateLimiterService rateLimiterService;
     private final RateLimitProperties properties;
-    private final JwtUtil jwtUtil;
+    private final AuthenticatedPrincipalCache principalCache;
     private final UserService userService;
 
     public WebSocketRateLimitHandshakeInterceptor(
             RateLimiterService rateLimiterService,
             RateLimitProperties properties,
-            JwtUtil jwtUtil,
+            AuthenticatedPrincipalCache principalCache,
             UserService userService) {
         this.rateLimiterService = rateLimiterService;
         this.properties = properties;
-        this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
         this.userService = userService;
     }
 
@@ -57,17 +56,12 @@ public class WebSocketRateLimitHandshakeInterceptor implements HandshakeIntercep
                 String token = extractTokenFromCookiesOrHeader(httpServletRequest);
                 if (token != null && !token.isBlank()) {
                     try {
-                        String username = jwtUtil.extractUsername(token);
-                        if (username != null) {
-                            // Validate token before trusting
-                            org.springframework.security.core.userdetails.UserDetails ud = userService.loadUserByUsername(username);
-                            if (jwtUtil.validateToken(token, ud)) {
-                                Optional<UserEntity> userOpt = userService.getUserByEmail(username);
-                                if (userOpt.isPresent() && userOpt.get().getRole() == UserEntity.UserRole.DJ) {
-                                    // DJ broadcaster is exempt from handshake rate limiting on /ws/live
-                                    return true;
-                                }
-                            }
+                        // Validate token before trusting (verified principals are cached per token)
+                        UserDetails ud = principalCache.resolve(token, userService::loadUserByUsername);
+                        if (ud != null && ud.getAuthorities().stream()
+                                .anyMatch(a -> ("ROLE_" + UserEntity.UserRole.DJ.name()).equals(a.getAuthority()))) {
+                            // DJ broadcaster is exempt from handshake rate limiting on /ws/live
+                            return true;
                         }
                     } catch (Exception ignored) {
                         // If token parsing/validation fails, fall through to normal rate limiting
@@ -77,8 +71,7 @@ public class WebSocketRateLimitHandshakeInterceptor implements HandshakeIntercep
 
             // Apply per-IP handshake limiting for all others
             String ip = IpUtils.extractClientIp(httpServletRequest, properties.isUseXForwardedFor());
-            Bucket bucket = rateLimiterService.resolveWsHandshakeBucketForIp(ip);
-            if (!bucket.tryConsume(1)) {
+            if (!rateLimiterService.tryConsumeWsHandshake(ip)) {
                 response.setStatusCode(org.springframework.http.HttpStatus.TOO_MANY_REQUESTS);
                 response.getHeaders().set("Retry-After", String.valueOf(Duration.ofMinutes(1).toSeconds()));
                 return false;
@@ -0,0 +1,50 @@
+package com.wildcastradio.util;
+
+import java.sql.Statement;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Utility class for batched inserts from the in-memory write-behind queues
+ */
+public class JdbcBatches {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcBatches.class);
+
+    /**
+     * Called for each row that could not be written on its own
+     */
+    @FunctionalInterface
+    public interface RowFailure {
+        void failed(int index, Exception error);
+    }
+
+    /**
+     * Run one statement for all rows as a single batch. One bad row (e.g. its parent deleted
+     * meanwhile) fails the whole batch, so on error the rows are retried one by one and only
+     * the ones that fail again are handed to {@code onFailure}.
+     * @param what Plural noun for the rows, used in the log line
+     * @return Update count per row, {@link Statement#EXECUTE_FAILED} for rows passed to onFailure
+     */
+    public static int[] insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows, String what,
+                               RowFailure onFailure) {
+        try {
+            return jdbcTemplate.batchUpdate(sql, rows);
+        } catch (Exception e) {
+            logger.warn("Batch insert of {} {} failed, retrying individually: {}", rows.size(), what, e.getMessage());
+            int[] results = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    results[i] = jdbcTemplate.update(sql, rows.get(i));
+                } catch (Exception rowError) {
+                    results[i] = Statement.EXECUTE_FAILED;
+                    onFailure.failed(i, rowError);
+                }
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.wildcastradio.util;
+
+import java.util.Locale;
+
+/**
+ * Utility class for building SQL LIKE patterns from user search input
+ */
+public class SearchPatterns {
+
+    /**
+     * Queries shorter than this cannot use a trigram index, so callers search by prefix instead
+     */
+    public static final int MIN_TRIGRAM_LENGTH = 3;
+
+    /**
+     * Lower-cased substring pattern ("%query%") with LIKE wildcards in the input escaped
+     * @param query Raw search input
+     * @return LIKE pattern, or null if the query is blank
+     */
+    public static String contains(String query) {
+        String normalized = normalize(query);
+        return normalized != null ? "%" + escape(normalized) + "%" : null;
+    }
+
+    /**
+     * Lower-cased prefix pattern ("query%") with LIKE wildcards in the input escaped
+     * @param query Raw search input
+     * @return LIKE pattern, or null if the query is blank
+     */
+    public static String prefix(String query) {
+        String normalized = normalize(query);
+        return normalized != null ? escape(normalized) + "%" : null;
+    }
+
+    /**
+     * Check whether a query is long enough for a trigram (substring) search
+     * @param query Raw search input
+     * @return true if the trimmed query has at least {@link #MIN_TRIGRAM_LENGTH} characters
+     */
+    public static boolean supportsSubstringSearch(String query) {
+        String normalized = normalize(query);
+        return normalized != null && normalized.length() >= MIN_TRIGRAM_LENGTH;
+    }
+
+    private static String normalize(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return null;
+        }
+        return query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // PostgreSQL's default LIKE escape character is backslash
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
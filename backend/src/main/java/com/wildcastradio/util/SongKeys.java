@@ -0,0 +1,63 @@
+package com.wildcastradio.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for building normalized song keys, so that requests for the same song written
+ * differently ("Don't Stop Me Now", "dont stop me now (Official Video)") group together
+ */
+public class SongKeys {
+
+    /**
+     * Column width of stored keys; longer keys are truncated
+     */
+    public static final int MAX_LENGTH = 512;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    // Bracketed suffixes that describe the upload rather than the song
+    private static final Pattern NOISE_BRACKETS = Pattern.compile(
+            "[(\\[][^)\\]]*\\b(official|video|audio|lyrics?|lyric video|visualizer|hd|hq|remaster(ed)?)\\b[^)\\]]*[)\\]]");
+    // Featured artists: bracketed anywhere, or trailing the artist ("Queen feat. X"); a bare
+    // "feat"/"ft" in a title is left alone ("Feat. of Strength", "Ft. Lauderdale")
+    private static final Pattern FEATURING_BRACKET = Pattern.compile("[(\\[]\\s*(feat|ft|featuring)\\b[^)\\]]*[)\\]]?");
+    private static final Pattern FEATURING_TRAILING = Pattern.compile("\\s+(feat|ft|featuring)\\b.*$");
+    private static final Pattern AND = Pattern.compile("\\s*(&|\\+|\\band\\b)\\s*");
+    private static final Pattern LEADING_THE = Pattern.compile("^the\\s+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Normalized "title|artist" key: lower case, accents and punctuation removed, whitespace
+     * collapsed, upload noise like "(Official Video)" and bracketed featured artists dropped,
+     * and for the artist trailing featured artists dropped, "&"/"+"/"and" unified and a
+     * leading "The" ignored
+     * @param title Song title as entered
+     * @param artist Artist as entered, may be null
+     * @return Key, or null if the title is blank
+     */
+    public static String of(String title, String artist) {
+        String titleKey = fold(title, false);
+        if (titleKey.isEmpty()) {
+            return null;
+        }
+        String key = titleKey + "|" + fold(artist, true);
+        return key.length() > MAX_LENGTH ? key.substring(0, MAX_LENGTH) : key;
+    }
+
+    private static String fold(String value, boolean artist) {
+        if (value == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        folded = DIACRITICS.matcher(folded).replaceAll("").toLowerCase(Locale.ROOT).replace("'", "").replace("\u2019", "");
+        folded = NOISE_BRACKETS.matcher(folded).replaceAll(" ");
+        folded = FEATURING_BRACKET.matcher(folded).replaceAll(" ");
+        if (artist) {
+            folded = FEATURING_TRAILING.matcher(folded).replaceAll("");
+            folded = AND.matcher(folded).replaceAll(" and ");
+            folded = LEADING_THE.matcher(folded.trim()).replaceAll("");
+        }
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+}
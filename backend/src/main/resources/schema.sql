@@ -81,6 +81,19 @@ CREATE INDEX IF NOT EXISTS idx_user_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_user_role ON users(role);
 CREATE INDEX IF NOT EXISTS idx_user_banned ON users(banned);
 
+-- Search indexes (also created at startup by SearchIndexInitializer)
+-- Trigram GIN indexes serve substring search (ILIKE '%q%'); text_pattern_ops indexes serve typeahead prefixes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_broadcast_title_trgm ON broadcasts USING gin (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_broadcast_description_trgm ON broadcasts USING gin (description gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_user_firstname_trgm ON users USING gin (firstname gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_user_lastname_trgm ON users USING gin (lastname gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_user_email_trgm ON users USING gin (email gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_broadcast_title_prefix ON broadcasts (lower(title) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_user_firstname_prefix ON users (lower(firstname) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_user_lastname_prefix ON users (lower(lastname) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_user_email_prefix ON users (lower(email) text_pattern_ops);
+
 -- Activity log indexes (for analytics)
 CREATE INDEX IF NOT EXISTS idx_activity_log_timestamp ON activity_logs(timestamp);
 CREATE INDEX IF NOT EXISTS idx_activity_log_user ON activity_logs(user_id);
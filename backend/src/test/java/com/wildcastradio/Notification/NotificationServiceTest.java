@@ -0,0 +1,136 @@
+package com.wildcastradio.Notification;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.wildcastradio.Notification.DTO.NotificationDTO;
+import com.wildcastradio.User.UserEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationServiceTest {
+
+    /**
+     * Serves the history query from in-memory rows, as the database would return them after
+     * compaction: live notifications plus digest references.
+     */
+    private static class HistoryJdbcTemplate extends JdbcTemplate {
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private final List<Object[]> queryArgs = new ArrayList<>();
+
+        void addRow(long id, String message, LocalDateTime timestamp, boolean read, boolean compacted) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", id);
+            row.put("message", message);
+            row.put("type", NotificationType.BROADCAST_ENDED.name());
+            row.put("timestamp", Timestamp.valueOf(timestamp));
+            row.put("is_read", read);
+            row.put("announcement_id", null);
+            row.put("compacted", compacted);
+            rows.add(row);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            queryArgs.add(args);
+            List<T> result = new ArrayList<>();
+            try {
+                for (int i = 0; i < rows.size(); i++) {
+                    result.add(rowMapper.mapRow(resultSet(rows.get(i)), i));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return result;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            return (T) Long.valueOf(rows.size());
+        }
+
+        private static ResultSet resultSet(Map<String, Object> row) {
+            Object[] last = new Object[1];
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                    (proxy, method, methodArgs) -> {
+                        if (method.getName().equals("wasNull")) {
+                            return last[0] == null;
+                        }
+                        Object value = row.get((String) methodArgs[0]);
+                        last[0] = value;
+                        switch (method.getName()) {
+                            case "getLong":
+                                return value != null ? (Long) value : 0L;
+                            case "getBoolean":
+                                return value != null && (Boolean) value;
+                            default:
+                                return value;
+                        }
+                    });
+        }
+    }
+
+    private final HistoryJdbcTemplate jdbcTemplate = new HistoryJdbcTemplate();
+
+    private NotificationService newService() {
+        return new NotificationService(null, null, null, null, new NotificationHistoryRepository(jdbcTemplate));
+    }
+
+    private static UserEntity user(long id) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setEmail("listener" + id + "@example.com");
+        user.setRole(UserEntity.UserRole.LISTENER);
+        return user;
+    }
+
+    @Test
+    void compactedNotificationsStayInHistory() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.addRow(41, "Morning Show has ended", now.minusHours(1), false, false);
+        jdbcTemplate.addRow(-7, "Evening Show has ended", now.minusDays(40), true, true);
+
+        List<NotificationDTO> history = newService().getNotificationsForUser(user(3));
+
+        assertEquals(2, history.size());
+        NotificationDTO compacted = history.get(1);
+        assertEquals("Evening Show has ended", compacted.getMessage());
+        assertTrue(compacted.isCompacted());
+        assertTrue(compacted.isRead());
+        assertEquals(-7L, compacted.getId());
+        assertEquals(3L, compacted.getRecipient().getId());
+        assertFalse(history.get(0).isCompacted());
+
+        // Both halves of the history are read for the same recipient
+        Object[] args = jdbcTemplate.queryArgs.get(0);
+        assertEquals(3L, args[0]);
+        assertEquals(3L, args[1]);
+    }
+
+    @Test
+    void pagedHistoryCountsCompactedNotifications() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.addRow(-8, "Evening Show has ended", now.minusDays(40), true, true);
+
+        Page<NotificationDTO> page = newService().getNotificationsForUser(user(3), 0, 20);
+
+        assertEquals(1, page.getTotalElements());
+        assertTrue(page.getContent().get(0).isCompacted());
+        Object[] args = jdbcTemplate.queryArgs.get(0);
+        assertEquals(20, args[2]);
+        assertEquals(0L, args[3]);
+    }
+}
@@ -0,0 +1,60 @@
+package com.wildcastradio.Notification;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransientNotificationDedupeStoreTest {
+
+    private TransientNotificationDedupeStore newLocalStore(int maxEntries) {
+        return new TransientNotificationDedupeStore(null, false, 120, maxEntries, 30000);
+    }
+
+    @Test
+    void eventKeyIsClaimedOnce() {
+        TransientNotificationDedupeStore store = newLocalStore(100);
+        assertTrue(store.claim("starting-soon:1"));
+        assertFalse(store.claim("starting-soon:1"));
+        assertTrue(store.claim("starting-soon:2"));
+    }
+
+    @Test
+    void usersAreTrackedPerEvent() {
+        TransientNotificationDedupeStore store = newLocalStore(100);
+        assertTrue(store.claimForUser("starting-soon:1", 7));
+        assertFalse(store.claimForUser("starting-soon:1", 7));
+        assertTrue(store.claimForUser("starting-soon:1", 8));
+        assertTrue(store.claimForUser("starting-soon:2", 7));
+        assertEquals(2, store.localSize());
+    }
+
+    @Test
+    void clearAllowsClaimAgain() {
+        TransientNotificationDedupeStore store = newLocalStore(100);
+        assertTrue(store.claim("starting-soon:1"));
+        store.clear("starting-soon:1");
+        assertTrue(store.claim("starting-soon:1"));
+    }
+
+    @Test
+    void expiredClaimsAreReleased() throws InterruptedException {
+        TransientNotificationDedupeStore store = newLocalStore(100);
+        assertTrue(store.claim("short", Duration.ofMillis(1)));
+        Thread.sleep(5);
+        assertTrue(store.claim("short", Duration.ofMillis(1)));
+        Thread.sleep(5);
+        store.evictExpired();
+        assertEquals(0, store.localSize());
+    }
+
+    @Test
+    void localEntriesStayBounded() {
+        TransientNotificationDedupeStore store = newLocalStore(10);
+        for (int i = 0; i < 50; i++) {
+            store.claim("event:" + i);
+        }
+        assertTrue(store.localSize() <= 10);
+    }
+}
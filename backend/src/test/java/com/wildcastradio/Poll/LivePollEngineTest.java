@@ -0,0 +1,175 @@
+package com.wildcastradio.Poll;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wildcastradio.Broadcast.BroadcastEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class LivePollEngineTest {
+
+    private static final long POLL_ID = 7L;
+    private static final long YES = 1L;
+    private static final long NO = 2L;
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final PollRepository pollRepository = Mockito.mock(PollRepository.class);
+    private final PollOptionRepository optionRepository = Mockito.mock(PollOptionRepository.class);
+    private final PollVoteRepository voteRepository = Mockito.mock(PollVoteRepository.class);
+    private final PollEntity poll = new PollEntity();
+
+    LivePollEngineTest() {
+        BroadcastEntity broadcast = new BroadcastEntity();
+        broadcast.setId(3L);
+        poll.setId(POLL_ID);
+        poll.setQuestion("Play it again?");
+        poll.setBroadcast(broadcast);
+        poll.setActive(true);
+
+        Mockito.when(pollRepository.findById(POLL_ID)).thenReturn(Optional.of(poll));
+        Mockito.when(pollRepository.existsById(POLL_ID)).thenReturn(true);
+        Mockito.when(optionRepository.findByPollOrderByIdAsc(poll)).thenReturn(List.of(option(YES, "Yes"), option(NO, "No")));
+        Mockito.when(optionRepository.existsById(anyLong())).thenReturn(true);
+        Mockito.when(voteRepository.countVotesByOption(POLL_ID)).thenReturn(new HashMap<>());
+        Mockito.when(voteRepository.findVoterOptions(POLL_ID)).thenReturn(new ArrayList<>());
+        storeVotesExceptFrom(Set.of());
+    }
+
+    private LivePollEngine newEngine() {
+        return new LivePollEngine(pollRepository, optionRepository, voteRepository, jdbcTemplate,
+                Mockito.mock(PollResultPublisher.class), 500, 1800000);
+    }
+
+    private PollOptionEntity option(long id, String text) {
+        PollOptionEntity option = new PollOptionEntity(text, poll);
+        option.setId(id);
+        return option;
+    }
+
+    // Every vote is inserted, except those of the given users which hit the one-vote-per-user constraint
+    private void storeVotesExceptFrom(Set<Long> conflictingUsers) {
+        Mockito.doAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            int[] results = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                results[i] = conflictingUsers.contains((Long) rows.get(i)[1]) ? 0 : 1;
+            }
+            return results;
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    private void failWrites() {
+        Mockito.doThrow(new IllegalStateException("connection reset"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        Mockito.doThrow(new IllegalStateException("connection reset"))
+                .when(jdbcTemplate).update(anyString(), any(), any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> batches(int times) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(jdbcTemplate, Mockito.times(times)).batchUpdate(anyString(), rows.capture());
+        return rows.getAllValues();
+    }
+
+    @Test
+    void secondVoteOfTheSameUserIsRejected() {
+        LivePollEngine engine = newEngine();
+        engine.vote(POLL_ID, YES, 11L);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> engine.vote(POLL_ID, NO, 11L));
+        assertEquals("User has already voted in this poll", error.getMessage());
+        assertEquals(1L, engine.live(POLL_ID).counts().get(YES));
+        assertEquals(0L, engine.live(POLL_ID).counts().get(NO));
+
+        engine.flush();
+        assertEquals(1, batches(1).get(0).size());
+    }
+
+    @Test
+    void conflictingVoteFollowsTheStoredOption() {
+        LivePollEngine engine = newEngine();
+        // Another node already stored a NO for this user
+        storeVotesExceptFrom(Set.of(12L));
+        Mockito.when(voteRepository.findOptionIdByPollIdAndUserId(POLL_ID, 12L)).thenReturn(Optional.of(NO));
+
+        engine.vote(POLL_ID, YES, 12L);
+        engine.flush();
+
+        LivePollEngine.LivePoll live = engine.live(POLL_ID);
+        assertEquals(0L, live.counts().get(YES));
+        assertEquals(NO, live.optionOf(12L));
+        assertThrows(RuntimeException.class, () -> engine.vote(POLL_ID, YES, 12L));
+    }
+
+    @Test
+    void failedInsertIsRetriedThenReleasesTheVoter() {
+        LivePollEngine engine = newEngine();
+        failWrites();
+        engine.vote(POLL_ID, YES, 13L);
+
+        engine.flush();
+        engine.flush();
+        assertEquals(1L, engine.live(POLL_ID).counts().get(YES), "kept while retries remain");
+        assertEquals(YES, engine.live(POLL_ID).optionOf(13L));
+
+        engine.flush();
+        assertEquals(0L, engine.live(POLL_ID).counts().get(YES));
+        assertNull(engine.live(POLL_ID).optionOf(13L));
+        Mockito.verify(jdbcTemplate, Mockito.times(3)).update(anyString(), any(), any(), any(), any());
+
+        // Released voters can vote again once the database is back
+        storeVotesExceptFrom(Set.of());
+        engine.vote(POLL_ID, NO, 13L);
+        engine.flush();
+        List<List<Object[]>> batches = batches(4);
+        assertEquals(NO, batches.get(3).get(0)[3]);
+        assertEquals(1L, engine.live(POLL_ID).counts().get(NO));
+    }
+
+    @Test
+    void reconcileCountsStoredAndQueuedVotes() {
+        LivePollEngine engine = newEngine();
+        engine.vote(POLL_ID, YES, 14L);
+        engine.flush();
+
+        // Votes from other nodes show up in the stored counts; ours is still queued
+        failWrites();
+        engine.vote(POLL_ID, NO, 15L);
+        Map<Long, Long> storedCounts = new HashMap<>();
+        storedCounts.put(YES, 4L);
+        storedCounts.put(NO, 2L);
+        Mockito.when(voteRepository.countVotesByOption(POLL_ID)).thenReturn(storedCounts);
+        engine.reconcile();
+
+        assertEquals(4L, engine.live(POLL_ID).counts().get(YES));
+        assertEquals(3L, engine.live(POLL_ID).counts().get(NO));
+    }
+
+    @Test
+    void deactivatedPollTakesNoMoreVotes() {
+        LivePollEngine engine = newEngine();
+        engine.vote(POLL_ID, YES, 16L);
+
+        engine.deactivate(POLL_ID);
+        poll.endPoll();
+
+        assertEquals(1, batches(1).get(0).size(), "queued votes are written before the poll ends");
+        RuntimeException error = assertThrows(RuntimeException.class, () -> engine.vote(POLL_ID, NO, 17L));
+        assertEquals("Poll is no longer active", error.getMessage());
+    }
+}
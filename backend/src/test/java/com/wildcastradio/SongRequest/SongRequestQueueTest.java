@@ -0,0 +1,226 @@
+package com.wildcastradio.SongRequest;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.wildcastradio.SongRequest.DTO.SongQueueDTO;
+import com.wildcastradio.SongRequest.DTO.SongQueueEntryDTO;
+import com.wildcastradio.User.UserEntity;
+import com.wildcastradio.User.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+
+class SongRequestQueueTest {
+
+    private static final long BROADCAST_ID = 5L;
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final SimpMessagingTemplate messagingTemplate = Mockito.mock(SimpMessagingTemplate.class);
+
+    private SongRequestQueue newQueue(int maxEntries) {
+        Mockito.when(userRepository.findAllById(any())).thenReturn(List.of());
+        return new SongRequestQueue(jdbcTemplate, userRepository, messagingTemplate, maxEntries, 500, 1800000);
+    }
+
+    private static UserEntity listener(long id) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setEmail("listener" + id + "@example.com");
+        user.setRole(UserEntity.UserRole.LISTENER);
+        return user;
+    }
+
+    private void failWrites() {
+        Mockito.doThrow(new IllegalStateException("connection reset"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        Mockito.doThrow(new IllegalStateException("connection reset"))
+                .when(jdbcTemplate).update(anyString(), any(), any(), any(), any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> batches(int times) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(jdbcTemplate, Mockito.times(times)).batchUpdate(anyString(), rows.capture());
+        return rows.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> lastDelta() {
+        ArgumentCaptor<Map<String, Object>> delta = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(messagingTemplate, Mockito.atLeastOnce()).convertAndSend(anyString(), delta.capture());
+        return delta.getValue();
+    }
+
+    @Test
+    void requestsForTheSameSongMergeByKey() {
+        SongRequestQueue queue = newQueue(100);
+        queue.add(BROADCAST_ID, listener(1), "Don't Stop Me Now", "Queen");
+        SongRequestQueue.Added added = queue.add(BROADCAST_ID, listener(2), "dont stop me now (Official Video)", "QUEEN");
+
+        assertTrue(added.isAccepted());
+        assertEquals(2, added.getEntry().getCount());
+        SongQueueDTO snapshot = queue.snapshot(BROADCAST_ID, 50);
+        assertEquals(1, snapshot.getEntries().size());
+        assertEquals(2L, snapshot.getTotalRequests());
+    }
+
+    @Test
+    void repeatRequesterIsIgnored() {
+        SongRequestQueue queue = newQueue(100);
+        queue.add(BROADCAST_ID, listener(1), "Bohemian Rhapsody", "Queen");
+        SongRequestQueue.Added repeat = queue.add(BROADCAST_ID, listener(1), "Bohemian Rhapsody", "Queen");
+
+        assertFalse(repeat.isAccepted());
+        assertEquals(1, repeat.getEntry().getCount());
+        queue.flush();
+        assertEquals(1, batches(1).get(0).size());
+    }
+
+    @Test
+    void lowestRankedEntryIsEvictedPastMaxEntries() {
+        SongRequestQueue queue = newQueue(2);
+        queue.add(BROADCAST_ID, listener(1), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(2), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(3), "Song B", "Band");
+        queue.add(BROADCAST_ID, listener(4), "Song B", "Band");
+        queue.add(BROADCAST_ID, listener(5), "Song C", "Band");
+
+        List<SongQueueEntryDTO> ranked = queue.snapshot(BROADCAST_ID, 50).getEntries();
+        assertEquals(2, ranked.size());
+        assertEquals(Set.of("song a|band", "song b|band"),
+                Set.of(ranked.get(0).getKey(), ranked.get(1).getKey()));
+        // Evicted songs still count towards the broadcast's requests
+        assertEquals(5L, queue.snapshot(BROADCAST_ID, 50).getTotalRequests());
+
+        queue.publish();
+        assertEquals(List.of("song c|band"), lastDelta().get("removed"));
+        assertEquals(5L, lastDelta().get("totalRequests"));
+    }
+
+    @Test
+    void evictedSongComesBackWithItsStoredRequests() throws Exception {
+        SongRequestQueue queue = newQueue(2);
+        queue.add(BROADCAST_ID, listener(1), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(2), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(3), "Song B", "Band");
+        queue.add(BROADCAST_ID, listener(4), "Song B", "Band");
+        queue.add(BROADCAST_ID, listener(5), "Song C", "Band");
+        queue.flush();
+
+        ResultSet stored = Mockito.mock(ResultSet.class);
+        Mockito.when(stored.getLong("requested_by_id")).thenReturn(5L);
+        Mockito.when(stored.getTimestamp("timestamp")).thenReturn(Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+        Mockito.doAnswer(invocation -> {
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(stored);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT requested_by_id"), any(RowCallbackHandler.class),
+                eq(BROADCAST_ID), eq("song c|band"));
+
+        assertFalse(queue.add(BROADCAST_ID, listener(5), "Song C", "Band").isAccepted());
+        SongRequestQueue.Added added = queue.add(BROADCAST_ID, listener(6), "Song C", "Band");
+
+        assertTrue(added.isAccepted());
+        assertEquals(2, added.getEntry().getCount());
+        SongQueueDTO snapshot = queue.snapshot(BROADCAST_ID, 50);
+        assertEquals("song c|band", snapshot.getEntries().get(0).getKey());
+        assertEquals(6L, snapshot.getTotalRequests());
+    }
+
+    @Test
+    void dismissRemovesTheSongAndDeletesItsRequests() {
+        SongRequestQueue queue = newQueue(100);
+        queue.add(BROADCAST_ID, listener(1), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(2), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(3), "Song B", "Band");
+
+        assertTrue(queue.dismiss(BROADCAST_ID, "song a|band"));
+        // Nothing left to delete
+        assertFalse(queue.dismiss(BROADCAST_ID, "song a|band"));
+
+        // Pending rows are written before the delete so it catches them
+        assertEquals(3, batches(1).get(0).size());
+        Mockito.verify(jdbcTemplate, Mockito.times(2))
+                .queryForList(startsWith("DELETE"), eq(Long.class), eq(BROADCAST_ID), eq("song a|band"));
+        SongQueueDTO snapshot = queue.snapshot(BROADCAST_ID, 50);
+        assertEquals(1, snapshot.getEntries().size());
+        assertEquals(1L, snapshot.getTotalRequests());
+    }
+
+    @Test
+    void dismissDeletesAnEvictedSong() {
+        SongRequestQueue queue = newQueue(1);
+        queue.add(BROADCAST_ID, listener(1), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(2), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(3), "Song B", "Band");
+        Mockito.when(jdbcTemplate.queryForList(startsWith("DELETE"), eq(Long.class), eq(BROADCAST_ID), eq("song b|band")))
+                .thenReturn(List.of(3L));
+
+        assertTrue(queue.dismiss(BROADCAST_ID, "song b|band"));
+
+        SongQueueDTO snapshot = queue.snapshot(BROADCAST_ID, 50);
+        assertEquals(1, snapshot.getEntries().size());
+        assertEquals(2L, snapshot.getTotalRequests());
+    }
+
+    @Test
+    void failedWriteTakesTheRequesterOffTheEntry() {
+        SongRequestQueue queue = newQueue(100);
+        queue.add(BROADCAST_ID, listener(1), "Song A", "Band");
+        queue.add(BROADCAST_ID, listener(2), "Song B", "Band");
+        queue.add(BROADCAST_ID, listener(3), "Song B", "Band");
+        queue.flush();
+        queue.publish();
+
+        failWrites();
+        queue.add(BROADCAST_ID, listener(4), "Song A", "Band");
+        queue.flush();
+        queue.flush();
+        assertEquals(2, queue.snapshot(BROADCAST_ID, 50).getEntries().get(0).getCount(), "kept while retries remain");
+
+        queue.flush();
+        SongQueueDTO snapshot = queue.snapshot(BROADCAST_ID, 50);
+        assertEquals(3L, snapshot.getTotalRequests());
+        assertEquals("song b|band", snapshot.getEntries().get(0).getKey());
+        assertEquals(1, snapshot.getEntries().get(1).getCount());
+
+        queue.publish();
+        assertEquals(3L, lastDelta().get("totalRequests"));
+        assertEquals(1, ((List<?>) lastDelta().get("upserts")).size());
+
+        // The listener can request the song again
+        Mockito.doReturn(new int[1]).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertTrue(queue.add(BROADCAST_ID, listener(4), "Song A", "Band").isAccepted());
+    }
+
+    @Test
+    void droppedOnlyRequestRemovesTheSong() {
+        SongRequestQueue queue = newQueue(100);
+        failWrites();
+        queue.add(BROADCAST_ID, listener(1), "Song A", "Band");
+        for (int i = 0; i < 3; i++) {
+            queue.flush();
+        }
+
+        assertTrue(queue.snapshot(BROADCAST_ID, 50).getEntries().isEmpty());
+        assertEquals(0L, queue.snapshot(BROADCAST_ID, 50).getTotalRequests());
+        queue.publish();
+        assertEquals(List.of("song a|band"), lastDelta().get("removed"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.wildcastradio.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributedRateLimiterTest {
+
+    /**
+     * In-memory stand-in for the token bucket script: a fixed token count per key that the
+     * test refills by hand.
+     */
+    private static class FakeRedis extends StringRedisTemplate {
+        private final Map<String, Long> tokens = new HashMap<>();
+        private int calls;
+        private boolean down;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            calls++;
+            if (down) {
+                throw new IllegalStateException("connection refused");
+            }
+            long capacity = Long.parseLong((String) args[0]);
+            long requested = Long.parseLong((String) args[2]);
+            long returned = Long.parseLong((String) args[3]);
+            long available = Math.min(capacity, tokens.getOrDefault(keys.get(0), capacity) + returned);
+            long granted = Math.min(requested, available);
+            tokens.put(keys.get(0), available - granted);
+            return (T) Long.valueOf(requested == 0 ? available - granted : granted);
+        }
+
+        void refill(long count) {
+            tokens.replaceAll((k, v) -> count);
+        }
+    }
+
+    private final FakeRedis redis = new FakeRedis();
+
+    private DistributedRateLimiter newLimiter() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDistributed().setEnabled(true);
+        return new DistributedRateLimiter(redis, properties, new RateLimitBucketStore(properties));
+    }
+
+    @Test
+    void leaseIsSpentLocallyBeforeAskingRedisAgain() {
+        DistributedRateLimiter limiter = newLimiter();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryConsume(RateLimitCategory.API, "10.0.0.1", 100, 10));
+        }
+        assertEquals(1, redis.calls, "ten requests should be served by one lease of ten");
+
+        assertTrue(limiter.tryConsume(RateLimitCategory.API, "10.0.0.1", 100, 10));
+        assertEquals(2, redis.calls, "an empty lease is refilled from Redis");
+        assertEquals(80L, limiter.availableTokens(RateLimitCategory.API, "10.0.0.1", 100));
+    }
+
+    @Test
+    void exhaustedBucketRejectsUntilRedisRefills() {
+        DistributedRateLimiter limiter = newLimiter();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryConsume(RateLimitCategory.API, "10.0.0.2", 5, 2));
+        }
+        assertFalse(limiter.tryConsume(RateLimitCategory.API, "10.0.0.2", 5, 2));
+
+        redis.refill(5);
+        assertTrue(limiter.tryConsume(RateLimitCategory.API, "10.0.0.2", 5, 2));
+    }
+
+    @Test
+    void redisFailureFallsBackToLocalBucket() {
+        DistributedRateLimiter limiter = newLimiter();
+        redis.down = true;
+        assertTrue(limiter.tryConsume(RateLimitCategory.API, "10.0.0.3", 2, 1));
+
+        // Back-off: Redis is not retried, and the local bucket enforces the limit
+        assertTrue(limiter.tryConsume(RateLimitCategory.API, "10.0.0.3", 2, 1));
+        assertFalse(limiter.tryConsume(RateLimitCategory.API, "10.0.0.3", 2, 1));
+        assertEquals(1, redis.calls);
+        assertEquals(3L, limiter.getStats().get("localFallbacks"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.wildcastradio.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitBucketStoreTest {
+
+    private RateLimitBucketStore newStore(int maxEntries) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getStore().setMaxEntriesPerCategory(maxEntries);
+        return new RateLimitBucketStore(properties);
+    }
+
+    @Test
+    void sameKeyResolvesToSameBucket() {
+        RateLimitBucketStore store = newStore(100);
+        Bucket first = store.resolve(RateLimitCategory.API, "10.0.0.1", 5);
+        Bucket second = store.resolve(RateLimitCategory.API, "10.0.0.1", 5);
+        assertSame(first, second);
+    }
+
+    @Test
+    void categoriesAreIsolated() {
+        RateLimitBucketStore store = newStore(100);
+        Bucket api = store.resolve(RateLimitCategory.API, "10.0.0.1", 5);
+        Bucket auth = store.resolve(RateLimitCategory.AUTH_IP, "10.0.0.1", 5);
+        assertNotSame(api, auth);
+        assertEquals(1, store.size(RateLimitCategory.API));
+        assertEquals(1, store.size(RateLimitCategory.AUTH_IP));
+    }
+
+    @Test
+    void overflowEvictsLeastRecentlyUsed() {
+        RateLimitBucketStore store = newStore(10);
+        Bucket hot = store.resolve(RateLimitCategory.API, "hot", 5);
+        for (int i = 0; i < 20; i++) {
+            store.resolve(RateLimitCategory.API, "ip-" + i, 5);
+            // Keep the hot key recently used so it survives trimming
+            store.resolve(RateLimitCategory.API, "hot", 5);
+        }
+        assertTrue(store.size(RateLimitCategory.API) <= 10, "segment should stay within its cap");
+        assertSame(hot, store.resolve(RateLimitCategory.API, "hot", 5));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void rejectionsAreCountedPerCategory() {
+        RateLimitBucketStore store = newStore(100);
+        store.recordRejection(RateLimitCategory.WS_HANDSHAKE);
+        store.recordRejection(RateLimitCategory.WS_HANDSHAKE);
+        Map<String, Object> ws = (Map<String, Object>) store.getStats().get("WS_HANDSHAKE");
+        assertEquals(2L, ws.get("rejections"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.wildcastradio.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StompMessageRateLimitInterceptorTest {
+
+    private StompMessageRateLimitInterceptor newInterceptor(int messagesPerSecond, int chatPerMinute) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getWs().setChatPerMinute(chatPerMinute);
+        return new StompMessageRateLimitInterceptor(properties, messagesPerSecond);
+    }
+
+    private static Message<byte[]> frame(SimpMessageType type, String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    void destinationsAreClassifiedBySuffix() {
+        assertEquals(StompMessageRateLimitInterceptor.Destination.CHAT,
+                StompMessageRateLimitInterceptor.classify("/app/broadcast/5/chat"));
+        assertEquals(StompMessageRateLimitInterceptor.Destination.POLL_VOTE,
+                StompMessageRateLimitInterceptor.classify("/app/broadcast/5/poll/vote"));
+        assertEquals(StompMessageRateLimitInterceptor.Destination.OTHER,
+                StompMessageRateLimitInterceptor.classify(null));
+    }
+
+    @Test
+    void chatFramesOverTheDestinationLimitAreDropped() {
+        StompMessageRateLimitInterceptor interceptor = newInterceptor(50, 3);
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(interceptor.preSend(frame(SimpMessageType.MESSAGE, "s1", "/app/broadcast/5/chat"), null));
+        }
+        assertNull(interceptor.preSend(frame(SimpMessageType.MESSAGE, "s1", "/app/broadcast/5/chat"), null));
+
+        // Other destinations and other sessions have their own buckets
+        assertNotNull(interceptor.preSend(frame(SimpMessageType.MESSAGE, "s1", "/app/broadcast/5/other"), null));
+        assertNotNull(interceptor.preSend(frame(SimpMessageType.MESSAGE, "s2", "/app/broadcast/5/chat"), null));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void sessionLimitAppliesAcrossDestinations() {
+        StompMessageRateLimitInterceptor interceptor = newInterceptor(2, 30);
+        assertNotNull(interceptor.preSend(frame(SimpMessageType.MESSAGE, "s1", "/app/a"), null));
+        assertNotNull(interceptor.preSend(frame(SimpMessageType.MESSAGE, "s1", "/app/b"), null));
+        assertNull(interceptor.preSend(frame(SimpMessageType.MESSAGE, "s1", "/app/broadcast/5/chat"), null));
+
+        Map<String, Object> stats = interceptor.getStats();
+        assertEquals(1L, stats.get("droppedBySessionLimit"));
+        assertEquals(1L, ((Map<String, Object>) stats.get("droppedByDestination")).get("CHAT"));
+    }
+
+    @Test
+    void disconnectReleasesSessionState() {
+        StompMessageRateLimitInterceptor interceptor = newInterceptor(50, 30);
+        interceptor.preSend(frame(SimpMessageType.MESSAGE, "s1", "/app/broadcast/5/chat"), null);
+        assertEquals(1, interceptor.getStats().get("activeSessions"));
+
+        interceptor.preSend(frame(SimpMessageType.DISCONNECT, "s1", null), null);
+        assertEquals(0, interceptor.getStats().get("activeSessions"));
+    }
+}
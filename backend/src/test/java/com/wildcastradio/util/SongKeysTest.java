@@ -0,0 +1,59 @@
+package com.wildcastradio.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SongKeysTest {
+
+    @Test
+    void spellingVariants_shareOneKey() {
+        String key = SongKeys.of("Don't Stop Me Now", "Queen");
+        assertEquals("dont stop me now|queen", key);
+        assertEquals(key, SongKeys.of("dont stop me now (Official Video)", "  QUEEN "));
+        assertEquals(key, SongKeys.of("Don\u2019t Stop Me Now [Remastered 2011]", "Queen"));
+    }
+
+    @Test
+    void accentsAndLeadingThe_areIgnored() {
+        assertEquals(SongKeys.of("Caf\u00e9 del Mar", "The Beatles"), SongKeys.of("Cafe Del Mar", "Beatles"));
+    }
+
+    @Test
+    void bracketedFeaturing_isDroppedFromTitle() {
+        assertEquals("old town road|lil nas x", SongKeys.of("Old Town Road (feat. Billy Ray Cyrus)", "Lil Nas X"));
+        assertEquals("old town road|lil nas x", SongKeys.of("Old Town Road [ft. Billy Ray Cyrus]", "Lil Nas X"));
+    }
+
+    @Test
+    void bareFeatOrFtInTitle_isKept() {
+        assertEquals("feat of strength|some band", SongKeys.of("Feat. of Strength", "Some Band"));
+        assertEquals("ft lauderdale|some band", SongKeys.of("Ft. Lauderdale", "Some Band"));
+    }
+
+    @Test
+    void trailingFeaturing_isDroppedFromArtist() {
+        assertEquals("stay|kid laroi", SongKeys.of("Stay", "The Kid LAROI feat. Justin Bieber"));
+        assertEquals("stay|kid laroi", SongKeys.of("Stay", "The Kid LAROI (ft. Justin Bieber)"));
+    }
+
+    @Test
+    void ampersandPlusAndWord_areUnifiedInArtist() {
+        String key = SongKeys.of("The Boxer", "Simon and Garfunkel");
+        assertEquals(key, SongKeys.of("The Boxer", "Simon & Garfunkel"));
+        assertEquals(key, SongKeys.of("The Boxer", "Simon + Garfunkel"));
+    }
+
+    @Test
+    void letterX_isNotTreatedAsAnd() {
+        assertEquals("panini|lil nas x", SongKeys.of("Panini", "Lil Nas X"));
+        assertNotEquals(SongKeys.of("Song", "A x B"), SongKeys.of("Song", "A and B"));
+    }
+
+    @Test
+    void blankTitle_hasNoKey() {
+        assertNull(SongKeys.of("  ", "Queen"));
+        assertNull(SongKeys.of(null, "Queen"));
+        assertEquals("song|", SongKeys.of("Song", null));
+    }
+}
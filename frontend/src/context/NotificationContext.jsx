@@ -228,7 +228,16 @@ export function NotificationProvider({ children }) {
         (update) => {
           logger.debug('Received notification update:', update);
 
-          if (update.type === 'MARK_ALL_READ') {
+          if (update.type === 'FANOUT') {
+            // A notification was written for every user; refetch after a short random
+            // delay so connected clients don't all hit the API at the same instant
+            const delay = Math.floor(Math.random() * 10000);
+            setTimeout(() => fetchNotifications(), delay);
+            logger.debug('Scheduled refresh after fan-out in', delay, 'ms');
+          } else if (update.type === 'UNREAD_COUNT') {
+            // Server-maintained counter, pushed on every change
+            setUnreadCount(Math.max(0, update.unreadCount || 0));
+          } else if (update.type === 'MARK_ALL_READ') {
             // Mark all notifications as read
             setNotifications(prev => prev.map(n => ({ ...n, read: true })));
             setUnreadCount(0);
@@ -306,6 +306,10 @@ export default function DJDashboard() {
       return Date.now()
     }
   }
+  // Song request queue entries: one per song, most requested first, then most recent
+  const rankSongQueue = (entries) =>
+    [...entries].sort((a, b) => (b.count || 1) - (a.count || 1) || (b._sentAt || 0) - (a._sentAt || 0))
+  const toQueueEntry = (entry) => ({ ...entry, id: entry.key, _sentAt: getSongRequestTimeMs(entry, false) })
 
   // Poll Creation State
   const [newPoll, setNewPoll] = useState({
@@ -649,15 +653,11 @@ export default function DJDashboard() {
     }
   }, [peakListenerCount, peakListeners])
 
-  // Track total interactions
+  // Track total interactions (the song request total comes from the server: the queue only
+  // holds the top songs)
   useEffect(() => {
-    setTotalInteractions(chatMessages.length + songRequests.length + totalPolls)
-  }, [chatMessages.length, songRequests.length, totalPolls])
-
-  // Track song requests count
-  useEffect(() => {
-    setTotalSongRequests(songRequests.length)
-  }, [songRequests.length])
+    setTotalInteractions(chatMessages.length + totalSongRequests + totalPolls)
+  }, [chatMessages.length, totalSongRequests, totalPolls])
 
   // Update chat timestamps every minute
   useEffect(() => {
@@ -748,6 +748,7 @@ export default function DJDashboard() {
         // Clear old data immediately when switching broadcasts
         setChatMessages([])
         setSongRequests([])
+        setTotalSongRequests(0)
         setPolls([])
         setActivePoll(null)
         clearPollCountdown()
@@ -762,15 +763,13 @@ export default function DJDashboard() {
           setChatMessages(chatResponse.data || [])
         }
 
-        // Fetch song requests
-        const requestsResponse = await songRequestService.getRequests(currentBroadcast.id)
-        logger.debug("DJ Dashboard: Loaded initial song requests:", requestsResponse.data?.length || 0)
+        // Fetch the song request queue (duplicates already merged, ranked)
+        const requestsResponse = await songRequestService.getQueue(currentBroadcast.id)
+        logger.debug("DJ Dashboard: Loaded initial song request queue:", requestsResponse.data?.entries?.length || 0)
 
         if (currentBroadcast?.id === currentBroadcast?.id && !signal.aborted) {
-          const withDerivedTimes = (requestsResponse.data || [])
-            .map(r => ({ ...r, _sentAt: getSongRequestTimeMs(r, false) }))
-            .sort((a, b) => (b._sentAt || 0) - (a._sentAt || 0)) // newest first
-          setSongRequests(withDerivedTimes)
+          setSongRequests(rankSongQueue((requestsResponse.data?.entries || []).map(toQueueEntry)))
+          setTotalSongRequests(requestsResponse.data?.totalRequests || 0)
         }
 
         // Fetch polls
@@ -987,23 +986,17 @@ export default function DJDashboard() {
             return
           }
 
-          // Possible shapes: { ...request }, { type: 'NEW', request: {...} }, { songRequest: {...} }
-          const candidate = message?.request || message?.songRequest || message
-          if (!candidate) return
-
-          const broadcastId = candidate.broadcastId ?? message.broadcastId
-          if (broadcastId !== currentBroadcast.id) return
-
-          const id = candidate.id ?? candidate.requestId
-          const normalized = { ...candidate, id }
+          // Queue changes arrive batched: changed entries in upserts, dropped song keys in removed
+          if (message?.type !== "SONG_QUEUE_DELTA" || message.broadcastId !== currentBroadcast.id) return
 
+          if (typeof message.totalRequests === "number") {
+            setTotalSongRequests(message.totalRequests)
+          }
+          const removed = new Set(message.removed || [])
+          const upserts = new Map((message.upserts || []).map((entry) => [entry.key, toQueueEntry(entry)]))
           setSongRequests((prev) => {
-            const exists = prev.some((req) => req.id === normalized.id)
-            if (exists) return prev
-            const enhanced = { ...normalized, _sentAt: getSongRequestTimeMs(normalized, true) }
-            const updated = [enhanced, ...prev]
-            updated.sort((a, b) => (b._sentAt || 0) - (a._sentAt || 0))
-            return updated
+            const kept = prev.filter((req) => !removed.has(req.id) && !upserts.has(req.id))
+            return rankSongQueue([...kept, ...upserts.values()])
           })
         })
 
@@ -2020,8 +2013,8 @@ export default function DJDashboard() {
     if (!currentBroadcast) return
 
     try {
-      logger.debug("Deleting song request:", requestId)
-      await songRequestService.deleteRequest(currentBroadcast.id, requestId)
+      logger.debug("Dismissing queued song:", requestId)
+      await songRequestService.dismissQueuedSong(currentBroadcast.id, requestId)
 
       // Remove the deleted request from the state
       setSongRequests((prev) => prev.filter((request) => request.id !== requestId))
@@ -2710,7 +2703,7 @@ export default function DJDashboard() {
                             <h3 className="font-bold text-base">Song Requests</h3>
                         </div>
                           <span className="text-sm bg-maroon-900/30 px-2.5 py-1 rounded-full font-bold min-w-[2rem] text-center">
-                            {songRequests.length}
+                            {totalSongRequests}
                           </span>
                         </div>
                       </div>
@@ -2739,6 +2732,11 @@ export default function DJDashboard() {
                                           {request.artist && (
                                             <p className="text-xs text-gray-600 dark:text-gray-300 mt-0.5">by {request.artist}</p>
                                           )}
+                                          {request.count > 1 && (
+                                            <span className="inline-block text-xs font-semibold text-maroon-700 dark:text-gold-400 mt-1">
+                                              {request.count} requests
+                                            </span>
+                                          )}
                                           {request.requestedBy && (
                                             <div className="text-xs text-gray-500 dark:text-gray-400 mt-1 flex items-center gap-1">
                                               <span> • </span>
@@ -9,6 +9,8 @@ export const analyticsApi = {
   getBroadcastStats: (config) => api.get('/api/analytics/broadcasts', config),
   getUserStats: (config) => api.get('/api/analytics/users', config),
   getEngagementStats: (config) => api.get('/api/analytics/engagement', config),
+  // params: { granularity: 'hour' | 'day', days, userId, broadcastId }
+  getEngagementSeries: (params, config) => api.get('/api/analytics/engagement/series', { ...config, params }),
   // Accept optional params/config; if a plain object is passed, treat as params
   getActivityStats: (paramsOrConfig, maybeConfig) => {
     let config = undefined;
@@ -21,6 +21,7 @@ export const authApi = {
   
   // Admin-specific operations
   getUsersPaged: (page = 0, size = 15, query = '', roleFilter = '') => api.get('/api/auth/paged', { params: { page, size, query, roleFilter } }),
+  suggestUsers: (prefix, limit = 10) => api.get('/api/auth/suggest', { params: { prefix, limit } }),
   getUsersByRole: (role) => api.get(`/api/auth/by-role/${role}`),
   updateUserRole: (id, newRole) => api.put(`/api/auth/${id}/role?newRole=${newRole}`),
   updateUserRoleByActor: (id, newRole) => api.put(`/api/auth/${id}/role/by-actor?newRole=${newRole}`),
@@ -82,6 +82,8 @@ export const broadcastApi = {
     params.set('size', String(size));
     return api.get(`/api/broadcasts/search?${params.toString()}`);
   },
+  // Title typeahead for broadcast history
+  suggestBroadcasts: (prefix, limit = 10) => api.get('/api/broadcasts/search/suggest', { params: { prefix, limit } }),
   exportChat: (broadcastId) => api.get(`/api/broadcasts/${broadcastId}/chat/export`, { responseType: 'blob' }),
   getActiveBroadcast: () =>
     api
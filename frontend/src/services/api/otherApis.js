@@ -75,7 +75,23 @@ export const notificationApi = {
                   })
                   .then((updateSub) => {
                     subscriptions.push(updateSub);
-                    resolveWithSubscriptions();
+
+                    // Bulk fan-outs publish one event here instead of a per-user push
+                    return stompClientManager
+                      .subscribe('/topic/notifications/fanout', (message) => {
+                        try {
+                          const event = JSON.parse(message.body);
+                          if (updateCallback) {
+                            updateCallback(event);
+                          }
+                        } catch (error) {
+                          logger.error('Error parsing notification fan-out event:', error);
+                        }
+                      })
+                      .then((fanoutSub) => {
+                        subscriptions.push(fanoutSub);
+                        resolveWithSubscriptions();
+                      });
                   });
               });
           }
@@ -118,8 +134,16 @@ export const notificationApi = {
  * Handles activity log operations
  */
 export const activityLogApi = {
-  getLogs: () => api.get('/api/activity-logs'),
-  getUserLogs: (userId) => api.get(`/api/activity-logs/user/${userId}`),
+  // params: { type, userId, from, to, before, beforeId, limit } - newest first, pass the last entry's timestamp/id for the next page
+  getLogs: (params) => api.get('/api/activity-logs', { params, paramsSerializer: { indexes: null } }),
+  // params: { type, from, to, before, beforeId, limit }
+  getUserLogs: (userId, params) => api.get(`/api/activity-logs/user/${userId}`, { params, paramsSerializer: { indexes: null } }),
+  // Newline-delimited JSON of every matching entry; params: { type, userId, from, to }
+  exportLogs: (params) => api.get('/api/activity-logs/export', { params, paramsSerializer: { indexes: null }, responseType: 'blob' }),
+  // Daily counts of entries collapsed by retention
+  getSummaries: (days = 30) => api.get('/api/activity-logs/summaries', { params: { days } }),
+  // params: { broadcastId, before, beforeId, limit } - pass the last entry's timestamp/id for the next page
+  getDjLogs: (djId, params) => api.get(`/api/activity-logs/dj/${djId}`, { params }),
 };
 
 /**
@@ -128,11 +152,15 @@ export const activityLogApi = {
  */
 export const songRequestApi = {
   getStats: () => api.get('/api/song-requests/stats'),
-  getAllRequests: () => api.get('/api/song-requests'),
+  // params: { page, size } - newest first, size up to 200
+  getAllRequests: (params) => api.get('/api/song-requests', { params }),
   getRequestsByBroadcast: (broadcastId) => api.get(`/api/broadcasts/${broadcastId}/song-requests`),
   getRequests: (broadcastId) => api.get(`/api/broadcasts/${broadcastId}/song-requests`), // Alias for compatibility
   createRequest: (broadcastId, requestData) => api.post(`/api/broadcasts/${broadcastId}/song-requests`, requestData),
   deleteRequest: (broadcastId, requestId) => api.delete(`/api/broadcasts/${broadcastId}/song-requests/${requestId}`),
+  // Live queue: one entry per song with a requester count, most requested first
+  getQueue: (broadcastId, limit = 50) => api.get(`/api/broadcasts/${broadcastId}/song-requests/queue`, { params: { limit } }),
+  dismissQueuedSong: (broadcastId, key) => api.delete(`/api/broadcasts/${broadcastId}/song-requests/queue`, { params: { key } }),
 
   // Subscribe to real-time song request updates for a specific broadcast
   subscribeToSongRequests: (broadcastId, callback) => {
@@ -180,20 +208,85 @@ export const pollApi = {
   getUserVote: (pollId) => api.get(`/api/polls/${pollId}/user-vote`),
   showPoll: (pollId) => api.post(`/api/polls/${pollId}/show`),
   deletePoll: (pollId) => api.delete(`/api/polls/${pollId}`),
+  setResultsInterval: (broadcastId, intervalMs) => api.put(`/api/polls/broadcast/${broadcastId}/results-interval`, { intervalMs }),
 
-  // WebSocket subscription for polls
+  // WebSocket subscription for polls.
+  // The server sends a full snapshot once on subscribe and then throttled POLL_DELTA frames
+  // (changed option counts only). Deltas are merged here and handed to the callback as regular
+  // POLL_RESULTS messages; a sequence gap re-fetches the full results.
   subscribeToPolls: (broadcastId, callback) => {
+    const latest = new Map(); // pollId -> { results, seq }
+
+    const emitResults = (pollId, results, seq) => {
+      latest.set(pollId, { results, seq });
+      callback({ type: 'POLL_RESULTS', pollId, results });
+    };
+
+    const refetch = (pollId, seq) => {
+      pollApi.getPollResults(pollId)
+        .then((response) => emitResults(pollId, response.data, seq))
+        .catch((error) => logger.debug('Could not refresh poll results:', error));
+    };
+
+    const applyDelta = (update) => {
+      const current = latest.get(update.pollId);
+      if (!current || update.seq !== current.seq + 1) {
+        refetch(update.pollId, update.seq);
+        return;
+      }
+      const counts = update.counts || {};
+      const totalVotes = update.totalVotes ?? current.results.totalVotes;
+      const options = (current.results.options || []).map((option) => {
+        const votes = counts[option.id] ?? option.votes;
+        return { ...option, votes, percentage: totalVotes > 0 ? (votes * 100) / totalVotes : 0 };
+      });
+      emitResults(update.pollId, { ...current.results, options, totalVotes }, update.seq);
+    };
+
     return new Promise((resolve, reject) => {
       stompClientManager
         .subscribe(`/topic/broadcast/${broadcastId}/polls`, (message) => {
           try {
             const pollData = JSON.parse(message.body);
+            if (pollData.type === 'POLL_DELTA') {
+              applyDelta(pollData);
+              return;
+            }
+            if (pollData.type === 'POLL_DELETED' || pollData.type === 'POLL_UPDATED') {
+              latest.delete(pollData.pollId);
+            }
             callback(pollData);
           } catch (error) {
             logger.error('Error parsing poll data:', error);
           }
         })
-        .then((subscription) => {
+        .then(async (subscription) => {
+          try {
+            // One-shot reply with the current results
+            let snapshotSubscription = null;
+            let snapshotReceived = false;
+            snapshotSubscription = await stompClientManager.subscribe(
+              `/app/broadcast/${broadcastId}/polls/snapshot`,
+              (message) => {
+                try {
+                  const snapshot = JSON.parse(message.body);
+                  if (snapshot.pollId && snapshot.results) {
+                    emitResults(snapshot.pollId, snapshot.results, snapshot.seq ?? 0);
+                  }
+                } catch (error) {
+                  logger.error('Error parsing poll snapshot:', error);
+                } finally {
+                  snapshotReceived = true;
+                  snapshotSubscription?.unsubscribe();
+                }
+              },
+            );
+            if (snapshotReceived) {
+              snapshotSubscription.unsubscribe();
+            }
+          } catch (error) {
+            logger.debug('Poll snapshot subscription failed:', error);
+          }
           resolve({
             disconnect: () => {
               if (subscription) {